@@ -23,12 +23,44 @@ public enum Property {
 
     // UI specific
     BROWSER("browser"),
+    BROWSERS("browsers"),
     BROWSER_VERSION("browserVersion"),
     GRID_URL("gridURL"),
+    GRID_MAX_IN_FLIGHT("grid.maxInFlight"),
+    GRID_SESSION_ATTEMPTS("grid.sessionAttempts"),
+    GRID_BACKOFF_MILLIS("grid.backoffMillis"),
+    GRID_SESSION_TIMEOUT("grid.sessionTimeoutSecs"),
 
     MAXIMISE("maximise"),
 
     REUSE_BROWSER("reuseBrowser"),
+    ELASTIC_POOL("elasticPool"),
+    POOL_MIN_SIZE("pool.minSize"),
+    POOL_MAX_SIZE("pool.maxSize"),
+    POOL_IDLE_TIMEOUT("pool.idleTimeoutSecs"),
+    POOL_LEASE_TIMEOUT("pool.leaseTimeoutSecs"),
+    POOL_VALIDATION_INTERVAL("pool.validationIntervalSecs"),
+    POOL_MAX_WINDOWS("pool.maxWindows"),
+    POOL_MAX_HEAP_MB("pool.maxHeapMB"),
+    POOL_MAX_USES("pool.maxUses"),
+    POOL_MAX_AGE("pool.maxAgeSecs"),
+    PREFETCH_BROWSERS("prefetchBrowsers"),
+    BROWSER_RESET("browserReset"),
+    QUIT_TIMEOUT("quitTimeoutSecs"),
+    DRIVER_METRICS_DIR("driverMetricsDir"),
+    DRIVER_METRICS_PORT("driverMetricsPort"),
+    ELEMENT_CACHE("elementCache"),
+    STALE_RETRY_INITIAL_DELAY("staleRetry.initialDelayMillis"),
+    STALE_RETRY_MULTIPLIER("staleRetry.multiplier"),
+    STALE_RETRY_MAX_DELAY("staleRetry.maxDelayMillis"),
+    STALE_RETRY_JITTER_PERCENT("staleRetry.jitterPercent"),
+    STALE_RETRY_DEADLINE("staleRetry.deadlineSecs"),
+    BATCH_VISIBILITY("batchVisibility"),
+    WAIT_STRATEGY("waitStrategy"),
+    PAGE_STABLE_QUIET_MILLIS("pageStable.quietMillis"),
+    WAIT_STATS_FILE("waitStats.file"),
+    WAIT_STATS_APPLY("waitStats.apply"),
+    PROFILE_DIR("profileDir"),
     HEADLESS("headless"),
     CUSTOM_BROWSER_IMPL("customBrowserImpl"),
 
@@ -0,0 +1,90 @@
+package com.frameworkium.lite.htmlelements.element;
+
+import org.openqa.selenium.Rectangle;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The text, displayed state, rect and attributes of an element, read at
+ * one point in time, usually along with many other elements.
+ *
+ * @see com.frameworkium.lite.htmlelements.utils.BulkElementReader
+ */
+public final class ElementState {
+
+    private final String text;
+    private final boolean displayed;
+    private final Rectangle rect;
+    private final Map<String, String> attributes;
+
+    /**
+     * @param text       the rendered text of the element
+     * @param displayed  whether the element is displayed
+     * @param rect       the location and size of the element
+     * @param attributes the values of the attributes which were read, which may be null
+     */
+    public ElementState(String text, boolean displayed, Rectangle rect, Map<String, String> attributes) {
+        this.text = text;
+        this.displayed = displayed;
+        this.rect = rect;
+        this.attributes = Collections.unmodifiableMap(new LinkedHashMap<>(attributes));
+    }
+
+    /** @return the rendered text, as by {@code innerText} */
+    public String getText() {
+        return text;
+    }
+
+    public boolean isDisplayed() {
+        return displayed;
+    }
+
+    /** @return the location relative to the document and size of the element */
+    public Rectangle getRect() {
+        return rect;
+    }
+
+    /**
+     * @param name the name of an attribute which was read
+     * @return the value of the attribute, or null if the element does not
+     *         have it or it was not read
+     */
+    public String getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    /** @return the attributes which were read, by name */
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ElementState)) {
+            return false;
+        }
+        ElementState that = (ElementState) o;
+        return displayed == that.displayed
+                && Objects.equals(text, that.text)
+                && Objects.equals(rect, that.rect)
+                && attributes.equals(that.attributes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(text, displayed, rect, attributes);
+    }
+
+    @Override
+    public String toString() {
+        return "ElementState{text='" + text + "', displayed=" + displayed
+                + ", rect=" + rect.getX() + "," + rect.getY() + " " + rect.getWidth() + "x" + rect.getHeight()
+                + ", attributes=" + attributes + "}";
+    }
+}
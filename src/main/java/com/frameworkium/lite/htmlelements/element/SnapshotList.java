@@ -0,0 +1,49 @@
+package com.frameworkium.lite.htmlelements.element;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A list of elements which is located afresh on every method call, such as
+ * a {@code List<Link>} field of a page object, from which a snapshot can be
+ * taken to locate the elements only once.
+ *
+ * <p>If lookup caching is enabled, by setting {@code elementCache=true},
+ * the list is instead located once and reused until the driver navigates
+ * or a call fails with a {@code StaleElementReferenceException}. As the
+ * elements on a page can change without navigating, it is not enabled by
+ * default.
+ *
+ * <p>Without caching, the following locates the links {@code 2n + 1} times:
+ * <pre>{@code
+ * for (int i = 0; i < links.size(); i++) {
+ *     links.get(i).click();
+ * }
+ * }</pre>
+ * whereas using {@code SnapshotList.of(links)} instead locates them once.
+ *
+ * @param <T> the type of element
+ */
+public interface SnapshotList<T> extends List<T> {
+
+    /**
+     * Locates the elements, even if they are cached.
+     *
+     * @return an unmodifiable list of the elements currently on the page,
+     *         which are only wrapped when first accessed
+     */
+    List<T> snapshot();
+
+    /**
+     * @param elements a list of elements, which may be a page object field
+     * @return a snapshot of the list if it is a {@link SnapshotList},
+     *         otherwise an unmodifiable copy of it
+     */
+    static <T> List<T> of(List<T> elements) {
+        if (elements instanceof SnapshotList) {
+            return ((SnapshotList<T>) elements).snapshot();
+        }
+        return Collections.unmodifiableList(new ArrayList<>(elements));
+    }
+}
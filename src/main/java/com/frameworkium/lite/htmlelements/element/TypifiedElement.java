@@ -1,5 +1,6 @@
 package com.frameworkium.lite.htmlelements.element;
 
+import com.frameworkium.lite.htmlelements.utils.BulkElementReader;
 import org.openqa.selenium.*;
 
 import java.util.List;
@@ -138,4 +139,16 @@ public abstract class TypifiedElement implements WrapsElement, WebElement {
     public <X> X getScreenshotAs(OutputType<X> target) {
         return getWrappedElement().getScreenshotAs(target);
     }
+
+    /**
+     * Reads the text, displayed state, rect and the given attributes of this
+     * element in one round-trip, once it has been located.
+     *
+     * @param attributeNames the attributes to read
+     * @return the state of this element
+     * @see BulkElementReader
+     */
+    public ElementState readState(String... attributeNames) {
+        return BulkElementReader.readOne(this, attributeNames);
+    }
 }
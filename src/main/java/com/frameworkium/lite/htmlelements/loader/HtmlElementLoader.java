@@ -3,13 +3,16 @@ package com.frameworkium.lite.htmlelements.loader;
 import com.frameworkium.lite.htmlelements.element.HtmlElement;
 import com.frameworkium.lite.htmlelements.element.TypifiedElement;
 import com.frameworkium.lite.htmlelements.exceptions.HtmlElementsException;
+import com.frameworkium.lite.htmlelements.loader.binder.PageBinder;
+import com.frameworkium.lite.htmlelements.loader.decorator.ElementField;
 import com.frameworkium.lite.htmlelements.loader.decorator.HtmlElementDecorator;
 import com.frameworkium.lite.htmlelements.loader.decorator.HtmlElementLocatorFactory;
+import com.frameworkium.lite.htmlelements.loader.decorator.PageObjectMetadata;
 import com.frameworkium.lite.htmlelements.loader.decorator.proxyhandlers.WebElementNamedProxyHandler;
 import com.frameworkium.lite.htmlelements.pagefactory.CustomElementLocatorFactory;
+import org.openqa.selenium.By;
 import org.openqa.selenium.SearchContext;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.pagefactory.ElementLocator;
 
 import java.lang.reflect.InvocationHandler;
@@ -116,11 +119,62 @@ public class HtmlElementLoader {
 
     /**
      * Initializes fields of the given page object using specified locator factory.
+     * <p/>
+     * Uses the page object's generated {@link PageBinder}, if it has one and
+     * the locator factory is an {@link HtmlElementLocatorFactory}.
      *
      * @param page           Page object to be initialized.
      * @param locatorFactory Locator factory that will be used to locate elements.
      */
     public static void populatePageObject(Object page, CustomElementLocatorFactory locatorFactory) {
-        PageFactory.initElements(new HtmlElementDecorator(locatorFactory), page);
+        var decorator = new HtmlElementDecorator(locatorFactory);
+        ClassLoader classLoader = page.getClass().getClassLoader();
+        PageBinder<Object> binder = PageBinder.forClass(page.getClass());
+        // custom factories may locate each field differently, so need the field itself
+        if (binder != null && locatorFactory instanceof HtmlElementLocatorFactory) {
+            binder.bindElements(page, new BinderDecorator(
+                    decorator, (HtmlElementLocatorFactory) locatorFactory, classLoader));
+            return;
+        }
+        for (ElementField elementField : PageObjectMetadata.of(page.getClass()).getElementFields()) {
+            Object value = decorator.decorate(classLoader, elementField.getField());
+            if (value != null) {
+                elementField.set(page, value);
+            }
+        }
+    }
+
+    /** Creates proxies from the locators generated by a {@link PageBinder}. */
+    private static final class BinderDecorator implements PageBinder.Decorator {
+
+        private final HtmlElementDecorator decorator;
+        private final HtmlElementLocatorFactory locatorFactory;
+        private final ClassLoader classLoader;
+
+        BinderDecorator(
+                HtmlElementDecorator decorator, HtmlElementLocatorFactory locatorFactory, ClassLoader classLoader) {
+            this.decorator = decorator;
+            this.locatorFactory = locatorFactory;
+            this.classLoader = classLoader;
+        }
+
+        @Override
+        public Object decorate(
+                ElementField.Kind kind,
+                Class<?> elementClass,
+                String fieldName,
+                By by,
+                boolean lookupCached,
+                int timeOutInSeconds) {
+            int timeout = timeOutInSeconds >= 0 ? timeOutInSeconds : locatorFactory.getTimeOut(elementClass);
+            ElementLocator locator = locatorFactory.createLocator(by, lookupCached, timeout);
+            return decorator.decorate(classLoader, kind, elementClass, locator, fieldName);
+        }
+
+        @Override
+        public Object decorate(Class<?> declaringClass, String fieldName) {
+            ElementField elementField = PageObjectMetadata.of(declaringClass).getDeclaredElementField(fieldName);
+            return elementField == null ? null : decorator.decorate(classLoader, elementField.getField());
+        }
     }
 }
@@ -0,0 +1,36 @@
+package com.frameworkium.lite.htmlelements.loader.binder;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/** Holds the binder, if any, of each class. */
+final class Binders {
+
+    private static final Logger logger = LogManager.getLogger();
+
+    static final ClassValue<PageBinder<?>> BINDERS = new ClassValue<>() {
+        @Override
+        protected PageBinder<?> computeValue(Class<?> type) {
+            Class<?> binderClass;
+            try {
+                binderClass = Class.forName(PageBinder.binderName(type), true, type.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                return null;
+            } catch (LinkageError e) {
+                logger.warn("Failed to load page binder for {}, using reflection instead.", type.getName());
+                logger.debug("Failed to load page binder", e);
+                return null;
+            }
+            try {
+                return (PageBinder<?>) binderClass.getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | ClassCastException e) {
+                logger.warn("Failed to create page binder for {}, using reflection instead.", type.getName());
+                logger.debug("Failed to create page binder", e);
+                return null;
+            }
+        }
+    };
+
+    private Binders() {
+    }
+}
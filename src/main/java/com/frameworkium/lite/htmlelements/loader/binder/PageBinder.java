@@ -0,0 +1,101 @@
+package com.frameworkium.lite.htmlelements.loader.binder;
+
+import com.frameworkium.lite.htmlelements.loader.decorator.ElementField.Kind;
+import org.openqa.selenium.By;
+
+/**
+ * Populates and checks the visibility of the fields of a page object or
+ * block without reflection.
+ *
+ * <p>Binders are generated at compile time by {@link PageBinderProcessor},
+ * which is opt-in. If a class has no binder, its fields are found by
+ * reflection instead.
+ *
+ * @param <T> the type of page object or block
+ */
+public interface PageBinder<T> {
+
+    /** The suffix of the name of a generated binder. */
+    String SUFFIX = "_PageBinder";
+
+    /** Creates the lazy proxy for an element field. */
+    interface Decorator {
+
+        /**
+         * For fields with a plain {@code @FindBy}, or whose element class
+         * has one, which the binder translated to a {@link By}.
+         *
+         * @param kind             the kind of element the field holds
+         * @param elementClass     the class of the element, or of each element of a list
+         * @param fieldName        the name of the field
+         * @param by               how to find the element
+         * @param lookupCached     whether the field has {@code @CacheLookup}
+         * @param timeOutInSeconds the field's {@code @Timeout}, or -1 if it has none
+         * @return the proxy to set the field to
+         */
+        Object decorate(
+                Kind kind, Class<?> elementClass, String fieldName, By by, boolean lookupCached, int timeOutInSeconds);
+
+        /**
+         * For other fields, e.g. with {@code @FindBys} or {@code @FindAll},
+         * which are located from their annotations at runtime.
+         *
+         * @param declaringClass the class which declares the field
+         * @param fieldName      the name of the field
+         * @return the proxy to set the field to
+         */
+        Object decorate(Class<?> declaringClass, String fieldName);
+    }
+
+    /** Waits for the fields annotated with {@code @Visible} or {@code @Invisible}. */
+    interface VisibilityChecks {
+
+        /**
+         * @param declaringClass the class which declares the field
+         * @param fieldName      the name of the field
+         * @param value          the value of the field
+         * @param checkAtMost    the maximum number of elements of a list to check, or -1 for all
+         * @param kind           the kind of element the field holds
+         */
+        void visible(Class<?> declaringClass, String fieldName, Object value, int checkAtMost, Kind kind);
+
+        /** @see #visible(Class, String, Object, int, Kind) */
+        void invisible(Class<?> declaringClass, String fieldName, Object value, int checkAtMost, Kind kind);
+    }
+
+    /**
+     * Sets every element field of the page object, including those of its
+     * superclasses, to the proxy created by the decorator.
+     */
+    void bindElements(T pageObject, Decorator decorator);
+
+    /**
+     * Calls the checks for each field with a visibility annotation, in the
+     * same order as they would be found by reflection.
+     */
+    void checkVisibility(T pageObject, VisibilityChecks checks);
+
+    /**
+     * @param type a page object or block class
+     * @param <T>  the type of page object
+     * @return the generated binder for the class, or null if there is none
+     */
+    @SuppressWarnings("unchecked")
+    static <T> PageBinder<T> forClass(Class<? extends T> type) {
+        return (PageBinder<T>) Binders.BINDERS.get(type);
+    }
+
+    /**
+     * @param type a page object or block class
+     * @return the binary name of the generated binder, e.g.
+     *         {@code com.example.Outer_Inner_PageBinder} for {@code com.example.Outer$Inner}
+     */
+    static String binderName(Class<?> type) {
+        String packageName = type.getPackageName();
+        String simpleBinaryName = packageName.isEmpty()
+                ? type.getName()
+                : type.getName().substring(packageName.length() + 1);
+        String binderName = simpleBinaryName.replace('$', '_') + SUFFIX;
+        return packageName.isEmpty() ? binderName : packageName + "." + binderName;
+    }
+}
@@ -0,0 +1,511 @@
+package com.frameworkium.lite.htmlelements.loader.binder;
+
+import com.frameworkium.lite.htmlelements.loader.decorator.ElementField.Kind;
+import com.frameworkium.lite.ui.annotations.VisibilityAnnotationProcessor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.*;
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates a {@link PageBinder} for each concrete subclass of
+ * {@code BasePage} or {@code HtmlElement} being compiled.
+ *
+ * <p>The binder builds the {@code By} of each field with a plain
+ * {@code @FindBy}, e.g. {@code @FindBy(css = "li")}, or whose element class
+ * has one, and assigns the field directly where it is accessible. Fields
+ * with {@code @FindBys}, {@code @FindAll} or no locator are still located
+ * from their annotations at runtime.
+ *
+ * <p>The processor is opt-in, it is not registered as a service. Enable it
+ * with {@code -processor} or, for Maven, by adding this class to the
+ * {@code annotationProcessors} of the compiler plugin. It also reports the
+ * errors of {@link VisibilityAnnotationProcessor}.
+ *
+ * <p>Binders are not generated for classes which would need reflection
+ * anyway, e.g. those which are private or have final, static or generic
+ * element fields. These classes fall back to reflection at runtime.
+ */
+@SupportedAnnotationTypes("*")
+public class PageBinderProcessor extends AbstractProcessor {
+
+    private static final String BASE_PAGE = "com.frameworkium.lite.ui.pages.BasePage";
+    private static final String HTML_ELEMENT = "com.frameworkium.lite.htmlelements.element.HtmlElement";
+    private static final String TYPIFIED_ELEMENT = "com.frameworkium.lite.htmlelements.element.TypifiedElement";
+    private static final String WEB_ELEMENT = "org.openqa.selenium.WebElement";
+    private static final String VISIBLE = "com.frameworkium.lite.ui.annotations.Visible";
+    private static final String INVISIBLE = "com.frameworkium.lite.ui.annotations.Invisible";
+    private static final String TIMEOUT = "com.frameworkium.lite.htmlelements.annotations.Timeout";
+    private static final String FIND_BY = "org.openqa.selenium.support.FindBy";
+    private static final String FIND_BYS = "org.openqa.selenium.support.FindBys";
+    private static final String FIND_ALL = "org.openqa.selenium.support.FindAll";
+    private static final String CACHE_LOOKUP = "org.openqa.selenium.support.CacheLookup";
+
+    /** The {@code By} factory method for each {@code @FindBy} attribute, as {@code FindBy.FindByBuilder}. */
+    private static final Map<String, String> BY_METHODS = Map.of(
+            "id", "id",
+            "name", "name",
+            "className", "className",
+            "css", "cssSelector",
+            "tagName", "tagName",
+            "linkText", "linkText",
+            "partialLinkText", "partialLinkText",
+            "xpath", "xpath");
+
+    private final Set<String> generated = new HashSet<>();
+    private final VisibilityAnnotationProcessor visibilityValidator = new VisibilityAnnotationProcessor();
+
+    private Elements elements;
+    private Types types;
+    private Messager messager;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        visibilityValidator.init(processingEnv);
+        elements = processingEnv.getElementUtils();
+        types = processingEnv.getTypeUtils();
+        messager = processingEnv.getMessager();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        visibilityValidator.process(annotations, roundEnv);
+        TypeMirror basePage = erasureOf(BASE_PAGE);
+        TypeMirror htmlElement = erasureOf(HTML_ELEMENT);
+        if (basePage == null || htmlElement == null) {
+            return false;
+        }
+        for (TypeElement type : allTypes(roundEnv.getRootElements())) {
+            TypeMirror erasure = types.erasure(type.asType());
+            if (type.getKind() == ElementKind.CLASS
+                    && !type.getModifiers().contains(Modifier.ABSTRACT)
+                    && (types.isSubtype(erasure, basePage) || types.isSubtype(erasure, htmlElement))
+                    && generated.add(type.getQualifiedName().toString())) {
+                generateBinder(type);
+            }
+        }
+        return false;
+    }
+
+    private List<TypeElement> allTypes(Collection<? extends Element> roots) {
+        List<TypeElement> all = new ArrayList<>();
+        for (TypeElement type : ElementFilter.typesIn(roots)) {
+            all.add(type);
+            all.addAll(allTypes(type.getEnclosedElements()));
+        }
+        return all;
+    }
+
+    private void generateBinder(TypeElement type) {
+        String reason = unsupportedReason(type);
+        if (reason != null) {
+            messager.printMessage(Diagnostic.Kind.NOTE,
+                    "No PageBinder generated for " + type.getQualifiedName() + ": " + reason, type);
+            return;
+        }
+        String packageName = elements.getPackageOf(type).getQualifiedName().toString();
+        List<BoundField> elementFields = new ArrayList<>();
+        List<BoundField> visibilityFields = new ArrayList<>();
+        Map<VariableElement, BoundField> boundFields = new LinkedHashMap<>();
+        boolean checkVisibility = true;
+        // same order as at runtime: declared fields first, then superclasses
+        for (TypeElement clazz = type; clazz != null; clazz = superclassOf(clazz)) {
+            String className = clazz.getQualifiedName().toString();
+            if (className.equals(BASE_PAGE) || className.equals(HTML_ELEMENT)) {
+                checkVisibility = false;
+            }
+            for (VariableElement field : ElementFilter.fieldsIn(clazz.getEnclosedElements())) {
+                Kind kind = kindOf(field);
+                boolean isElement = kind != null && !field.getModifiers().contains(Modifier.STATIC);
+                boolean isVisibility = checkVisibility && !field.getModifiers().contains(Modifier.STATIC)
+                        && (hasAnnotation(field, VISIBLE) || hasAnnotation(field, INVISIBLE));
+                if (!isElement && !isVisibility) {
+                    continue;
+                }
+                var boundField = new BoundField(clazz, field, kind, accessor(clazz, field, packageName, boundFields));
+                boundFields.put(field, boundField);
+                if (isElement) {
+                    elementFields.add(boundField);
+                }
+                if (isVisibility) {
+                    visibilityFields.add(boundField);
+                }
+            }
+        }
+        if (elementFields.isEmpty() && visibilityFields.isEmpty()) {
+            return;
+        }
+        try {
+            writeBinder(type, packageName, boundFields.values(), elementFields, visibilityFields);
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Failed to write PageBinder: " + e, type);
+        }
+    }
+
+    /**
+     * @return null if the binder can access the field directly, otherwise
+     *         the name of the {@code VarHandle} it uses instead
+     */
+    private String accessor(
+            TypeElement declaringClass,
+            VariableElement field,
+            String packageName,
+            Map<VariableElement, BoundField> boundFields) {
+        boolean direct = !field.getModifiers().contains(Modifier.PRIVATE)
+                && elements.getPackageOf(declaringClass).getQualifiedName().contentEquals(packageName)
+                && isAccessible(types.erasure(field.asType()), packageName);
+        if (direct) {
+            return null;
+        }
+        long handles = boundFields.values().stream().filter(bound -> bound.handle != null).count();
+        return "F" + handles;
+    }
+
+    /** @return why the generated code could not bind the type, or null if it can */
+    private String unsupportedReason(TypeElement type) {
+        String packageName = elements.getPackageOf(type).getQualifiedName().toString();
+        for (TypeElement clazz = type; clazz != null; clazz = superclassOf(clazz)) {
+            boolean declaresFields = false;
+            for (VariableElement field : ElementFilter.fieldsIn(clazz.getEnclosedElements())) {
+                if (isCandidateElement(field)) {
+                    declaresFields = true;
+                    Set<Modifier> modifiers = field.getModifiers();
+                    if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.FINAL)) {
+                        return "element field " + field.getSimpleName() + " is static or final";
+                    }
+                    if (field.asType().getKind() == TypeKind.TYPEVAR) {
+                        return "element field " + field.getSimpleName() + " has a generic type";
+                    }
+                    if (kindOf(field) == null || hasAnnotation(field, VISIBLE) && hasAnnotation(field, INVISIBLE)) {
+                        return "field " + field.getSimpleName() + " has invalid Visibility annotations";
+                    }
+                }
+            }
+            if ((declaresFields || clazz == type) && !isAccessible(clazz, packageName)) {
+                return clazz.getQualifiedName() + " is not accessible from its binder";
+            }
+        }
+        return null;
+    }
+
+    /** @return true if the field may hold an element, before considering its modifiers */
+    private boolean isCandidateElement(VariableElement field) {
+        return kindOf(field) != null
+                || hasAnnotation(field, VISIBLE)
+                || hasAnnotation(field, INVISIBLE);
+    }
+
+    private boolean isAccessible(TypeMirror type, String packageName) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return type.getKind().isPrimitive();
+        }
+        return isAccessible((TypeElement) types.asElement(type), packageName);
+    }
+
+    private boolean isAccessible(TypeElement clazz, String packageName) {
+        for (Element element = clazz; element instanceof TypeElement; element = element.getEnclosingElement()) {
+            Set<Modifier> modifiers = element.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            if (!modifiers.contains(Modifier.PUBLIC)
+                    && !elements.getPackageOf(element).getQualifiedName().contentEquals(packageName)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The same classification as at runtime, see
+     * {@link com.frameworkium.lite.htmlelements.loader.decorator.ElementField}.
+     *
+     * @return the kind of element the field holds, or null if it is not an element
+     */
+    private Kind kindOf(VariableElement field) {
+        TypeMirror type = field.asType();
+        if (type.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        TypeMirror erasure = types.erasure(type);
+        if (isSubtype(erasure, TYPIFIED_ELEMENT)) {
+            return Kind.TYPIFIED_ELEMENT;
+        }
+        if (isSubtype(erasure, HTML_ELEMENT)) {
+            return Kind.HTML_ELEMENT;
+        }
+        if (isSubtype(erasure, WEB_ELEMENT) && !field.getSimpleName().contentEquals("wrappedElement")) {
+            return Kind.WEB_ELEMENT;
+        }
+        TypeMirror listParameter = listParameterOf(field);
+        if (listParameter == null) {
+            return null;
+        }
+        if (isSubtype(listParameter, TYPIFIED_ELEMENT)) {
+            return Kind.TYPIFIED_ELEMENT_LIST;
+        }
+        if (isSubtype(listParameter, HTML_ELEMENT)) {
+            return Kind.HTML_ELEMENT_LIST;
+        }
+        if (isSubtype(listParameter, WEB_ELEMENT)) {
+            return Kind.WEB_ELEMENT_LIST;
+        }
+        return null;
+    }
+
+    /** @return the erasure of the type parameter of a list field, or null if it is not a list */
+    private TypeMirror listParameterOf(VariableElement field) {
+        TypeMirror type = field.asType();
+        if (type.getKind() != TypeKind.DECLARED || !isSubtype(types.erasure(type), List.class.getName())) {
+            return null;
+        }
+        List<? extends TypeMirror> typeArguments = ((DeclaredType) type).getTypeArguments();
+        if (typeArguments.isEmpty() || typeArguments.get(0).getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        return types.erasure(typeArguments.get(0));
+    }
+
+    /** @return the class of the element, or of each element of a list */
+    private TypeMirror elementClassOf(VariableElement field, Kind kind) {
+        switch (kind) {
+            case TYPIFIED_ELEMENT_LIST:
+            case HTML_ELEMENT_LIST:
+            case WEB_ELEMENT_LIST:
+                return listParameterOf(field);
+            default:
+                return types.erasure(field.asType());
+        }
+    }
+
+    /**
+     * The same locator as {@code HtmlElementFieldAnnotationsHandler}, for
+     * the cases which can be built at compile time.
+     *
+     * @return the expression which builds the field's {@code By}, or null
+     *         if it must be built from the field's annotations at runtime
+     */
+    private String locatorOf(VariableElement field, Kind kind, TypeMirror elementClass) {
+        if (hasAnnotation(field, FIND_BYS) || hasAnnotation(field, FIND_ALL)) {
+            return null;
+        }
+        AnnotationMirror findBy = annotation(field, FIND_BY);
+        if (findBy != null) {
+            return locatorOf(findBy);
+        }
+        if (kind == Kind.WEB_ELEMENT || kind == Kind.WEB_ELEMENT_LIST) {
+            // located by the field's name at runtime
+            return null;
+        }
+        // blocks and typified elements may be located by their class's @FindBy
+        for (TypeElement clazz = (TypeElement) types.asElement(elementClass);
+                clazz != null; clazz = superclassOf(clazz)) {
+            AnnotationMirror classFindBy = annotation(clazz, FIND_BY);
+            if (classFindBy != null) {
+                return locatorOf(classFindBy);
+            }
+        }
+        return null;
+    }
+
+    /** @return the expression which builds the {@code By}, or null unless exactly one attribute is set */
+    private String locatorOf(AnnotationMirror findBy) {
+        var values = findBy.getElementValues();
+        if (values.size() != 1) {
+            return null;
+        }
+        var entry = values.entrySet().iterator().next();
+        String byMethod = BY_METHODS.get(entry.getKey().getSimpleName().toString());
+        Object value = entry.getValue().getValue();
+        if (byMethod == null || !(value instanceof String) || ((String) value).isEmpty()) {
+            return null;
+        }
+        return String.format("org.openqa.selenium.By.%s(%s)", byMethod, elements.getConstantExpression(value));
+    }
+
+    private void writeBinder(
+            TypeElement type,
+            String packageName,
+            Collection<BoundField> boundFields,
+            List<BoundField> elementFields,
+            List<BoundField> visibilityFields) throws IOException {
+
+        String binaryName = elements.getBinaryName(type).toString();
+        String binderName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+                .replace('$', '_') + PageBinder.SUFFIX;
+        String typeName = type.getQualifiedName().toString();
+
+        var sourceFile = processingEnv.getFiler().createSourceFile(
+                packageName.isEmpty() ? binderName : packageName + "." + binderName, type);
+        try (PrintWriter out = new PrintWriter(sourceFile.openWriter())) {
+            if (!packageName.isEmpty()) {
+                out.printf("package %s;%n%n", packageName);
+            }
+            out.printf("@javax.annotation.processing.Generated(\"%s\")%n", PageBinderProcessor.class.getName());
+            out.printf("@SuppressWarnings({\"rawtypes\", \"unchecked\"})%n");
+            out.printf("public final class %s implements %s<%s> {%n%n",
+                    binderName, PageBinder.class.getName(), typeName);
+            writeVarHandles(out, boundFields);
+
+            out.printf("    @Override%n");
+            out.printf("    public void bindElements(%s pageObject, Decorator decorator) {%n", typeName);
+            for (BoundField field : elementFields) {
+                String value = decorateExpression(field, packageName);
+                if (field.handle == null) {
+                    out.printf("        %s = (%s) %s;%n",
+                            field.directAccess(), types.erasure(field.field.asType()), value);
+                } else {
+                    out.printf("        %s.set(pageObject, %s);%n", field.handle, value);
+                }
+            }
+            out.printf("    }%n%n");
+
+            out.printf("    @Override%n");
+            out.printf("    public void checkVisibility(%s pageObject, VisibilityChecks checks) {%n", typeName);
+            for (BoundField field : visibilityFields) {
+                boolean visible = hasAnnotation(field.field, VISIBLE);
+                out.printf("        checks.%s(%s.class, \"%s\", (Object) %s, %d, %s.%s);%n",
+                        visible ? "visible" : "invisible",
+                        field.declaringClass.getQualifiedName(),
+                        field.field.getSimpleName(),
+                        field.handle == null ? field.directAccess() : field.handle + ".get(pageObject)",
+                        annotationValue(field.field, visible ? VISIBLE : INVISIBLE, "checkAtMost", -1),
+                        Kind.class.getCanonicalName(),
+                        field.kind);
+            }
+            out.printf("    }%n");
+            out.printf("}%n");
+        }
+    }
+
+    private void writeVarHandles(PrintWriter out, Collection<BoundField> boundFields) {
+        if (boundFields.stream().allMatch(field -> field.handle == null)) {
+            return;
+        }
+        for (BoundField field : boundFields) {
+            if (field.handle != null) {
+                out.printf("    private static final java.lang.invoke.VarHandle %s;%n", field.handle);
+            }
+        }
+        out.printf("%n    static {%n");
+        out.printf("        try {%n");
+        out.printf("            java.lang.invoke.MethodHandles.Lookup lookup;%n");
+        for (BoundField field : boundFields) {
+            if (field.handle != null) {
+                String declaringClass = field.declaringClass.getQualifiedName().toString();
+                out.printf("            lookup = java.lang.invoke.MethodHandles.privateLookupIn(%s.class, "
+                        + "java.lang.invoke.MethodHandles.lookup());%n", declaringClass);
+                out.printf("            %s = lookup.unreflectVarHandle(%s.class.getDeclaredField(\"%s\"));%n",
+                        field.handle, declaringClass, field.field.getSimpleName());
+            }
+        }
+        out.printf("        } catch (ReflectiveOperationException e) {%n");
+        out.printf("            throw new ExceptionInInitializerError(e);%n");
+        out.printf("        }%n");
+        out.printf("    }%n%n");
+    }
+
+    /** @return the expression which creates the proxy for the field */
+    private String decorateExpression(BoundField field, String packageName) {
+        TypeMirror elementClass = elementClassOf(field.field, field.kind);
+        String locator = isAccessible(elementClass, packageName)
+                ? locatorOf(field.field, field.kind, elementClass)
+                : null;
+        if (locator == null) {
+            return String.format("decorator.decorate(%s.class, \"%s\")",
+                    field.declaringClass.getQualifiedName(), field.field.getSimpleName());
+        }
+        return String.format("decorator.decorate(%s.%s, %s.class, \"%s\", %s, %b, %d)",
+                Kind.class.getCanonicalName(),
+                field.kind,
+                elementClass,
+                field.field.getSimpleName(),
+                locator,
+                hasAnnotation(field.field, CACHE_LOOKUP),
+                annotationValue(field.field, TIMEOUT, "value", -1));
+    }
+
+    private int annotationValue(VariableElement field, String annotationName, String name, int defaultValue) {
+        AnnotationMirror annotation = annotation(field, annotationName);
+        if (annotation != null) {
+            for (var entry : elements.getElementValuesWithDefaults(annotation).entrySet()) {
+                if (entry.getKey().getSimpleName().contentEquals(name)) {
+                    return (Integer) entry.getValue().getValue();
+                }
+            }
+        }
+        return defaultValue;
+    }
+
+    private TypeElement superclassOf(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        TypeElement element = (TypeElement) types.asElement(superclass);
+        return element.getQualifiedName().contentEquals(Object.class.getName()) ? null : element;
+    }
+
+    private boolean hasAnnotation(Element element, String annotationName) {
+        return annotation(element, annotationName) != null;
+    }
+
+    private static AnnotationMirror annotation(Element element, String annotationName) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (((TypeElement) annotation.getAnnotationType().asElement())
+                    .getQualifiedName().contentEquals(annotationName)) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    private boolean isSubtype(TypeMirror erasure, String typeName) {
+        TypeMirror other = erasureOf(typeName);
+        return other != null && types.isSubtype(erasure, other);
+    }
+
+    private TypeMirror erasureOf(String typeName) {
+        TypeElement element = elements.getTypeElement(typeName);
+        return element == null ? null : types.erasure(element.asType());
+    }
+
+    /** A field set or read by the generated binder. */
+    private static final class BoundField {
+
+        private final TypeElement declaringClass;
+        private final VariableElement field;
+        private final Kind kind;
+        /** The VarHandle used to access the field, or null if it is accessed directly. */
+        private final String handle;
+
+        BoundField(TypeElement declaringClass, VariableElement field, Kind kind, String handle) {
+            this.declaringClass = declaringClass;
+            this.field = field;
+            this.kind = kind;
+            this.handle = handle;
+        }
+
+        /** @return the field of the page object, cast to the declaring class in case it is hidden */
+        String directAccess() {
+            return String.format("((%s) pageObject).%s",
+                    declaringClass.getQualifiedName(), field.getSimpleName());
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.frameworkium.lite.htmlelements.loader.decorator;
+
+import com.frameworkium.lite.htmlelements.annotations.Timeout;
+import com.frameworkium.lite.htmlelements.exceptions.HtmlElementsException;
+import com.frameworkium.lite.htmlelements.utils.HtmlElementUtils;
+import org.openqa.selenium.By;
+import org.openqa.selenium.support.pagefactory.AbstractAnnotations;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+
+import static com.frameworkium.lite.htmlelements.utils.HtmlElementUtils.*;
+
+/**
+ * A field of a page object or block which is populated with lazy proxies,
+ * along with everything needed to locate it which can be resolved once per
+ * class rather than once per page object.
+ *
+ * @see PageObjectMetadata
+ */
+public final class ElementField {
+
+    /** The kinds of field decorated by {@link HtmlElementDecorator}. */
+    public enum Kind {
+        TYPIFIED_ELEMENT,
+        HTML_ELEMENT,
+        WEB_ELEMENT,
+        TYPIFIED_ELEMENT_LIST,
+        HTML_ELEMENT_LIST,
+        WEB_ELEMENT_LIST
+    }
+
+    private static final ClassValue<Integer> CLASS_TIMEOUTS = new ClassValue<>() {
+        @Override
+        protected Integer computeValue(Class<?> type) {
+            for (Class<?> clazz = type; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+                Timeout timeout = clazz.getAnnotation(Timeout.class);
+                if (timeout != null) {
+                    return timeout.value();
+                }
+            }
+            return null;
+        }
+    };
+
+    private final Field field;
+    private final Kind kind;
+    private final Integer timeout;
+    private final MethodHandle setter;
+    private volatile AbstractAnnotations annotations;
+
+    private ElementField(Field field, Kind kind, Integer timeout) {
+        this.field = field;
+        this.kind = kind;
+        this.timeout = timeout;
+        this.setter = setterFor(field);
+    }
+
+    /**
+     * @return a {@code (Object, Object)void} setter for the field, or null if
+     *         it can only be set reflectively, e.g. because it is final
+     */
+    private static MethodHandle setterFor(Field field) {
+        if (Modifier.isStatic(field.getModifiers())) {
+            return null;
+        }
+        try {
+            return MethodHandles.lookup()
+                    .unreflectSetter(field)
+                    .asType(MethodType.methodType(void.class, Object.class, Object.class));
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @param field a field of a page object or block
+     * @return the element field, or null if the field is not decorated
+     */
+    static ElementField of(Field field) {
+        try {
+            Kind kind = kindOf(field);
+            if (kind == null) {
+                return null;
+            }
+            // resolved eagerly so fields with unsupported generic types are
+            // skipped, see bug #94 and NonElementFieldsTest
+            Integer timeout = annotatedTimeout(field);
+            field.setAccessible(true);
+            return new ElementField(field, kind, timeout);
+        } catch (ClassCastException ignore) {
+            return null;
+        }
+    }
+
+    private static Kind kindOf(Field field) {
+        if (isTypifiedElement(field)) {
+            return Kind.TYPIFIED_ELEMENT;
+        }
+        if (isHtmlElement(field)) {
+            return Kind.HTML_ELEMENT;
+        }
+        if (isWebElement(field) && !field.getName().equals("wrappedElement")) {
+            return Kind.WEB_ELEMENT;
+        }
+        if (isTypifiedElementList(field)) {
+            return Kind.TYPIFIED_ELEMENT_LIST;
+        }
+        if (isHtmlElementList(field)) {
+            return Kind.HTML_ELEMENT_LIST;
+        }
+        if (isWebElementList(field)) {
+            return Kind.WEB_ELEMENT_LIST;
+        }
+        return null;
+    }
+
+    private static Integer annotatedTimeout(Field field) {
+        Timeout timeout = field.getAnnotation(Timeout.class);
+        if (timeout != null) {
+            return timeout.value();
+        }
+        if (field.getGenericType() instanceof Class) {
+            return annotatedTimeout((Class<?>) field.getGenericType());
+        }
+        return annotatedTimeout((Class<?>) ((ParameterizedType) field.getGenericType()).getActualTypeArguments()[0]);
+    }
+
+    /**
+     * @param clazz the class of an element
+     * @return the value of the {@link Timeout} on the class or its closest
+     *         superclass, or null if there is none
+     */
+    static Integer annotatedTimeout(Class<?> clazz) {
+        return CLASS_TIMEOUTS.get(clazz);
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /** @return the field's {@link Timeout}, or the implicit timeout if there is none */
+    public int getTimeOutInSeconds() {
+        return timeout != null ? timeout : HtmlElementUtils.getImplicitTimeoutInSeconds();
+    }
+
+    /**
+     * The field's locator annotations, resolved on first use and then reused
+     * by every locator created for this field.
+     *
+     * @return annotations with a pre-built {@link By}
+     */
+    public AbstractAnnotations getAnnotations() {
+        AbstractAnnotations resolved = annotations;
+        if (resolved == null) {
+            var handler = new HtmlElementFieldAnnotationsHandler(field);
+            resolved = new ResolvedAnnotations(handler.buildBy(), handler.isLookupCached());
+            annotations = resolved;
+        }
+        return resolved;
+    }
+
+    /**
+     * Sets the field of the given page object.
+     *
+     * @param pageObject the page object or block
+     * @param value      the value to set
+     */
+    public void set(Object pageObject, Object value) {
+        if (setter == null) {
+            try {
+                field.set(pageObject, value);
+            } catch (IllegalAccessException e) {
+                throw new HtmlElementsException(e);
+            }
+            return;
+        }
+        try {
+            setter.invokeExact(pageObject, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new HtmlElementsException(t);
+        }
+    }
+
+    /** Annotations whose locator has already been built, once per field. */
+    static final class ResolvedAnnotations extends AbstractAnnotations {
+
+        private final By by;
+        private final boolean lookupCached;
+
+        ResolvedAnnotations(By by, boolean lookupCached) {
+            this.by = by;
+            this.lookupCached = lookupCached;
+        }
+
+        @Override
+        public By buildBy() {
+            return by;
+        }
+
+        @Override
+        public boolean isLookupCached() {
+            return lookupCached;
+        }
+    }
+}
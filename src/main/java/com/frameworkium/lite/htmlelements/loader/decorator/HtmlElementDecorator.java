@@ -42,31 +42,68 @@ public class HtmlElementDecorator implements FieldDecorator {
     }
 
     public Object decorate(ClassLoader loader, Field field) {
-        try {
-            if (isTypifiedElement(field)) {
+        ElementField elementField = PageObjectMetadata.elementField(field);
+        if (elementField == null) {
+            return null;
+        }
+        switch (elementField.getKind()) {
+            case TYPIFIED_ELEMENT:
                 return decorateTypifiedElement(loader, field);
-            }
-            if (isHtmlElement(field)) {
+            case HTML_ELEMENT:
                 return decorateHtmlElement(loader, field);
-            }
-            if (isWebElement(field) && !field.getName().equals("wrappedElement")) {
+            case WEB_ELEMENT:
                 return decorateWebElement(loader, field);
-            }
-            if (isTypifiedElementList(field)) {
+            case TYPIFIED_ELEMENT_LIST:
                 return decorateTypifiedElementList(loader, field);
-            }
-            if (isHtmlElementList(field)) {
+            case HTML_ELEMENT_LIST:
                 return decorateHtmlElementList(loader, field);
-            }
-            if (isWebElementList(field)) {
+            case WEB_ELEMENT_LIST:
                 return decorateWebElementList(loader, field);
-            }
-            return null;
-        } catch (ClassCastException ignore) {
-            return null; // See bug #94 and NonElementFieldsTest
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Creates the lazy proxy for an element whose locator is already known,
+     * e.g. by a generated {@code PageBinder}.
+     *
+     * @param loader       the class loader of the page object or block
+     * @param kind         the kind of element
+     * @param elementClass the class of the element, or of each element of a list
+     * @param locator      finds the element or elements
+     * @param name         the name of the element, for logging
+     * @return the proxy
+     */
+    @SuppressWarnings("unchecked")
+    public Object decorate(
+            ClassLoader loader, ElementField.Kind kind, Class<?> elementClass, ElementLocator locator, String name) {
+        switch (kind) {
+            case TYPIFIED_ELEMENT:
+                return createTypifiedElement(
+                        (Class<? extends TypifiedElement>) elementClass, webElementProxy(loader, locator, name));
+            case HTML_ELEMENT:
+                return createHtmlElement(
+                        (Class<? extends HtmlElement>) elementClass, webElementProxy(loader, locator, name));
+            case WEB_ELEMENT:
+                return webElementProxy(loader, locator, name);
+            case TYPIFIED_ELEMENT_LIST:
+                return createTypifiedElementListProxy(loader, new TypifiedElementListNamedProxyHandler<>(
+                        (Class<? extends TypifiedElement>) elementClass, locator, name));
+            case HTML_ELEMENT_LIST:
+                return createHtmlElementListProxy(loader, new HtmlElementListNamedProxyHandler<>(
+                        (Class<? extends HtmlElement>) elementClass, locator, name));
+            case WEB_ELEMENT_LIST:
+                return createWebElementListProxy(loader, new WebElementListNamedProxyHandler(locator, name));
+            default:
+                throw new IllegalArgumentException("Unknown kind of element: " + kind);
         }
     }
 
+    private static WebElement webElementProxy(ClassLoader loader, ElementLocator locator, String name) {
+        return createWebElementProxy(loader, new WebElementNamedProxyHandler(locator, name));
+    }
+
     protected <T extends TypifiedElement> T decorateTypifiedElement(ClassLoader loader, Field field) {
         WebElement elementToWrap = decorateWebElement(loader, field);
 
@@ -82,10 +119,7 @@ public class HtmlElementDecorator implements FieldDecorator {
     }
 
     protected WebElement decorateWebElement(ClassLoader loader, Field field) {
-        ElementLocator locator = factory.createLocator(field);
-        InvocationHandler handler = new WebElementNamedProxyHandler(locator, getElementName(field));
-
-        return createWebElementProxy(loader, handler);
+        return webElementProxy(loader, factory.createLocator(field), getElementName(field));
     }
 
     protected <T extends TypifiedElement> List<T> decorateTypifiedElementList(ClassLoader loader, Field field) {
@@ -3,11 +3,13 @@ package com.frameworkium.lite.htmlelements.loader.decorator;
 import com.frameworkium.lite.htmlelements.annotations.Timeout;
 import com.frameworkium.lite.htmlelements.pagefactory.CustomElementLocatorFactory;
 import com.frameworkium.lite.htmlelements.utils.HtmlElementUtils;
+import org.openqa.selenium.By;
 import org.openqa.selenium.SearchContext;
 import org.openqa.selenium.support.pagefactory.AjaxElementLocator;
 import org.openqa.selenium.support.pagefactory.ElementLocator;
 
-import java.lang.reflect.*;
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
 
 /** A factory for producing locator instances. */
 public class HtmlElementLocatorFactory implements CustomElementLocatorFactory {
@@ -26,7 +28,13 @@ public class HtmlElementLocatorFactory implements CustomElementLocatorFactory {
      * @param field Field for which locator will be created.
      */
     public ElementLocator createLocator(Field field) {
-        return new AjaxElementLocator(searchContext, getTimeOut(field), new HtmlElementFieldAnnotationsHandler(field));
+        ElementField elementField = PageObjectMetadata.elementField(field);
+        if (elementField == null) {
+            return new AjaxElementLocator(
+                    searchContext, getTimeOut(field), new HtmlElementFieldAnnotationsHandler(field));
+        }
+        return new AjaxElementLocator(
+                searchContext, elementField.getTimeOutInSeconds(), elementField.getAnnotations());
     }
 
     /**
@@ -41,6 +49,19 @@ public class HtmlElementLocatorFactory implements CustomElementLocatorFactory {
         return new AjaxElementLocator(searchContext, getTimeOut(clazz), new HtmlElementClassAnnotationsHandler(clazz));
     }
 
+    /**
+     * Creates locator for a field whose {@link By} is already known, e.g.
+     * generated from its {@link org.openqa.selenium.support.FindBy} at compile time.
+     *
+     * @param by               how to find the element
+     * @param lookupCached     whether the field has {@link org.openqa.selenium.support.CacheLookup}
+     * @param timeOutInSeconds how long to wait for the element
+     */
+    public ElementLocator createLocator(By by, boolean lookupCached, int timeOutInSeconds) {
+        return new AjaxElementLocator(
+                searchContext, timeOutInSeconds, new ElementField.ResolvedAnnotations(by, lookupCached));
+    }
+
     public int getTimeOut(Field field) {
         if (field.isAnnotationPresent(Timeout.class)) {
             return field.getAnnotation(Timeout.class).value();
@@ -52,20 +73,7 @@ public class HtmlElementLocatorFactory implements CustomElementLocatorFactory {
     }
 
     public int getTimeOut(Class<?> clazz) {
-        try {
-            Method method = Timeout.class.getMethod("value");
-            do {
-                if (clazz.isAnnotationPresent(Timeout.class)) {
-                    return (Integer) method.invoke(clazz.getAnnotation(Timeout.class));
-                }
-                clazz = clazz.getSuperclass();
-            }
-            while (clazz != Object.class && clazz != null);
-        } catch (NoSuchMethodException
-                | InvocationTargetException
-                | IllegalAccessException ignored) {
-        }
-
-        return HtmlElementUtils.getImplicitTimeoutInSeconds();
+        Integer timeout = ElementField.annotatedTimeout(clazz);
+        return timeout != null ? timeout : HtmlElementUtils.getImplicitTimeoutInSeconds();
     }
 }
@@ -0,0 +1,79 @@
+package com.frameworkium.lite.htmlelements.loader.decorator;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The element fields of a page object or block class, including those of
+ * its superclasses.
+ *
+ * <p>Scanning fields and parsing their annotations is done once per class,
+ * so populating a page object only replays the resolved fields.
+ */
+public final class PageObjectMetadata {
+
+    private static final ClassValue<PageObjectMetadata> METADATA = new ClassValue<>() {
+        @Override
+        protected PageObjectMetadata computeValue(Class<?> type) {
+            return new PageObjectMetadata(type);
+        }
+    };
+
+    private final List<ElementField> elementFields;
+    private final Map<Field, ElementField> elementFieldsByField;
+    private final Map<String, ElementField> declaredElementFieldsByName;
+
+    private PageObjectMetadata(Class<?> type) {
+        List<ElementField> fields = new ArrayList<>();
+        Map<Field, ElementField> fieldsByField = new HashMap<>();
+        Map<String, ElementField> declaredFieldsByName = new HashMap<>();
+        // same order as PageFactory: declared fields first, then superclasses
+        for (Class<?> clazz = type; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (Field field : clazz.getDeclaredFields()) {
+                ElementField elementField = ElementField.of(field);
+                if (elementField != null) {
+                    fields.add(elementField);
+                    fieldsByField.put(field, elementField);
+                    if (clazz == type) {
+                        declaredFieldsByName.put(field.getName(), elementField);
+                    }
+                }
+            }
+        }
+        this.elementFields = List.copyOf(fields);
+        this.elementFieldsByField = Map.copyOf(fieldsByField);
+        this.declaredElementFieldsByName = Map.copyOf(declaredFieldsByName);
+    }
+
+    /**
+     * @param type a page object or block class
+     * @return the cached metadata of the class
+     */
+    public static PageObjectMetadata of(Class<?> type) {
+        return METADATA.get(type);
+    }
+
+    /**
+     * @param field a field of a page object or block
+     * @return the element field, or null if the field is not decorated
+     */
+    public static ElementField elementField(Field field) {
+        return of(field.getDeclaringClass()).elementFieldsByField.get(field);
+    }
+
+    /**
+     * @param fieldName the name of a field declared by this class, not a superclass
+     * @return the element field, or null if there is no such element field
+     */
+    public ElementField getDeclaredElementField(String fieldName) {
+        return declaredElementFieldsByName.get(fieldName);
+    }
+
+    /** @return the fields to populate with lazy proxies */
+    public List<ElementField> getElementFields() {
+        return elementFields;
+    }
+}
@@ -1,6 +1,7 @@
 package com.frameworkium.lite.htmlelements.loader.decorator;
 
 import com.frameworkium.lite.htmlelements.element.HtmlElement;
+import com.frameworkium.lite.htmlelements.element.SnapshotList;
 import com.frameworkium.lite.htmlelements.element.TypifiedElement;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.WrapsElement;
@@ -11,7 +12,8 @@ import java.lang.reflect.Proxy;
 import java.util.List;
 
 /**
- * Contains factory methods for creating proxy of blocks, typified elements, page objects
+ * Contains factory methods for creating proxy of blocks, typified elements, page objects.
+ * List proxies implement {@link SnapshotList}.
  */
 @SuppressWarnings("unchecked")
 public class ProxyFactory {
@@ -22,16 +24,16 @@ public class ProxyFactory {
 
     public static <T extends WebElement> List<T> createWebElementListProxy(ClassLoader loader,
                                                                            InvocationHandler handler) {
-        return (List<T>) Proxy.newProxyInstance(loader, new Class[]{List.class}, handler);
+        return (List<T>) Proxy.newProxyInstance(loader, new Class[]{SnapshotList.class}, handler);
     }
 
     public static <T extends TypifiedElement> List<T> createTypifiedElementListProxy(ClassLoader loader,
                                                                                      InvocationHandler handler) {
-        return (List<T>) Proxy.newProxyInstance(loader, new Class[]{List.class}, handler);
+        return (List<T>) Proxy.newProxyInstance(loader, new Class[]{SnapshotList.class}, handler);
     }
 
     public static <T extends HtmlElement> List<T> createHtmlElementListProxy(ClassLoader loader,
                                                                              InvocationHandler handler) {
-        return (List<T>) Proxy.newProxyInstance(loader, new Class[]{List.class}, handler);
+        return (List<T>) Proxy.newProxyInstance(loader, new Class[]{SnapshotList.class}, handler);
     }
 }
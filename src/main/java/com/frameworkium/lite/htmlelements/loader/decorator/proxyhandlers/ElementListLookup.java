@@ -0,0 +1,105 @@
+package com.frameworkium.lite.htmlelements.loader.decorator.proxyhandlers;
+
+import com.frameworkium.lite.common.properties.Property;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Locates the elements of a list proxy, retrying lookups which fail with a
+ * {@link StaleElementReferenceException} according to the {@link RetryPolicy}.
+ *
+ * <p>If lookup caching is enabled, by setting {@code elementCache=true},
+ * the located list is shared by later calls until the driver navigates,
+ * see {@link NavigationEpoch}, or a call fails with a
+ * {@link StaleElementReferenceException}. Otherwise, the elements are
+ * located on every call.
+ *
+ * @param <T> the type of element in the list
+ */
+final class ElementListLookup<T> {
+
+    static final boolean CACHE_LOOKUPS = Property.ELEMENT_CACHE.getBoolean();
+
+    private final ElementLocator locator;
+    private final String name;
+    private final boolean cacheLookups;
+    private final RetryPolicy retryPolicy;
+    private final Function<List<WebElement>, List<T>> wrapper;
+    private volatile CachedList<T> cachedList;
+
+    /**
+     * @param wrapper creates the unmodifiable list returned to callers from
+     *                the located elements
+     */
+    ElementListLookup(
+            ElementLocator locator,
+            String name,
+            boolean cacheLookups,
+            RetryPolicy retryPolicy,
+            Function<List<WebElement>, List<T>> wrapper) {
+        this.locator = locator;
+        this.name = name;
+        this.cacheLookups = cacheLookups;
+        this.retryPolicy = retryPolicy;
+        this.wrapper = wrapper;
+    }
+
+    /**
+     * Invokes a method of the list proxy on the located elements.
+     *
+     * <p>Only the lookup is retried, as the method may run callbacks,
+     * e.g. {@code forEach}, which must not be repeated.
+     */
+    Object invoke(Method method, Object[] objects) throws Throwable {
+        List<T> elements = elements();
+        try {
+            return method.invoke(elements, objects);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof StaleElementReferenceException) {
+                cachedList = null;
+            }
+            // Unwrap the underlying exception
+            throw e.getCause();
+        }
+    }
+
+    /** @return the cached elements if they are still current, otherwise a new {@link #snapshot()} */
+    List<T> elements() throws Throwable {
+        CachedList<T> cached = cachedList;
+        if (cached != null && cached.count == cached.epoch.current()) {
+            return cached.elements;
+        }
+        return snapshot();
+    }
+
+    /** @return the elements currently on the page, which are cached if caching is enabled */
+    List<T> snapshot() throws Throwable {
+        List<WebElement> found = retryPolicy.call(name, locator::findElements);
+        List<T> elements = wrapper.apply(found);
+        if (cacheLookups && !found.isEmpty()) {
+            // the elements may still be loading if none were found, so they are not cached
+            NavigationEpoch epoch = NavigationEpoch.of(found.get(0));
+            cachedList = new CachedList<>(elements, epoch, epoch.current());
+        }
+        return elements;
+    }
+
+    private static final class CachedList<T> {
+
+        private final List<T> elements;
+        private final NavigationEpoch epoch;
+        private final long count;
+
+        CachedList(List<T> elements, NavigationEpoch epoch, long count) {
+            this.elements = elements;
+            this.epoch = epoch;
+            this.count = count;
+        }
+    }
+}
@@ -1,25 +1,37 @@
 package com.frameworkium.lite.htmlelements.loader.decorator.proxyhandlers;
 
 import com.frameworkium.lite.htmlelements.element.HtmlElement;
+import com.frameworkium.lite.htmlelements.element.SnapshotList;
 import org.openqa.selenium.support.pagefactory.ElementLocator;
 
 import java.lang.reflect.*;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.stream.Collectors;
 
 import static com.frameworkium.lite.htmlelements.loader.HtmlElementLoader.createHtmlElement;
 
 public class HtmlElementListNamedProxyHandler<T extends HtmlElement> implements InvocationHandler {
 
-    private final Class<T> elementClass;
-    private final ElementLocator locator;
     private final String name;
+    private final ElementListLookup<T> lookup;
 
     public HtmlElementListNamedProxyHandler(Class<T> elementClass, ElementLocator locator, String name) {
-        this.elementClass = elementClass;
-        this.locator = locator;
+        this(elementClass, locator, name, RetryPolicy.fromProperties());
+    }
+
+    public HtmlElementListNamedProxyHandler(
+            Class<T> elementClass, ElementLocator locator, String name, RetryPolicy retryPolicy) {
+        this(elementClass, locator, name, ElementListLookup.CACHE_LOOKUPS, retryPolicy);
+    }
+
+    public HtmlElementListNamedProxyHandler(
+            Class<T> elementClass,
+            ElementLocator locator,
+            String name,
+            boolean cacheLookups,
+            RetryPolicy retryPolicy) {
         this.name = name;
+        // elements are only wrapped when first accessed
+        this.lookup = new ElementListLookup<>(locator, name, cacheLookups, retryPolicy,
+                elements -> new LazyElementList<>(elements, element -> createHtmlElement(elementClass, element)));
     }
 
     @Override
@@ -27,16 +39,9 @@ public class HtmlElementListNamedProxyHandler<T extends HtmlElement> implements
         if ("toString".equals(method.getName())) {
             return name;
         }
-
-        List<T> elements = locator.findElements().stream()
-                .map(element -> createHtmlElement(elementClass, element))
-                .collect(Collectors.toCollection(LinkedList::new));
-
-        try {
-            return method.invoke(elements, objects);
-        } catch (InvocationTargetException e) {
-            // Unwrap the underlying exception
-            throw e.getCause();
+        if (method.getDeclaringClass() == SnapshotList.class) {
+            return lookup.snapshot();
         }
+        return lookup.invoke(method, objects);
     }
 }
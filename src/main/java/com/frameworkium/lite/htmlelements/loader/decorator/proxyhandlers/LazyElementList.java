@@ -0,0 +1,44 @@
+package com.frameworkium.lite.htmlelements.loader.decorator.proxyhandlers;
+
+import org.openqa.selenium.WebElement;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Function;
+
+/**
+ * An unmodifiable, array-backed list of located elements which are wrapped
+ * in blocks or typified elements when first accessed.
+ *
+ * <p>Not synchronised: if accessed concurrently, an element may be wrapped
+ * more than once, but each call returns a correctly wrapped element.
+ */
+final class LazyElementList<T> extends AbstractList<T> implements RandomAccess {
+
+    private final WebElement[] elements;
+    private final Function<WebElement, ? extends T> wrapper;
+    private final Object[] wrapped;
+
+    LazyElementList(List<WebElement> elements, Function<WebElement, ? extends T> wrapper) {
+        this.elements = elements.toArray(new WebElement[0]);
+        this.wrapper = wrapper;
+        this.wrapped = new Object[this.elements.length];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        Object element = wrapped[index];
+        if (element == null) {
+            element = wrapper.apply(elements[index]);
+            wrapped[index] = element;
+        }
+        return (T) element;
+    }
+
+    @Override
+    public int size() {
+        return elements.length;
+    }
+}
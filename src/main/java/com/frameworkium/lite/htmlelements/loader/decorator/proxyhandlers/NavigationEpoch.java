@@ -0,0 +1,98 @@
+package com.frameworkium.lite.htmlelements.loader.decorator.proxyhandlers;
+
+import com.google.common.collect.MapMaker;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.WrapsElement;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the navigations made by a driver, so elements cached by
+ * {@link WebElementNamedProxyHandler} can be discarded once the page they
+ * were found on has gone.
+ *
+ * <p>There is one count per driver, found from the elements it returns, so
+ * an element cached on one thread is invalidated when the same driver is
+ * navigated from another.
+ */
+public final class NavigationEpoch {
+
+    /** Shared by elements whose driver is unknown, it is never advanced. */
+    private static final NavigationEpoch UNTRACKED = new NavigationEpoch();
+
+    // weak identity keys, as drivers may be proxies which forward equals and hashCode
+    private static final Map<WebDriver, NavigationEpoch> EPOCHS = new MapMaker().weakKeys().makeMap();
+
+    private final AtomicLong count = new AtomicLong();
+
+    /**
+     * Counts the navigations of the given driver with this epoch.
+     *
+     * @param driver the driver, or a driver it wraps
+     * @return this epoch
+     */
+    public NavigationEpoch track(WebDriver driver) {
+        EPOCHS.put(driver, this);
+        return this;
+    }
+
+    /**
+     * @param driver a driver, which may wrap the driver being tracked
+     * @return the epoch which counts the navigations of the driver
+     */
+    public static NavigationEpoch of(WebDriver driver) {
+        NavigationEpoch epoch = EPOCHS.get(driver);
+        if (epoch != null) {
+            return epoch;
+        }
+        // e.g. elements of an EventFiringWebDriver report its internal proxy of the tracked driver
+        WebDriver current = driver;
+        while (epoch == null && current instanceof WrapsDriver) {
+            WebDriver wrapped = ((WrapsDriver) current).getWrappedDriver();
+            if (wrapped == null || wrapped == current) {
+                break;
+            }
+            current = wrapped;
+            epoch = EPOCHS.get(current);
+        }
+        NavigationEpoch tracked = epoch == null ? new NavigationEpoch() : epoch;
+        NavigationEpoch existing = EPOCHS.putIfAbsent(driver, tracked);
+        return existing == null ? tracked : existing;
+    }
+
+    /**
+     * @param element an element, which may wrap the element returned by its driver
+     * @return the epoch of the element's driver, or one which never advances
+     *         if the driver cannot be found from the element
+     */
+    public static NavigationEpoch of(WebElement element) {
+        WebElement current = element;
+        while (!(current instanceof WrapsDriver) && current instanceof WrapsElement) {
+            WebElement wrapped = ((WrapsElement) current).getWrappedElement();
+            if (wrapped == current) {
+                break;
+            }
+            current = wrapped;
+        }
+        if (current instanceof WrapsDriver) {
+            WebDriver driver = ((WrapsDriver) current).getWrappedDriver();
+            if (driver != null) {
+                return of(driver);
+            }
+        }
+        return UNTRACKED;
+    }
+
+    /** @return the number of navigations made by the driver so far */
+    public long current() {
+        return count.get();
+    }
+
+    /** Invalidates every element cached from the driver. */
+    public void advance() {
+        count.incrementAndGet();
+    }
+}
@@ -0,0 +1,157 @@
+package com.frameworkium.lite.htmlelements.loader.decorator.proxyhandlers;
+
+import com.frameworkium.lite.common.properties.Property;
+import com.frameworkium.lite.htmlelements.utils.HtmlElementUtils;
+import org.openqa.selenium.StaleElementReferenceException;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Immutable policy for retrying calls on element proxies which fail with a
+ * {@link StaleElementReferenceException}, shared by all proxy handlers.
+ *
+ * <p>Delays grow exponentially from the initial delay up to the maximum,
+ * less a random jitter, until the deadline passes. Start from
+ * {@link #defaults()} or {@link #fromProperties()} and adjust using the
+ * {@code with...} methods, each of which returns a new instance.
+ */
+public final class RetryPolicy {
+
+    /** A call on an element which may fail with a {@link StaleElementReferenceException}. */
+    @FunctionalInterface
+    public interface Attempt<T> {
+        T run() throws Throwable;
+    }
+
+    private final Duration initialDelay;
+    private final double multiplier;
+    private final Duration maxDelay;
+    private final double jitter;
+    private final Duration deadline;
+
+    private RetryPolicy(
+            Duration initialDelay,
+            double multiplier,
+            Duration maxDelay,
+            double jitter,
+            Duration deadline) {
+        if (initialDelay.isNegative() || maxDelay.isNegative() || deadline.isNegative()
+                || multiplier < 1 || jitter < 0 || jitter > 1) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid retry policy: initialDelay=%s, multiplier=%s, maxDelay=%s, jitter=%s, deadline=%s",
+                    initialDelay, multiplier, maxDelay, jitter, deadline));
+        }
+        this.initialDelay = initialDelay;
+        this.multiplier = multiplier;
+        this.maxDelay = maxDelay;
+        this.jitter = jitter;
+        this.deadline = deadline;
+    }
+
+    /**
+     * @return a policy which first retries after 25ms, doubling up to 500ms
+     *         with up to 20% jitter, until the implicit timeout passes
+     */
+    public static RetryPolicy defaults() {
+        return new RetryPolicy(
+                Duration.ofMillis(25),
+                2,
+                Duration.ofMillis(500),
+                0.2,
+                Duration.ofSeconds(HtmlElementUtils.getImplicitTimeoutInSeconds()));
+    }
+
+    /** @return the {@link #defaults()} overridden by any stale retry properties */
+    public static RetryPolicy fromProperties() {
+        var defaults = defaults();
+        return new RetryPolicy(
+                Duration.ofMillis(Property.STALE_RETRY_INITIAL_DELAY.getIntWithDefault(
+                        (int) defaults.initialDelay.toMillis())),
+                Property.STALE_RETRY_MULTIPLIER.isSpecified()
+                        ? Double.parseDouble(Property.STALE_RETRY_MULTIPLIER.getValue())
+                        : defaults.multiplier,
+                Duration.ofMillis(Property.STALE_RETRY_MAX_DELAY.getIntWithDefault(
+                        (int) defaults.maxDelay.toMillis())),
+                Property.STALE_RETRY_JITTER_PERCENT.getIntWithDefault((int) (defaults.jitter * 100)) / 100.0,
+                Duration.ofSeconds(Property.STALE_RETRY_DEADLINE.getIntWithDefault(
+                        (int) defaults.deadline.getSeconds())));
+    }
+
+    public RetryPolicy withInitialDelay(Duration initialDelay) {
+        return new RetryPolicy(initialDelay, multiplier, maxDelay, jitter, deadline);
+    }
+
+    public RetryPolicy withMultiplier(double multiplier) {
+        return new RetryPolicy(initialDelay, multiplier, maxDelay, jitter, deadline);
+    }
+
+    public RetryPolicy withMaxDelay(Duration maxDelay) {
+        return new RetryPolicy(initialDelay, multiplier, maxDelay, jitter, deadline);
+    }
+
+    /** @param jitter the maximum fraction, from 0 to 1, randomly taken off each delay */
+    public RetryPolicy withJitter(double jitter) {
+        return new RetryPolicy(initialDelay, multiplier, maxDelay, jitter, deadline);
+    }
+
+    public RetryPolicy withDeadline(Duration deadline) {
+        return new RetryPolicy(initialDelay, multiplier, maxDelay, jitter, deadline);
+    }
+
+    public Duration getInitialDelay() {
+        return initialDelay;
+    }
+
+    public double getMultiplier() {
+        return multiplier;
+    }
+
+    public Duration getMaxDelay() {
+        return maxDelay;
+    }
+
+    public double getJitter() {
+        return jitter;
+    }
+
+    public Duration getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Runs the attempt, retrying it while it fails with a
+     * {@link StaleElementReferenceException} and the deadline has not passed.
+     * Each retry is counted against the element name in
+     * {@link StaleRetryCounts#global()}.
+     *
+     * @param elementName the name of the element, for counting retries
+     * @param attempt     the call on the element
+     * @return the result of the first successful attempt
+     * @throws StaleElementReferenceException the last failure, once the deadline has passed
+     */
+    public <T> T call(String elementName, Attempt<T> attempt) throws Throwable {
+        final long end = System.nanoTime() + deadline.toNanos();
+        int retry = 0;
+        while (true) {
+            try {
+                return attempt.run();
+            } catch (StaleElementReferenceException e) {
+                long remaining = end - System.nanoTime();
+                if (remaining <= 0) {
+                    throw e;
+                }
+                StaleRetryCounts.global().record(elementName);
+                Thread.sleep(Math.min(delay(retry++).toMillis(), Duration.ofNanos(remaining).toMillis()));
+            }
+        }
+    }
+
+    /** @return the delay before the given retry, where 0 is the first, less jitter */
+    Duration delay(int retry) {
+        double exponential = initialDelay.toMillis() * Math.pow(multiplier, retry);
+        double capped = Math.min(maxDelay.toMillis(), exponential);
+        double jittered = capped * (1 - jitter * ThreadLocalRandom.current().nextDouble());
+        return Duration.ofMillis(Math.round(jittered));
+    }
+}
@@ -0,0 +1,46 @@
+package com.frameworkium.lite.htmlelements.loader.decorator.proxyhandlers;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The number of stale element retries made for each element name, to find
+ * the components which re-render most often.
+ */
+public final class StaleRetryCounts {
+
+    private static final StaleRetryCounts GLOBAL = new StaleRetryCounts();
+
+    private final Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+
+    /** @return the counts recorded by every {@link RetryPolicy} */
+    public static StaleRetryCounts global() {
+        return GLOBAL;
+    }
+
+    public void record(String elementName) {
+        counts.computeIfAbsent(elementName, name -> new LongAdder()).increment();
+    }
+
+    /** @return the number of retries recorded for the element name */
+    public long getCount(String elementName) {
+        LongAdder count = counts.get(elementName);
+        return count == null ? 0 : count.sum();
+    }
+
+    /** @return the number of retries for each element name, most retried first */
+    public Map<String, Long> getCounts() {
+        Map<String, Long> snapshot = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().sum()))
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .forEach(entry -> snapshot.put(entry.getKey(), entry.getValue()));
+        return snapshot;
+    }
+
+    public void reset() {
+        counts.clear();
+    }
+}
@@ -1,17 +1,31 @@
 package com.frameworkium.lite.htmlelements.loader.decorator.proxyhandlers;
 
+import com.frameworkium.lite.htmlelements.element.SnapshotList;
+import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.pagefactory.ElementLocator;
 import org.openqa.selenium.support.pagefactory.internal.LocatingElementListHandler;
 
 import java.lang.reflect.Method;
+import java.util.List;
 
 public class WebElementListNamedProxyHandler extends LocatingElementListHandler {
 
     private final String name;
+    private final ElementListLookup<WebElement> lookup;
 
     public WebElementListNamedProxyHandler(ElementLocator locator, String name) {
+        this(locator, name, RetryPolicy.fromProperties());
+    }
+
+    public WebElementListNamedProxyHandler(ElementLocator locator, String name, RetryPolicy retryPolicy) {
+        this(locator, name, ElementListLookup.CACHE_LOOKUPS, retryPolicy);
+    }
+
+    public WebElementListNamedProxyHandler(
+            ElementLocator locator, String name, boolean cacheLookups, RetryPolicy retryPolicy) {
         super(locator);
         this.name = name;
+        this.lookup = new ElementListLookup<>(locator, name, cacheLookups, retryPolicy, List::copyOf);
     }
 
     @Override
@@ -19,6 +33,9 @@ public class WebElementListNamedProxyHandler extends LocatingElementListHandler
         if ("toString".equals(method.getName())) {
             return name;
         }
-        return super.invoke(o, method, objects);
+        if (method.getDeclaringClass() == SnapshotList.class) {
+            return lookup.snapshot();
+        }
+        return lookup.invoke(method, objects);
     }
 }
@@ -1,25 +1,48 @@
 package com.frameworkium.lite.htmlelements.loader.decorator.proxyhandlers;
 
-import com.frameworkium.lite.htmlelements.utils.HtmlElementUtils;
+import com.frameworkium.lite.common.properties.Property;
 import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.pagefactory.ElementLocator;
 import org.openqa.selenium.support.pagefactory.internal.LocatingElementHandler;
 
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.time.Clock;
-import java.util.concurrent.TimeUnit;
 
+/**
+ * Locates the element on each method call and retries calls which fail
+ * with a {@link StaleElementReferenceException}, according to the
+ * {@link RetryPolicy}.
+ *
+ * <p>If lookup caching is enabled, by setting {@code elementCache=true},
+ * the located element is reused by later calls until it goes stale or the
+ * driver navigates, see {@link NavigationEpoch}.
+ */
 public class WebElementNamedProxyHandler extends LocatingElementHandler {
 
-    private final long timeOutInSeconds;
-    private final Clock clock;
+    private static final boolean CACHE_LOOKUPS = Property.ELEMENT_CACHE.getBoolean();
+
+    private final RetryPolicy retryPolicy;
     private final String name;
+    private final ElementLocator locator;
+    private final boolean cacheLookups;
+    private volatile CachedElement cachedElement;
 
     public WebElementNamedProxyHandler(ElementLocator locator, String name) {
+        this(locator, name, CACHE_LOOKUPS);
+    }
+
+    public WebElementNamedProxyHandler(ElementLocator locator, String name, boolean cacheLookups) {
+        this(locator, name, cacheLookups, RetryPolicy.fromProperties());
+    }
+
+    public WebElementNamedProxyHandler(
+            ElementLocator locator, String name, boolean cacheLookups, RetryPolicy retryPolicy) {
         super(locator);
         this.name = name;
-        this.clock = Clock.systemDefaultZone();
-        this.timeOutInSeconds = HtmlElementUtils.getImplicitTimeoutInSeconds();
+        this.locator = locator;
+        this.cacheLookups = cacheLookups;
+        this.retryPolicy = retryPolicy;
     }
 
     @Override
@@ -28,22 +51,54 @@ public class WebElementNamedProxyHandler extends LocatingElementHandler {
             return name;
         }
 
-        final long end = this.clock.millis() + TimeUnit.SECONDS.toMillis(this.timeOutInSeconds);
-
-        StaleElementReferenceException lastException;
-        do {
+        if (!cacheLookups) {
+            return retryPolicy.call(name, () -> super.invoke(o, method, objects));
+        }
+        return retryPolicy.call(name, () -> {
             try {
-                return super.invoke(o, method, objects);
+                return invokeOnCachedElement(method, objects);
             } catch (StaleElementReferenceException e) {
-                lastException = e;
-                this.waitFor();
+                // a stale cached element is expected after the page changes, so it is located again at once
+                cachedElement = null;
+                return invokeOnCachedElement(method, objects);
             }
+        });
+    }
+
+    private Object invokeOnCachedElement(Method method, Object[] objects) throws Throwable {
+        WebElement element = findElement();
+        if ("getWrappedElement".equals(method.getName())) {
+            return element;
+        }
+        try {
+            return method.invoke(element, objects);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private WebElement findElement() {
+        CachedElement cached = cachedElement;
+        if (cached != null && cached.count == cached.epoch.current()) {
+            return cached.element;
         }
-        while (this.clock.millis() < end);
-        throw lastException;
+        // NoSuchElementException is propagated, as by LocatingElementHandler
+        WebElement element = locator.findElement();
+        NavigationEpoch epoch = NavigationEpoch.of(element);
+        cachedElement = new CachedElement(element, epoch, epoch.current());
+        return element;
     }
 
-    private void waitFor() throws InterruptedException {
-        Thread.sleep(500L);
+    private static final class CachedElement {
+
+        private final WebElement element;
+        private final NavigationEpoch epoch;
+        private final long count;
+
+        CachedElement(WebElement element, NavigationEpoch epoch, long count) {
+            this.element = element;
+            this.epoch = epoch;
+            this.count = count;
+        }
     }
 }
@@ -0,0 +1,139 @@
+package com.frameworkium.lite.htmlelements.utils;
+
+import com.frameworkium.lite.htmlelements.element.ElementState;
+import com.frameworkium.lite.htmlelements.element.SnapshotList;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the {@link ElementState} of many elements with a single
+ * {@link JavascriptExecutor#executeScript(String, Object...)} call, rather
+ * than one round-trip per property per element.
+ *
+ * <p>The values are read in the browser, so differ slightly from the
+ * equivalent {@link WebElement} methods:
+ * <ul>
+ * <li>text is the element's {@code innerText}</li>
+ * <li>an element is displayed if it has a layout box and is not hidden by
+ * {@code visibility} or {@code opacity}, but it may still be clipped by an
+ * ancestor's {@code overflow}</li>
+ * <li>attributes are read as by {@link WebElement#getDomAttribute(String)}</li>
+ * </ul>
+ *
+ * <p>Usage:
+ * <pre>{@code
+ * List<ElementState> states = BulkElementReader.readAll(rows, "class");
+ * }</pre>
+ */
+public final class BulkElementReader {
+
+    static final String SCRIPT = ""
+            + "var names = arguments[1];"
+            + "return arguments[0].map(function (el) {"
+            + "  var style = window.getComputedStyle(el);"
+            + "  var box = el.getBoundingClientRect();"
+            + "  var attributes = {};"
+            + "  names.forEach(function (name) { attributes[name] = el.getAttribute(name); });"
+            + "  return {"
+            + "    text: el.innerText === undefined ? el.textContent : el.innerText,"
+            + "    displayed: el.getClientRects().length > 0"
+            + "        && style.visibility !== 'hidden' && style.visibility !== 'collapse'"
+            + "        && style.opacity !== '0',"
+            + "    x: box.left + window.pageXOffset,"
+            + "    y: box.top + window.pageYOffset,"
+            + "    width: box.width,"
+            + "    height: box.height,"
+            + "    attributes: attributes"
+            + "  };"
+            + "});";
+
+    private final JavascriptExecutor executor;
+
+    public BulkElementReader(JavascriptExecutor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Reads all the elements using the driver of the first element.
+     * Lazy list proxies are located once.
+     *
+     * @param elements       the elements to read, e.g. a page object's list field
+     * @param attributeNames the attributes to read from each element
+     * @return the state of each element, in the same order
+     */
+    public static List<ElementState> readAll(List<? extends WebElement> elements, String... attributeNames) {
+        List<? extends WebElement> snapshot = SnapshotList.of(elements);
+        if (snapshot.isEmpty()) {
+            return List.of();
+        }
+        return forElement(snapshot.get(0)).read(snapshot, attributeNames);
+    }
+
+    /**
+     * @param element an element, which may be a proxy, block or typified element
+     * @return a reader using the driver the element was found with
+     * @throws IllegalArgumentException if the element's driver cannot be found
+     *                                  or cannot execute scripts
+     */
+    public static BulkElementReader forElement(WebElement element) {
+        return new BulkElementReader(HtmlElementUtils.getScriptExecutor(element));
+    }
+
+    /**
+     * Reads a single element, locating it first if it is a lazy proxy.
+     *
+     * @param element        the element to read
+     * @param attributeNames the attributes to read
+     * @return the state of the element
+     */
+    public static ElementState readOne(WebElement element, String... attributeNames) {
+        WebElement located = HtmlElementUtils.locate(element);
+        return forElement(located).read(List.of(located), attributeNames).get(0);
+    }
+
+    /**
+     * @param elements       the elements to read
+     * @param attributeNames the attributes to read from each element
+     * @return the state of each element, in the same order
+     */
+    public List<ElementState> read(List<? extends WebElement> elements, String... attributeNames) {
+        if (elements.isEmpty()) {
+            return List.of();
+        }
+        Object result = executor.executeScript(
+                SCRIPT, new ArrayList<>(elements), Arrays.asList(attributeNames));
+        if (!(result instanceof List) || ((List<?>) result).size() != elements.size()) {
+            throw new IllegalStateException("Unexpected result reading elements: " + result);
+        }
+        List<ElementState> states = new ArrayList<>(elements.size());
+        for (Object state : (List<?>) result) {
+            states.add(toElementState((Map<?, ?>) state));
+        }
+        return states;
+    }
+
+    private static ElementState toElementState(Map<?, ?> state) {
+        Map<String, String> attributes = new LinkedHashMap<>();
+        ((Map<?, ?>) state.get("attributes")).forEach((name, value) ->
+                attributes.put((String) name, value == null ? null : value.toString()));
+        var rect = new Rectangle(
+                toInt(state.get("x")), toInt(state.get("y")),
+                toInt(state.get("height")), toInt(state.get("width")));
+        return new ElementState(
+                (String) state.get("text"),
+                Boolean.TRUE.equals(state.get("displayed")),
+                rect,
+                attributes);
+    }
+
+    private static int toInt(Object number) {
+        return (int) Math.round(((Number) number).doubleValue());
+    }
+}
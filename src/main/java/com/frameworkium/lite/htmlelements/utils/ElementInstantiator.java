@@ -0,0 +1,104 @@
+package com.frameworkium.lite.htmlelements.utils;
+
+import org.apache.commons.lang3.reflect.ConstructorUtils;
+import org.openqa.selenium.WebElement;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+
+/**
+ * Instantiates blocks and typified elements through constructor
+ * {@link MethodHandle}s which are resolved once per class.
+ *
+ * <p>Constructors are resolved with the same rules as
+ * {@link ConstructorUtils#invokeConstructor(Class, Object...)}, i.e. the
+ * public constructor which is compatible with the arguments. For non-static
+ * member classes, a new instance of the declaring class is passed as the
+ * first argument.
+ */
+final class ElementInstantiator {
+
+    private static final MethodType NO_ARGS = MethodType.methodType(Object.class);
+    private static final MethodType WEB_ELEMENT_ARG = MethodType.methodType(Object.class, WebElement.class);
+
+    private static final ClassValue<ElementInstantiator> INSTANTIATORS = new ClassValue<>() {
+        @Override
+        protected ElementInstantiator computeValue(Class<?> type) {
+            return new ElementInstantiator(type);
+        }
+    };
+
+    private final Class<?> clazz;
+    private volatile MethodHandle noArgsConstructor;
+    private volatile MethodHandle webElementConstructor;
+
+    private ElementInstantiator(Class<?> clazz) {
+        this.clazz = clazz;
+    }
+
+    static ElementInstantiator of(Class<?> clazz) {
+        return INSTANTIATORS.get(clazz);
+    }
+
+    /** @return a new instance, using the public no-args constructor */
+    Object newInstance() throws NoSuchMethodException, IllegalAccessException, InvocationTargetException {
+        MethodHandle constructor = noArgsConstructor;
+        if (constructor == null) {
+            constructor = resolve(NO_ARGS);
+            noArgsConstructor = constructor;
+        }
+        try {
+            return constructor.invokeExact();
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    /** @return a new instance, using the public constructor which accepts the given element */
+    Object newInstance(WebElement elementToWrap)
+            throws NoSuchMethodException, IllegalAccessException, InvocationTargetException {
+        MethodHandle constructor = webElementConstructor;
+        if (constructor == null) {
+            constructor = resolve(WEB_ELEMENT_ARG);
+            webElementConstructor = constructor;
+        }
+        try {
+            return constructor.invokeExact(elementToWrap);
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    /**
+     * Resolves the constructor for the given arguments, binding a new
+     * instance of the declaring class for non-static member classes.
+     */
+    private MethodHandle resolve(MethodType type) throws NoSuchMethodException, IllegalAccessException {
+        Class<?>[] parameterTypes = type.parameterArray();
+        if (!clazz.isMemberClass() || Modifier.isStatic(clazz.getModifiers())) {
+            return findConstructor(clazz, parameterTypes).asType(type);
+        }
+        Class<?>[] withOuter = new Class<?>[parameterTypes.length + 1];
+        withOuter[0] = clazz.getDeclaringClass();
+        System.arraycopy(parameterTypes, 0, withOuter, 1, parameterTypes.length);
+        MethodHandle outerConstructor = MethodHandles.lookup()
+                .unreflectConstructor(clazz.getDeclaringClass().getDeclaredConstructor());
+        // (outer, args...) -> element, with outer created afresh for each element
+        return MethodHandles.collectArguments(findConstructor(clazz, withOuter), 0, outerConstructor)
+                .asType(type);
+    }
+
+    private static MethodHandle findConstructor(Class<?> clazz, Class<?>[] parameterTypes)
+            throws NoSuchMethodException, IllegalAccessException {
+        Constructor<?> constructor = ConstructorUtils.getMatchingAccessibleConstructor(clazz, parameterTypes);
+        if (constructor == null) {
+            throw new NoSuchMethodException(
+                    "No such accessible constructor on object: " + clazz.getName());
+        }
+        return MethodHandles.lookup().unreflectConstructor(constructor);
+    }
+}
@@ -3,7 +3,11 @@ package com.frameworkium.lite.htmlelements.utils;
 import com.frameworkium.lite.htmlelements.element.HtmlElement;
 import com.frameworkium.lite.htmlelements.element.TypifiedElement;
 import com.google.common.collect.Lists;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.WrapsElement;
 
 import java.lang.reflect.*;
 import java.net.URL;
@@ -24,8 +28,23 @@ public final class HtmlElementUtils {
     private HtmlElementUtils() {
     }
 
+    /**
+     * Creates a new instance of the given class using its public constructor
+     * which is compatible with the arguments. For non-static member classes,
+     * a new instance of the declaring class is created and passed first.
+     *
+     * <p>Constructors taking no arguments or a single {@link WebElement} are
+     * resolved once per class and invoked through a cached
+     * {@link java.lang.invoke.MethodHandle}.
+     */
     public static <T> T newInstance(Class<T> clazz, Object... args) throws IllegalAccessException,
             InstantiationException, NoSuchMethodException, InvocationTargetException {
+        if (args.length == 0) {
+            return clazz.cast(ElementInstantiator.of(clazz).newInstance());
+        }
+        if (args.length == 1 && args[0] instanceof WebElement) {
+            return clazz.cast(ElementInstantiator.of(clazz).newInstance((WebElement) args[0]));
+        }
         if (clazz.isMemberClass() && !Modifier.isStatic(clazz.getModifiers())) {
             Class<?> outerClass = clazz.getDeclaringClass();
             Object outerObject = outerClass.getDeclaredConstructor().newInstance();
@@ -119,6 +138,38 @@ public final class HtmlElementUtils {
         return Thread.currentThread().getContextClassLoader().getResource(fileName);
     }
 
+    /**
+     * Unwraps lazy proxies, blocks and typified elements, locating the
+     * element if necessary.
+     *
+     * @param element any element
+     * @return the element found by the driver
+     * @throws IllegalArgumentException if the element was not found by a driver
+     */
+    public static WebElement locate(WebElement element) {
+        WebElement unwrapped = element;
+        while (!(unwrapped instanceof WrapsDriver)) {
+            if (!(unwrapped instanceof WrapsElement)) {
+                throw new IllegalArgumentException("Cannot find the driver of element: " + element);
+            }
+            unwrapped = ((WrapsElement) unwrapped).getWrappedElement();
+        }
+        return unwrapped;
+    }
+
+    /**
+     * @param element any element
+     * @return the driver which found the element, to execute scripts with
+     * @throws IllegalArgumentException if the driver cannot be found or cannot execute scripts
+     */
+    public static JavascriptExecutor getScriptExecutor(WebElement element) {
+        WebDriver driver = ((WrapsDriver) locate(element)).getWrappedDriver();
+        if (!(driver instanceof JavascriptExecutor)) {
+            throw new IllegalArgumentException("Driver cannot execute scripts: " + driver);
+        }
+        return (JavascriptExecutor) driver;
+    }
+
     public static int getImplicitTimeoutInSeconds() {
         return Integer.getInteger("webdriver.timeouts.implicitlywait", DEFAULT_TIMEOUT_SECS);
     }
@@ -0,0 +1,156 @@
+package com.frameworkium.lite.ui;
+
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.ui.FluentWait;
+import org.openqa.selenium.support.ui.Sleeper;
+import org.openqa.selenium.support.ui.Wait;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Function;
+
+/**
+ * A {@link Wait} which re-checks its condition as soon as the page changes,
+ * rather than after a fixed polling interval.
+ *
+ * <p>Between checks, a {@code MutationObserver} is installed with
+ * {@link JavascriptExecutor#executeAsyncScript(String, Object...)}, which
+ * returns on the first DOM mutation, change of {@code document.readyState}
+ * or end of a CSS transition or animation. As not every change is
+ * observable, e.g. the passing of a timer, it also returns after a polling
+ * interval which starts short and doubles while nothing changes.
+ *
+ * <p>If the driver cannot execute asynchronous scripts, it simply sleeps
+ * for the adaptive polling interval, which is still much shorter than the
+ * {@link FluentWait} default of 500ms for conditions which hold quickly.
+ *
+ * <p>As with {@link UITestContext}'s {@link FluentWait}, missing and stale
+ * elements are ignored while waiting.
+ */
+public final class DomChangeWait implements Wait<WebDriver> {
+
+    static final Duration DEFAULT_INITIAL_INTERVAL = Duration.ofMillis(10);
+    static final Duration DEFAULT_MAX_INTERVAL = Duration.ofMillis(500);
+
+    static final String SCRIPT = ""
+            + "var timeout = arguments[0], done = arguments[arguments.length - 1];"
+            + "var events = ['readystatechange', 'transitionend', 'animationend'], finished = false, timer;"
+            + "var observer = new MutationObserver(function () { finish(true); });"
+            + "function onEvent() { finish(true); }"
+            + "function finish(changed) {"
+            + "  if (finished) { return; }"
+            + "  finished = true;"
+            + "  observer.disconnect();"
+            + "  clearTimeout(timer);"
+            + "  events.forEach(function (type) { document.removeEventListener(type, onEvent, true); });"
+            + "  done(changed);"
+            + "}"
+            + "events.forEach(function (type) { document.addEventListener(type, onEvent, true); });"
+            + "observer.observe(document, {subtree: true, childList: true, attributes: true, characterData: true});"
+            + "timer = setTimeout(function () { finish(false); }, timeout);";
+
+    private final WebDriver driver;
+    private final Duration timeout;
+    private final Duration initialInterval;
+    private final Duration maxInterval;
+    private final Clock clock;
+    private final Sleeper sleeper;
+
+    /**
+     * @param driver  the driver to wait on
+     * @param timeout how long to wait for the condition
+     */
+    public DomChangeWait(WebDriver driver, Duration timeout) {
+        this(driver, timeout, DEFAULT_INITIAL_INTERVAL, DEFAULT_MAX_INTERVAL,
+                Clock.systemDefaultZone(), Sleeper.SYSTEM_SLEEPER);
+    }
+
+    DomChangeWait(
+            WebDriver driver,
+            Duration timeout,
+            Duration initialInterval,
+            Duration maxInterval,
+            Clock clock,
+            Sleeper sleeper) {
+        this.driver = driver;
+        this.timeout = timeout;
+        this.initialInterval = initialInterval;
+        this.maxInterval = maxInterval;
+        this.clock = clock;
+        this.sleeper = sleeper;
+    }
+
+    /**
+     * Repeatedly applies the condition until it returns neither null nor
+     * false, as {@link FluentWait#until(Function)} does.
+     *
+     * @throws TimeoutException if the timeout expires first
+     */
+    @Override
+    public <V> V until(Function<? super WebDriver, V> isTrue) {
+        Instant end = clock.instant().plus(timeout);
+        boolean useScript = driver instanceof JavascriptExecutor;
+        Duration interval = initialInterval;
+        RuntimeException lastException;
+        while (true) {
+            try {
+                V value = isTrue.apply(driver);
+                if (value != null && (Boolean.class != value.getClass() || Boolean.TRUE.equals(value))) {
+                    return value;
+                }
+                lastException = null;
+            } catch (NotFoundException | StaleElementReferenceException e) {
+                lastException = e;
+            }
+
+            Duration remaining = Duration.between(clock.instant(), end);
+            if (remaining.isNegative() || remaining.isZero()) {
+                String message = String.format(
+                        "Expected condition failed: waiting for %s (tried for %d second(s) with adaptive polling)",
+                        isTrue, timeout.getSeconds());
+                throw new TimeoutException(message, lastException);
+            }
+
+            Duration pause = interval.compareTo(remaining) < 0 ? interval : remaining;
+            boolean observed = false;
+            boolean changed = false;
+            if (useScript) {
+                try {
+                    changed = Boolean.TRUE.equals(
+                            ((JavascriptExecutor) driver).executeAsyncScript(SCRIPT, pause.toMillis()));
+                    observed = true;
+                } catch (UnsupportedCommandException | UnsupportedOperationException | JavascriptException e) {
+                    useScript = false;
+                } catch (WebDriverException e) {
+                    // e.g. an alert is open or the document unloaded while waiting
+                }
+            }
+            if (!observed) {
+                sleep(pause);
+            }
+            interval = changed ? initialInterval : nextInterval(interval);
+        }
+    }
+
+    private void sleep(Duration pause) {
+        try {
+            sleeper.sleep(pause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException(e);
+        }
+    }
+
+    private Duration nextInterval(Duration interval) {
+        Duration doubled = interval.multipliedBy(2);
+        return doubled.compareTo(maxInterval) < 0 ? doubled : maxInterval;
+    }
+}
@@ -6,6 +6,7 @@ import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -185,10 +186,43 @@ public class ExtraExpectedConditions {
                 "the document ready state to equal 'complete'");
     }
 
+    /**
+     * Wait until there are no pending fetch or XHR requests, and none have
+     * finished within the quiet period.
+     *
+     * @param quietPeriod how long the network must have been idle for
+     * @return true iff the network has been idle for the quiet period
+     * @see PageStability
+     */
+    public static ExpectedCondition<Boolean> networkIdle(Duration quietPeriod) {
+
+        return javascriptExpectedCondition(
+                PageStability.CHECK_SCRIPT,
+                "the network to be idle for " + quietPeriod.toMillis() + "ms",
+                quietPeriod.toMillis(), true);
+    }
+
+    /**
+     * Wait until the document is complete, the network is idle and there are
+     * no pending short timers or animation frames, and none of these have
+     * been active within the quiet period.
+     *
+     * @param quietPeriod how long the page must have been stable for
+     * @return true iff the page has been stable for the quiet period
+     * @see PageStability
+     */
+    public static ExpectedCondition<Boolean> pageStable(Duration quietPeriod) {
+
+        return javascriptExpectedCondition(
+                PageStability.CHECK_SCRIPT,
+                "the page to be stable for " + quietPeriod.toMillis() + "ms",
+                quietPeriod.toMillis(), false);
+    }
+
     private static ExpectedCondition<Boolean> javascriptExpectedCondition(
-            String query, String message) {
+            String query, String message, Object... args) {
         return expectedCondition(
-                driver -> (Boolean) ((JavascriptExecutor) driver).executeScript(query),
+                driver -> (Boolean) ((JavascriptExecutor) driver).executeScript(query, args),
                 message);
     }
 
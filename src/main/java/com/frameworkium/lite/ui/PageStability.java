@@ -0,0 +1,140 @@
+package com.frameworkium.lite.ui;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.Map;
+
+/**
+ * Instruments a page to track the activity which keeps it from being
+ * stable: pending {@code fetch} and {@code XMLHttpRequest}s, short pending
+ * {@code setTimeout}s and animation frames.
+ *
+ * <p>The instrumentation is installed by the first check on each document,
+ * so misses any requests started before then. On Chromium based browsers,
+ * {@link #injectOnNewDocument(WebDriver)} installs it before any of the
+ * page's own scripts run instead.
+ *
+ * @see ExtraExpectedConditions#networkIdle(java.time.Duration)
+ * @see ExtraExpectedConditions#pageStable(java.time.Duration)
+ */
+public final class PageStability {
+
+    private static final Logger logger = LogManager.getLogger();
+
+    /**
+     * Timers with longer delays are ignored, as they are often used for
+     * polling, which would otherwise stop the page from ever being stable.
+     */
+    static final int MAX_TRACKED_TIMER_DELAY_MILLIS = 500;
+
+    static final String INSTRUMENT_SCRIPT = ""
+            + "(function () {"
+            + "  if (window.__frameworkiumStability) { return; }"
+            + "  var now = function () { return performance.now(); };"
+            + "  var s = window.__frameworkiumStability = {"
+            + "    requests: 0, timers: {}, lastNetwork: now(), lastTimer: now(), lastFrame: now()"
+            + "  };"
+            + "  function started() { s.requests++; s.lastNetwork = now(); }"
+            + "  function tracker() {"
+            + "    var ended = false;"
+            + "    return function () { if (!ended) { ended = true; s.requests--; s.lastNetwork = now(); } };"
+            + "  }"
+            + "  var fetch = window.fetch;"
+            + "  if (fetch) {"
+            + "    window.fetch = function () {"
+            + "      var end = tracker();"
+            + "      started();"
+            + "      try {"
+            + "        var response = fetch.apply(this, arguments);"
+            + "        response.then(end, end);"
+            + "        return response;"
+            + "      } catch (e) { end(); throw e; }"
+            + "    };"
+            + "  }"
+            + "  var send = XMLHttpRequest.prototype.send;"
+            + "  XMLHttpRequest.prototype.send = function () {"
+            + "    var end = tracker();"
+            + "    this.addEventListener('loadend', end);"
+            + "    started();"
+            + "    try { return send.apply(this, arguments); } catch (e) { end(); throw e; }"
+            + "  };"
+            + "  var setTimeout = window.setTimeout, clearTimeout = window.clearTimeout;"
+            + "  window.setTimeout = function (callback, delay) {"
+            + "    if (typeof callback !== 'function' || (delay || 0) > " + MAX_TRACKED_TIMER_DELAY_MILLIS + ") {"
+            + "      return setTimeout.apply(window, arguments);"
+            + "    }"
+            + "    var args = Array.prototype.slice.call(arguments, 2), id;"
+            + "    id = setTimeout.call(window, function () {"
+            + "      delete s.timers[id];"
+            + "      s.lastTimer = now();"
+            + "      return callback.apply(this, args);"
+            + "    }, delay);"
+            + "    s.timers[id] = true;"
+            + "    s.lastTimer = now();"
+            + "    return id;"
+            + "  };"
+            + "  window.clearTimeout = function (id) {"
+            + "    delete s.timers[id];"
+            + "    return clearTimeout.apply(window, arguments);"
+            + "  };"
+            + "  var requestAnimationFrame = window.requestAnimationFrame;"
+            + "  if (requestAnimationFrame) {"
+            + "    window.requestAnimationFrame = function (callback) {"
+            + "      s.lastFrame = now();"
+            + "      return requestAnimationFrame.call(window, function (time) {"
+            + "        s.lastFrame = now();"
+            + "        return callback(time);"
+            + "      });"
+            + "    };"
+            + "  }"
+            + "})();";
+
+    /**
+     * Returns whether the page has been stable for the quiet period in
+     * {@code arguments[0]} milliseconds. If {@code arguments[1]} is true,
+     * only the network is checked.
+     */
+    static final String CHECK_SCRIPT = INSTRUMENT_SCRIPT
+            + "var s = window.__frameworkiumStability, quiet = arguments[0], t = performance.now();"
+            + "if (s.requests > 0 || t - s.lastNetwork < quiet) { return false; }"
+            + "if (arguments[1]) { return true; }"
+            + "return document.readyState === 'complete'"
+            + "    && Object.keys(s.timers).length === 0"
+            + "    && t - s.lastTimer >= quiet"
+            + "    && t - s.lastFrame >= quiet;";
+
+    private PageStability() {
+        // hide default constructor for this util class
+    }
+
+    /**
+     * Installs the instrumentation in every new document before its own
+     * scripts run, so that all its requests are tracked.
+     *
+     * @param webDriver the driver, which may be wrapped
+     * @return true if the driver supports the Chrome DevTools Protocol and
+     *         the instrumentation was installed
+     */
+    public static boolean injectOnNewDocument(WebDriver webDriver) {
+        WebDriver unwrapped = webDriver instanceof WrapsDriver
+                ? ((WrapsDriver) webDriver).getWrappedDriver()
+                : webDriver;
+        if (!(unwrapped instanceof HasCdp)) {
+            return false;
+        }
+        try {
+            ((HasCdp) unwrapped).executeCdpCommand(
+                    "Page.addScriptToEvaluateOnNewDocument",
+                    Map.of("source", INSTRUMENT_SCRIPT));
+            return true;
+        } catch (WebDriverException e) {
+            logger.debug("Failed to inject the page stability script", e);
+            return false;
+        }
+    }
+}
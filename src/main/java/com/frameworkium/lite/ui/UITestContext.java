@@ -0,0 +1,131 @@
+package com.frameworkium.lite.ui;
+
+import com.frameworkium.lite.common.properties.Property;
+import com.frameworkium.lite.ui.capture.ScreenshotCapture;
+import com.frameworkium.lite.ui.driver.lifecycle.DriverLease;
+import com.frameworkium.lite.ui.profiling.ProfilingWait;
+import com.frameworkium.lite.ui.profiling.TestTimeline;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.FluentWait;
+import org.openqa.selenium.support.ui.Wait;
+
+import java.time.Duration;
+
+/**
+ * The state of a single UI test: its driver, wait and capture.
+ *
+ * <p>Unlike {@link UITestLifecycle#get()}, a context is not bound to a
+ * thread. It can be passed explicitly, e.g. to a
+ * {@link com.frameworkium.lite.ui.pages.BasePage}, so that many tests can
+ * share a small pool of browsers without holding a thread each.
+ *
+ * <p>A context opened by {@link UITestLifecycle#openContext(String)} holds a
+ * lease on a pooled browser, which is returned by {@link #close()}:
+ * <pre>{@code
+ * try (UITestContext context = UITestLifecycle.openContext("my test")) {
+ *     PageFactory.newInstance(context, HomePage.class, url).search("foo");
+ * }
+ * }</pre>
+ */
+public final class UITestContext implements AutoCloseable {
+
+    private static final boolean DOM_CHANGE_WAITS =
+            "domChange".equalsIgnoreCase(Property.WAIT_STRATEGY.getValue());
+
+    private final WebDriver webDriver;
+    private final Wait<WebDriver> wait;
+    private final ScreenshotCapture capture;
+    private final DriverLease lease;
+
+    /**
+     * Creates a context which does not own its driver, closing it does nothing.
+     *
+     * @param webDriver the driver for the test
+     * @param wait      the default wait for the test
+     * @param capture   the capture for the test, or null if not required
+     */
+    public UITestContext(WebDriver webDriver, Wait<WebDriver> wait, ScreenshotCapture capture) {
+        this.webDriver = webDriver;
+        this.wait = wait;
+        this.capture = capture;
+        this.lease = null;
+    }
+
+    /**
+     * Creates a context which owns the leased driver. Its capture receives
+     * the screenshots of the driver's events until it is closed.
+     */
+    UITestContext(DriverLease lease, Wait<WebDriver> wait, ScreenshotCapture capture) {
+        this.webDriver = lease.getWebDriver();
+        this.wait = wait;
+        this.capture = capture;
+        this.lease = lease;
+        if (capture != null) {
+            ScreenshotCapture.bind(webDriver, capture);
+        }
+    }
+
+    /**
+     * @param webDriver the driver to wait on
+     * @param timeout   timeout for the new Wait
+     * @return a Wait with the given timeout which ignores missing and stale elements,
+     *         a {@link DomChangeWait} if the {@code waitStrategy} property is {@code domChange},
+     *         which is profiled if the {@code profileDir} property is specified
+     */
+    static Wait<WebDriver> newWait(WebDriver webDriver, Duration timeout) {
+        Wait<WebDriver> wait = DOM_CHANGE_WAITS
+                ? new DomChangeWait(webDriver, timeout)
+                : new FluentWait<>(webDriver)
+                        .withTimeout(timeout)
+                        .ignoring(NoSuchElementException.class)
+                        .ignoring(StaleElementReferenceException.class);
+        return TestTimeline.isEnabled() ? new ProfilingWait(wait) : wait;
+    }
+
+    public WebDriver getWebDriver() {
+        return webDriver;
+    }
+
+    public Wait<WebDriver> getWait() {
+        return wait;
+    }
+
+    /** @return the capture for this test, or null if capture is not required */
+    public ScreenshotCapture getCapture() {
+        return capture;
+    }
+
+    /**
+     * @param timeout timeout for the new Wait
+     * @return a Wait, on this context's driver, with the given timeout
+     */
+    public Wait<WebDriver> newWaitWithTimeout(Duration timeout) {
+        return newWait(webDriver, timeout);
+    }
+
+    /**
+     * Returns the browser to the pool, if this context holds a lease.
+     * The browser is quit and replaced instead if it has crashed.
+     */
+    @Override
+    public void close() {
+        if (lease != null) {
+            ScreenshotCapture.unbind(webDriver);
+            lease.close();
+        }
+    }
+
+    /**
+     * Returns the browser to the pool to be quit and replaced rather than
+     * reused, e.g. because it has crashed. Does nothing if this context
+     * does not hold a lease.
+     */
+    public void invalidate() {
+        if (lease != null) {
+            ScreenshotCapture.unbind(webDriver);
+            lease.invalidate();
+        }
+    }
+}
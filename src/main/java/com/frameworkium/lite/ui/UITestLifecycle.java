@@ -1,37 +1,67 @@
 package com.frameworkium.lite.ui;
 
 import com.frameworkium.lite.common.properties.Property;
+import com.frameworkium.lite.htmlelements.loader.decorator.proxyhandlers.StaleRetryCounts;
 import com.frameworkium.lite.ui.browsers.UserAgent;
 import com.frameworkium.lite.ui.capture.ScreenshotCapture;
+import com.frameworkium.lite.ui.driver.Driver;
 import com.frameworkium.lite.ui.driver.DriverSetup;
+import com.frameworkium.lite.ui.driver.DriverSetup.Browser;
+import com.frameworkium.lite.ui.driver.drivers.GridImpl;
 import com.frameworkium.lite.ui.driver.lifecycle.*;
+import com.frameworkium.lite.ui.driver.metrics.DriverMetrics;
+import com.frameworkium.lite.ui.driver.metrics.DriverMetricsServer;
+import com.frameworkium.lite.ui.pages.WaitStatistics;
+import com.frameworkium.lite.ui.profiling.TestTimeline;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.*;
 import org.openqa.selenium.remote.RemoteWebDriver;
-import org.openqa.selenium.support.ui.FluentWait;
 import org.openqa.selenium.support.ui.Wait;
 
 import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 import static java.time.temporal.ChronoUnit.SECONDS;
 
 /**
  * Handles all UI test related state and life cycle.
  * Contains a ThreadLocal instance of itself.
+ *
+ * <p>If the {@code browsers} property lists several browsers, e.g.
+ * {@code chrome,firefox}, a separate driver pool is kept for each, and a
+ * test can choose its browser, see
+ * {@link com.frameworkium.lite.ui.tests.CrossBrowserDataProvider}.
+ *
+ * <p>Tests which should not be bound to a thread can instead use an explicit
+ * {@link UITestContext}, see {@link #openContext(String)}.
  */
 public class UITestLifecycle {
 
+    private static final Logger logger = LogManager.getLogger();
+
     private static final Duration DEFAULT_TIMEOUT = Duration.of(10, SECONDS);
 
     private static final ThreadLocal<UITestLifecycle> THREAD_LOCAL_INSTANCE =
             ThreadLocal.withInitial(UITestLifecycle::new);
 
+    /** Empty unless the browsers property is specified. */
+    private static final Map<Browser, DriverLifecycle> browserLifecycles = new EnumMap<>(Browser.class);
+    private static final Map<DriverLifecycle, String> userAgents = new ConcurrentHashMap<>();
     private static DriverLifecycle driverLifecycle;
-    private static String userAgent;
+    private static DriverMetricsServer metricsServer;
 
+    private DriverLifecycle testLifecycle;
     private ScreenshotCapture capture;
     private Wait<WebDriver> wait;
 
@@ -40,17 +70,89 @@ public class UITestLifecycle {
         return THREAD_LOCAL_INSTANCE.get();
     }
 
-    /** Run this before the test suite to initialise a pool of drivers. */
+    /**
+     * Run this before the test suite to initialise a pool of drivers, or one
+     * pool per browser if the {@code browsers} property is specified.
+     *
+     * <p>If the {@code driverMetricsPort} property is specified, the
+     * {@link DriverMetrics} are served on that port while the suite runs.
+     */
     public static void beforeSuite() {
-        if (Property.REUSE_BROWSER.getBoolean()) {
-            driverLifecycle =
-                    new MultiUseDriverLifecycle(
-                            DriverSetup::instantiateDriver,
-                            Property.THREADS.getIntWithDefault(1));
+        if (Property.DRIVER_METRICS_PORT.isSpecified() && metricsServer == null) {
+            metricsServer = DriverMetricsServer.start(
+                    Property.DRIVER_METRICS_PORT.getIntWithDefault(0), DriverMetrics.global());
+        }
+        if (Property.BROWSERS.isSpecified()) {
+            List<Browser> browsers = DriverSetup.getBrowsers();
+            Map<Browser, DriverLifecycle> lifecycles = new EnumMap<>(Browser.class);
+            browsers.forEach(browser -> lifecycles.put(
+                    browser, newDriverLifecycle(() -> DriverSetup.instantiateDriver(browser))));
+            useDriverLifecycles(lifecycles, lifecycles.get(browsers.get(0)));
+        } else {
+            useDriverLifecycles(Map.of(), newDriverLifecycle(DriverSetup::instantiateDriver));
+        }
+        allDriverLifecycles()
+                .parallelStream()
+                .forEach(DriverLifecycle::initDriverPool);
+    }
+
+    /**
+     * @param lifecycles       the pool for each browser, empty unless the
+     *                         {@code browsers} property is specified
+     * @param defaultLifecycle the pool for tests which do not choose a browser
+     */
+    static void useDriverLifecycles(Map<Browser, DriverLifecycle> lifecycles, DriverLifecycle defaultLifecycle) {
+        browserLifecycles.clear();
+        browserLifecycles.putAll(lifecycles);
+        driverLifecycle = defaultLifecycle;
+    }
+
+    private static DriverLifecycle newDriverLifecycle(Supplier<Driver> driverSupplier) {
+        if (Property.REUSE_BROWSER.getBoolean() && Property.ELASTIC_POOL.getBoolean()) {
+            return new ElasticDriverLifecycle(
+                    driverSupplier,
+                    DriverPoolSettings.fromProperties());
+        } else if (Property.REUSE_BROWSER.getBoolean()) {
+            return new MultiUseDriverLifecycle(
+                    driverSupplier,
+                    Property.THREADS.getIntWithDefault(1),
+                    BrowserResetStrategy.fromProperties());
+        } else if (Property.PREFETCH_BROWSERS.getIntWithDefault(0) > 0) {
+            return new PrefetchingSingleUseDriverLifecycle(
+                    driverSupplier,
+                    Property.PREFETCH_BROWSERS.getIntWithDefault(0));
         } else {
-            driverLifecycle = new SingleUseDriverLifecycle(DriverSetup::instantiateDriver);
+            return new SingleUseDriverLifecycle(driverSupplier);
+        }
+    }
+
+    private static List<DriverLifecycle> allDriverLifecycles() {
+        return browserLifecycles.isEmpty()
+                ? List.of(driverLifecycle)
+                : List.copyOf(browserLifecycles.values());
+    }
+
+    /**
+     * @param browser a browser from the {@code browsers} property
+     * @return the pool for the given browser, or the only pool if the
+     *         {@code browsers} property is not specified
+     * @throws IllegalArgumentException if the browser has no pool
+     */
+    static DriverLifecycle driverLifecycleFor(Browser browser) {
+        if (browser == null || browserLifecycles.isEmpty()) {
+            return driverLifecycle;
         }
-        driverLifecycle.initDriverPool();
+        DriverLifecycle lifecycle = browserLifecycles.get(browser);
+        if (lifecycle == null) {
+            throw new IllegalArgumentException(String.format(
+                    "%s is not one of the browsers property: %s", browser, browserLifecycles.keySet()));
+        }
+        return lifecycle;
+    }
+
+    /** @return the pool used by the current thread's test */
+    private DriverLifecycle driverLifecycle() {
+        return testLifecycle != null ? testLifecycle : driverLifecycle;
     }
 
     /**
@@ -61,9 +163,21 @@ public class UITestLifecycle {
         beforeTestMethod(getTestNameForCapture(testMethod));
     }
 
+    /**
+     * @param testMethod the method about to run, used to extract the test name
+     * @param browser    the browser to run the test in, or null for the default
+     * @see #beforeTestMethod(String, Browser)
+     */
+    public void beforeTestMethod(Method testMethod, Browser browser) {
+        String testName = getTestNameForCapture(testMethod);
+        beforeTestMethod(
+                browser == null ? testName : testName + " (" + browser.name().toLowerCase() + ")",
+                browser);
+    }
+
     /**
      * Run this before each test method to initialise:
-     * the browser, wait, capture, and user agent.
+     * the browser, wait, capture, user agent, and {@link TestTimeline} if profiling.
      *
      * <p>This is public for times when the testMethod does not contain the
      * required test name e.g. using data providers for BDD.
@@ -71,26 +185,94 @@ public class UITestLifecycle {
      * @param testName the test name for Capture
      */
     public void beforeTestMethod(String testName) {
+        beforeTestMethod(testName, null);
+    }
+
+    /**
+     * As per {@link #beforeTestMethod(String)}, but in the given browser.
+     *
+     * @param testName the test name for Capture
+     * @param browser  one of the browsers from the {@code browsers} property,
+     *                 or null for the default browser
+     * @throws IllegalArgumentException if the browser is not in the
+     *                                  {@code browsers} property
+     */
+    public void beforeTestMethod(String testName, Browser browser) {
+        if (TestTimeline.isEnabled()) {
+            TestTimeline.start(testName);
+        }
+        testLifecycle = driverLifecycleFor(browser);
         try {
-            driverLifecycle.initBrowserBeforeTest();
+            testLifecycle.initBrowserBeforeTest();
         } catch (WebDriverException | NullPointerException ex) {
             reinitialiseCurrentDriver();
-            driverLifecycle.initBrowserBeforeTest();
+            testLifecycle.initBrowserBeforeTest();
         }
 
         wait = newWaitWithTimeout(DEFAULT_TIMEOUT);
 
         // Capture reads the userAgent, so ensure this is set beforehand
-        updateUserAgent();
+        updateUserAgent(testLifecycle, getWebDriver());
 
         if (ScreenshotCapture.isRequired()) {
-            capture = new ScreenshotCapture(testName);
+            capture = new ScreenshotCapture(testName, getWebDriver(), userAgents.get(testLifecycle));
+            ScreenshotCapture.bind(getWebDriver(), capture);
         }
     }
 
-    private static void updateUserAgent() {
-        if (userAgent == null) {
-            userAgent = UserAgent.getUserAgent((JavascriptExecutor) get().getWebDriver());
+    private static void updateUserAgent(DriverLifecycle lifecycle, WebDriver webDriver) {
+        if (!userAgents.containsKey(lifecycle)) {
+            String userAgent = UserAgent.getUserAgent((JavascriptExecutor) webDriver);
+            if (userAgent != null) {
+                userAgents.putIfAbsent(lifecycle, userAgent);
+            }
+        }
+    }
+
+    /**
+     * Leases a browser from the pool for a test which is not bound to the
+     * current thread, as an alternative to {@link #beforeTestMethod(String)}.
+     *
+     * <p>Requires {@code reuseBrowser} and {@code elasticPool}.
+     *
+     * @param testName the test name for Capture
+     * @return a new {@link UITestContext}, which must be closed after the test
+     * @throws IllegalStateException if the driver pool is not elastic
+     */
+    public static UITestContext openContext(String testName) {
+        return openContext(testName, null);
+    }
+
+    /**
+     * Leases a browser from the pool of the given browser, as an alternative
+     * to {@link #beforeTestMethod(String, Browser)}.
+     *
+     * @param testName the test name for Capture
+     * @param browser  a browser from the {@code browsers} property, or null
+     *                 for the default pool
+     * @return a new {@link UITestContext}, which must be closed after the test
+     * @throws IllegalStateException    if the driver pool is not elastic
+     * @throws IllegalArgumentException if the browser has no pool
+     */
+    public static UITestContext openContext(String testName, Browser browser) {
+        DriverLifecycle lifecycle = driverLifecycleFor(browser);
+        if (!(lifecycle instanceof ElasticDriverLifecycle)) {
+            throw new IllegalStateException(
+                    "UITestContexts require the reuseBrowser and elasticPool properties.");
+        }
+        DriverLease lease = ((ElasticDriverLifecycle) lifecycle).acquire();
+        try {
+            WebDriver webDriver = lease.getWebDriver();
+            updateUserAgent(lifecycle, webDriver);
+            return new UITestContext(
+                    lease,
+                    UITestContext.newWait(webDriver, DEFAULT_TIMEOUT),
+                    ScreenshotCapture.isRequired()
+                            ? new ScreenshotCapture(testName, webDriver, userAgents.get(lifecycle))
+                            : null);
+        } catch (RuntimeException e) {
+            lease.close();
+            throw e;
         }
     }
 
@@ -99,28 +281,94 @@ public class UITestLifecycle {
         return StringUtils.abbreviate(methodName, 77);
     }
 
-    /** Run after each test method to clear or tear down the browser */
+    /**
+     * Run after each test method to clear or tear down the browser, and
+     * export the test's {@link TestTimeline} if {@code profileDir} is specified.
+     */
     public void afterTestMethod() {
-        driverLifecycle.tearDownDriver();
+        try {
+            exportTimeline();
+            if (capture != null) {
+                ScreenshotCapture.unbind(getWebDriver());
+                capture = null;
+            }
+        } finally {
+            driverLifecycle().tearDownDriver();
+        }
+    }
+
+    private static void exportTimeline() {
+        TestTimeline timeline = TestTimeline.finish();
+        if (timeline == null) {
+            return;
+        }
+        try {
+            Path trace = timeline.export(Paths.get(Property.PROFILE_DIR.getValue()));
+            logger.info("Profile of {}, trace written to {}", timeline, trace.toAbsolutePath());
+        } catch (RuntimeException e) {
+            logger.warn("Profile of {}, failed to write trace: {}", timeline, e.getMessage());
+            logger.debug("Failed to write trace.", e);
+        }
     }
 
     /**
      * Run after the entire test suite to:
-     * clear down the browser pool and send remaining screenshots to Capture.
+     * clear down the browser pool, send remaining screenshots to Capture,
+     * export the {@link DriverMetrics} if {@code driverMetricsDir} is specified,
+     * save and log the {@link WaitStatistics} if {@code waitStats.file} is specified
+     * and log the {@link StaleRetryCounts}.
      */
     public void afterTestSuite() {
-        driverLifecycle.tearDownDriverPool();
+        allDriverLifecycles()
+                .parallelStream()
+                .forEach(DriverLifecycle::tearDownDriverPool);
+        if (Property.DRIVER_METRICS_DIR.isSpecified()) {
+            exportDriverMetrics();
+        }
+        if (WaitStatistics.isRecording()) {
+            saveWaitStatistics();
+            WaitStatistics.global().getSummaries().forEach((wait, summary) ->
+                    logger.info("Wait for {}: {}", wait, summary));
+        }
+        GridImpl.getSessionBrokerMetrics().ifPresent(metrics ->
+                logger.info("Grid session requests: {}", metrics));
+        Map<String, Long> staleRetries = StaleRetryCounts.global().getCounts();
+        if (!staleRetries.isEmpty()) {
+            logger.info("Stale element retries by element: {}", staleRetries);
+        }
+        if (metricsServer != null) {
+            metricsServer.close();
+            metricsServer = null;
+        }
         ScreenshotCapture.processRemainingBacklog();
         THREAD_LOCAL_INSTANCE.remove();
     }
 
+    private static void exportDriverMetrics() {
+        try {
+            DriverMetrics.global().export(Paths.get(Property.DRIVER_METRICS_DIR.getValue()));
+        } catch (RuntimeException e) {
+            logger.warn("Failed to export driver metrics: {}", e.getMessage());
+            logger.debug("Failed to export driver metrics.", e);
+        }
+    }
+
+    private static void saveWaitStatistics() {
+        try {
+            WaitStatistics.global().save(Paths.get(Property.WAIT_STATS_FILE.getValue()));
+        } catch (RuntimeException e) {
+            logger.warn("Failed to save wait statistics: {}", e.getMessage());
+            logger.debug("Failed to save wait statistics.", e);
+        }
+    }
+
     /**
      * Re-initialises the browser for the current thread.
      * This can be useful if the browser crashes or becomes
      * unreachable, and you don't want to restart the whole suite.
      */
     public void reinitialiseCurrentDriver() {
-        driverLifecycle.reinitialiseCurrentDriver();
+        driverLifecycle().reinitialiseCurrentDriver();
     }
 
     /**
@@ -128,14 +376,11 @@ public class UITestLifecycle {
      * @return a Wait with the given timeout
      */
     public Wait<WebDriver> newWaitWithTimeout(Duration timeout) {
-        return new FluentWait<>(getWebDriver())
-                .withTimeout(timeout)
-                .ignoring(NoSuchElementException.class)
-                .ignoring(StaleElementReferenceException.class);
+        return UITestContext.newWait(getWebDriver(), timeout);
     }
 
     public WebDriver getWebDriver() {
-        return driverLifecycle.getWebDriver();
+        return driverLifecycle().getWebDriver();
     }
 
     public ScreenshotCapture getCapture() {
@@ -146,13 +391,30 @@ public class UITestLifecycle {
         return wait;
     }
 
-    /** @return the user agent of the browser in the first UI test to run. */
+    /**
+     * @return a {@link UITestContext} of the current thread's test, which
+     *         does not need to be closed
+     */
+    public UITestContext getContext() {
+        return new UITestContext(getWebDriver(), wait, capture);
+    }
+
+    /** @return the user agent of the first UI test to run in the current test's browser. */
     public Optional<String> getUserAgent() {
-        return Optional.ofNullable(userAgent);
+        return Optional.ofNullable(userAgents.get(driverLifecycle()));
     }
 
     /** @return the session ID of the remote WebDriver */
     public String getRemoteSessionId() {
-        return Objects.toString(((RemoteWebDriver) getWebDriver()).getSessionId());
+        return Objects.toString(getRemoteWebDriver().getSessionId());
+    }
+
+    /** @return the {@link RemoteWebDriver} wrapped by the event firing and any profiling drivers */
+    public RemoteWebDriver getRemoteWebDriver() {
+        WebDriver webDriver = getWebDriver();
+        while (!(webDriver instanceof RemoteWebDriver) && webDriver instanceof WrapsDriver) {
+            webDriver = ((WrapsDriver) webDriver).getWrappedDriver();
+        }
+        return (RemoteWebDriver) webDriver;
     }
 }
@@ -0,0 +1,108 @@
+package com.frameworkium.lite.ui.annotations;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+
+/**
+ * Reports invalid {@link Visible} and {@link Invisible} annotations as
+ * compilation errors, rather than failing when the page is loaded:
+ *
+ * <ul>
+ * <li>fields with both {@code @Visible} and {@code @Invisible}</li>
+ * <li>visibility annotations on fields which are not an element or list of elements</li>
+ * </ul>
+ *
+ * <p>The processor is opt-in, it is not registered as a service. Enable it
+ * with {@code -processor} or, for Maven, by adding this class to the
+ * {@code annotationProcessors} of the compiler plugin.
+ *
+ * <p>It only validates, see
+ * {@link com.frameworkium.lite.htmlelements.loader.binder.PageBinderProcessor}
+ * to also populate page objects without reflection.
+ */
+@SupportedAnnotationTypes({
+        "com.frameworkium.lite.ui.annotations.Visible",
+        "com.frameworkium.lite.ui.annotations.Invisible"})
+public class VisibilityAnnotationProcessor extends AbstractProcessor {
+
+    // HtmlElement and TypifiedElement are both WebElements
+    private static final String WEB_ELEMENT = "org.openqa.selenium.WebElement";
+
+    private Elements elements;
+    private Types types;
+    private Messager messager;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        elements = processingEnv.getElementUtils();
+        types = processingEnv.getTypeUtils();
+        messager = processingEnv.getMessager();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Set<VariableElement> fields = new LinkedHashSet<>();
+        fields.addAll(ElementFilter.fieldsIn(roundEnv.getElementsAnnotatedWith(Visible.class)));
+        fields.addAll(ElementFilter.fieldsIn(roundEnv.getElementsAnnotatedWith(Invisible.class)));
+        for (VariableElement field : fields) {
+            // static fields are ignored at runtime
+            if (!field.getModifiers().contains(Modifier.STATIC)) {
+                validate(field);
+            }
+        }
+        return false;
+    }
+
+    private void validate(VariableElement field) {
+        if (field.getAnnotation(Visible.class) != null && field.getAnnotation(Invisible.class) != null) {
+            messager.printMessage(Diagnostic.Kind.ERROR, String.format(
+                    "Field %s on %s has too many Visibility related Annotations",
+                    field.getSimpleName(),
+                    ((TypeElement) field.getEnclosingElement()).getQualifiedName()), field);
+        } else if (!isElement(field.asType())) {
+            messager.printMessage(Diagnostic.Kind.ERROR,
+                    "Only elements of type HtmlElement, TypifiedElement, WebElement or "
+                            + "Lists thereof are supported by Visibility annotations.", field);
+        }
+    }
+
+    /** @return true if the type is an element, or a list of elements, as at runtime */
+    private boolean isElement(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        TypeMirror erasure = types.erasure(type);
+        if (isSubtype(erasure, WEB_ELEMENT)) {
+            return true;
+        }
+        List<? extends TypeMirror> typeArguments = ((DeclaredType) type).getTypeArguments();
+        if (!isSubtype(erasure, List.class.getName())
+                || typeArguments.isEmpty()
+                || typeArguments.get(0).getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        return isSubtype(types.erasure(typeArguments.get(0)), WEB_ELEMENT);
+    }
+
+    private boolean isSubtype(TypeMirror erasure, String typeName) {
+        TypeElement element = elements.getTypeElement(typeName);
+        return element != null && types.isSubtype(erasure, types.erasure(element.asType()));
+    }
+}
@@ -2,18 +2,24 @@ package com.frameworkium.lite.ui.capture;
 
 import com.frameworkium.lite.common.properties.Property;
 import com.frameworkium.lite.ui.UITestLifecycle;
+import com.frameworkium.lite.ui.capture.model.Browser;
 import com.frameworkium.lite.ui.capture.model.Command;
 import com.frameworkium.lite.ui.capture.model.message.CreateExecution;
 import com.frameworkium.lite.ui.capture.model.message.CreateScreenshot;
 import com.frameworkium.lite.ui.driver.DriverSetup;
+import com.google.common.collect.MapMaker;
 import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
 import io.restassured.specification.RequestSpecification;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.*;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.SessionId;
 
 import java.net.*;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.*;
 
@@ -29,20 +35,47 @@ public class ScreenshotCapture {
     private static final ExecutorService executorService =
             Executors.newFixedThreadPool(CAPTURE_THREADS.getIntWithDefault(1));
 
+    /** The capture of the test using each driver, see {@link #bind(WebDriver, ScreenshotCapture)}. */
+    // weak identity keys, as drivers may be proxies which forward equals and hashCode
+    private static final Map<WebDriver, ScreenshotCapture> CAPTURES = new MapMaker().weakKeys().makeMap();
+
     private final String testID;
+    private final WebDriver driver;
     private final String executionID;
 
     /** Prevent multiple final state screenshots from being sent. */
     private boolean finalScreenshotSent = false;
     private static final Set<String> FINAL_STATES = Set.of("pass", "fail", "skip");
 
+    /**
+     * Creates an execution for the test of the current thread's {@link UITestLifecycle}.
+     *
+     * @param testID the name of the test
+     */
     public ScreenshotCapture(String testID) {
         logger.debug("About to initialise Capture execution for {}", testID);
         this.testID = testID;
+        this.driver = null;
         this.executionID = createExecution(new CreateExecution(testID, getNode()));
         logger.debug("Capture executionID={}", executionID);
     }
 
+    /**
+     * Creates an execution for a test using the given driver, which need
+     * not be bound to the current thread, e.g. of a {@code UITestContext}.
+     *
+     * @param testID    the name of the test
+     * @param driver    the test's driver, used to find its remote node
+     * @param userAgent the user agent of the test's browser, or null if unknown
+     */
+    public ScreenshotCapture(String testID, WebDriver driver, String userAgent) {
+        logger.debug("About to initialise Capture execution for {}", testID);
+        this.testID = testID;
+        this.driver = driver;
+        this.executionID = createExecution(new CreateExecution(testID, getNode(), new Browser(userAgent)));
+        logger.debug("Capture executionID={}", executionID);
+    }
+
     private String createExecution(CreateExecution createExecution) {
         try {
             return getRequestSpec()
@@ -87,21 +120,79 @@ public class ScreenshotCapture {
     }
 
     private String getRemoteNodeAddress() throws MalformedURLException {
+        String sessionId = driver == null
+                ? UITestLifecycle.get().getRemoteSessionId()
+                : getRemoteSessionId(driver);
+        if (sessionId == null) {
+            throw new IllegalStateException("Test driver is not a RemoteWebDriver");
+        }
         return RestAssured
-                .get(getTestSessionURL())
+                .get(getTestSessionURL(sessionId))
                 .then()
                 .extract().jsonPath()
                 .getString("proxyId");
     }
 
-    private String getTestSessionURL() throws MalformedURLException {
+    private static String getRemoteSessionId(WebDriver driver) {
+        WebDriver current = driver;
+        while (current != null && !(current instanceof RemoteWebDriver)) {
+            current = wrappedDriver(current);
+        }
+        SessionId sessionId = current == null ? null : ((RemoteWebDriver) current).getSessionId();
+        return sessionId == null ? null : sessionId.toString();
+    }
+
+    private String getTestSessionURL(String sessionId) throws MalformedURLException {
         URL gridURL = new URL(Property.GRID_URL.getValue());
         return String.format(
                 "%s://%s:%d/grid/api/testsession?session=%s",
                 gridURL.getProtocol(),
                 gridURL.getHost(),
                 gridURL.getPort(),
-                UITestLifecycle.get().getRemoteSessionId());
+                sessionId);
+    }
+
+    /**
+     * Sends screenshots of the events fired by the given driver to the given
+     * capture, until {@link #unbind(WebDriver)}.
+     *
+     * @param driver  the driver of a test, and any drivers it wraps
+     * @param capture the capture of the test
+     */
+    public static void bind(WebDriver driver, ScreenshotCapture capture) {
+        // events are fired with a driver the test's driver wraps, e.g. an EventFiringWebDriver's internal proxy
+        for (WebDriver current = driver; current != null; current = wrappedDriver(current)) {
+            CAPTURES.put(current, capture);
+        }
+    }
+
+    /** @param driver a driver whose test has finished */
+    public static void unbind(WebDriver driver) {
+        for (WebDriver current = driver; current != null; current = wrappedDriver(current)) {
+            CAPTURES.remove(current);
+        }
+    }
+
+    /**
+     * @param driver a driver which fired an event
+     * @return the capture bound to the driver, or empty if its test has
+     *         none, e.g. it is between tests
+     */
+    public static Optional<ScreenshotCapture> of(WebDriver driver) {
+        ScreenshotCapture capture = null;
+        for (WebDriver current = driver; capture == null && current != null; current = wrappedDriver(current)) {
+            capture = CAPTURES.get(current);
+        }
+        return Optional.ofNullable(capture);
+    }
+
+    /** @return the driver wrapped by the given driver, or null if it wraps none */
+    private static WebDriver wrappedDriver(WebDriver driver) {
+        if (!(driver instanceof WrapsDriver)) {
+            return null;
+        }
+        WebDriver wrapped = ((WrapsDriver) driver).getWrappedDriver();
+        return wrapped == driver ? null : wrapped;
     }
 
     public static boolean isRequired() {
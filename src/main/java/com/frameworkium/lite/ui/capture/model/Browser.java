@@ -7,8 +7,6 @@ import net.sf.uadetector.ReadableUserAgent;
 import net.sf.uadetector.UserAgentStringParser;
 import net.sf.uadetector.service.UADetectorServiceFactory;
 
-import java.util.Optional;
-
 import static com.frameworkium.lite.common.properties.Property.*;
 
 @JsonInclude(JsonInclude.Include.NON_NULL)
@@ -20,12 +18,19 @@ public class Browser {
     public String platform;
     public String platformVersion;
 
+    /** Describes the browser of the current thread's {@link UITestLifecycle}. */
     public Browser() {
+        this(UITestLifecycle.get().getUserAgent().orElse(null));
+    }
 
-        Optional<String> userAgent = UITestLifecycle.get().getUserAgent();
-        if (userAgent.isPresent() && !userAgent.get().isEmpty()) {
+    /**
+     * @param userAgent the user agent of the browser, or null to describe
+     *                  the browser from the properties
+     */
+    public Browser(String userAgent) {
+        if (userAgent != null && !userAgent.isEmpty()) {
             UserAgentStringParser uaParser = UADetectorServiceFactory.getResourceModuleParser();
-            ReadableUserAgent agent = uaParser.parse(userAgent.get());
+            ReadableUserAgent agent = uaParser.parse(userAgent);
 
             this.name = agent.getName();
             this.version = agent.getVersionNumber().toVersionString();
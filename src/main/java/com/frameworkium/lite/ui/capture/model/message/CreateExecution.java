@@ -17,13 +17,20 @@ public final class CreateExecution {
     private static final Logger logger = LogManager.getLogger();
 
     /**
-     * Create Capture execution.
+     * Create Capture execution, for the browser of the current thread's test.
      */
     public CreateExecution(String testID, String nodeAddress) {
+        this(testID, nodeAddress, new Browser());
+    }
+
+    /**
+     * Create Capture execution.
+     */
+    public CreateExecution(String testID, String nodeAddress, Browser browser) {
 
         logger.debug("CreateExecution: testID='{}', nodeAddress='{}", testID, nodeAddress);
         this.testID = testID;
-        this.browser = new Browser();
+        this.browser = browser;
         this.softwareUnderTest = new SoftwareUnderTest();
         this.nodeAddress = nodeAddress;
     }
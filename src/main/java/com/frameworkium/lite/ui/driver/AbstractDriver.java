@@ -1,28 +1,58 @@
 package com.frameworkium.lite.ui.driver;
 
 import com.frameworkium.lite.common.properties.Property;
+import com.frameworkium.lite.htmlelements.loader.decorator.proxyhandlers.NavigationEpoch;
+import com.frameworkium.lite.ui.PageStability;
 import com.frameworkium.lite.ui.capture.ScreenshotCapture;
 import com.frameworkium.lite.ui.listeners.CaptureListener;
 import com.frameworkium.lite.ui.listeners.LoggingListener;
+import com.frameworkium.lite.ui.listeners.NavigationEpochListener;
+import com.frameworkium.lite.ui.listeners.ProfilingListener;
+import com.frameworkium.lite.ui.profiling.TestTimeline;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.Capabilities;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.service.DriverService;
+import org.openqa.selenium.support.events.EventFiringDecorator;
 import org.openqa.selenium.support.events.EventFiringWebDriver;
+import org.openqa.selenium.support.events.WebDriverListener;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 
 public abstract class AbstractDriver implements Driver {
 
     protected static final Logger logger = LogManager.getLogger();
 
     private EventFiringWebDriver webDriverWrapper;
+    private DriverService driverService;
 
     @Override
     public EventFiringWebDriver getWebDriver() {
         return this.webDriverWrapper;
     }
 
+    @Override
+    public Optional<DriverService> getDriverService() {
+        return Optional.ofNullable(driverService);
+    }
+
+    /**
+     * Records the service used to start the driver so it can be stopped if
+     * the browser fails to quit.
+     *
+     * @param driverService the service which will start the driver
+     * @param <T>           the type of service
+     * @return the given service
+     */
+    protected <T extends DriverService> T useDriverService(T driverService) {
+        this.driverService = driverService;
+        return driverService;
+    }
+
     /** Creates the Wrapped Driver object and maximises if required. */
     public void initialise() {
         this.webDriverWrapper = setupEventFiringWebDriver(getCapabilities());
@@ -33,13 +63,24 @@ public abstract class AbstractDriver implements Driver {
 
     private EventFiringWebDriver setupEventFiringWebDriver(Capabilities capabilities) {
         logger.debug("Browser Capabilities: {}", capabilities);
-        WebDriver webDriver = getWebDriver(capabilities);
+        var epoch = new NavigationEpoch();
+        List<WebDriverListener> listeners = new ArrayList<>();
+        listeners.add(new NavigationEpochListener(epoch));
+        if (TestTimeline.isEnabled()) {
+            listeners.add(new ProfilingListener());
+        }
+        WebDriver webDriver = new EventFiringDecorator<>(listeners.toArray(WebDriverListener[]::new))
+                .decorate(getWebDriver(capabilities));
+        epoch.track(webDriver);
         EventFiringWebDriver eventFiringDriver = new EventFiringWebDriver(webDriver);
         eventFiringDriver.register(new LoggingListener());
         if (ScreenshotCapture.isRequired()) {
             eventFiringDriver.register(new CaptureListener());
         }
         eventFiringDriver.manage().timeouts().setScriptTimeout(Duration.ofSeconds(21));
+        if (Property.PAGE_STABLE_QUIET_MILLIS.isSpecified()) {
+            PageStability.injectOnNewDocument(webDriver);
+        }
         return eventFiringDriver;
     }
 
@@ -2,8 +2,11 @@ package com.frameworkium.lite.ui.driver;
 
 import org.openqa.selenium.Capabilities;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.service.DriverService;
 import org.openqa.selenium.support.events.EventFiringWebDriver;
 
+import java.util.Optional;
+
 public interface Driver {
 
     /** Method to set-up the driver object. */
@@ -30,4 +33,14 @@ public interface Driver {
      * @return EventFiringWebDriver
      */
     EventFiringWebDriver getWebDriver();
+
+    /**
+     * The local driver service, e.g. chromedriver, which can be stopped to
+     * force a hung browser to close.
+     *
+     * @return the driver service, or empty if the driver is remote
+     */
+    default Optional<DriverService> getDriverService() {
+        return Optional.empty();
+    }
 }
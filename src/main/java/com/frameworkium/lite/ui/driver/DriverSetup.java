@@ -6,6 +6,9 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
 
 public class DriverSetup {
 
@@ -22,7 +25,16 @@ public class DriverSetup {
      * @return An uninitialised desired {@link Driver} implementation.
      */
     public static Driver instantiateDriver() {
-        Driver driver = createDriverImpl(getBrowserTypeFromProperty());
+        return instantiateDriver(getBrowserTypeFromProperty());
+    }
+
+    /**
+     * @param browser the type of browser to create, regardless of the
+     *                {@code browser} property
+     * @return An uninitialised {@link Driver} implementation for the browser.
+     */
+    public static Driver instantiateDriver(Browser browser) {
+        Driver driver = createDriverImpl(browser);
         if (useRemoteDriver()) {
             driver = new GridImpl(driver.getCapabilities());
         }
@@ -62,6 +74,31 @@ public class DriverSetup {
         return Property.GRID_URL.isSpecified();
     }
 
+    /**
+     * @return the browsers from the comma separated {@code browsers} property,
+     *         or else the single browser from the {@code browser} property
+     */
+    public static List<Browser> getBrowsers() {
+        if (!Property.BROWSERS.isSpecified()) {
+            return List.of(getBrowserTypeFromProperty());
+        }
+        return parseBrowsers(Property.BROWSERS.getValue());
+    }
+
+    /**
+     * @param browsers comma separated browser names, e.g. {@code chrome, firefox}
+     * @return the distinct browsers, in order
+     * @throws IllegalArgumentException if a name is not a {@link Browser}
+     */
+    static List<Browser> parseBrowsers(String browsers) {
+        return Arrays.stream(browsers.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .map(name -> Browser.valueOf(name.toUpperCase()))
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
     private static Browser getBrowserTypeFromProperty() {
         if (Property.CUSTOM_BROWSER_IMPL.isSpecified()) {
             return Browser.CUSTOM;
@@ -5,6 +5,7 @@ import com.frameworkium.lite.ui.driver.AbstractDriver;
 import org.openqa.selenium.Capabilities;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
 import org.openqa.selenium.chrome.ChromeOptions;
 
 public class ChromeImpl extends AbstractDriver {
@@ -24,7 +25,7 @@ public class ChromeImpl extends AbstractDriver {
         } else {
             chromeOptions = new ChromeOptions().merge(capabilities);
         }
-        return new ChromeDriver(chromeOptions);
+        return new ChromeDriver(useDriverService(ChromeDriverService.createDefaultService()), chromeOptions);
     }
 
 }
@@ -4,6 +4,7 @@ import com.frameworkium.lite.ui.driver.AbstractDriver;
 import org.openqa.selenium.Capabilities;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeDriverService;
 import org.openqa.selenium.edge.EdgeOptions;
 
 public class EdgeImpl extends AbstractDriver {
@@ -21,6 +22,6 @@ public class EdgeImpl extends AbstractDriver {
         } else {
             edgeOptions = new EdgeOptions().merge(capabilities);
         }
-        return new EdgeDriver(edgeOptions);
+        return new EdgeDriver(useDriverService(EdgeDriverService.createDefaultService()), edgeOptions);
     }
 }
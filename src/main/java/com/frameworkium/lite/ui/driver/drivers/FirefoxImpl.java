@@ -24,6 +24,6 @@ public class FirefoxImpl extends AbstractDriver {
         } else {
             firefoxOptions = new FirefoxOptions().merge(capabilities);
         }
-        return new FirefoxDriver(firefoxOptions);
+        return new FirefoxDriver(useDriverService(GeckoDriverService.createDefaultService()), firefoxOptions);
     }
 }
@@ -7,13 +7,15 @@ import org.openqa.selenium.remote.RemoteWebDriver;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.Optional;
 
 import static com.frameworkium.lite.common.properties.Property.BROWSER_VERSION;
 import static com.frameworkium.lite.common.properties.Property.REMOTE_OTEL_TRACING;
 
 public class GridImpl extends AbstractDriver {
 
-    private final URL remoteURL;
+    private static GridSessionBroker sessionBroker;
+
     private final Capabilities capabilities;
 
     /**
@@ -21,8 +23,34 @@ public class GridImpl extends AbstractDriver {
      */
     public GridImpl(Capabilities capabilities) {
         this.capabilities = capabilities;
+        getSessionBroker();
+    }
+
+    /**
+     * @return the {@link GridSessionBroker} shared by all grid drivers, so
+     *         that its limits apply across all tests
+     */
+    public static synchronized GridSessionBroker getSessionBroker() {
+        if (sessionBroker == null) {
+            URL remoteURL = getRemoteURL();
+            sessionBroker = GridSessionBroker.fromProperties(
+                    capabilities -> new RemoteWebDriver(
+                            remoteURL, capabilities, REMOTE_OTEL_TRACING.getBoolean()));
+        }
+        return sessionBroker;
+    }
+
+    /**
+     * @return the metrics of the shared {@link GridSessionBroker}, or empty
+     *         if no grid driver has been created
+     */
+    public static synchronized Optional<GridSessionBroker.Metrics> getSessionBrokerMetrics() {
+        return Optional.ofNullable(sessionBroker).map(GridSessionBroker::getMetrics);
+    }
+
+    private static URL getRemoteURL() {
         try {
-            this.remoteURL = new URL(Property.GRID_URL.getValue());
+            return new URL(Property.GRID_URL.getValue());
         } catch (MalformedURLException e) {
             throw new IllegalStateException(e);
         }
@@ -39,6 +67,6 @@ public class GridImpl extends AbstractDriver {
 
     @Override
     public WebDriver getWebDriver(Capabilities capabilities) {
-        return new RemoteWebDriver(remoteURL, capabilities, REMOTE_OTEL_TRACING.getBoolean());
+        return getSessionBroker().createSession(capabilities);
     }
 }
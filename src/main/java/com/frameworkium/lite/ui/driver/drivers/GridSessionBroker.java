@@ -0,0 +1,358 @@
+package com.frameworkium.lite.ui.driver.drivers;
+
+import com.frameworkium.lite.common.properties.Property;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Requests new sessions from a Selenium Grid without overwhelming it.
+ *
+ * <p>The broker:
+ * <ul>
+ * <li>limits the number of session requests in flight at once, queueing
+ * the rest</li>
+ * <li>retries transient failures, i.e. timeouts, connection errors and
+ * a busy hub or full session queue, with exponential backoff and jitter.
+ * Other {@link SessionNotCreatedException}s, e.g. no node supports the
+ * capabilities, are thrown immediately.</li>
+ * <li>abandons requests which take longer than the creation timeout,
+ * quitting the session if it is created later. An abandoned request counts
+ * as in flight until it completes.</li>
+ * <li>records queue wait and creation latency, see {@link #getMetrics()}.
+ * These are logged at the end of the suite.</li>
+ * </ul>
+ */
+public class GridSessionBroker {
+
+    private static final Logger logger = LogManager.getLogger();
+
+    /** Lower case fragments of the hub's messages when it is busy or its session queue is full. */
+    private static final List<String> HUB_BUSY_MESSAGES =
+            List.of("busy", "queue", "timed out", "empty pool");
+
+    /** Creates a session on the grid, e.g. by constructing a {@code RemoteWebDriver}. */
+    @FunctionalInterface
+    public interface SessionFactory {
+        WebDriver create(Capabilities capabilities);
+    }
+
+    private final SessionFactory sessionFactory;
+    private final Semaphore inFlightPermits;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration creationTimeout;
+    private final ExecutorService creationExecutor =
+            Executors.newCachedThreadPool(
+                    new ThreadFactoryBuilder()
+                            .setNameFormat("grid-session-%d")
+                            .setDaemon(true)
+                            .build());
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong totalQueueWaitNanos = new AtomicLong();
+    private final AtomicLong totalCreationNanos = new AtomicLong();
+    private final LongAccumulator maxQueueWaitNanos = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator maxCreationNanos = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @param sessionFactory  creates a session on the grid
+     * @param maxInFlight     the maximum number of concurrent session requests
+     * @param maxAttempts     the number of attempts per session, at least 1
+     * @param initialBackoff  the delay before the first retry, doubled for
+     *                        each subsequent retry
+     * @param maxBackoff      the maximum delay between retries
+     * @param creationTimeout how long to wait for each attempt
+     * @throws IllegalArgumentException if any limit is invalid
+     */
+    public GridSessionBroker(
+            SessionFactory sessionFactory,
+            int maxInFlight,
+            int maxAttempts,
+            Duration initialBackoff,
+            Duration maxBackoff,
+            Duration creationTimeout) {
+        if (maxInFlight < 1 || maxAttempts < 1) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid grid limits: maxInFlight=%d, maxAttempts=%d", maxInFlight, maxAttempts));
+        }
+        if (initialBackoff.isNegative() || maxBackoff.isNegative()
+                || creationTimeout.isNegative() || creationTimeout.isZero()) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid grid timeouts: initialBackoff=%s, maxBackoff=%s, creationTimeout=%s",
+                    initialBackoff, maxBackoff, creationTimeout));
+        }
+        this.sessionFactory = sessionFactory;
+        this.inFlightPermits = new Semaphore(maxInFlight, true);
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.creationTimeout = creationTimeout;
+    }
+
+    /**
+     * @param sessionFactory creates a session on the grid
+     * @return a broker configured by the grid properties, by default allowing
+     *         {@code threads} requests in flight and three attempts per session
+     */
+    public static GridSessionBroker fromProperties(SessionFactory sessionFactory) {
+        return new GridSessionBroker(
+                sessionFactory,
+                Property.GRID_MAX_IN_FLIGHT.getIntWithDefault(Property.THREADS.getIntWithDefault(1)),
+                Property.GRID_SESSION_ATTEMPTS.getIntWithDefault(3),
+                Duration.ofMillis(Property.GRID_BACKOFF_MILLIS.getIntWithDefault(1000)),
+                Duration.ofSeconds(30),
+                Duration.ofSeconds(Property.GRID_SESSION_TIMEOUT.getIntWithDefault(180)));
+    }
+
+    /**
+     * Requests a session, waiting for a free slot before each attempt and
+     * retrying transient failures.
+     *
+     * @param capabilities the capabilities of the session
+     * @return the new session
+     * @throws WebDriverException the failure of the last attempt, or the
+     *                            first failure which is not transient
+     */
+    public WebDriver createSession(Capabilities capabilities) {
+        requests.incrementAndGet();
+        for (int attempt = 1; ; attempt++) {
+            long startedAt = System.nanoTime();
+            try {
+                final WebDriver webDriver = createSessionWithTimeout(capabilities);
+                long creation = System.nanoTime() - startedAt;
+                totalCreationNanos.addAndGet(creation);
+                maxCreationNanos.accumulate(creation);
+                created.incrementAndGet();
+                logger.debug("Created grid session in {}ms", TimeUnit.NANOSECONDS.toMillis(creation));
+                return webDriver;
+            } catch (WebDriverException e) {
+                if (attempt >= maxAttempts || !isTransient(e)) {
+                    failed.incrementAndGet();
+                    throw e;
+                }
+                Duration backoff = backoff(attempt);
+                logger.warn("Failed to create grid session, attempt {} of {}, retrying in {}ms",
+                        attempt, maxAttempts, backoff.toMillis());
+                logger.debug("Failed to create grid session", e);
+                retries.incrementAndGet();
+                sleep(backoff);
+            }
+        }
+    }
+
+    /**
+     * @return true if the failure may not recur, i.e. the grid was busy,
+     *         unreachable or timed out, rather than e.g. no node supports the
+     *         capabilities
+     */
+    static boolean isTransient(WebDriverException e) {
+        if (e instanceof CreationTimeoutException
+                || e instanceof UnreachableBrowserException
+                || e instanceof org.openqa.selenium.TimeoutException) {
+            return true;
+        }
+        if (e instanceof SessionNotCreatedException) {
+            return isHubBusy(e.getMessage());
+        }
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException || cause instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isHubBusy(String message) {
+        if (message == null) {
+            return false;
+        }
+        String lowerCaseMessage = message.toLowerCase(Locale.ROOT);
+        return HUB_BUSY_MESSAGES.stream().anyMatch(lowerCaseMessage::contains);
+    }
+
+    private void acquireInFlightPermit() {
+        long queuedAt = System.nanoTime();
+        try {
+            inFlightPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SessionNotCreatedException("Interrupted waiting to request a grid session");
+        }
+        long queueWait = System.nanoTime() - queuedAt;
+        totalQueueWaitNanos.addAndGet(queueWait);
+        maxQueueWaitNanos.accumulate(queueWait);
+    }
+
+    private WebDriver createSessionWithTimeout(Capabilities capabilities) {
+        acquireInFlightPermit();
+        CompletableFuture<WebDriver> session =
+                CompletableFuture.supplyAsync(() -> sessionFactory.create(capabilities), creationExecutor);
+        // held until the grid responds, even if abandoned, so an overloaded grid gets no extra requests
+        session.whenComplete((webDriver, e) -> inFlightPermits.release());
+        try {
+            return session.get(creationTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // the grid may still create the session, don't leave it running
+            session.thenAccept(GridSessionBroker::quitAbandonedSession);
+            throw new CreationTimeoutException("No grid session created within " + creationTimeout);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof WebDriverException) {
+                throw (WebDriverException) e.getCause();
+            }
+            throw new WebDriverException("Failed to create grid session", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            session.thenAccept(GridSessionBroker::quitAbandonedSession);
+            throw new SessionNotCreatedException("Interrupted waiting for a grid session");
+        }
+    }
+
+    private static void quitAbandonedSession(WebDriver webDriver) {
+        try {
+            webDriver.quit();
+        } catch (Exception e) {
+            logger.debug("Failed to quit abandoned grid session", e);
+        }
+    }
+
+    /** @return the delay before the given retry, with equal jitter */
+    private Duration backoff(int attempt) {
+        long exponential = initialBackoff.toMillis() << Math.min(attempt - 1, 30);
+        long capped = Math.min(maxBackoff.toMillis(), exponential);
+        long half = capped / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(capped - half + 1));
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SessionNotCreatedException("Interrupted backing off from grid");
+        }
+    }
+
+    /** Thrown when the grid does not create a session within the creation timeout. */
+    static final class CreationTimeoutException extends SessionNotCreatedException {
+
+        CreationTimeoutException(String message) {
+            super(message);
+        }
+    }
+
+    /** @return a snapshot of the session request metrics */
+    public Metrics getMetrics() {
+        long createdCount = created.get();
+        return new Metrics(
+                requests.get(),
+                createdCount,
+                failed.get(),
+                retries.get(),
+                Duration.ofNanos(totalQueueWaitNanos.get() / Math.max(1, requests.get())),
+                Duration.ofNanos(maxQueueWaitNanos.get()),
+                Duration.ofNanos(totalCreationNanos.get() / Math.max(1, createdCount)),
+                Duration.ofNanos(maxCreationNanos.get()));
+    }
+
+    /** Session request counts and latencies. */
+    public static final class Metrics {
+
+        private final long requests;
+        private final long created;
+        private final long failed;
+        private final long retries;
+        private final Duration meanQueueWait;
+        private final Duration maxQueueWait;
+        private final Duration meanCreationTime;
+        private final Duration maxCreationTime;
+
+        Metrics(
+                long requests,
+                long created,
+                long failed,
+                long retries,
+                Duration meanQueueWait,
+                Duration maxQueueWait,
+                Duration meanCreationTime,
+                Duration maxCreationTime) {
+            this.requests = requests;
+            this.created = created;
+            this.failed = failed;
+            this.retries = retries;
+            this.meanQueueWait = meanQueueWait;
+            this.maxQueueWait = maxQueueWait;
+            this.meanCreationTime = meanCreationTime;
+            this.maxCreationTime = maxCreationTime;
+        }
+
+        /** @return the number of calls to {@link #createSession(Capabilities)} */
+        public long getRequests() {
+            return requests;
+        }
+
+        public long getCreated() {
+            return created;
+        }
+
+        /** @return the number of sessions which failed after all attempts */
+        public long getFailed() {
+            return failed;
+        }
+
+        public long getRetries() {
+            return retries;
+        }
+
+        /** @return the mean time per session spent waiting for in-flight slots */
+        public Duration getMeanQueueWait() {
+            return meanQueueWait;
+        }
+
+        public Duration getMaxQueueWait() {
+            return maxQueueWait;
+        }
+
+        /** @return the mean time of the successful attempt, excluding retries */
+        public Duration getMeanCreationTime() {
+            return meanCreationTime;
+        }
+
+        public Duration getMaxCreationTime() {
+            return maxCreationTime;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "GridSessionBroker.Metrics{requests=%d, created=%d, failed=%d, retries=%d, "
+                            + "meanQueueWait=%s, maxQueueWait=%s, meanCreationTime=%s, maxCreationTime=%s}",
+                    requests, created, failed, retries,
+                    meanQueueWait, maxQueueWait, meanCreationTime, maxCreationTime);
+        }
+    }
+}
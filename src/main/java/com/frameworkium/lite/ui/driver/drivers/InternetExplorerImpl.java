@@ -4,6 +4,7 @@ import com.frameworkium.lite.ui.driver.AbstractDriver;
 import org.openqa.selenium.Capabilities;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.ie.InternetExplorerDriver;
+import org.openqa.selenium.ie.InternetExplorerDriverService;
 import org.openqa.selenium.ie.InternetExplorerOptions;
 
 public class InternetExplorerImpl extends AbstractDriver {
@@ -18,6 +19,8 @@ public class InternetExplorerImpl extends AbstractDriver {
 
     @Override
     public WebDriver getWebDriver(Capabilities capabilities) {
-        return new InternetExplorerDriver(new InternetExplorerOptions(capabilities));
+        return new InternetExplorerDriver(
+                useDriverService(InternetExplorerDriverService.createDefaultService()),
+                new InternetExplorerOptions(capabilities));
     }
 }
@@ -4,6 +4,7 @@ import com.frameworkium.lite.ui.driver.AbstractDriver;
 import org.openqa.selenium.Capabilities;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.safari.SafariDriver;
+import org.openqa.selenium.safari.SafariDriverService;
 import org.openqa.selenium.safari.SafariOptions;
 
 public class SafariImpl extends AbstractDriver {
@@ -17,7 +18,9 @@ public class SafariImpl extends AbstractDriver {
 
     @Override
     public WebDriver getWebDriver(Capabilities capabilities) {
-        return new SafariDriver(new SafariOptions(capabilities));
+        return new SafariDriver(
+                useDriverService(SafariDriverService.createDefaultService()),
+                new SafariOptions(capabilities));
     }
 
 }
@@ -0,0 +1,31 @@
+package com.frameworkium.lite.ui.driver.lifecycle;
+
+import com.frameworkium.lite.common.properties.Property;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Cleans up a pooled browser after a test so that it can be reused by the
+ * next test.
+ *
+ * <p>Implementations should throw if the browser cannot be reset, the pool
+ * will then replace the browser instead of reusing it.
+ */
+public interface BrowserResetStrategy {
+
+    /**
+     * @param webDriver the browser to reset
+     * @throws RuntimeException if the browser could not be reset
+     */
+    void reset(WebDriver webDriver);
+
+    /**
+     * @return a {@link FullResetStrategy} if the {@code browserReset} property
+     *         is {@code full}, otherwise a {@link CookieResetStrategy}
+     */
+    static BrowserResetStrategy fromProperties() {
+        if ("full".equalsIgnoreCase(Property.BROWSER_RESET.getValue())) {
+            return new FullResetStrategy();
+        }
+        return new CookieResetStrategy();
+    }
+}
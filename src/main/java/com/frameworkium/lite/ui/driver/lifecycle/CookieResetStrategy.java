@@ -0,0 +1,17 @@
+package com.frameworkium.lite.ui.driver.lifecycle;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Only deletes the cookies of the current domain, this is fast but leaves
+ * web storage, open windows and alerts behind.
+ *
+ * @see FullResetStrategy
+ */
+public class CookieResetStrategy implements BrowserResetStrategy {
+
+    @Override
+    public void reset(WebDriver webDriver) {
+        webDriver.manage().deleteAllCookies();
+    }
+}
@@ -0,0 +1,78 @@
+package com.frameworkium.lite.ui.driver.lifecycle;
+
+import com.frameworkium.lite.ui.driver.Driver;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.Map;
+
+/**
+ * Decides whether a pooled {@link Driver} is still fit to be leased.
+ *
+ * <p>The checks, in order of cost, are:
+ * <ul>
+ * <li>a session ping, by fetching the window handles</li>
+ * <li>the number of open windows, to catch tests which leak windows</li>
+ * <li>the JavaScript heap usage of the current page, via the Chrome DevTools
+ * Protocol, only where the browser supports it</li>
+ * </ul>
+ */
+public class DriverHealthCheck {
+
+    private static final Logger logger = LogManager.getLogger();
+
+    private final int maxWindows;
+    private final long maxHeapBytes;
+
+    /**
+     * @param maxWindows  the maximum number of open windows, or 0 for no limit
+     * @param maxHeapMB   the maximum JavaScript heap usage, in megabytes, of
+     *                    the current page, or 0 for no limit
+     */
+    public DriverHealthCheck(int maxWindows, int maxHeapMB) {
+        this.maxWindows = maxWindows;
+        this.maxHeapBytes = maxHeapMB * 1024L * 1024L;
+    }
+
+    /**
+     * @param driver the {@link Driver} to check
+     * @return true iff the session responds and is within the configured limits
+     */
+    public boolean isHealthy(Driver driver) {
+        try {
+            WebDriver webDriver = driver.getWebDriver();
+            int windowCount = webDriver.getWindowHandles().size();
+            if (maxWindows > 0 && windowCount > maxWindows) {
+                logger.debug("Driver has {} windows open, limit is {}", windowCount, maxWindows);
+                return false;
+            }
+            return isWithinHeapLimit(webDriver);
+        } catch (Exception e) {
+            logger.debug("Driver failed health check.", e);
+            return false;
+        }
+    }
+
+    private boolean isWithinHeapLimit(WebDriver webDriver) {
+        if (maxHeapBytes <= 0) {
+            return true;
+        }
+        WebDriver unwrapped = webDriver instanceof WrapsDriver
+                ? ((WrapsDriver) webDriver).getWrappedDriver()
+                : webDriver;
+        if (!(unwrapped instanceof HasCdp)) {
+            return true;
+        }
+        Map<String, Object> heapUsage =
+                ((HasCdp) unwrapped).executeCdpCommand("Runtime.getHeapUsage", Map.of());
+        long usedBytes = ((Number) heapUsage.get("usedSize")).longValue();
+        if (usedBytes > maxHeapBytes) {
+            logger.debug("Driver is using {} bytes of heap, limit is {}", usedBytes, maxHeapBytes);
+            return false;
+        }
+        return true;
+    }
+}
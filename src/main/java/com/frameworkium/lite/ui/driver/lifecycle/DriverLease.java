@@ -0,0 +1,55 @@
+package com.frameworkium.lite.ui.driver.lifecycle;
+
+import org.openqa.selenium.WebDriver;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Exclusive use of a pooled browser, returned to the pool on {@link #close()}.
+ *
+ * <p>Unlike {@link DriverLifecycle#initBrowserBeforeTest()}, a lease is not
+ * tied to the thread which acquired it, so it can be handed between threads,
+ * e.g. by an asynchronous test.
+ *
+ * @see ElasticDriverLifecycle#acquire()
+ */
+public final class DriverLease implements AutoCloseable {
+
+    private final ElasticDriverLifecycle pool;
+    private final PooledDriver pooledDriver;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    DriverLease(ElasticDriverLifecycle pool, PooledDriver pooledDriver) {
+        this.pool = pool;
+        this.pooledDriver = pooledDriver;
+    }
+
+    /**
+     * @return the leased {@link WebDriver}
+     * @throws IllegalStateException if this lease has been returned
+     */
+    public WebDriver getWebDriver() {
+        if (released.get()) {
+            throw new IllegalStateException("Driver lease has already been returned.");
+        }
+        return pooledDriver.getDriver().getWebDriver();
+    }
+
+    /** Resets the browser and returns it to the pool, further calls do nothing. */
+    @Override
+    public void close() {
+        if (released.compareAndSet(false, true)) {
+            pool.release(pooledDriver);
+        }
+    }
+
+    /**
+     * Returns the lease without reusing the browser, e.g. because it has
+     * crashed. The browser is quit and replaced in the background.
+     */
+    public void invalidate() {
+        if (released.compareAndSet(false, true)) {
+            pool.invalidate(pooledDriver);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.frameworkium.lite.ui.driver.lifecycle;
+
+import com.frameworkium.lite.common.properties.Property;
+
+import java.time.Duration;
+
+/**
+ * Immutable settings for an {@link ElasticDriverLifecycle}.
+ *
+ * <p>Start from {@link #defaults()} or {@link #fromProperties()} and adjust
+ * using the {@code with...} methods, each of which returns a new instance.
+ */
+public final class DriverPoolSettings {
+
+    private final int minSize;
+    private final int maxSize;
+    private final Duration idleTimeout;
+    private final Duration leaseTimeout;
+    private final Duration validationInterval;
+    private final DriverHealthCheck healthCheck;
+    private final BrowserResetStrategy resetStrategy;
+    private final int maxUses;
+    private final Duration maxAge;
+
+    private DriverPoolSettings(
+            int minSize,
+            int maxSize,
+            Duration idleTimeout,
+            Duration leaseTimeout,
+            Duration validationInterval,
+            DriverHealthCheck healthCheck,
+            BrowserResetStrategy resetStrategy,
+            int maxUses,
+            Duration maxAge) {
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.idleTimeout = idleTimeout;
+        this.leaseTimeout = leaseTimeout;
+        this.validationInterval = validationInterval;
+        this.healthCheck = healthCheck;
+        this.resetStrategy = resetStrategy;
+        this.maxUses = maxUses;
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * @return a pool of up to one driver, with no minimum, which retires
+     *         drivers after a minute idle and validates idle drivers every
+     *         30 seconds, only deleting cookies between tests and never
+     *         recycling drivers
+     */
+    public static DriverPoolSettings defaults() {
+        return new DriverPoolSettings(
+                0,
+                1,
+                Duration.ofSeconds(60),
+                Duration.ofSeconds(120),
+                Duration.ofSeconds(30),
+                new DriverHealthCheck(5, 0),
+                new CookieResetStrategy(),
+                0,
+                Duration.ZERO);
+    }
+
+    /** @return the {@link #defaults()} overridden by any pool properties */
+    public static DriverPoolSettings fromProperties() {
+        var defaults = defaults();
+        return new DriverPoolSettings(
+                Property.POOL_MIN_SIZE.getIntWithDefault(defaults.minSize),
+                Property.POOL_MAX_SIZE.getIntWithDefault(Property.THREADS.getIntWithDefault(defaults.maxSize)),
+                secondsProperty(Property.POOL_IDLE_TIMEOUT, defaults.idleTimeout),
+                secondsProperty(Property.POOL_LEASE_TIMEOUT, defaults.leaseTimeout),
+                secondsProperty(Property.POOL_VALIDATION_INTERVAL, defaults.validationInterval),
+                new DriverHealthCheck(
+                        Property.POOL_MAX_WINDOWS.getIntWithDefault(5),
+                        Property.POOL_MAX_HEAP_MB.getIntWithDefault(0)),
+                BrowserResetStrategy.fromProperties(),
+                Property.POOL_MAX_USES.getIntWithDefault(defaults.maxUses),
+                secondsProperty(Property.POOL_MAX_AGE, defaults.maxAge));
+    }
+
+    private static Duration secondsProperty(Property property, Duration defaultValue) {
+        return Duration.ofSeconds(property.getIntWithDefault((int) defaultValue.getSeconds()));
+    }
+
+    public DriverPoolSettings withSize(int minSize, int maxSize) {
+        return new DriverPoolSettings(
+                minSize, maxSize, idleTimeout, leaseTimeout, validationInterval, healthCheck, resetStrategy,
+                maxUses, maxAge);
+    }
+
+    public DriverPoolSettings withIdleTimeout(Duration idleTimeout) {
+        return new DriverPoolSettings(
+                minSize, maxSize, idleTimeout, leaseTimeout, validationInterval, healthCheck, resetStrategy,
+                maxUses, maxAge);
+    }
+
+    public DriverPoolSettings withLeaseTimeout(Duration leaseTimeout) {
+        return new DriverPoolSettings(
+                minSize, maxSize, idleTimeout, leaseTimeout, validationInterval, healthCheck, resetStrategy,
+                maxUses, maxAge);
+    }
+
+    /**
+     * @param validationInterval how often to check idle drivers,
+     *                           {@link Duration#ZERO} disables validation
+     * @param healthCheck        the check each idle driver must pass
+     * @return new settings with the given validation
+     */
+    public DriverPoolSettings withValidation(Duration validationInterval, DriverHealthCheck healthCheck) {
+        return new DriverPoolSettings(
+                minSize, maxSize, idleTimeout, leaseTimeout, validationInterval, healthCheck, resetStrategy,
+                maxUses, maxAge);
+    }
+
+    public DriverPoolSettings withResetStrategy(BrowserResetStrategy resetStrategy) {
+        return new DriverPoolSettings(
+                minSize, maxSize, idleTimeout, leaseTimeout, validationInterval, healthCheck, resetStrategy,
+                maxUses, maxAge);
+    }
+
+    /**
+     * @param maxUses the number of tests a driver is used for before it is
+     *                replaced, or 0 for no limit
+     * @param maxAge  how long a driver is used for before it is replaced,
+     *                {@link Duration#ZERO} for no limit
+     * @return new settings with the given recycling limits
+     */
+    public DriverPoolSettings withRecycling(int maxUses, Duration maxAge) {
+        return new DriverPoolSettings(
+                minSize, maxSize, idleTimeout, leaseTimeout, validationInterval, healthCheck, resetStrategy,
+                maxUses, maxAge);
+    }
+
+    public int getMinSize() {
+        return minSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public Duration getLeaseTimeout() {
+        return leaseTimeout;
+    }
+
+    public Duration getValidationInterval() {
+        return validationInterval;
+    }
+
+    public DriverHealthCheck getHealthCheck() {
+        return healthCheck;
+    }
+
+    public BrowserResetStrategy getResetStrategy() {
+        return resetStrategy;
+    }
+
+    public int getMaxUses() {
+        return maxUses;
+    }
+
+    public Duration getMaxAge() {
+        return maxAge;
+    }
+}
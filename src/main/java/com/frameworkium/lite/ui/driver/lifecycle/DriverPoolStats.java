@@ -0,0 +1,114 @@
+package com.frameworkium.lite.ui.driver.lifecycle;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * A point in time snapshot of the state of an {@link ElasticDriverLifecycle},
+ * useful for tuning the pool size and recycling thresholds.
+ *
+ * @see ElasticDriverLifecycle#getStats()
+ */
+public final class DriverPoolStats {
+
+    private final int idle;
+    private final long created;
+    private final long recycled;
+    private final long retired;
+    private final long evicted;
+    private final List<DriverStats> drivers;
+
+    DriverPoolStats(
+            int idle, long created, long recycled, long retired, long evicted, List<DriverStats> drivers) {
+        this.idle = idle;
+        this.created = created;
+        this.recycled = recycled;
+        this.retired = retired;
+        this.evicted = evicted;
+        this.drivers = List.copyOf(drivers);
+    }
+
+    /** @return the number of drivers alive, idle or leased, when this snapshot was taken */
+    public int getSize() {
+        return drivers.size();
+    }
+
+    public int getIdle() {
+        return idle;
+    }
+
+    /** @return the total number of drivers created since the pool was constructed */
+    public long getCreated() {
+        return created;
+    }
+
+    /** @return the number of drivers quit for reaching their maximum uses or age */
+    public long getRecycled() {
+        return recycled;
+    }
+
+    /** @return the number of drivers quit for being idle for too long */
+    public long getRetired() {
+        return retired;
+    }
+
+    /** @return the number of drivers quit for failing their reset or health check */
+    public long getEvicted() {
+        return evicted;
+    }
+
+    /** @return the lease statistics of each driver alive when this snapshot was taken */
+    public List<DriverStats> getDrivers() {
+        return drivers;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "DriverPoolStats{size=%d, idle=%d, created=%d, recycled=%d, retired=%d, evicted=%d}",
+                getSize(), idle, created, recycled, retired, evicted);
+    }
+
+    /** The lease statistics of a single pooled driver. */
+    public static final class DriverStats {
+
+        private final int leaseCount;
+        private final Duration leasedTime;
+        private final Duration age;
+        private final boolean leased;
+
+        DriverStats(int leaseCount, Duration leasedTime, Duration age, boolean leased) {
+            this.leaseCount = leaseCount;
+            this.leasedTime = leasedTime;
+            this.age = age;
+            this.leased = leased;
+        }
+
+        /** @return the number of times this driver has been leased */
+        public int getLeaseCount() {
+            return leaseCount;
+        }
+
+        /** @return the total time this driver has been leased, including any current lease */
+        public Duration getLeasedTime() {
+            return leasedTime;
+        }
+
+        /** @return the time since this driver was created */
+        public Duration getAge() {
+            return age;
+        }
+
+        /** @return true if this driver was leased when the snapshot was taken */
+        public boolean isLeased() {
+            return leased;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "DriverStats{leaseCount=%d, leasedTime=%s, age=%s, leased=%s}",
+                    leaseCount, leasedTime, age, leased);
+        }
+    }
+}
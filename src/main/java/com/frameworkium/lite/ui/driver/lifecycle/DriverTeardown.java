@@ -0,0 +1,215 @@
+package com.frameworkium.lite.ui.driver.lifecycle;
+
+import com.frameworkium.lite.common.properties.Property;
+import com.frameworkium.lite.ui.driver.Driver;
+import com.frameworkium.lite.ui.driver.metrics.DriverMetrics;
+import com.frameworkium.lite.ui.driver.metrics.DriverPhase;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Quits many {@link Driver}s in parallel without letting one hung browser
+ * stall the end of the suite.
+ *
+ * <p>Each {@link Driver} is quit on a dedicated thread. Any which have not
+ * quit by the deadline have their driver service process, e.g. chromedriver,
+ * stopped instead. Remote drivers, which have no local service, are
+ * abandoned.
+ */
+public final class DriverTeardown {
+
+    private static final Logger logger = LogManager.getLogger();
+
+    /** How a {@link Driver} was shut down. */
+    public enum Outcome {
+        /** {@code quit()} completed within the deadline. */
+        QUIT,
+        /** {@code quit()} threw an exception. */
+        FAILED,
+        /** {@code quit()} did not complete in time, so the driver service was stopped. */
+        KILLED,
+        /** {@code quit()} did not complete in time and there was no driver service to stop. */
+        ABANDONED
+    }
+
+    private final Duration quitTimeout;
+
+    /** @param quitTimeout how long to wait for all drivers to quit before escalating */
+    public DriverTeardown(Duration quitTimeout) {
+        this.quitTimeout = quitTimeout;
+    }
+
+    /** @return a teardown with the {@code quitTimeoutSecs} property, default 30 seconds */
+    public static DriverTeardown fromProperties() {
+        return new DriverTeardown(Duration.ofSeconds(Property.QUIT_TIMEOUT.getIntWithDefault(30)));
+    }
+
+    /**
+     * Quits the given drivers in parallel, waiting no longer than the quit
+     * timeout plus the time taken to stop any hung driver services.
+     *
+     * @param drivers the drivers to quit
+     * @return how long each driver took to shut down, and how
+     */
+    public Report quitAll(Collection<? extends Driver> drivers) {
+        Report report = shutDown(drivers);
+        if (!report.getResults().isEmpty()) {
+            logger.info("Quit {} drivers in {}ms", report.getResults().size(), report.getTotalTime().toMillis());
+            report.getResults().forEach(result -> logger.debug("Driver teardown: {}", result));
+        }
+        return report;
+    }
+
+    /**
+     * Quits a single driver on a dedicated thread, waiting no longer than
+     * the quit timeout plus the time taken to stop its driver service.
+     *
+     * @param driver the driver to quit
+     * @return how long the driver took to shut down, and how
+     */
+    public Result quit(Driver driver) {
+        Result result = shutDown(List.of(driver)).getResults().get(0);
+        logger.debug("Driver teardown: {}", result);
+        return result;
+    }
+
+    private Report shutDown(Collection<? extends Driver> drivers) {
+        long startNanos = System.nanoTime();
+        if (drivers.isEmpty()) {
+            return new Report(List.of(), Duration.ZERO);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(
+                drivers.size(),
+                new ThreadFactoryBuilder()
+                        .setNameFormat("driver-teardown-%d")
+                        .setDaemon(true)
+                        .build());
+        try {
+            // each quit records when it finished, as the futures are awaited in turn
+            var quitEndNanos = new AtomicLongArray(drivers.size());
+            List<Future<?>> quits = new ArrayList<>();
+            for (Driver driver : drivers) {
+                int index = quits.size();
+                quits.add(executor.submit(() -> {
+                    try {
+                        DriverMetrics.global().time(DriverPhase.QUIT, () -> driver.getWebDriver().quit());
+                    } finally {
+                        quitEndNanos.set(index, System.nanoTime());
+                    }
+                }));
+            }
+            long deadline = startNanos + quitTimeout.toNanos();
+            List<Result> results = new ArrayList<>();
+            int i = 0;
+            for (Driver driver : drivers) {
+                String name = driver.getClass().getSimpleName() + "#" + i;
+                Outcome outcome = await(quits.get(i), deadline, driver);
+                long endNanos = outcome == Outcome.QUIT || outcome == Outcome.FAILED
+                        ? quitEndNanos.get(i)
+                        : System.nanoTime();
+                results.add(new Result(name, outcome, Duration.ofNanos(endNanos - startNanos)));
+                i++;
+            }
+            return new Report(results, Duration.ofNanos(System.nanoTime() - startNanos));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Outcome await(Future<?> quit, long deadline, Driver driver) {
+        try {
+            quit.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return Outcome.QUIT;
+        } catch (ExecutionException e) {
+            logger.error("Failed to quit a browser in the pool.");
+            logger.debug("Failed to quit a browser in the pool.", e.getCause());
+            return Outcome.FAILED;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return escalate(quit, driver);
+        } catch (TimeoutException e) {
+            return escalate(quit, driver);
+        }
+    }
+
+    private static Outcome escalate(Future<?> quit, Driver driver) {
+        quit.cancel(true);
+        var driverService = driver.getDriverService();
+        if (driverService.isEmpty()) {
+            logger.warn("Browser did not quit in time and has no driver service to stop, abandoning it.");
+            return Outcome.ABANDONED;
+        }
+        logger.warn("Browser did not quit in time, stopping its driver service.");
+        try {
+            driverService.get().stop();
+        } catch (Exception e) {
+            logger.debug("Failed to stop driver service.", e);
+        }
+        return Outcome.KILLED;
+    }
+
+    /** The outcome of shutting down a single {@link Driver}. */
+    public static final class Result {
+
+        private final String driverName;
+        private final Outcome outcome;
+        private final Duration time;
+
+        Result(String driverName, Outcome outcome, Duration time) {
+            this.driverName = driverName;
+            this.outcome = outcome;
+            this.time = time;
+        }
+
+        public String getDriverName() {
+            return driverName;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        /** @return the time from the start of the teardown until this driver was shut down */
+        public Duration getTime() {
+            return time;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s %s after %dms", driverName, outcome, time.toMillis());
+        }
+    }
+
+    /** The outcome of shutting down each {@link Driver} in a teardown. */
+    public static final class Report {
+
+        private final List<Result> results;
+        private final Duration totalTime;
+
+        Report(List<Result> results, Duration totalTime) {
+            this.results = List.copyOf(results);
+            this.totalTime = totalTime;
+        }
+
+        public List<Result> getResults() {
+            return results;
+        }
+
+        public Duration getTotalTime() {
+            return totalTime;
+        }
+    }
+}
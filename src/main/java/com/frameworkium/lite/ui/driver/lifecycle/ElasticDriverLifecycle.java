@@ -0,0 +1,537 @@
+package com.frameworkium.lite.ui.driver.lifecycle;
+
+import com.frameworkium.lite.ui.driver.Driver;
+import com.frameworkium.lite.ui.driver.metrics.DriverMetrics;
+import com.frameworkium.lite.ui.driver.metrics.DriverPhase;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * A {@link DriverLifecycle} backed by a pool which grows and shrinks on demand.
+ *
+ * <p>Unlike {@link MultiUseDriverLifecycle}, which creates a fixed number of
+ * {@link Driver}s up front, this pool:
+ * <ul>
+ * <li>creates {@code minSize} {@link Driver}s in {@link #initDriverPool()}
+ * and any further ones lazily, when a test needs one and none are idle</li>
+ * <li>never holds more than {@code maxSize} {@link Driver}s</li>
+ * <li>waits up to {@code leaseTimeout} for a {@link Driver} to be returned
+ * when all {@code maxSize} are in use</li>
+ * <li>quits {@link Driver}s which have been idle for longer than
+ * {@code idleTimeout}, while keeping at least {@code minSize}</li>
+ * <li>periodically checks idle {@link Driver}s with a
+ * {@link DriverHealthCheck}, evicting any which fail</li>
+ * <li>recycles {@link Driver}s once they have been used for {@code maxUses}
+ * tests or are older than {@code maxAge}, to stop long-lived browsers
+ * accumulating memory and slowing down</li>
+ * </ul>
+ *
+ * <p>Evicted or broken {@link Driver}s are quit, and replaced, on a
+ * background thread, so a test thread only ever builds a browser when the
+ * pool is growing. Quitting is bounded by the {@link DriverTeardown}
+ * deadline, so a hung browser cannot stall maintenance. The lease
+ * statistics of each {@link Driver} are available from {@link #getStats()}.
+ *
+ * @see DriverLifecycle
+ */
+public class ElasticDriverLifecycle implements DriverLifecycle {
+
+    private static final Logger logger = LogManager.getLogger();
+
+    private static final Duration MIN_MAINTENANCE_INTERVAL = Duration.ofMillis(100);
+
+    private final ThreadLocal<DriverLease> threadLocalLease = new ThreadLocal<>();
+
+    private final Supplier<Driver> driverSupplier;
+    private final DriverPoolSettings settings;
+    private final DriverTeardown teardown;
+
+    /** Most recently returned drivers are at the head, the longest idle at the tail. */
+    private final BlockingDeque<PooledDriver> idleDrivers = new LinkedBlockingDeque<>();
+    /** Drivers which are idle, leased, being validated or being created. */
+    private final AtomicInteger liveDrivers = new AtomicInteger();
+    private final Set<PooledDriver> allDrivers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong recycledCount = new AtomicLong();
+    private final AtomicLong retiredCount = new AtomicLong();
+    private final AtomicLong evictedCount = new AtomicLong();
+    private final Semaphore leasePermits;
+    private volatile ScheduledExecutorService maintenance;
+    private volatile boolean closing;
+
+    /**
+     * @param driverSupplier the {@link Supplier} that creates {@link Driver}s
+     * @param minSize        the number of drivers to create up front and keep
+     *                       even when idle
+     * @param maxSize        the maximum number of drivers in the pool
+     * @param idleTimeout    how long a driver can be idle before it is quit
+     * @param leaseTimeout   how long to wait for a driver when all are in use
+     * @throws IllegalArgumentException if the sizes or durations are invalid
+     */
+    public ElasticDriverLifecycle(
+            Supplier<Driver> driverSupplier,
+            int minSize,
+            int maxSize,
+            Duration idleTimeout,
+            Duration leaseTimeout) {
+        this(driverSupplier, DriverPoolSettings.defaults()
+                .withSize(minSize, maxSize)
+                .withIdleTimeout(idleTimeout)
+                .withLeaseTimeout(leaseTimeout));
+    }
+
+    /**
+     * @param driverSupplier the {@link Supplier} that creates {@link Driver}s
+     * @param settings       the pool sizes, timeouts and validation
+     * @throws IllegalArgumentException if the sizes or durations are invalid
+     */
+    public ElasticDriverLifecycle(Supplier<Driver> driverSupplier, DriverPoolSettings settings) {
+        this(driverSupplier, settings, DriverTeardown.fromProperties());
+    }
+
+    ElasticDriverLifecycle(Supplier<Driver> driverSupplier, DriverPoolSettings settings, DriverTeardown teardown) {
+        int minSize = settings.getMinSize();
+        int maxSize = settings.getMaxSize();
+        if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid pool size: min=%d, max=%d", minSize, maxSize));
+        }
+        Duration idleTimeout = settings.getIdleTimeout();
+        Duration leaseTimeout = settings.getLeaseTimeout();
+        if (idleTimeout.isNegative() || idleTimeout.isZero() || leaseTimeout.isNegative()
+                || settings.getValidationInterval().isNegative() || settings.getMaxAge().isNegative()) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid pool timeouts: idle=%s, lease=%s, validation=%s, maxAge=%s",
+                    idleTimeout, leaseTimeout, settings.getValidationInterval(), settings.getMaxAge()));
+        }
+        if (settings.getMaxUses() < 0) {
+            throw new IllegalArgumentException("Invalid maxUses: " + settings.getMaxUses());
+        }
+        this.driverSupplier = driverSupplier;
+        this.settings = settings;
+        this.teardown = teardown;
+        this.leasePermits = new Semaphore(maxSize, true);
+    }
+
+    /**
+     * Creates {@code minSize} {@link Driver}s in parallel and starts
+     * retiring idle, validating and recycling drivers in the background.
+     *
+     * @throws IllegalStateException if trying to re-initialise existing pool
+     */
+    @Override
+    public synchronized void initDriverPool() {
+        if (maintenance != null) {
+            throw new IllegalStateException(
+                    "initDriverPool called when already initialised");
+        }
+        closing = false;
+        IntStream.range(0, settings.getMinSize())
+                .parallel()
+                .mapToObj(i -> {
+                    liveDrivers.incrementAndGet();
+                    return createDriver();
+                })
+                .forEach(idleDrivers::addLast);
+
+        maintenance = Executors.newScheduledThreadPool(
+                2,
+                new ThreadFactoryBuilder()
+                        .setNameFormat("driver-pool-maintenance-%d")
+                        .setDaemon(true)
+                        .build());
+        schedule(this::retireIdleDrivers, settings.getIdleTimeout().dividedBy(2));
+        if (!settings.getValidationInterval().isZero()) {
+            schedule(this::validateIdleDrivers, settings.getValidationInterval());
+        }
+        if (!settings.getMaxAge().isZero()) {
+            schedule(this::recycleExpiredDrivers, settings.getMaxAge().dividedBy(4));
+        }
+    }
+
+    private void schedule(Runnable task, Duration interval) {
+        long intervalMillis = Math.max(MIN_MAINTENANCE_INTERVAL.toMillis(), interval.toMillis());
+        maintenance.scheduleWithFixedDelay(
+                task, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Will set the current {@link ThreadLocal} {@link Driver} to be the most
+     * recently used idle {@link Driver}, creating a new one if none are idle
+     * and the pool is not yet at its maximum size.
+     *
+     * @throws NoSuchElementException if no {@link Driver} becomes available
+     *                                within the lease timeout
+     */
+    @Override
+    public void initBrowserBeforeTest() {
+        threadLocalLease.set(acquire());
+    }
+
+    /**
+     * Leases a {@link Driver} in the same way as {@link #initBrowserBeforeTest()},
+     * but without binding it to the current thread.
+     *
+     * @return a lease on the {@link Driver}, which must be closed after use
+     * @throws NoSuchElementException if no {@link Driver} becomes available
+     *                                within the lease timeout
+     */
+    public DriverLease acquire() {
+        PooledDriver pooledDriver = DriverMetrics.global().time(DriverPhase.LEASE_WAIT, this::awaitIdleDriverOrSlot);
+        if (pooledDriver == null) {
+            pooledDriver = createLeasedDriver();
+        }
+        pooledDriver.markLeased();
+        return new DriverLease(this, pooledDriver);
+    }
+
+    /**
+     * Waits for a lease permit, then for an idle driver or room in the pool
+     * for a new one. Creating the driver is left to the caller, so it is
+     * timed as {@link DriverPhase#CREATE} rather than as waiting.
+     *
+     * @return an idle driver, or null if a slot was reserved for a new one
+     */
+    private PooledDriver awaitIdleDriverOrSlot() {
+        long deadline = System.nanoTime() + settings.getLeaseTimeout().toNanos();
+        acquireLeasePermit(deadline);
+        try {
+            PooledDriver pooledDriver = idleDrivers.pollFirst();
+            if (pooledDriver != null) {
+                return pooledDriver;
+            }
+            if (reserveSlot()) {
+                return null;
+            }
+            // the pool is full, but a driver is being validated or replaced
+            pooledDriver = idleDrivers.pollFirst(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (pooledDriver == null) {
+                throw noDriverAvailable();
+            }
+            return pooledDriver;
+        } catch (InterruptedException e) {
+            leasePermits.release();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for a driver.", e);
+        } catch (RuntimeException e) {
+            leasePermits.release();
+            throw e;
+        }
+    }
+
+    /** Creates a driver in a reserved slot, giving up the lease permit if that fails. */
+    private PooledDriver createLeasedDriver() {
+        try {
+            return createDriver();
+        } catch (RuntimeException e) {
+            leasePermits.release();
+            throw e;
+        }
+    }
+
+    private void acquireLeasePermit(long deadline) {
+        try {
+            if (!leasePermits.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                throw noDriverAvailable();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for a driver.", e);
+        }
+    }
+
+    private NoSuchElementException noDriverAvailable() {
+        return new NoSuchElementException(String.format(
+                "No driver became available within %s, all %d are in use.",
+                settings.getLeaseTimeout(), settings.getMaxSize()));
+    }
+
+    /** @return true if there was room in the pool for another driver */
+    private boolean reserveSlot() {
+        int live;
+        do {
+            live = liveDrivers.get();
+            if (live >= settings.getMaxSize()) {
+                return false;
+            }
+        }
+        while (!liveDrivers.compareAndSet(live, live + 1));
+        return true;
+    }
+
+    /** Must only be called after a successful {@link #reserveSlot()}. */
+    private PooledDriver createDriver() {
+        try {
+            PooledDriver pooledDriver =
+                    new PooledDriver(DriverMetrics.global().time(DriverPhase.CREATE, driverSupplier));
+            allDrivers.add(pooledDriver);
+            createdCount.incrementAndGet();
+            return pooledDriver;
+        } catch (RuntimeException e) {
+            liveDrivers.decrementAndGet();
+            throw e;
+        }
+    }
+
+    @Override
+    public WebDriver getWebDriver() {
+        return threadLocalLease.get().getWebDriver();
+    }
+
+    /**
+     * Resets the browser using the configured {@link BrowserResetStrategy}
+     * and then returns the {@link Driver} to the pool. If that fails, the
+     * {@link Driver} is evicted and replaced in the background.
+     *
+     * <p>A {@link Driver} which has reached its maximum uses or age is
+     * recycled, i.e. replaced in the background, instead of being reset.
+     */
+    @Override
+    public void tearDownDriver() {
+        try {
+            threadLocalLease.get().close();
+        } finally {
+            threadLocalLease.remove();
+        }
+    }
+
+    /** @see #tearDownDriver() */
+    void release(PooledDriver pooledDriver) {
+        try {
+            pooledDriver.markIdle();
+            if (isDueForRecycling(pooledDriver, System.nanoTime())) {
+                logger.debug("Recycling driver after {} uses.", pooledDriver.getLeaseCount());
+                recycledCount.incrementAndGet();
+                evictAndReplace(pooledDriver);
+                return;
+            }
+            DriverMetrics.global().time(
+                    DriverPhase.RESET,
+                    () -> settings.getResetStrategy().reset(pooledDriver.getDriver().getWebDriver()));
+            idleDrivers.addFirst(pooledDriver);
+        } catch (Exception e) {
+            logger.warn("Failed to tear down browser after test method.");
+            logger.debug("Failed to tear down browser after test method.", e);
+            evictedCount.incrementAndGet();
+            evictAndReplace(pooledDriver);
+        } finally {
+            leasePermits.release();
+        }
+    }
+
+    /**
+     * Stops maintenance of the pool, calls {@link WebDriver#quit} on every
+     * idle {@link Driver} and allows the pool to be re-initialised.
+     */
+    @Override
+    public synchronized void tearDownDriverPool() {
+        if (maintenance == null) {
+            return;
+        }
+        // lets pending quits finish, but stops periodic and replacement tasks
+        closing = true;
+        maintenance.shutdown();
+        try {
+            if (!maintenance.awaitTermination(settings.getLeaseTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                logger.warn("Driver pool maintenance did not stop in time.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        maintenance = null;
+
+        List<Driver> drivers = new ArrayList<>();
+        PooledDriver pooledDriver;
+        while ((pooledDriver = idleDrivers.pollFirst()) != null) {
+            liveDrivers.decrementAndGet();
+            allDrivers.remove(pooledDriver);
+            drivers.add(pooledDriver.getDriver());
+        }
+        teardown.quitAll(drivers);
+        logger.debug("Driver pool torn down: {}", getStats());
+    }
+
+    /**
+     * Gives up the lease on the current {@link Driver}, if any, which is then
+     * quit and replaced in the background.
+     */
+    @Override
+    public void reinitialiseCurrentDriver() {
+        DriverLease currentLease = threadLocalLease.get();
+        if (currentLease == null) {
+            return;
+        }
+        threadLocalLease.remove();
+        currentLease.invalidate();
+    }
+
+    /** @see #reinitialiseCurrentDriver() */
+    void invalidate(PooledDriver pooledDriver) {
+        pooledDriver.markIdle();
+        evictedCount.incrementAndGet();
+        evictAndReplace(pooledDriver);
+        leasePermits.release();
+    }
+
+    /** @return the number of {@link Driver}s currently in the pool, idle or leased */
+    public int size() {
+        return liveDrivers.get();
+    }
+
+    /** @return the number of {@link Driver}s currently waiting to be leased */
+    public int idleCount() {
+        return idleDrivers.size();
+    }
+
+    /** @return a snapshot of the pool counters and the lease statistics of each live {@link Driver} */
+    public DriverPoolStats getStats() {
+        long now = System.nanoTime();
+        return new DriverPoolStats(
+                idleDrivers.size(),
+                createdCount.get(),
+                recycledCount.get(),
+                retiredCount.get(),
+                evictedCount.get(),
+                allDrivers.stream()
+                        .map(pooledDriver -> new DriverPoolStats.DriverStats(
+                                pooledDriver.getLeaseCount(),
+                                Duration.ofNanos(pooledDriver.leasedNanos(now)),
+                                Duration.ofNanos(pooledDriver.ageNanos(now)),
+                                pooledDriver.isLeased()))
+                        .collect(Collectors.toList()));
+    }
+
+    void retireIdleDrivers() {
+        long now = System.nanoTime();
+        Iterator<PooledDriver> longestIdleFirst = idleDrivers.descendingIterator();
+        while (longestIdleFirst.hasNext()) {
+            PooledDriver pooledDriver = longestIdleFirst.next();
+            // removal fails if the driver has been leased in the meantime
+            if (pooledDriver.idleNanos(now) >= settings.getIdleTimeout().toNanos()
+                    && idleDrivers.removeFirstOccurrence(pooledDriver)) {
+                if (!releaseSlotAboveMinimum()) {
+                    idleDrivers.addLast(pooledDriver);
+                    return;
+                }
+                logger.debug("Retiring driver idle for longer than {}", settings.getIdleTimeout());
+                retiredCount.incrementAndGet();
+                quitWebDriver(pooledDriver);
+            }
+        }
+    }
+
+    /** @return true if the pool was above its minimum size and has now shrunk by one */
+    private boolean releaseSlotAboveMinimum() {
+        int live;
+        do {
+            live = liveDrivers.get();
+            if (live <= settings.getMinSize()) {
+                return false;
+            }
+        }
+        while (!liveDrivers.compareAndSet(live, live - 1));
+        return true;
+    }
+
+    /**
+     * Checks each idle driver in turn. Each driver is removed from the idle
+     * queue while it is being checked, so it cannot be leased mid-check.
+     */
+    void validateIdleDrivers() {
+        for (PooledDriver pooledDriver : new ArrayList<>(idleDrivers)) {
+            if (!idleDrivers.removeFirstOccurrence(pooledDriver)) {
+                continue; // leased or retired in the meantime
+            }
+            if (settings.getHealthCheck().isHealthy(pooledDriver.getDriver())) {
+                idleDrivers.addLast(pooledDriver);
+            } else {
+                logger.info("Evicting driver which failed its health check.");
+                evictedCount.incrementAndGet();
+                evictAndReplace(pooledDriver);
+            }
+        }
+    }
+
+    /** Replaces idle drivers which are older than {@code maxAge}. */
+    void recycleExpiredDrivers() {
+        long now = System.nanoTime();
+        for (PooledDriver pooledDriver : new ArrayList<>(idleDrivers)) {
+            if (isDueForRecycling(pooledDriver, now)
+                    && idleDrivers.removeFirstOccurrence(pooledDriver)) {
+                logger.debug("Recycling driver older than {}", settings.getMaxAge());
+                recycledCount.incrementAndGet();
+                evictAndReplace(pooledDriver);
+            }
+        }
+    }
+
+    private boolean isDueForRecycling(PooledDriver pooledDriver, long now) {
+        int maxUses = settings.getMaxUses();
+        Duration maxAge = settings.getMaxAge();
+        return maxUses > 0 && pooledDriver.getLeaseCount() >= maxUses
+                || !maxAge.isZero() && pooledDriver.ageNanos(now) >= maxAge.toNanos();
+    }
+
+    /**
+     * Quits the given driver and creates a replacement in the background.
+     * If the pool is not being maintained, e.g. before {@link #initDriverPool()},
+     * the driver is quit on the current thread and not replaced.
+     */
+    private void evictAndReplace(PooledDriver pooledDriver) {
+        ScheduledExecutorService executor = maintenance;
+        if (executor == null) {
+            quit(pooledDriver);
+            return;
+        }
+        liveDrivers.decrementAndGet();
+        try {
+            executor.execute(() -> quitWebDriver(pooledDriver));
+            executor.execute(this::addReplacementDriver);
+        } catch (RejectedExecutionException e) {
+            quitWebDriver(pooledDriver);
+        }
+    }
+
+    private void addReplacementDriver() {
+        if (closing || !reserveSlot()) {
+            return; // closing, or the pool has grown back to capacity
+        }
+        try {
+            PooledDriver replacement = createDriver();
+            if (closing) {
+                quit(replacement); // the pool was torn down while creating
+            } else {
+                idleDrivers.addFirst(replacement);
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to create replacement driver, will retry when next required.");
+            logger.debug("Failed to create replacement driver.", e);
+        }
+    }
+
+    private void quit(PooledDriver pooledDriver) {
+        liveDrivers.decrementAndGet();
+        quitWebDriver(pooledDriver);
+    }
+
+    /** Quits with the same deadline as {@link #tearDownDriverPool()}, so a hung browser cannot stall maintenance. */
+    private void quitWebDriver(PooledDriver pooledDriver) {
+        allDrivers.remove(pooledDriver);
+        teardown.quit(pooledDriver.getDriver());
+    }
+}
@@ -0,0 +1,124 @@
+package com.frameworkium.lite.ui.driver.lifecycle;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Returns a browser to a state close to a new session, without the cost of
+ * starting a new browser.
+ *
+ * <p>In order, this:
+ * <ol>
+ * <li>dismisses any open alert</li>
+ * <li>closes all but one window</li>
+ * <li>clears local and session storage, IndexedDB, service workers and
+ * cache storage of the current origin using JavaScript</li>
+ * <li>clears all data for the current origin using the Chrome DevTools
+ * Protocol, where the browser supports it</li>
+ * <li>deletes all cookies</li>
+ * <li>navigates to {@code about:blank}</li>
+ * </ol>
+ */
+public class FullResetStrategy implements BrowserResetStrategy {
+
+    private static final Logger logger = LogManager.getLogger();
+
+    private static final String CLEAR_STORAGE_SCRIPT =
+            "var done = arguments[arguments.length - 1];"
+                    + "var pending = [];"
+                    + "try { window.localStorage.clear(); } catch (e) {}"
+                    + "try { window.sessionStorage.clear(); } catch (e) {}"
+                    + "if (window.indexedDB && indexedDB.databases) {"
+                    + "  pending.push(indexedDB.databases().then(function (dbs) {"
+                    + "    dbs.forEach(function (db) { indexedDB.deleteDatabase(db.name); });"
+                    + "  }));"
+                    + "}"
+                    + "if (navigator.serviceWorker) {"
+                    + "  pending.push(navigator.serviceWorker.getRegistrations().then(function (regs) {"
+                    + "    return Promise.all(regs.map(function (reg) { return reg.unregister(); }));"
+                    + "  }));"
+                    + "}"
+                    + "if (window.caches) {"
+                    + "  pending.push(caches.keys().then(function (keys) {"
+                    + "    return Promise.all(keys.map(function (key) { return caches.delete(key); }));"
+                    + "  }));"
+                    + "}"
+                    + "Promise.all(pending.map(function (p) { return p.catch(function () {}); }))"
+                    + "  .then(function () { done(true); });";
+
+    @Override
+    public void reset(WebDriver webDriver) {
+        dismissAlert(webDriver);
+        closeExtraWindows(webDriver);
+        String origin = currentOrigin(webDriver);
+        if (origin != null) {
+            ((JavascriptExecutor) webDriver).executeAsyncScript(CLEAR_STORAGE_SCRIPT);
+            clearDataForOrigin(webDriver, origin);
+        }
+        webDriver.manage().deleteAllCookies();
+        webDriver.get("about:blank");
+    }
+
+    private static void dismissAlert(WebDriver webDriver) {
+        try {
+            webDriver.switchTo().alert().dismiss();
+        } catch (NoAlertPresentException e) {
+            // nothing to dismiss
+        }
+    }
+
+    private static void closeExtraWindows(WebDriver webDriver) {
+        List<String> handles = new ArrayList<>(webDriver.getWindowHandles());
+        String windowToKeep = handles.get(0);
+        for (String handle : handles.subList(1, handles.size())) {
+            webDriver.switchTo().window(handle).close();
+        }
+        webDriver.switchTo().window(windowToKeep);
+    }
+
+    /** @return the origin of the current page, or null if it is not http(s) or cannot be parsed */
+    private static String currentOrigin(WebDriver webDriver) {
+        String url = webDriver.getCurrentUrl();
+        URI uri;
+        try {
+            uri = URI.create(url);
+        } catch (IllegalArgumentException e) {
+            // browsers accept URLs which URI rejects, e.g. with spaces or an unescaped |
+            logger.debug("Not clearing data for unparseable URL {}", url, e);
+            return null;
+        }
+        if (!"http".equals(uri.getScheme()) && !"https".equals(uri.getScheme())) {
+            return null;
+        }
+        return uri.getPort() == -1
+                ? uri.getScheme() + "://" + uri.getHost()
+                : uri.getScheme() + "://" + uri.getHost() + ":" + uri.getPort();
+    }
+
+    private static void clearDataForOrigin(WebDriver webDriver, String origin) {
+        WebDriver unwrapped = webDriver instanceof WrapsDriver
+                ? ((WrapsDriver) webDriver).getWrappedDriver()
+                : webDriver;
+        if (!(unwrapped instanceof HasCdp)) {
+            return;
+        }
+        try {
+            ((HasCdp) unwrapped).executeCdpCommand(
+                    "Storage.clearDataForOrigin",
+                    Map.of("origin", origin, "storageTypes", "all"));
+        } catch (WebDriverException e) {
+            logger.debug("Failed to clear data for origin {}", origin, e);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.frameworkium.lite.ui.driver.lifecycle;
 
 import com.frameworkium.lite.ui.driver.Driver;
+import com.frameworkium.lite.ui.driver.metrics.DriverMetrics;
+import com.frameworkium.lite.ui.driver.metrics.DriverPhase;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebDriver;
@@ -15,10 +17,11 @@ public class MultiUseDriverLifecycle implements DriverLifecycle {
 
     private static final Logger logger = LogManager.getLogger();
 
-    private static final ThreadLocal<Driver> threadLocalDriver = new ThreadLocal<>();
+    private final ThreadLocal<Driver> threadLocalDriver = new ThreadLocal<>();
 
     private final Supplier<Driver> driverSupplier;
     private final int poolSize;
+    private final BrowserResetStrategy resetStrategy;
     private BlockingDeque<Driver> driverPool;
 
     /**
@@ -26,8 +29,19 @@ public class MultiUseDriverLifecycle implements DriverLifecycle {
      * @param poolSize the fixed size of the pool of drivers
      */
     public MultiUseDriverLifecycle(Supplier<Driver> driverSupplier, int poolSize) {
+        this(driverSupplier, poolSize, new CookieResetStrategy());
+    }
+
+    /**
+     * @param driverSupplier the {@link Supplier} that creates {@link Driver}s
+     * @param poolSize the fixed size of the pool of drivers
+     * @param resetStrategy cleans up each {@link Driver} before it is reused
+     */
+    public MultiUseDriverLifecycle(
+            Supplier<Driver> driverSupplier, int poolSize, BrowserResetStrategy resetStrategy) {
         this.driverSupplier = driverSupplier;
         this.poolSize = poolSize;
+        this.resetStrategy = resetStrategy;
     }
 
     /**
@@ -45,7 +59,7 @@ public class MultiUseDriverLifecycle implements DriverLifecycle {
         driverPool = new LinkedBlockingDeque<>(poolSize);
         IntStream.range(0, poolSize)
                 .parallel()
-                .mapToObj(i -> driverSupplier.get())
+                .mapToObj(i -> DriverMetrics.global().time(DriverPhase.CREATE, driverSupplier))
                 .forEach(driverPool::addLast);
     }
 
@@ -57,7 +71,7 @@ public class MultiUseDriverLifecycle implements DriverLifecycle {
      */
     @Override
     public void initBrowserBeforeTest() {
-        threadLocalDriver.set(driverPool.removeFirst());
+        threadLocalDriver.set(DriverMetrics.global().time(DriverPhase.LEASE_WAIT, driverPool::removeFirst));
     }
 
     @Override
@@ -66,15 +80,15 @@ public class MultiUseDriverLifecycle implements DriverLifecycle {
     }
 
     /**
-     * If reuseBrowser is true, this will {@code deleteAllCookies} and then
-     * re-add the {@link Driver} back to the pool, else it will call {@code quit()}
-     * on the underlying {@link WebDriver}.
+     * Resets the browser using the {@link BrowserResetStrategy} and then
+     * re-adds the {@link Driver} back to the pool. If the reset fails, the
+     * {@link Driver} is replaced with a new one.
      */
     @Override
     public void tearDownDriver() {
         try {
             Driver driver = threadLocalDriver.get();
-            driver.getWebDriver().manage().deleteAllCookies();
+            DriverMetrics.global().time(DriverPhase.RESET, () -> resetStrategy.reset(driver.getWebDriver()));
             driverPool.addLast(driver);
         } catch (Exception e) {
             logger.warn("Failed to tear down browser after test method.");
@@ -88,6 +102,8 @@ public class MultiUseDriverLifecycle implements DriverLifecycle {
     /**
      * Drains the pool, calls {@link WebDriver#quit} on every {@link Driver}
      * remaining in the pool and sets the pool to {@code null}.
+     *
+     * <p>Drivers which do not quit in time are killed, see {@link DriverTeardown}.
      */
     @Override
     public void tearDownDriverPool() {
@@ -95,15 +111,7 @@ public class MultiUseDriverLifecycle implements DriverLifecycle {
             return;
         }
 
-        driverPool.parallelStream()
-                .forEach(driver -> {
-                    try {
-                        driver.getWebDriver().quit();
-                    } catch (Exception e) {
-                        logger.error("Failed to quit a browser in the pool.");
-                        logger.debug("Failed to quit a browser in the pool.", e);
-                    }
-                });
+        DriverTeardown.fromProperties().quitAll(driverPool);
 
         driverPool = null; // allows re-initialisation
     }
@@ -113,12 +121,16 @@ public class MultiUseDriverLifecycle implements DriverLifecycle {
         Driver currentDriver = threadLocalDriver.get();
         if (currentDriver != null) {
             try {
-                currentDriver.getWebDriver().quit();
+                quit(currentDriver);
             } catch (Exception e) {
                 logger.warn("Failed to quit existing browser in the pool.", e);
             }
         }
         threadLocalDriver.remove();
-        driverPool.addLast(driverSupplier.get());
+        driverPool.addLast(DriverMetrics.global().time(DriverPhase.CREATE, driverSupplier));
+    }
+
+    private static void quit(Driver driver) {
+        DriverMetrics.global().time(DriverPhase.QUIT, () -> driver.getWebDriver().quit());
     }
 }
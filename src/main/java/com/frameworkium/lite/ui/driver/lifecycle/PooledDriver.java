@@ -0,0 +1,81 @@
+package com.frameworkium.lite.ui.driver.lifecycle;
+
+import com.frameworkium.lite.ui.driver.Driver;
+
+/**
+ * A {@link Driver} held by a pool along with the state the pool needs.
+ *
+ * <p>The lease state is only updated by the thread holding the lease, but
+ * may be read by any thread.
+ */
+final class PooledDriver {
+
+    private final Driver driver;
+    private final long createdNanos;
+    private volatile long idleSinceNanos;
+    private volatile long leasedSinceNanos;
+    private volatile int leaseCount;
+    private volatile long totalLeasedNanos;
+
+    PooledDriver(Driver driver) {
+        this.driver = driver;
+        this.createdNanos = System.nanoTime();
+        this.idleSinceNanos = createdNanos;
+    }
+
+    Driver getDriver() {
+        return driver;
+    }
+
+    /** Records that this driver has just been leased by a test. */
+    void markLeased() {
+        leaseCount++;
+        leasedSinceNanos = System.nanoTime();
+    }
+
+    /** Records that this driver has just been returned to the pool. */
+    void markIdle() {
+        long now = System.nanoTime();
+        if (leasedSinceNanos != 0) {
+            totalLeasedNanos += now - leasedSinceNanos;
+            leasedSinceNanos = 0;
+        }
+        idleSinceNanos = now;
+    }
+
+    /**
+     * @param nowNanos the current value of {@link System#nanoTime()}
+     * @return how long, in nanoseconds, this driver has been idle
+     */
+    long idleNanos(long nowNanos) {
+        return nowNanos - idleSinceNanos;
+    }
+
+    /**
+     * @param nowNanos the current value of {@link System#nanoTime()}
+     * @return how long, in nanoseconds, since this driver was created
+     */
+    long ageNanos(long nowNanos) {
+        return nowNanos - createdNanos;
+    }
+
+    int getLeaseCount() {
+        return leaseCount;
+    }
+
+    /**
+     * @param nowNanos the current value of {@link System#nanoTime()}
+     * @return the total time, in nanoseconds, this driver has been leased,
+     *         including the current lease
+     */
+    long leasedNanos(long nowNanos) {
+        long leasedSince = leasedSinceNanos;
+        return leasedSince == 0
+                ? totalLeasedNanos
+                : totalLeasedNanos + nowNanos - leasedSince;
+    }
+
+    boolean isLeased() {
+        return leasedSinceNanos != 0;
+    }
+}
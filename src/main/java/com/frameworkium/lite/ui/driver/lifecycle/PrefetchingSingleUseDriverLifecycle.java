@@ -0,0 +1,186 @@
+package com.frameworkium.lite.ui.driver.lifecycle;
+
+import com.frameworkium.lite.ui.driver.Driver;
+import com.frameworkium.lite.ui.driver.metrics.DriverMetrics;
+import com.frameworkium.lite.ui.driver.metrics.DriverPhase;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * A single-use {@link DriverLifecycle} which starts the next drivers while
+ * the current tests are running.
+ *
+ * <p>Each {@link Driver} is used by exactly one test and quit afterwards,
+ * like {@link SingleUseDriverLifecycle}, but up to {@code prefetchCount}
+ * drivers are always being created in the background. When a test starts,
+ * it takes the oldest prefetched driver, waiting for it to finish starting
+ * if required, and another driver is started to replace it.
+ *
+ * <p>If {@link #initDriverPool()} has not been called, drivers are created
+ * inline, as per {@link SingleUseDriverLifecycle}.
+ *
+ * @see DriverLifecycle
+ */
+public class PrefetchingSingleUseDriverLifecycle implements DriverLifecycle {
+
+    private static final Logger logger = LogManager.getLogger();
+
+    private final ThreadLocal<Driver> threadLocalDriver = new ThreadLocal<>();
+    private final BlockingQueue<Future<Driver>> prefetchedDrivers = new LinkedBlockingQueue<>();
+
+    private final Supplier<Driver> driverSupplier;
+    private final int prefetchCount;
+
+    private volatile ExecutorService prefetchExecutor;
+
+    /**
+     * @param driverSupplier creates a new, ready to use, {@link Driver}
+     * @param prefetchCount  the number of drivers to keep starting in the background
+     */
+    public PrefetchingSingleUseDriverLifecycle(Supplier<Driver> driverSupplier, int prefetchCount) {
+        if (prefetchCount < 1) {
+            throw new IllegalArgumentException("prefetchCount must be at least 1, not " + prefetchCount);
+        }
+        this.driverSupplier = driverSupplier;
+        this.prefetchCount = prefetchCount;
+    }
+
+    /** Starts creating the first {@code prefetchCount} drivers in the background. */
+    @Override
+    public synchronized void initDriverPool() {
+        if (prefetchExecutor != null) {
+            throw new IllegalStateException(
+                    "initDriverPool() must only be called once before tearDownDriverPool()");
+        }
+        prefetchExecutor = Executors.newFixedThreadPool(
+                prefetchCount,
+                new ThreadFactoryBuilder()
+                        .setNameFormat("driver-prefetch-%d")
+                        .setDaemon(true)
+                        .build());
+        for (int i = 0; i < prefetchCount; i++) {
+            prefetchNextDriver();
+        }
+    }
+
+    /**
+     * Sets the next prefetched {@link Driver} to the {@link ThreadLocal}
+     * driver and starts creating another to take its place.
+     *
+     * <p>If the prefetched driver failed to start, that failure is rethrown.
+     */
+    @Override
+    public void initBrowserBeforeTest() {
+        Future<Driver> nextDriver = prefetchedDrivers.poll();
+        if (nextDriver == null) {
+            threadLocalDriver.set(DriverMetrics.global().time(DriverPhase.CREATE, driverSupplier));
+            return;
+        }
+        prefetchNextDriver();
+        threadLocalDriver.set(DriverMetrics.global().time(DriverPhase.LEASE_WAIT, () -> await(nextDriver)));
+    }
+
+    private void prefetchNextDriver() {
+        ExecutorService executor = prefetchExecutor;
+        if (executor == null) {
+            return;
+        }
+        try {
+            prefetchedDrivers.add(executor.submit(
+                    () -> DriverMetrics.global().time(DriverPhase.CREATE, driverSupplier)));
+        } catch (RejectedExecutionException e) {
+            logger.debug("Not prefetching a driver, the pool is being torn down.");
+        }
+    }
+
+    private static Driver await(Future<Driver> futureDriver) {
+        try {
+            return futureDriver.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Failed to create driver", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for driver", e);
+        }
+    }
+
+    @Override
+    public WebDriver getWebDriver() {
+        return threadLocalDriver.get().getWebDriver();
+    }
+
+    /** Calls {@code quit()} on the underlying driver. */
+    @Override
+    public void tearDownDriver() {
+        try {
+            quit(threadLocalDriver.get());
+        } catch (Exception e) {
+            logger.warn("Failed to quit browser.");
+            logger.debug("Failed to quit browser", e);
+        } finally {
+            threadLocalDriver.remove();
+        }
+    }
+
+    /**
+     * Stops prefetching, waits for any drivers still starting and then quits
+     * all the drivers which were never used.
+     */
+    @Override
+    public synchronized void tearDownDriverPool() {
+        ExecutorService executor = prefetchExecutor;
+        if (executor == null) {
+            return;
+        }
+        prefetchExecutor = null;
+        executor.shutdown();
+        List<Driver> unusedDrivers = new ArrayList<>();
+        Future<Driver> unused;
+        while ((unused = prefetchedDrivers.poll()) != null) {
+            try {
+                unusedDrivers.add(unused.get(1, TimeUnit.MINUTES));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                unused.cancel(true);
+            } catch (ExecutionException | CancellationException e) {
+                logger.debug("Prefetched driver failed to start.", e);
+            } catch (Exception e) {
+                unused.cancel(true);
+                logger.warn("Prefetched browser did not start in time.");
+                logger.debug("Prefetched browser did not start in time", e);
+            }
+        }
+        DriverTeardown.fromProperties().quitAll(unusedDrivers);
+    }
+
+    @Override
+    public void reinitialiseCurrentDriver() {
+        try {
+            quit(threadLocalDriver.get());
+        } catch (Exception e) {
+            logger.debug("Failed to quit current driver during reinitialise.", e);
+        }
+    }
+
+    private static void quit(Driver driver) {
+        DriverMetrics.global().time(DriverPhase.QUIT, () -> driver.getWebDriver().quit());
+    }
+}
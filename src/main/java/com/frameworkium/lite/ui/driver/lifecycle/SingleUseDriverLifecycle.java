@@ -1,6 +1,8 @@
 package com.frameworkium.lite.ui.driver.lifecycle;
 
 import com.frameworkium.lite.ui.driver.Driver;
+import com.frameworkium.lite.ui.driver.metrics.DriverMetrics;
+import com.frameworkium.lite.ui.driver.metrics.DriverPhase;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebDriver;
@@ -17,7 +19,7 @@ public class SingleUseDriverLifecycle implements DriverLifecycle {
 
     private static final Logger logger = LogManager.getLogger();
 
-    private static final ThreadLocal<Driver> threadLocalDriver = new ThreadLocal<>();
+    private final ThreadLocal<Driver> threadLocalDriver = new ThreadLocal<>();
 
     private final Supplier<Driver> driverSupplier;
 
@@ -31,7 +33,7 @@ public class SingleUseDriverLifecycle implements DriverLifecycle {
      */
     @Override
     public void initBrowserBeforeTest() {
-        threadLocalDriver.set(driverSupplier.get());
+        threadLocalDriver.set(DriverMetrics.global().time(DriverPhase.CREATE, driverSupplier));
     }
 
     @Override
@@ -43,7 +45,7 @@ public class SingleUseDriverLifecycle implements DriverLifecycle {
     @Override
     public void tearDownDriver() {
         try {
-            threadLocalDriver.get().getWebDriver().quit();
+            quit(threadLocalDriver.get());
         } catch (Exception e) {
             logger.warn("Failed to quit browser.");
             logger.debug("Failed to quit browser", e);
@@ -55,10 +57,14 @@ public class SingleUseDriverLifecycle implements DriverLifecycle {
     @Override
     public void reinitialiseCurrentDriver() {
         try {
-            threadLocalDriver.get().getWebDriver().quit();
+            quit(threadLocalDriver.get());
         } catch (Exception e) {
             logger.debug("Failed to quit current driver during reinitialise.", e);
         }
     }
+
+    private static void quit(Driver driver) {
+        DriverMetrics.global().time(DriverPhase.QUIT, () -> driver.getWebDriver().quit());
+    }
 }
 
@@ -0,0 +1,157 @@
+package com.frameworkium.lite.ui.driver.metrics;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Latency distributions of each {@link DriverPhase}, shared by all driver
+ * lifecycles, which can be exported as JSON or CSV.
+ *
+ * <p>Usage:
+ * <pre>{@code
+ * Driver driver = DriverMetrics.global().time(DriverPhase.CREATE, driverSupplier);
+ * }</pre>
+ */
+public final class DriverMetrics {
+
+    private static final Logger logger = LogManager.getLogger();
+
+    private static final DriverMetrics GLOBAL = new DriverMetrics();
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Map<DriverPhase, LatencyHistogram> histograms = new EnumMap<>(DriverPhase.class);
+
+    public DriverMetrics() {
+        for (DriverPhase phase : DriverPhase.values()) {
+            histograms.put(phase, new LatencyHistogram());
+        }
+    }
+
+    /** @return the metrics recorded by the driver lifecycles */
+    public static DriverMetrics global() {
+        return GLOBAL;
+    }
+
+    public LatencyHistogram getHistogram(DriverPhase phase) {
+        return histograms.get(phase);
+    }
+
+    /**
+     * @param phase      the phase to record against
+     * @param startNanos the value of {@link System#nanoTime()} when the phase started
+     */
+    public void recordSince(DriverPhase phase, long startNanos) {
+        histograms.get(phase).record(Duration.ofNanos(System.nanoTime() - startNanos));
+    }
+
+    /**
+     * Times the given action, whether it succeeds or throws.
+     *
+     * @return the result of the action
+     */
+    public <T> T time(DriverPhase phase, Supplier<T> action) {
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            recordSince(phase, start);
+        }
+    }
+
+    /** Times the given action, whether it succeeds or throws. */
+    public void time(DriverPhase phase, Runnable action) {
+        long start = System.nanoTime();
+        try {
+            action.run();
+        } finally {
+            recordSince(phase, start);
+        }
+    }
+
+    /** @return a summary of each phase, in milliseconds, as pretty printed JSON */
+    public String toJson() {
+        Map<String, Map<String, Object>> summary = new LinkedHashMap<>();
+        histograms.forEach((phase, histogram) -> {
+            Map<String, Object> phaseSummary = new LinkedHashMap<>();
+            phaseSummary.put("count", histogram.getCount());
+            phaseSummary.put("meanMillis", millis(histogram.getMean()));
+            phaseSummary.put("minMillis", millis(histogram.getMin()));
+            for (double percentile : PERCENTILES) {
+                phaseSummary.put(percentileName(percentile) + "Millis",
+                        millis(histogram.getPercentile(percentile)));
+            }
+            phaseSummary.put("maxMillis", millis(histogram.getMax()));
+            summary.put(phase.name(), phaseSummary);
+        });
+        try {
+            return new ObjectMapper()
+                    .enable(SerializationFeature.INDENT_OUTPUT)
+                    .writeValueAsString(summary);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** @return a summary of each phase, in milliseconds, as CSV with a header row */
+    public String toCsv() {
+        var csv = new StringBuilder("phase,count,mean_ms,min_ms");
+        for (double percentile : PERCENTILES) {
+            csv.append(',').append(percentileName(percentile)).append("_ms");
+        }
+        csv.append(",max_ms\n");
+        histograms.forEach((phase, histogram) -> {
+            csv.append(phase).append(',')
+                    .append(histogram.getCount()).append(',')
+                    .append(millis(histogram.getMean())).append(',')
+                    .append(millis(histogram.getMin()));
+            for (double percentile : PERCENTILES) {
+                csv.append(',').append(millis(histogram.getPercentile(percentile)));
+            }
+            csv.append(',').append(millis(histogram.getMax())).append('\n');
+        });
+        return csv.toString();
+    }
+
+    /**
+     * Writes {@code driver-metrics.json} and {@code driver-metrics.csv} to
+     * the given directory, creating it if required.
+     *
+     * @param directory the directory to write to
+     * @throws UncheckedIOException if the files cannot be written
+     */
+    public void export(Path directory) {
+        try {
+            Files.createDirectories(directory);
+            Files.writeString(directory.resolve("driver-metrics.json"), toJson(), StandardCharsets.UTF_8);
+            Files.writeString(directory.resolve("driver-metrics.csv"), toCsv(), StandardCharsets.UTF_8);
+            logger.info("Driver metrics written to {}", directory.toAbsolutePath());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String percentileName(double percentile) {
+        return "p" + (percentile == Math.rint(percentile)
+                ? String.valueOf((int) percentile)
+                : String.valueOf(percentile).replace(".", ""));
+    }
+
+    private static double millis(Duration duration) {
+        return duration.toNanos() / 1_000_000.0;
+    }
+}
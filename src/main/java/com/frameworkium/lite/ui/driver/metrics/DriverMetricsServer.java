@@ -0,0 +1,75 @@
+package com.frameworkium.lite.ui.driver.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+
+/**
+ * Serves {@link DriverMetrics} on the loopback interface while a suite runs:
+ * <ul>
+ * <li>{@code /metrics} as JSON</li>
+ * <li>{@code /metrics.csv} as CSV</li>
+ * </ul>
+ */
+public final class DriverMetricsServer implements AutoCloseable {
+
+    private static final Logger logger = LogManager.getLogger();
+
+    private final HttpServer server;
+
+    private DriverMetricsServer(HttpServer server) {
+        this.server = server;
+    }
+
+    /**
+     * @param port    the port to listen on, or 0 for any free port
+     * @param metrics the metrics to serve
+     * @return the started server
+     * @throws UncheckedIOException if the server cannot be started
+     */
+    public static DriverMetricsServer start(int port, DriverMetrics metrics) {
+        try {
+            HttpServer server = HttpServer.create(
+                    new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            server.createContext("/metrics.csv",
+                    exchange -> respond(exchange, "text/csv", metrics::toCsv));
+            server.createContext("/metrics",
+                    exchange -> respond(exchange, "application/json", metrics::toJson));
+            server.start();
+            logger.info("Serving driver metrics on http://localhost:{}/metrics",
+                    server.getAddress().getPort());
+            return new DriverMetricsServer(server);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, String contentType, Supplier<String> body)
+            throws IOException {
+        byte[] bytes = body.get().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(bytes);
+        }
+    }
+
+    /** @return the port the server is listening on */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
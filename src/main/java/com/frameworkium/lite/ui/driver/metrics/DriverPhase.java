@@ -0,0 +1,13 @@
+package com.frameworkium.lite.ui.driver.metrics;
+
+/** The phases of a driver's life which are timed by {@link DriverMetrics}. */
+public enum DriverPhase {
+    /** Starting a new browser session. */
+    CREATE,
+    /** Waiting for a driver to become available to a test. */
+    LEASE_WAIT,
+    /** Cleaning a browser after a test so it can be reused. */
+    RESET,
+    /** Quitting a browser session. */
+    QUIT
+}
@@ -0,0 +1,104 @@
+package com.frameworkium.lite.ui.driver.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * A lock-free histogram of durations, in microseconds, in the style of
+ * HdrHistogram.
+ *
+ * <p>Values below 32µs are counted exactly. Above that, each power of two
+ * is split into 16 buckets, so any percentile is accurate to within about
+ * 6%, while the whole range up to hours takes under 8KB.
+ */
+public final class LatencyHistogram {
+
+    private static final int LINEAR_BUCKETS = 32;
+    private static final int LINEAR_BITS = 5;
+    private static final int SUB_BUCKETS = 16;
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int BUCKET_COUNT = LINEAR_BUCKETS + (Long.SIZE - 1 - LINEAR_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong totalMicros = new AtomicLong();
+    private final LongAccumulator minMicros = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+    /** @param duration the duration to record, negative durations are recorded as zero */
+    public void record(Duration duration) {
+        recordMicros(Math.max(0, duration.toNanos() / 1000));
+    }
+
+    void recordMicros(long micros) {
+        counts.incrementAndGet(bucketIndex(micros));
+        totalCount.incrementAndGet();
+        totalMicros.addAndGet(micros);
+        minMicros.accumulate(micros);
+        maxMicros.accumulate(micros);
+    }
+
+    static int bucketIndex(long micros) {
+        if (micros < LINEAR_BUCKETS) {
+            return (int) micros;
+        }
+        int powerOfTwo = Long.SIZE - 1 - Long.numberOfLeadingZeros(micros);
+        int subBucket = (int) (micros >>> (powerOfTwo - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR_BUCKETS + (powerOfTwo - LINEAR_BITS) * SUB_BUCKETS + subBucket;
+    }
+
+    /** @return the largest value which falls in the given bucket */
+    static long bucketUpperBound(int index) {
+        if (index < LINEAR_BUCKETS) {
+            return index;
+        }
+        int powerOfTwo = LINEAR_BITS + (index - LINEAR_BUCKETS) / SUB_BUCKETS;
+        int subBucket = (index - LINEAR_BUCKETS) % SUB_BUCKETS;
+        int shift = powerOfTwo - SUB_BUCKET_BITS;
+        long lowerBound = (long) (SUB_BUCKETS + subBucket) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    /** @return the mean of the recorded durations, or zero if none have been recorded */
+    public Duration getMean() {
+        long count = totalCount.get();
+        return count == 0 ? Duration.ZERO : Duration.ofNanos(totalMicros.get() * 1000 / count);
+    }
+
+    /** @return the smallest recorded duration, or zero if none have been recorded */
+    public Duration getMin() {
+        return totalCount.get() == 0 ? Duration.ZERO : Duration.ofNanos(minMicros.get() * 1000);
+    }
+
+    public Duration getMax() {
+        return Duration.ofNanos(maxMicros.get() * 1000);
+    }
+
+    /**
+     * @param percentile the percentile, from 0 to 100, e.g. 99.9
+     * @return the duration which the given percentage of recorded durations
+     *         do not exceed, or zero if none have been recorded
+     */
+    public Duration getPercentile(double percentile) {
+        long count = totalCount.get();
+        if (count == 0) {
+            return Duration.ZERO;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                long micros = Math.min(bucketUpperBound(i), maxMicros.get());
+                return Duration.ofNanos(micros * 1000);
+            }
+        }
+        return getMax();
+    }
+}
@@ -1,13 +1,19 @@
 package com.frameworkium.lite.ui.element;
 
 import com.frameworkium.lite.htmlelements.element.HtmlElement;
+import com.frameworkium.lite.htmlelements.loader.decorator.proxyhandlers.NavigationEpoch;
 import com.google.common.collect.Streams;
 import org.openqa.selenium.*;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 /**
@@ -22,7 +28,8 @@ import java.util.stream.Stream;
  * required.
  *
  * <p>However, nothing is cached, so be careful with multiple calls to
- * get new {@link Stream}s. You might want to cache results in your test or page.
+ * get new {@link Stream}s. You might want to cache results in your test or page,
+ * or use {@link #snapshot(String...)} to read the whole table at once.
  *
  * <p>Some assumptions have been made to prevent the complexity exploding while
  * still providing something that is useful.
@@ -43,6 +50,8 @@ import java.util.stream.Stream;
  */
 public abstract class AbstractStreamTable extends HtmlElement {
 
+    private volatile HeaderIndex headerIndex;
+
     /**
      * @return a {@link Stream} of {@link WebElement}s representing the header
      *         cells of the table.
@@ -60,6 +69,33 @@ public abstract class AbstractStreamTable extends HtmlElement {
      */
     protected abstract By cellLocator();
 
+    /**
+     * @return the CSS selectors equivalent to {@link #headerCells()},
+     *         {@link #rows()} and {@link #cellLocator()}, used by {@link #snapshot(String...)},
+     *         or null, unless overridden, to snapshot the streamed elements instead
+     */
+    protected TableSnapshot.Selectors snapshotSelectors() {
+        return null;
+    }
+
+    /**
+     * Reads the text of every header and cell at once, which is much faster
+     * than streaming when most of the table is needed.
+     *
+     * <p>If the table has {@link #snapshotSelectors()}, it is read with a
+     * single script. Otherwise, the cells of each streamed row are located
+     * and then read with a single script.
+     *
+     * @param attributeNames the attributes to read from each cell
+     * @return an in-memory snapshot of the table
+     */
+    public TableSnapshot snapshot(String... attributeNames) {
+        TableSnapshot.Selectors selectors = snapshotSelectors();
+        return selectors == null
+                ? TableSnapshot.readStreamed(this, attributeNames)
+                : TableSnapshot.read(this, selectors, attributeNames);
+    }
+
     /**
      * @return {@link Stream} of {@link WebElement}s representing the table
      *         heading cells.
@@ -130,8 +166,7 @@ public abstract class AbstractStreamTable extends HtmlElement {
      *         for the first column that matches the trimmed text of a header.
      */
     public Stream<WebElement> getColumn(String headerText) {
-        long index = getHeaderIndex(e -> Objects.equals(e.getText(), headerText));
-        return getColumn(index);
+        return getColumn(getHeaderIndex(headerText));
     }
 
     /**
@@ -160,10 +195,10 @@ public abstract class AbstractStreamTable extends HtmlElement {
      */
     public Stream<WebElement> getCellsByLookup(
             String lookupColHeaderText, String lookupCellText, String targetColHeaderText) {
-        return getCellsByLookup(
-                element -> element.getText().trim().equals(lookupColHeaderText),
+        return getCellsByLookupAndIndex(
                 element -> element.getText().trim().equals(lookupCellText),
-                element -> element.getText().trim().equals(targetColHeaderText)
+                getHeaderIndex(lookupColHeaderText),
+                getHeaderIndex(targetColHeaderText)
         );
     }
 
@@ -238,6 +273,34 @@ public abstract class AbstractStreamTable extends HtmlElement {
                 .filter(Objects::nonNull);
     }
 
+    /**
+     * Finds the column with the given heading using an index of the trimmed
+     * heading texts, which is built on first use. The index is rebuilt
+     * after the driver navigates, after {@link #refreshHeaderIndex()} or if
+     * the heading is not found.
+     *
+     * @param headerText the trimmed text of the header cell
+     * @return the 0-based index of the first column with the heading
+     * @throws NoSuchElementException if no header has the text
+     */
+    protected long getHeaderIndex(String headerText) {
+        HeaderIndex index = headerIndex;
+        boolean fresh = index == null || index.count != index.epoch.current();
+        if (fresh) {
+            index = buildHeaderIndex();
+        }
+        Long column = index.columns.get(headerText);
+        if (column == null && !fresh) {
+            // the headers may have changed since the index was built
+            index = buildHeaderIndex();
+            column = index.columns.get(headerText);
+        }
+        if (column == null) {
+            throw new NoSuchElementException("No header found.");
+        }
+        return column;
+    }
+
     @SuppressWarnings("UnstableApiUsage")
     protected long getHeaderIndex(Predicate<WebElement> headerPredicate) {
         return Streams.mapWithIndex(
@@ -247,6 +310,26 @@ public abstract class AbstractStreamTable extends HtmlElement {
                 .orElseThrow(() -> new NoSuchElementException("No header found."));
     }
 
+    /** Discards the index of headings, e.g. after the table's headers change. */
+    public void refreshHeaderIndex() {
+        headerIndex = null;
+    }
+
+    @SuppressWarnings("UnstableApiUsage")
+    private HeaderIndex buildHeaderIndex() {
+        List<WebElement> headings = getHeadings().collect(Collectors.toList());
+        NavigationEpoch epoch = NavigationEpoch.of(headings.isEmpty() ? this : headings.get(0));
+        long count = epoch.current();
+        Map<String, Long> columns = new HashMap<>();
+        Streams.forEachPair(
+                headings.stream().map(heading -> heading.getText().trim()),
+                LongStream.iterate(0, i -> i + 1).boxed(),
+                columns::putIfAbsent);
+        var index = new HeaderIndex(columns, epoch, count);
+        headerIndex = index;
+        return index;
+    }
+
     private BiFunction<WebElement, WebElement, WebElement> targetOrNull(Predicate<WebElement> lookupCellMatcher) {
         return (lookupCell, targetCell) ->
                 lookupCellMatcher.test(lookupCell)
@@ -254,4 +337,17 @@ public abstract class AbstractStreamTable extends HtmlElement {
                         : null;
     }
 
+    private static final class HeaderIndex {
+
+        private final Map<String, Long> columns;
+        private final NavigationEpoch epoch;
+        private final long count;
+
+        HeaderIndex(Map<String, Long> columns, NavigationEpoch epoch, long count) {
+            this.columns = columns;
+            this.epoch = epoch;
+            this.count = count;
+        }
+    }
+
 }
@@ -41,4 +41,15 @@ public class OptimisedStreamTable extends AbstractStreamTable {
         return By.cssSelector("td");
     }
 
+    /**
+     * @return the selectors equivalent to this class's streams, or null for
+     *         subclasses, which may override them
+     */
+    @Override
+    protected TableSnapshot.Selectors snapshotSelectors() {
+        return getClass() == OptimisedStreamTable.class
+                ? new TableSnapshot.Selectors("thead > tr > th", "tbody > tr", "td", false)
+                : null;
+    }
+
 }
@@ -0,0 +1,102 @@
+package com.frameworkium.lite.ui.element;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A single {@link Stream} over the logical rows of a table which only
+ * renders some of its rows at a time, e.g. a server-side paginated or
+ * virtualised grid.
+ *
+ * <p>Pages are read lazily, each with one script, only when the rows
+ * already read have been consumed, so short-circuiting operations such as
+ * {@code findFirst()} stop paging as soon as they can. Only the current
+ * page is held in memory.
+ *
+ * <p>Rows are de-duplicated by a key column against the previous page, as
+ * scroll windows may overlap. The stream ends when the pager has no more
+ * pages, or when a page has no new rows.
+ *
+ * <p>Usage:
+ * <pre>{@code
+ * Optional<Map<String, String>> order = PagedTable
+ *         .stream(TablePager.clicking(ordersTable, nextPageButton, wait), "Order ID")
+ *         .filter(row -> row.get("Status").equals("Failed"))
+ *         .findFirst();
+ * }</pre>
+ */
+public final class PagedTable {
+
+    private PagedTable() {
+        // hide default constructor for this util class
+    }
+
+    /**
+     * @param pager      moves through the pages of the table
+     * @param keyHeading the heading of the column which identifies a row
+     * @return each logical row of the table, as a map of heading to cell text
+     * @throws org.openqa.selenium.NoSuchElementException when the stream is consumed,
+     *         if the first page has no column with the key heading
+     */
+    public static Stream<Map<String, String>> stream(TablePager pager, String keyHeading) {
+        return StreamSupport.stream(new PageSpliterator(pager, keyHeading), false);
+    }
+
+    private static final class PageSpliterator extends Spliterators.AbstractSpliterator<Map<String, String>> {
+
+        private final TablePager pager;
+        private final String keyHeading;
+        private final Deque<Map<String, String>> buffer = new ArrayDeque<>();
+        private Set<String> previousKeys = Set.of();
+        private boolean started;
+        private boolean finished;
+
+        PageSpliterator(TablePager pager, String keyHeading) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.pager = pager;
+            this.keyHeading = keyHeading;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Map<String, String>> action) {
+            while (buffer.isEmpty()) {
+                if (finished || !readNextPage()) {
+                    finished = true;
+                    return false;
+                }
+            }
+            action.accept(buffer.poll());
+            return true;
+        }
+
+        /** @return false if there are no more new rows */
+        private boolean readNextPage() {
+            if (started && !pager.nextPage()) {
+                return false;
+            }
+            TableSnapshot page = pager.currentPage();
+            if (!started) {
+                // fail fast, as rows without the key column are never de-duplicated
+                page.getColumnIndex(keyHeading);
+            }
+            started = true;
+            Set<String> pageKeys = new HashSet<>();
+            for (Map<String, String> row : page.toMaps()) {
+                String key = row.get(keyHeading);
+                if (key == null || pageKeys.add(key) && !previousKeys.contains(key)) {
+                    buffer.add(row);
+                }
+            }
+            previousKeys = pageKeys;
+            return !buffer.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.frameworkium.lite.ui.element;
+
+import com.frameworkium.lite.htmlelements.utils.HtmlElementUtils;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.Wait;
+
+import java.util.List;
+import java.util.Objects;
+
+/** A {@link TablePager} which waits, after each move, until the first rendered row has changed. */
+abstract class RenderingTablePager implements TablePager {
+
+    private final AbstractStreamTable table;
+    private final Wait<WebDriver> wait;
+    private TableSnapshot current;
+
+    RenderingTablePager(AbstractStreamTable table, Wait<WebDriver> wait) {
+        this.table = table;
+        this.wait = wait;
+    }
+
+    /** @return false if there is nowhere to move to */
+    protected abstract boolean advance();
+
+    protected JavascriptExecutor scriptExecutor() {
+        return HtmlElementUtils.getScriptExecutor(table);
+    }
+
+    @Override
+    public TableSnapshot currentPage() {
+        if (current == null) {
+            current = table.snapshot();
+        }
+        return current;
+    }
+
+    @Override
+    public boolean nextPage() {
+        List<String> before = firstRow(currentPage());
+        if (!advance()) {
+            return false;
+        }
+        current = wait.until(driver -> {
+            TableSnapshot page = table.snapshot();
+            return Objects.equals(firstRow(page), before) ? null : page;
+        });
+        return true;
+    }
+
+    private static List<String> firstRow(TableSnapshot page) {
+        return page.getRowCount() == 0 ? List.of() : page.getRow(0);
+    }
+}
@@ -40,4 +40,15 @@ public class StreamTable extends AbstractStreamTable {
         return By.cssSelector("td");
     }
 
+    /**
+     * @return the selectors equivalent to this class's streams, or null for
+     *         subclasses, which may override them
+     */
+    @Override
+    protected TableSnapshot.Selectors snapshotSelectors() {
+        return getClass() == StreamTable.class
+                ? new TableSnapshot.Selectors("thead > tr > th", "tbody > tr", "td", true)
+                : null;
+    }
+
 }
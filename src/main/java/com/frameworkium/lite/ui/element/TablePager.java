@@ -0,0 +1,64 @@
+package com.frameworkium.lite.ui.element;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.Wait;
+
+/**
+ * Moves through the pages, or scroll windows, of a table which only renders
+ * some of its rows at a time, e.g. a server-side paginated or virtualised
+ * grid.
+ *
+ * @see PagedTable
+ */
+public interface TablePager {
+
+    /** @return the rows currently rendered */
+    TableSnapshot currentPage();
+
+    /**
+     * Moves to the next page and waits for it to render.
+     *
+     * @return false if there are no more pages
+     */
+    boolean nextPage();
+
+    /**
+     * @param table           the table
+     * @param scrollContainer the element which scrolls the table's rows
+     * @param wait            waits for new rows after scrolling
+     * @return a pager which scrolls down by the height of the container
+     */
+    static TablePager scrolling(AbstractStreamTable table, WebElement scrollContainer, Wait<WebDriver> wait) {
+        return new RenderingTablePager(table, wait) {
+            @Override
+            protected boolean advance() {
+                return Boolean.TRUE.equals(scriptExecutor().executeScript(
+                        "var el = arguments[0], before = el.scrollTop;"
+                                + "el.scrollTop = before + el.clientHeight;"
+                                + "return el.scrollTop !== before;",
+                        scrollContainer));
+            }
+        };
+    }
+
+    /**
+     * @param table      the table
+     * @param nextButton the control which shows the next page, which is
+     *                   hidden or disabled on the last page
+     * @param wait       waits for the next page after clicking
+     * @return a pager which clicks the next button
+     */
+    static TablePager clicking(AbstractStreamTable table, WebElement nextButton, Wait<WebDriver> wait) {
+        return new RenderingTablePager(table, wait) {
+            @Override
+            protected boolean advance() {
+                if (!nextButton.isDisplayed() || !nextButton.isEnabled()) {
+                    return false;
+                }
+                nextButton.click();
+                return true;
+            }
+        };
+    }
+}
@@ -0,0 +1,367 @@
+package com.frameworkium.lite.ui.element;
+
+import com.frameworkium.lite.htmlelements.element.ElementState;
+import com.frameworkium.lite.htmlelements.utils.BulkElementReader;
+import com.frameworkium.lite.htmlelements.utils.HtmlElementUtils;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * The text of every header and cell of an {@link AbstractStreamTable}, read
+ * at once, and indexed by column.
+ *
+ * <p>Queries on the snapshot do not make any WebDriver calls, apart from
+ * those resolving rows and cells back to live {@link WebElement}s. As with
+ * {@link AbstractStreamTable}, text is trimmed before comparing.
+ *
+ * <p>Cell text is the cell's trimmed {@code innerText}, which is usually,
+ * but not always, the same as {@link WebElement#getText()}.
+ */
+public final class TableSnapshot {
+
+    /** The CSS selectors used to read a table, relative to the table element. */
+    public static final class Selectors {
+
+        private final String headerCells;
+        private final String rows;
+        private final String cells;
+        private final boolean displayedOnly;
+
+        /**
+         * @param headerCells   selects the header cells
+         * @param rows          selects the rows
+         * @param cells         selects the cells in a row
+         * @param displayedOnly whether to skip header cells and rows which are not displayed
+         */
+        public Selectors(String headerCells, String rows, String cells, boolean displayedOnly) {
+            this.headerCells = headerCells;
+            this.rows = rows;
+            this.cells = cells;
+            this.displayedOnly = displayedOnly;
+        }
+    }
+
+    static final String SCRIPT = ""
+            + "var root = arguments[0], cellSelector = arguments[3], displayedOnly = arguments[4],"
+            + "    names = arguments[5];"
+            + "function select(el, selector) {"
+            + "  return Array.prototype.filter.call(el.querySelectorAll(selector), function (e) {"
+            + "    return !displayedOnly"
+            + "        || e.getClientRects().length > 0 && window.getComputedStyle(e).visibility !== 'hidden';"
+            + "  });"
+            + "}"
+            + "function text(el) { return (el.innerText === undefined ? el.textContent : el.innerText).trim(); }"
+            + "function attributes(el) {"
+            + "  var values = {};"
+            + "  names.forEach(function (name) { values[name] = el.getAttribute(name); });"
+            + "  return values;"
+            + "}"
+            + "var headers = select(root, arguments[1]);"
+            + "var rows = select(root, arguments[2]);"
+            + "var cells = rows.map(function (row) {"
+            + "  return Array.prototype.slice.call(row.querySelectorAll(cellSelector));"
+            + "});"
+            + "return {"
+            + "  headerElements: headers,"
+            + "  headers: headers.map(text),"
+            + "  rowElements: rows,"
+            + "  cells: cells.map(function (row) { return row.map(text); }),"
+            + "  attributes: names.length === 0 ? null : cells.map(function (row) { return row.map(attributes); })"
+            + "};";
+
+    private final List<WebElement> headerElements;
+    private final List<String> headings;
+    private final Map<String, Integer> columnIndexes;
+    private final List<WebElement> rowElements;
+    private final String[][] columns;
+    private final int[] rowWidths;
+    private final List<List<Map<String, String>>> attributes;
+    private final By cellLocator;
+
+    private TableSnapshot(
+            List<WebElement> headerElements,
+            List<String> headings,
+            List<WebElement> rowElements,
+            List<List<String>> cells,
+            List<List<Map<String, String>>> attributes,
+            By cellLocator) {
+        this.headerElements = headerElements;
+        this.headings = Collections.unmodifiableList(headings);
+        this.rowElements = rowElements;
+        this.attributes = attributes;
+        this.cellLocator = cellLocator;
+
+        Map<String, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < headings.size(); i++) {
+            indexes.putIfAbsent(headings.get(i), i);
+        }
+        this.columnIndexes = indexes;
+
+        int width = cells.stream().mapToInt(List::size).max().orElse(0);
+        this.columns = new String[width][cells.size()];
+        this.rowWidths = new int[cells.size()];
+        for (int row = 0; row < cells.size(); row++) {
+            List<String> rowCells = cells.get(row);
+            rowWidths[row] = rowCells.size();
+            for (int column = 0; column < rowCells.size(); column++) {
+                columns[column][row] = rowCells.get(column);
+            }
+        }
+    }
+
+    /**
+     * Reads the table with a single script.
+     *
+     * @param table          the table element
+     * @param selectors      how to find the headers, rows and cells
+     * @param attributeNames the attributes to read from each cell
+     * @return the snapshot
+     */
+    @SuppressWarnings("unchecked")
+    public static TableSnapshot read(WebElement table, Selectors selectors, String... attributeNames) {
+        WebElement located = HtmlElementUtils.locate(table);
+        JavascriptExecutor executor = HtmlElementUtils.getScriptExecutor(located);
+        Map<String, Object> result = (Map<String, Object>) executor.executeScript(
+                SCRIPT,
+                located,
+                selectors.headerCells,
+                selectors.rows,
+                selectors.cells,
+                selectors.displayedOnly,
+                Arrays.asList(attributeNames));
+        return new TableSnapshot(
+                (List<WebElement>) result.get("headerElements"),
+                (List<String>) result.get("headers"),
+                (List<WebElement>) result.get("rowElements"),
+                (List<List<String>>) result.get("cells"),
+                (List<List<Map<String, String>>>) result.get("attributes"),
+                By.cssSelector(selectors.cells));
+    }
+
+    /**
+     * Reads the table from its streamed header cells and rows, for tables
+     * without {@link Selectors}. The cells of each row are located in turn,
+     * then the text of every header and cell is read with a single script.
+     *
+     * @param table          the table
+     * @param attributeNames the attributes to read from each cell
+     * @return the snapshot
+     */
+    static TableSnapshot readStreamed(AbstractStreamTable table, String... attributeNames) {
+        List<WebElement> headerElements = table.headerCells().collect(Collectors.toList());
+        List<WebElement> rowElements = table.rows().collect(Collectors.toList());
+        By cellLocator = table.cellLocator();
+        List<List<WebElement>> cellElements = rowElements.stream()
+                .map(row -> row.findElements(cellLocator))
+                .collect(Collectors.toList());
+
+        List<WebElement> elements = new ArrayList<>(headerElements);
+        cellElements.forEach(elements::addAll);
+        List<ElementState> states = elements.isEmpty()
+                ? List.of()
+                : BulkElementReader.forElement(elements.get(0)).read(elements, attributeNames);
+
+        List<String> headings = new ArrayList<>(headerElements.size());
+        for (int i = 0; i < headerElements.size(); i++) {
+            headings.add(trimmed(states.get(i).getText()));
+        }
+        List<List<String>> cells = new ArrayList<>(rowElements.size());
+        List<List<Map<String, String>>> attributes = new ArrayList<>(rowElements.size());
+        int next = headerElements.size();
+        for (List<WebElement> rowCells : cellElements) {
+            List<String> texts = new ArrayList<>(rowCells.size());
+            List<Map<String, String>> rowAttributes = new ArrayList<>(rowCells.size());
+            for (int i = 0; i < rowCells.size(); i++, next++) {
+                texts.add(trimmed(states.get(next).getText()));
+                rowAttributes.add(states.get(next).getAttributes());
+            }
+            cells.add(texts);
+            attributes.add(rowAttributes);
+        }
+        return new TableSnapshot(
+                headerElements,
+                headings,
+                rowElements,
+                cells,
+                attributeNames.length == 0 ? null : attributes,
+                cellLocator);
+    }
+
+    private static String trimmed(String text) {
+        return text == null ? null : text.trim();
+    }
+
+    /** @return the trimmed text of the header cells */
+    public List<String> getHeadings() {
+        return headings;
+    }
+
+    /**
+     * @param heading the trimmed text of a header cell
+     * @return the index of the first column with the heading
+     * @throws NoSuchElementException if there is no such heading
+     */
+    public int getColumnIndex(String heading) {
+        Integer index = columnIndexes.get(heading);
+        if (index == null) {
+            throw new NoSuchElementException("No header found.");
+        }
+        return index;
+    }
+
+    public int getRowCount() {
+        return rowWidths.length;
+    }
+
+    /**
+     * @param row    0-based row index
+     * @param column 0-based column index
+     * @return the text of the cell, or null if the row does not have the column
+     */
+    public String getCell(int row, int column) {
+        Objects.checkIndex(row, rowWidths.length);
+        return column < rowWidths[row] ? columns[column][row] : null;
+    }
+
+    /**
+     * @param row    0-based row index
+     * @param column 0-based column index
+     * @param name   the name of an attribute which was read
+     * @return the value of the attribute, or null if the cell does not have it
+     * @throws IllegalStateException if no attributes were read
+     */
+    public String getCellAttribute(int row, int column, String name) {
+        if (attributes == null) {
+            throw new IllegalStateException("No attributes were read");
+        }
+        List<Map<String, String>> rowAttributes = attributes.get(row);
+        return column < rowAttributes.size() ? rowAttributes.get(column).get(name) : null;
+    }
+
+    /**
+     * @param row 0-based row index
+     * @return the text of each cell in the row
+     */
+    public List<String> getRow(int row) {
+        Objects.checkIndex(row, rowWidths.length);
+        List<String> cells = new ArrayList<>(rowWidths[row]);
+        for (int column = 0; column < rowWidths[row]; column++) {
+            cells.add(columns[column][row]);
+        }
+        return cells;
+    }
+
+    /**
+     * @param column 0-based column index
+     * @return the text of the cells in the column, omitting rows without the column
+     */
+    public List<String> getColumn(int column) {
+        List<String> cells = new ArrayList<>(rowWidths.length);
+        for (int row = 0; row < rowWidths.length; row++) {
+            if (column < rowWidths[row]) {
+                cells.add(columns[column][row]);
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * @param heading the trimmed text of a header cell
+     * @return the text of the cells in the first column with the heading
+     */
+    public List<String> getColumn(String heading) {
+        return getColumn(getColumnIndex(heading));
+    }
+
+    /**
+     * @param lookupHeading  the heading of the column to look up
+     * @param lookupCellText the trimmed text to match in the lookup column
+     * @return the indexes of the rows where the lookup column matches
+     */
+    public List<Integer> getRowIndexesByLookup(String lookupHeading, String lookupCellText) {
+        int lookupColumn = getColumnIndex(lookupHeading);
+        List<Integer> rows = new ArrayList<>();
+        for (int row = 0; row < rowWidths.length; row++) {
+            if (lookupColumn < rowWidths[row] && lookupCellText.equals(columns[lookupColumn][row])) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * The equivalent of {@link AbstractStreamTable#getCellsByLookup(String, String, String)}.
+     *
+     * @param lookupHeading  the heading of the column to look up
+     * @param lookupCellText the trimmed text to match in the lookup column
+     * @param targetHeading  the heading of the column to return
+     * @return the text of the target cells in the rows where the lookup column matches
+     */
+    public List<String> getCellsByLookup(String lookupHeading, String lookupCellText, String targetHeading) {
+        int targetColumn = getColumnIndex(targetHeading);
+        List<String> cells = new ArrayList<>();
+        for (int row : getRowIndexesByLookup(lookupHeading, lookupCellText)) {
+            if (targetColumn < rowWidths[row]) {
+                cells.add(columns[targetColumn][row]);
+            }
+        }
+        return cells;
+    }
+
+    /** @return each row as a map from heading to cell text, ignoring cells without a heading */
+    public List<Map<String, String>> toMaps() {
+        List<Map<String, String>> maps = new ArrayList<>(rowWidths.length);
+        for (int row = 0; row < rowWidths.length; row++) {
+            Map<String, String> map = new LinkedHashMap<>();
+            for (int column = 0; column < Math.min(rowWidths[row], headings.size()); column++) {
+                map.putIfAbsent(headings.get(column), columns[column][row]);
+            }
+            maps.add(map);
+        }
+        return maps;
+    }
+
+    /**
+     * @param column 0-based column index
+     * @return the live header cell, which may since have gone stale
+     */
+    public WebElement getHeadingElement(int column) {
+        return headerElements.get(column);
+    }
+
+    /**
+     * @param row 0-based row index
+     * @return the live row, which may since have gone stale
+     */
+    public WebElement getRowElement(int row) {
+        return rowElements.get(row);
+    }
+
+    /**
+     * Finds the live cell, costing one WebDriver call.
+     *
+     * @param row    0-based row index
+     * @param column 0-based column index
+     * @return the live cell
+     * @throws NoSuchElementException if the row no longer has the column
+     */
+    public WebElement getCellElement(int row, int column) {
+        List<WebElement> cells = getRowElement(row).findElements(cellLocator);
+        if (column >= cells.size()) {
+            throw new NoSuchElementException("No cell " + column + " in row " + row);
+        }
+        return cells.get(column);
+    }
+}
@@ -20,7 +20,9 @@ import java.util.List;
 import static org.apache.commons.lang3.StringUtils.abbreviate;
 
 /**
- * Assumes {@link ScreenshotCapture#isRequired()} is true for WebDriver events.
+ * Sends screenshots of WebDriver events to the capture bound to the driver
+ * which fired them, see {@link ScreenshotCapture#bind(WebDriver, ScreenshotCapture)}.
+ * Events of drivers without a capture are ignored.
  */
 public class CaptureListener implements WebDriverEventListener, ITestListener {
 
@@ -32,12 +34,15 @@ public class CaptureListener implements WebDriverEventListener, ITestListener {
     );
 
     private void takeScreenshotAndSend(Command command, WebDriver driver) {
-        try {
-            UITestLifecycle.get().getCapture().takeAndSendScreenshot(command, driver);
-        } catch (Exception e) {
-            logger.warn("Screenshot not sent, see trace log for details");
-            logger.trace(e);
-        }
+        // the driver may be leased by a UITestContext, rather than by this thread's test
+        ScreenshotCapture.of(driver).ifPresent(capture -> {
+            try {
+                capture.takeAndSendScreenshot(command, driver);
+            } catch (Exception e) {
+                logger.warn("Screenshot not sent, see trace log for details");
+                logger.trace(e);
+            }
+        });
     }
 
     private void takeScreenshotAndSend(String action, WebDriver driver) {
@@ -45,11 +50,11 @@ public class CaptureListener implements WebDriverEventListener, ITestListener {
     }
 
     private void takeScreenshotAndSend(String action, WebDriver driver, Throwable thrw) {
-
-        UITestLifecycle.get().getCapture().takeAndSendScreenshotWithError(
-                new Command(action, "n/a", "n/a"),
-                driver,
-                thrw.getMessage() + "\n" + ExceptionUtils.getStackTrace(thrw));
+        ScreenshotCapture.of(driver).ifPresent(capture ->
+                capture.takeAndSendScreenshotWithError(
+                        new Command(action, "n/a", "n/a"),
+                        driver,
+                        thrw.getMessage() + "\n" + ExceptionUtils.getStackTrace(thrw)));
     }
 
     private void sendFinalScreenshot(ITestResult result, String action) {
@@ -59,7 +64,7 @@ public class CaptureListener implements WebDriverEventListener, ITestListener {
             }
 
             var uiTestLifecycle = UITestLifecycle.get();
-            if (uiTestLifecycle == null) {
+            if (uiTestLifecycle == null || uiTestLifecycle.getCapture() == null) {
                 return;
             }
 
@@ -86,7 +91,7 @@ public class CaptureListener implements WebDriverEventListener, ITestListener {
 
     private void highlightElementOnClickAndSendScreenshot(
             WebDriver driver, WebElement element) {
-        if (!ScreenshotCapture.isRequired()) {
+        if (ScreenshotCapture.of(driver).isEmpty()) {
             return;
         }
         ElementHighlighter highlighter = new ElementHighlighter(driver);
@@ -0,0 +1,64 @@
+package com.frameworkium.lite.ui.listeners;
+
+import com.frameworkium.lite.htmlelements.loader.decorator.proxyhandlers.NavigationEpoch;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.util.Set;
+
+/**
+ * Advances the driver's {@link NavigationEpoch} whenever it loads a page or
+ * switches window or frame, invalidating cached element lookups.
+ */
+public class NavigationEpochListener implements WebDriverListener {
+
+    private static final Set<String> SWITCHES =
+            Set.of("window", "newWindow", "frame", "parentFrame", "defaultContent");
+
+    private final NavigationEpoch epoch;
+
+    /** @param epoch the epoch of the driver this listener is attached to */
+    public NavigationEpochListener(NavigationEpoch epoch) {
+        this.epoch = epoch;
+    }
+
+    @Override
+    public void afterGet(WebDriver driver, String url) {
+        epoch.advance();
+    }
+
+    @Override
+    public void afterTo(WebDriver.Navigation navigation, String url) {
+        epoch.advance();
+    }
+
+    @Override
+    public void afterTo(WebDriver.Navigation navigation, URL url) {
+        epoch.advance();
+    }
+
+    @Override
+    public void afterBack(WebDriver.Navigation navigation) {
+        epoch.advance();
+    }
+
+    @Override
+    public void afterForward(WebDriver.Navigation navigation) {
+        epoch.advance();
+    }
+
+    @Override
+    public void afterRefresh(WebDriver.Navigation navigation) {
+        epoch.advance();
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        // there are no specific events for switching window or frame
+        if (target instanceof WebDriver.TargetLocator && SWITCHES.contains(method.getName())) {
+            epoch.advance();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.frameworkium.lite.ui.listeners;
+
+import com.frameworkium.lite.ui.profiling.TestTimeline;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Records every call on the driver, and on the elements and other objects
+ * it returns, as a command span of the current thread's {@link TestTimeline}.
+ */
+public class ProfilingListener implements WebDriverListener {
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        TestTimeline timeline = TestTimeline.current();
+        if (timeline != null && isCommand(method)) {
+            timeline.begin(TestTimeline.Category.COMMAND,
+                    method.getDeclaringClass().getSimpleName() + "." + method.getName());
+        }
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        end(method);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        end(method);
+    }
+
+    private static void end(Method method) {
+        TestTimeline timeline = TestTimeline.current();
+        if (timeline != null && isCommand(method)) {
+            timeline.end();
+        }
+    }
+
+    private static boolean isCommand(Method method) {
+        return method.getDeclaringClass() != Object.class;
+    }
+}
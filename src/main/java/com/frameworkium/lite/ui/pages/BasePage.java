@@ -1,6 +1,9 @@
 package com.frameworkium.lite.ui.pages;
 
+import com.frameworkium.lite.common.properties.Property;
 import com.frameworkium.lite.htmlelements.loader.HtmlElementLoader;
+import com.frameworkium.lite.ui.ExtraExpectedConditions;
+import com.frameworkium.lite.ui.UITestContext;
 import com.frameworkium.lite.ui.UITestLifecycle;
 import com.frameworkium.lite.ui.annotations.Visible;
 import com.frameworkium.lite.ui.capture.ScreenshotCapture;
@@ -19,6 +22,8 @@ public abstract class BasePage<T extends BasePage<T>> {
     protected final WebDriver driver;
     protected Wait<WebDriver> wait;
     private Visibility visibility;
+    /** Null when the page uses the current thread's {@link UITestLifecycle}. */
+    private final UITestContext context;
 
     protected BasePage() {
         this(UITestLifecycle.get().getWebDriver(), UITestLifecycle.get().getWait());
@@ -28,9 +33,24 @@ public abstract class BasePage<T extends BasePage<T>> {
      * Added to enable testing and, one day, remove coupling to BaseUITest.
      */
     protected BasePage(WebDriver driver, Wait<WebDriver> wait) {
+        this(driver, wait, null);
+    }
+
+    /**
+     * For tests which pass their {@link UITestContext} explicitly, rather
+     * than relying on the {@link UITestLifecycle} of the current thread.
+     *
+     * @see PageFactory#newInstance(UITestContext, Class)
+     */
+    protected BasePage(UITestContext context) {
+        this(context.getWebDriver(), context.getWait(), context);
+    }
+
+    private BasePage(WebDriver driver, Wait<WebDriver> wait, UITestContext context) {
         this.driver = driver;
         this.wait = wait;
         this.visibility = new Visibility(wait);
+        this.context = context;
     }
 
     /**
@@ -98,6 +118,8 @@ public abstract class BasePage<T extends BasePage<T>> {
      * <ul>
      * <li>Initialises fields with lazy proxies</li>
      * <li>Waits for Javascript events including document ready & JS frameworks (if applicable)</li>
+     * <li>Waits for the page to be stable, if {@code pageStable.quietMillis} is specified,
+     * see {@link ExtraExpectedConditions#pageStable(Duration)}</li>
      * <li>Processes Frameworkium visibility annotations e.g. {@link Visible}</li>
      * <li>Log page load to Capture</li>
      * </ul>
@@ -109,6 +131,7 @@ public abstract class BasePage<T extends BasePage<T>> {
     public T get() {
 
         initPageObjectFields();
+        waitForPageStability();
         visibility.waitForAnnotatedElementVisibility(this);
         takePageLoadedScreenshotAndSendToCapture();
 
@@ -123,17 +146,28 @@ public abstract class BasePage<T extends BasePage<T>> {
         HtmlElementLoader.populatePageObject(this, driver);
     }
 
+    private void waitForPageStability() {
+        if (Property.PAGE_STABLE_QUIET_MILLIS.isSpecified()) {
+            Duration quietPeriod = Duration.ofMillis(Property.PAGE_STABLE_QUIET_MILLIS.getIntWithDefault(0));
+            wait.until(ExtraExpectedConditions.pageStable(quietPeriod));
+        }
+    }
+
     private void updatePageTimeout(Duration timeout) {
-        wait = UITestLifecycle.get().newWaitWithTimeout(timeout);
+        wait = context != null
+                ? context.newWaitWithTimeout(timeout)
+                : UITestLifecycle.get().newWaitWithTimeout(timeout);
         visibility = new Visibility(wait);
     }
 
     private void takePageLoadedScreenshotAndSendToCapture() {
-        if (ScreenshotCapture.isRequired()) {
+        ScreenshotCapture capture = context != null
+                ? context.getCapture()
+                : ScreenshotCapture.of(driver).orElse(null);
+        if (capture != null) {
             Command pageLoadCommand = new Command(
                     "load", "page", getSimplePageObjectName());
-            UITestLifecycle.get().getCapture().takeAndSendScreenshot(
-                    pageLoadCommand, driver);
+            capture.takeAndSendScreenshot(pageLoadCommand, driver);
         }
     }
 
@@ -0,0 +1,217 @@
+package com.frameworkium.lite.ui.pages;
+
+import com.frameworkium.lite.htmlelements.element.HtmlElement;
+import com.frameworkium.lite.htmlelements.element.SnapshotList;
+import com.frameworkium.lite.htmlelements.loader.binder.PageBinder;
+import com.frameworkium.lite.htmlelements.loader.decorator.ElementField.Kind;
+import com.frameworkium.lite.htmlelements.utils.HtmlElementUtils;
+import org.openqa.selenium.*;
+import org.openqa.selenium.support.ui.Wait;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Waits for all the visibility annotated fields of a page object, including
+ * those of nested {@link HtmlElement}s, together in a single polling loop.
+ *
+ * <p>Each poll locates every element, then checks whether they are all
+ * displayed with one script, using the same atom as
+ * {@link WebElement#isDisplayed()}. Page-load verification therefore costs
+ * one wait, rather than one per field.
+ *
+ * <p>The conditions are the same as when waiting for each field in turn:
+ * visible lists must not be empty, elements which are not present count as
+ * invisible, and {@code checkAtMost} limits the elements of a list checked.
+ * Unlike waiting in turn, the fields of nested components are checked
+ * whether or not the component itself is yet displayed.
+ */
+final class BatchedVisibility {
+
+    /** Selenium's isDisplayed atom, or null if it cannot be found on the classpath. */
+    private static final String IS_DISPLAYED_ATOM = loadIsDisplayedAtom();
+
+    static final String SCRIPT = IS_DISPLAYED_ATOM == null ? null : ""
+            + "var isDisplayed = " + IS_DISPLAYED_ATOM + ";"
+            + "return arguments[0].map(function (el) {"
+            + "  try { return isDisplayed(el); } catch (e) { return null; }"
+            + "});";
+
+    private final Wait<WebDriver> wait;
+
+    BatchedVisibility(Wait<WebDriver> wait) {
+        this.wait = wait;
+    }
+
+    /**
+     * @param pageObject the "page object" i.e. extends {@link BasePage} or {@link HtmlElement}.
+     * @throws TimeoutException naming the first field which was not satisfied on the last poll
+     */
+    void waitFor(Object pageObject) {
+        Target[] unsatisfied = new Target[1];
+        try {
+            wait.until(driver -> {
+                unsatisfied[0] = poll(pageObject);
+                return unsatisfied[0] == null;
+            });
+        } catch (TimeoutException toex) {
+            if (unsatisfied[0] == null) {
+                throw toex;
+            }
+            throw Visibility.timedOutWaitingFor(unsatisfied[0].declaringClass, unsatisfied[0].fieldName, toex);
+        }
+    }
+
+    /** @return the first target which is not satisfied, or null if all are */
+    private Target poll(Object pageObject) {
+        List<Target> targets = new ArrayList<>();
+        collect(pageObject, targets);
+
+        List<WebElement> located = new ArrayList<>();
+        targets.forEach(target -> target.locate(located));
+        List<Boolean> displayed = isDisplayed(located);
+
+        for (Target target : targets) {
+            if (!target.isSatisfied(displayed)) {
+                return target;
+            }
+        }
+        return null;
+    }
+
+    private static void collect(Object pageObject, List<Target> targets) {
+        Visibility.forEachVisibilityField(pageObject, new PageBinder.VisibilityChecks() {
+            @Override
+            public void visible(
+                    Class<?> declaringClass, String fieldName, Object value, int checkAtMost, Kind kind) {
+                Target target = Target.of(declaringClass, fieldName, value, checkAtMost, kind, true);
+                targets.add(target);
+                // recurse inside HtmlElements
+                if (kind == Kind.HTML_ELEMENT_LIST) {
+                    target.all.forEach(component -> collect(component, targets));
+                } else if (kind == Kind.HTML_ELEMENT) {
+                    collect(value, targets);
+                }
+            }
+
+            @Override
+            public void invisible(
+                    Class<?> declaringClass, String fieldName, Object value, int checkAtMost, Kind kind) {
+                targets.add(Target.of(declaringClass, fieldName, value, checkAtMost, kind, false));
+            }
+        });
+    }
+
+    /** @return whether each element is displayed, or null if it could not be checked e.g. it was stale */
+    private static List<Boolean> isDisplayed(List<WebElement> elements) {
+        if (elements.isEmpty()) {
+            return List.of();
+        }
+        if (SCRIPT != null && elements.stream().allMatch(WrapsDriver.class::isInstance)) {
+            Object result = HtmlElementUtils.getScriptExecutor(elements.get(0))
+                    .executeScript(SCRIPT, elements);
+            if (!(result instanceof List) || ((List<?>) result).size() != elements.size()) {
+                throw new IllegalStateException("Unexpected result checking visibility: " + result);
+            }
+            List<Boolean> displayed = new ArrayList<>(elements.size());
+            for (Object value : (List<?>) result) {
+                displayed.add(value instanceof Boolean ? (Boolean) value : null);
+            }
+            return displayed;
+        }
+        List<Boolean> displayed = new ArrayList<>(elements.size());
+        for (WebElement element : elements) {
+            try {
+                displayed.add(element.isDisplayed());
+            } catch (StaleElementReferenceException e) {
+                displayed.add(null);
+            }
+        }
+        return displayed;
+    }
+
+    private static String loadIsDisplayedAtom() {
+        try (InputStream atom = WebDriver.class.getResourceAsStream("/org/openqa/selenium/remote/isDisplayed.js")) {
+            return atom == null ? null : new String(atom.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** The elements of one visibility annotated field, as found on one poll. */
+    private static final class Target {
+
+        private final Class<?> declaringClass;
+        private final String fieldName;
+        private final boolean visible;
+        /** Every element of a list, or the single element. */
+        private final List<? extends WebElement> all;
+        private final List<WebElement> checked;
+        private int from;
+        private int to;
+
+        private Target(
+                Class<?> declaringClass,
+                String fieldName,
+                boolean visible,
+                List<? extends WebElement> all,
+                List<WebElement> checked) {
+            this.declaringClass = declaringClass;
+            this.fieldName = fieldName;
+            this.visible = visible;
+            this.all = all;
+            this.checked = checked;
+        }
+
+        @SuppressWarnings("unchecked")
+        static Target of(
+                Class<?> declaringClass,
+                String fieldName,
+                Object value,
+                int checkAtMost,
+                Kind kind,
+                boolean visible) {
+            if (Visibility.isList(kind)) {
+                List<WebElement> snapshot = SnapshotList.of((List<WebElement>) value);
+                return new Target(declaringClass, fieldName, visible,
+                        snapshot, Visibility.limit(snapshot, checkAtMost));
+            } else if (value instanceof WebElement) {
+                List<WebElement> single = List.of((WebElement) value);
+                return new Target(declaringClass, fieldName, visible, single, single);
+            }
+            throw Visibility.unsupportedFieldType();
+        }
+
+        /** Adds the located elements to check, or none if a single element is not present. */
+        void locate(List<WebElement> located) {
+            from = located.size();
+            for (WebElement element : checked) {
+                try {
+                    located.add(HtmlElementUtils.locate(element));
+                } catch (NoSuchElementException e) {
+                    // not present, so is invisible
+                } catch (IllegalArgumentException e) {
+                    // cannot be unwrapped, so is checked by calling isDisplayed()
+                    located.add(element);
+                }
+            }
+            to = located.size();
+        }
+
+        boolean isSatisfied(List<Boolean> displayed) {
+            if (visible && (checked.isEmpty() || to - from < checked.size())) {
+                return false;
+            }
+            for (int i = from; i < to; i++) {
+                if (!Boolean.valueOf(visible).equals(displayed.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.frameworkium.lite.ui.pages;
 
+import com.frameworkium.lite.ui.UITestContext;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -31,6 +32,34 @@ public class PageFactory {
         return instantiatePageObject(clazz).get(url, timeout);
     }
 
+    /**
+     * @param context the context of the test, passed to the page's
+     *                {@code (UITestContext)} constructor
+     * @param clazz   the page object class
+     * @param <T>     the type of the page object
+     * @return a new, initialised, instance of the page object
+     */
+    public static <T extends BasePage<T>> T newInstance(
+            UITestContext context, Class<T> clazz) {
+        return instantiatePageObject(context, clazz).get();
+    }
+
+    public static <T extends BasePage<T>> T newInstance(
+            UITestContext context, Class<T> clazz, String url) {
+        return instantiatePageObject(context, clazz).get(url);
+    }
+
+    private static <T extends BasePage<T>> T instantiatePageObject(
+            UITestContext context, Class<T> clazz) {
+        try {
+            return clazz.getDeclaredConstructor(UITestContext.class).newInstance(context);
+        } catch (InstantiationException | IllegalAccessException
+                | NoSuchMethodException | InvocationTargetException e) {
+            logger.fatal("Unable to instantiate PageObject", e);
+            throw new IllegalStateException("Unable to instantiate PageObject", e);
+        }
+    }
+
     private static <T extends BasePage<T>> T instantiatePageObject(Class<T> clazz) {
         try {
             return clazz.getDeclaredConstructor().newInstance();
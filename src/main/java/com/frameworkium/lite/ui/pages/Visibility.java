@@ -1,8 +1,13 @@
 package com.frameworkium.lite.ui.pages;
 
+import com.frameworkium.lite.common.properties.Property;
 import com.frameworkium.lite.htmlelements.element.HtmlElement;
+import com.frameworkium.lite.htmlelements.loader.binder.PageBinder;
+import com.frameworkium.lite.htmlelements.loader.binder.PageBinder.VisibilityChecks;
+import com.frameworkium.lite.htmlelements.loader.decorator.ElementField.Kind;
 import com.frameworkium.lite.ui.ExtraExpectedConditions;
 import com.frameworkium.lite.ui.annotations.*;
+import com.frameworkium.lite.ui.profiling.TestTimeline;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.Wait;
 
@@ -15,6 +20,7 @@ import java.util.stream.Stream;
 
 import static com.frameworkium.lite.htmlelements.utils.HtmlElementUtils.*;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toUnmodifiableList;
 import static org.openqa.selenium.support.ui.ExpectedConditions.visibilityOf;
 import static org.openqa.selenium.support.ui.ExpectedConditions.visibilityOfAllElements;
 
@@ -26,10 +32,49 @@ public final class Visibility {
     private static final List<Class<? extends Annotation>> VISIBILITY_ANNOTATION_CLASSES =
             Arrays.asList(Visible.class, Invisible.class);
 
+    /** The visibility annotated fields of each page object class. */
+    private static final ClassValue<List<VisibilityField>> VISIBILITY_FIELDS = new ClassValue<>() {
+        @Override
+        protected List<VisibilityField> computeValue(Class<?> type) {
+            return getDeclaredFieldsIncludingSuperClasses(type)
+                    .stream()
+                    .filter(field -> !Modifier.isStatic(field.getModifiers()))
+                    .filter(Visibility::hasOnlyOneVisibilityAnnotation)
+                    .map(VisibilityField::new)
+                    .collect(toUnmodifiableList());
+        }
+    };
+
+    private static final boolean BATCHED = Property.BATCH_VISIBILITY.getBoolean();
+
     private final Wait<WebDriver> wait;
+    private final VisibilityChecks checks = new WaitingVisibilityChecks();
+    private final boolean batched;
+    /** Null unless the {@code waitStats.file} property is specified. */
+    private final WaitStatistics statistics;
 
     public Visibility(Wait<WebDriver> wait) {
+        this(wait, BATCHED);
+    }
+
+    /**
+     * @param wait    the wait to use for each field, or for the whole page if batched
+     * @param batched whether to wait for all the fields of a page object,
+     *                including those of nested components, together
+     * @see BatchedVisibility
+     */
+    public Visibility(Wait<WebDriver> wait, boolean batched) {
+        this(wait, batched, WaitStatistics.isRecording() ? WaitStatistics.global() : null);
+    }
+
+    /**
+     * @param statistics records how long each field, or each page if
+     *                   batched, takes to wait for, or null to not record
+     */
+    Visibility(Wait<WebDriver> wait, boolean batched, WaitStatistics statistics) {
         this.wait = wait;
+        this.batched = batched;
+        this.statistics = statistics;
     }
 
     /**
@@ -43,12 +88,36 @@ public final class Visibility {
      * @param pageObject the "page object" i.e. extends {@link BasePage} or {@link HtmlElement}.
      */
     void waitForAnnotatedElementVisibility(Object pageObject) {
+        TestTimeline.during(TestTimeline.Category.VISIBILITY, pageObject.getClass().getSimpleName(), () -> {
+            if (batched) {
+                new BatchedVisibility(waitFor(pageObject.getClass().getName())).waitFor(pageObject);
+            } else {
+                forEachVisibilityField(pageObject, checks);
+            }
+            return null;
+        });
+    }
 
-        getDeclaredFieldsIncludingSuperClasses(pageObject.getClass())
-                .stream()
-                .filter(field -> !Modifier.isStatic(field.getModifiers()))
-                .filter(this::hasOnlyOneVisibilityAnnotation)
-                .forEach(field -> invokeWaitFunctionForField(field, pageObject));
+    /**
+     * Calls the checks for each visibility annotated field of the page
+     * object, using its generated {@link PageBinder} if it has one.
+     */
+    static void forEachVisibilityField(Object pageObject, VisibilityChecks checks) {
+        PageBinder<Object> binder = PageBinder.forClass(pageObject.getClass());
+        if (binder != null) {
+            binder.checkVisibility(pageObject, checks);
+            return;
+        }
+        for (VisibilityField field : VISIBILITY_FIELDS.get(pageObject.getClass())) {
+            Class<?> declaringClass = field.field.getDeclaringClass();
+            String fieldName = field.field.getName();
+            Object objectFromField = field.get(pageObject);
+            if (field.visible) {
+                checks.visible(declaringClass, fieldName, objectFromField, field.checkAtMost, field.kind);
+            } else {
+                checks.invisible(declaringClass, fieldName, objectFromField, field.checkAtMost, field.kind);
+            }
+        }
     }
 
     /**
@@ -56,7 +125,7 @@ public final class Visibility {
      * This then behaves as expected if a page object extends something which
      * itself extends HtmlElement or BasePage.
      */
-    private List<Field> getDeclaredFieldsIncludingSuperClasses(Class<?> childClazz) {
+    private static List<Field> getDeclaredFieldsIncludingSuperClasses(Class<?> childClazz) {
         final List<Field> fields = new ArrayList<>();
 
         Class<?> parentClazz = childClazz;
@@ -69,7 +138,7 @@ public final class Visibility {
         return fields;
     }
 
-    private boolean hasOnlyOneVisibilityAnnotation(Field field) {
+    private static boolean hasOnlyOneVisibilityAnnotation(Field field) {
         long annotationCount = visibilityAnnotationsOf(field).count();
 
         if (annotationCount > 1) {
@@ -82,106 +151,169 @@ public final class Visibility {
         }
     }
 
-    private Stream<Class<? extends Annotation>> visibilityAnnotationsOf(Field field) {
+    private static Stream<Class<? extends Annotation>> visibilityAnnotationsOf(Field field) {
         return VISIBILITY_ANNOTATION_CLASSES.stream()
                 .filter(field::isAnnotationPresent);
     }
 
-    private void invokeWaitFunctionForField(Field field, Object pageObject) {
-
-        Class<? extends Annotation> visibilityAnnotationClass =
-                visibilityAnnotationsOf(field)
-                        .findAny()
-                        .orElseThrow(IllegalStateException::new);
-
-        if (Visible.class.equals(visibilityAnnotationClass)) {
-            int toCheckCount = field.getAnnotation(Visible.class).checkAtMost();
-            waitForFieldToBeVisible(pageObject, field, toCheckCount);
-        } else if (Invisible.class.equals(visibilityAnnotationClass)) {
-            int toCheckCount = field.getAnnotation(Invisible.class).checkAtMost();
-            waitForFieldToBeInvisible(pageObject, field, toCheckCount);
-        }
-    }
-
     /**
      * Checks for visibility of Fields with the {@link Visible} annotation.
      * Will recurse inside {@link HtmlElement}s
      *
-     * @param pageObject  the pageObject
-     * @param field       wait for visibility of the field
-     * @param checkAtMost maximum number of elements to check in a List
+     * @param declaringClass  the class declaring the field
+     * @param fieldName       the name of the field
+     * @param objectFromField wait for visibility of the value of the field
+     * @param checkAtMost     maximum number of elements to check in a List
+     * @param kind            the kind of element of the field, or null if unknown
      */
     @SuppressWarnings("unchecked")
-    private void waitForFieldToBeVisible(Object pageObject, Field field, int checkAtMost) {
+    private void waitForFieldToBeVisible(
+            Class<?> declaringClass, String fieldName, Object objectFromField, int checkAtMost, Kind kind) {
 
-        Object objectFromField = getObjectFromField(pageObject, field);
+        Wait<WebDriver> fieldWait = waitFor(declaringClass.getName() + "." + fieldName);
         applyToWebElements(
-                field,
+                declaringClass,
+                fieldName,
                 objectFromField,
-                we -> wait.until(visibilityOf(we)),
-                list -> wait.until(visibilityOfAllElements(
-                        list.stream()
-                                .limit(checkAtMost == -1 ? list.size() : checkAtMost)
-                                .collect(toList()))));
+                kind,
+                we -> fieldWait.until(visibilityOf(we)),
+                list -> fieldWait.until(visibilityOfAllElements(limit(list, checkAtMost))));
 
         // recurse inside HtmlElements
-        if (isHtmlElementList(field)) {
+        if (kind == Kind.HTML_ELEMENT_LIST) {
             ((List<HtmlElement>) objectFromField)
                     .forEach(this::waitForAnnotatedElementVisibility);
-        } else if (isHtmlElement(field)) {
+        } else if (kind == Kind.HTML_ELEMENT) {
             waitForAnnotatedElementVisibility(objectFromField);
         }
     }
 
     /**
-     * Same as {@link Visibility#waitForFieldToBeVisible(Object, Field, int)}
+     * Same as {@link Visibility#waitForFieldToBeVisible(Class, String, Object, int, Kind)}
      * but for Invisibility.
      */
-    private void waitForFieldToBeInvisible(Object pageObject, Field field, int checkAtMost) {
+    private void waitForFieldToBeInvisible(
+            Class<?> declaringClass, String fieldName, Object objectFromField, int checkAtMost, Kind kind) {
 
+        Wait<WebDriver> fieldWait = waitFor(declaringClass.getName() + "." + fieldName);
         applyToWebElements(
-                field,
-                getObjectFromField(pageObject, field),
-                we -> wait.until(ExtraExpectedConditions.notPresentOrInvisible(we)),
-                list -> wait.until(ExtraExpectedConditions.notPresentOrInvisible(
-                        list.stream()
-                                .limit(checkAtMost == -1 ? list.size() : checkAtMost)
-                                .collect(toList()))));
+                declaringClass,
+                fieldName,
+                objectFromField,
+                kind,
+                we -> fieldWait.until(ExtraExpectedConditions.notPresentOrInvisible(we)),
+                list -> fieldWait.until(ExtraExpectedConditions.notPresentOrInvisible(limit(list, checkAtMost))));
+    }
+
+    /** @return the wait, recording how long it takes under the given name if enabled */
+    private Wait<WebDriver> waitFor(String name) {
+        return statistics == null ? wait : statistics.learning(name, wait);
     }
 
     @SuppressWarnings("unchecked")
     private void applyToWebElements(
-            Field field,
+            Class<?> declaringClass,
+            String fieldName,
             Object objectFromField,
+            Kind kind,
             Consumer<WebElement> fun,
             Consumer<List<WebElement>> listFun) {
 
         try {
-            if (isWebElementList(field)
-                    || isTypifiedElementList(field)
-                    || isHtmlElementList(field)) {
+            if (isList(kind)) {
                 listFun.accept((List<WebElement>) objectFromField);
             } else if (objectFromField instanceof WebElement) {
                 fun.accept((WebElement) objectFromField);
             } else {
-                throw new IllegalArgumentException(
-                        "Only elements of type HtmlElement, TypifiedElement, WebElement or "
-                                + "Lists thereof are supported by Visibility annotations.");
+                throw unsupportedFieldType();
             }
         } catch (TimeoutException toex) {
-            String msg = "Timed out waiting for "
-                    + field.getDeclaringClass() + "." + field.getName();
-            throw new TimeoutException(msg, toex);
+            throw timedOutWaitingFor(declaringClass, fieldName, toex);
         }
     }
 
-    private Object getObjectFromField(Object pageObject, Field field) {
-        field.setAccessible(true);
-        try {
-            return field.get(pageObject);
-        } catch (IllegalAccessException e) {
-            throw new IllegalStateException(e);
+    static boolean isList(Kind kind) {
+        return kind == Kind.WEB_ELEMENT_LIST
+                || kind == Kind.TYPIFIED_ELEMENT_LIST
+                || kind == Kind.HTML_ELEMENT_LIST;
+    }
+
+    static IllegalArgumentException unsupportedFieldType() {
+        return new IllegalArgumentException(
+                "Only elements of type HtmlElement, TypifiedElement, WebElement or "
+                        + "Lists thereof are supported by Visibility annotations.");
+    }
+
+    static TimeoutException timedOutWaitingFor(Class<?> declaringClass, String fieldName, TimeoutException cause) {
+        String msg = "Timed out waiting for " + declaringClass + "." + fieldName;
+        return new TimeoutException(msg, cause);
+    }
+
+    /** @return at most {@code checkAtMost} elements of the list */
+    static List<WebElement> limit(List<WebElement> elements, int checkAtMost) {
+        return elements.stream()
+                .limit(checkAtMost == -1 ? elements.size() : checkAtMost)
+                .collect(toList());
+    }
+
+    /** Waits for the visibility of each field in turn. */
+    private final class WaitingVisibilityChecks implements VisibilityChecks {
+
+        @Override
+        public void visible(
+                Class<?> declaringClass, String fieldName, Object value, int checkAtMost, Kind kind) {
+            waitForFieldToBeVisible(declaringClass, fieldName, value, checkAtMost, kind);
+        }
+
+        @Override
+        public void invisible(
+                Class<?> declaringClass, String fieldName, Object value, int checkAtMost, Kind kind) {
+            waitForFieldToBeInvisible(declaringClass, fieldName, value, checkAtMost, kind);
         }
     }
 
+    /** A field with a visibility annotation, resolved once per page object class. */
+    private static final class VisibilityField {
+
+        private final Field field;
+        private final boolean visible;
+        private final int checkAtMost;
+        private final Kind kind;
+
+        VisibilityField(Field field) {
+            this.field = field;
+            Visible visibleAnnotation = field.getAnnotation(Visible.class);
+            this.visible = visibleAnnotation != null;
+            this.checkAtMost = visible
+                    ? visibleAnnotation.checkAtMost()
+                    : field.getAnnotation(Invisible.class).checkAtMost();
+            this.kind = kindOf(field);
+            field.setAccessible(true);
+        }
+
+        private static Kind kindOf(Field field) {
+            if (isHtmlElementList(field)) {
+                return Kind.HTML_ELEMENT_LIST;
+            } else if (isTypifiedElementList(field)) {
+                return Kind.TYPIFIED_ELEMENT_LIST;
+            } else if (isWebElementList(field)) {
+                return Kind.WEB_ELEMENT_LIST;
+            } else if (isHtmlElement(field)) {
+                return Kind.HTML_ELEMENT;
+            } else if (isTypifiedElement(field)) {
+                return Kind.TYPIFIED_ELEMENT;
+            } else if (isWebElement(field)) {
+                return Kind.WEB_ELEMENT;
+            }
+            return null;
+        }
+
+        Object get(Object pageObject) {
+            try {
+                return field.get(pageObject);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
 }
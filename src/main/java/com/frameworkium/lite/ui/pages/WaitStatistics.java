@@ -0,0 +1,250 @@
+package com.frameworkium.lite.ui.pages;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.frameworkium.lite.common.properties.Property;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.Wait;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * How long each named wait took to succeed, kept across runs in a JSON
+ * file, to suggest tighter timeouts than the static defaults.
+ *
+ * <p>Waits are named by the page object class and field they wait for,
+ * e.g. {@code com.example.HomePage.searchBox}. The last
+ * {@value #MAX_SAMPLES} durations of each are kept.
+ *
+ * <p>Once a wait has at least {@value #MIN_SAMPLES} samples, its suggested
+ * timeout is twice its 99th percentile, but no less than one second. If
+ * applied, a wait which has not succeeded within its suggested timeout
+ * fails then, rather than after the full timeout.
+ *
+ * <p>Recording is enabled by the {@code waitStats.file} property, and
+ * applying suggested timeouts by {@code waitStats.apply}.
+ */
+public final class WaitStatistics {
+
+    static final int MAX_SAMPLES = 200;
+    static final int MIN_SAMPLES = 20;
+    private static final double HEADROOM = 2;
+    private static final Duration MIN_TIMEOUT = Duration.ofSeconds(1);
+
+    private static final Logger logger = LogManager.getLogger();
+
+    /** The durations of each wait, in milliseconds, oldest first. */
+    private final Map<String, Deque<Long>> samples = new ConcurrentHashMap<>();
+    private final boolean apply;
+
+    /** @param apply whether {@link #learning(String, Wait)} waits fail after their suggested timeout */
+    public WaitStatistics(boolean apply) {
+        this.apply = apply;
+    }
+
+    /** @return true if the {@code waitStats.file} property is specified */
+    public static boolean isRecording() {
+        return Property.WAIT_STATS_FILE.isSpecified();
+    }
+
+    /** @return the statistics loaded from the {@code waitStats.file}, if specified */
+    public static WaitStatistics global() {
+        return Global.INSTANCE;
+    }
+
+    /**
+     * @param file  the file written by {@link #save(Path)}, which need not exist
+     * @param apply whether to apply the suggested timeouts
+     * @return the statistics from the file, or none if it cannot be read,
+     *         e.g. it was truncated by a crash
+     */
+    public static WaitStatistics load(Path file, boolean apply) {
+        var statistics = new WaitStatistics(apply);
+        if (Files.exists(file)) {
+            try {
+                Map<String, List<Long>> saved = new ObjectMapper().readValue(
+                        file.toFile(), new TypeReference<Map<String, List<Long>>>() {
+                        });
+                saved.forEach((key, millis) ->
+                        millis.forEach(value -> statistics.record(key, Duration.ofMillis(value))));
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Ignoring unreadable wait statistics file {}: {}", file, e.toString());
+                return new WaitStatistics(apply);
+            }
+        }
+        return statistics;
+    }
+
+    /**
+     * Writes the samples of every wait, to be loaded by the next run.
+     *
+     * <p>The file is written to a temporary file which then replaces it, so
+     * a crash, or another JVM saving at the same time, cannot leave it
+     * partially written.
+     *
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    public void save(Path file) {
+        Map<String, List<Long>> snapshot = new TreeMap<>();
+        samples.forEach((key, millis) -> snapshot.put(key, snapshot(millis)));
+        try {
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try {
+                new ObjectMapper()
+                        .enable(SerializationFeature.INDENT_OUTPUT)
+                        .writeValue(temp.toFile(), snapshot);
+                try {
+                    Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void record(String key, Duration took) {
+        Deque<Long> millis = samples.computeIfAbsent(key, k -> new ArrayDeque<>());
+        synchronized (millis) {
+            if (millis.size() == MAX_SAMPLES) {
+                millis.removeFirst();
+            }
+            millis.addLast(took.toMillis());
+        }
+    }
+
+    /** @return the summary of the wait, or empty if it has not been recorded */
+    public Optional<Summary> getSummary(String key) {
+        Deque<Long> millis = samples.get(key);
+        return millis == null ? Optional.empty() : Optional.of(new Summary(snapshot(millis)));
+    }
+
+    /** @return the summary of every recorded wait, by name */
+    public Map<String, Summary> getSummaries() {
+        Map<String, Summary> summaries = new TreeMap<>();
+        samples.forEach((key, millis) -> summaries.put(key, new Summary(snapshot(millis))));
+        return summaries;
+    }
+
+    /**
+     * Wraps the wait to record how long each successful
+     * {@link Wait#until(Function)} takes, and to apply the suggested
+     * timeout, if enabled and shorter than the wait's own.
+     *
+     * @param key  the name of the wait
+     * @param wait the wait to wrap
+     * @return the wrapped wait
+     */
+    public Wait<WebDriver> learning(String key, Wait<WebDriver> wait) {
+        Optional<Duration> limit = apply
+                ? getSummary(key).flatMap(Summary::getSuggestedTimeout)
+                : Optional.empty();
+        return new Wait<>() {
+            @Override
+            public <V> V until(Function<? super WebDriver, V> isTrue) {
+                long start = System.nanoTime();
+                V value = wait.until(limit.isPresent() ? withDeadline(key, isTrue, start, limit.get()) : isTrue);
+                record(key, Duration.ofNanos(System.nanoTime() - start));
+                return value;
+            }
+        };
+    }
+
+    private static <V> Function<WebDriver, V> withDeadline(
+            String key, Function<? super WebDriver, V> isTrue, long start, Duration limit) {
+        return new Function<>() {
+            @Override
+            public V apply(WebDriver driver) {
+                if (System.nanoTime() - start > limit.toNanos()) {
+                    throw new TimeoutException(String.format(
+                            "Waited longer than the learned timeout of %dms for %s", limit.toMillis(), key));
+                }
+                return isTrue.apply(driver);
+            }
+
+            @Override
+            public String toString() {
+                return isTrue.toString();
+            }
+        };
+    }
+
+    private static List<Long> snapshot(Deque<Long> millis) {
+        synchronized (millis) {
+            return List.copyOf(millis);
+        }
+    }
+
+    /** The distribution of the recorded durations of a wait. */
+    public static final class Summary {
+
+        private final long[] sortedMillis;
+
+        Summary(List<Long> millis) {
+            this.sortedMillis = millis.stream().mapToLong(Long::longValue).sorted().toArray();
+        }
+
+        public int getCount() {
+            return sortedMillis.length;
+        }
+
+        /**
+         * @param percentile from 0 to 100
+         * @return the nearest-rank percentile of the recorded durations
+         */
+        public Duration getPercentile(double percentile) {
+            int rank = (int) Math.ceil(percentile / 100 * sortedMillis.length);
+            return Duration.ofMillis(sortedMillis[Math.max(0, rank - 1)]);
+        }
+
+        /** @return the suggested timeout, or empty if there are too few samples */
+        public Optional<Duration> getSuggestedTimeout() {
+            if (sortedMillis.length < MIN_SAMPLES) {
+                return Optional.empty();
+            }
+            Duration suggested = Duration.ofMillis((long) Math.ceil(getPercentile(99).toMillis() * HEADROOM));
+            return Optional.of(suggested.compareTo(MIN_TIMEOUT) < 0 ? MIN_TIMEOUT : suggested);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("n=%d, p50=%dms, p99=%dms, suggested timeout=%s",
+                    getCount(),
+                    getPercentile(50).toMillis(),
+                    getPercentile(99).toMillis(),
+                    getSuggestedTimeout().map(timeout -> timeout.toMillis() + "ms").orElse("n/a"));
+        }
+    }
+
+    /** Loads the global statistics on first use, rather than when the class is initialised. */
+    private static final class Global {
+
+        private static final WaitStatistics INSTANCE = isRecording()
+                ? load(Paths.get(Property.WAIT_STATS_FILE.getValue()), Property.WAIT_STATS_APPLY.getBoolean())
+                : new WaitStatistics(false);
+    }
+}
@@ -0,0 +1,24 @@
+package com.frameworkium.lite.ui.profiling;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.Wait;
+
+import java.util.function.Function;
+
+/**
+ * Records each {@link Wait#until(Function)} of the wrapped wait as a span
+ * of the current thread's {@link TestTimeline}, named by its condition.
+ */
+public final class ProfilingWait implements Wait<WebDriver> {
+
+    private final Wait<WebDriver> wait;
+
+    public ProfilingWait(Wait<WebDriver> wait) {
+        this.wait = wait;
+    }
+
+    @Override
+    public <V> V until(Function<? super WebDriver, V> isTrue) {
+        return TestTimeline.during(TestTimeline.Category.WAIT, isTrue.toString(), () -> wait.until(isTrue));
+    }
+}
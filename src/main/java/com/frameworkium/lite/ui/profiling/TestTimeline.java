@@ -0,0 +1,285 @@
+package com.frameworkium.lite.ui.profiling;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.frameworkium.lite.common.properties.Property;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Where the wall-clock time of a single test went: WebDriver commands,
+ * waits, visibility checks, and the idle time between them, which is spent
+ * in the test's own code.
+ *
+ * <p>Each thread has at most one timeline, started and finished by
+ * {@link com.frameworkium.lite.ui.UITestLifecycle} when the
+ * {@code profileDir} property is specified. Spans may nest, e.g. commands
+ * within a wait, and time is attributed to the outermost span.
+ *
+ * <p>The timeline can be exported as Chrome trace-event JSON, which opens
+ * in {@code chrome://tracing} or Perfetto.
+ */
+public final class TestTimeline {
+
+    /** The kinds of span, each of which is a category in the trace. */
+    public enum Category {
+        COMMAND, WAIT, VISIBILITY, IDLE;
+
+        String traceName() {
+            return name().toLowerCase();
+        }
+    }
+
+    private static final ThreadLocal<TestTimeline> CURRENT = new ThreadLocal<>();
+    private static final AtomicInteger EXPORTED = new AtomicInteger();
+
+    private final String testName;
+    private final long threadId;
+    private final long startNanos;
+    private long endNanos;
+    private final List<Span> spans = new ArrayList<>();
+    private final Deque<Span> open = new ArrayDeque<>();
+
+    TestTimeline(String testName, long startNanos) {
+        this.testName = testName;
+        this.threadId = Thread.currentThread().getId();
+        this.startNanos = startNanos;
+    }
+
+    /** @return true if the {@code profileDir} property is specified */
+    public static boolean isEnabled() {
+        return Property.PROFILE_DIR.isSpecified();
+    }
+
+    /**
+     * Starts a new timeline for the current thread, replacing any other.
+     *
+     * @param testName the name of the test
+     * @return the new timeline
+     */
+    public static TestTimeline start(String testName) {
+        var timeline = new TestTimeline(testName, System.nanoTime());
+        CURRENT.set(timeline);
+        return timeline;
+    }
+
+    /** @return the current thread's timeline, or null if there is none */
+    public static TestTimeline current() {
+        return CURRENT.get();
+    }
+
+    /** @return the current thread's timeline, now finished, or null if there is none */
+    public static TestTimeline finish() {
+        TestTimeline timeline = CURRENT.get();
+        CURRENT.remove();
+        if (timeline != null) {
+            timeline.endNanos = System.nanoTime();
+        }
+        return timeline;
+    }
+
+    /**
+     * Runs the action within a span of the current thread's timeline, if
+     * it has one.
+     *
+     * @return the result of the action
+     */
+    public static <T> T during(Category category, String name, Supplier<T> action) {
+        TestTimeline timeline = current();
+        if (timeline == null) {
+            return action.get();
+        }
+        timeline.begin(category, name);
+        try {
+            return action.get();
+        } finally {
+            timeline.end();
+        }
+    }
+
+    /** Opens a span, which must be closed with {@link #end()}. */
+    public void begin(Category category, String name) {
+        open.push(new Span(category, name, System.nanoTime(), open.size()));
+    }
+
+    /** Closes the most recently opened span, if any. */
+    public void end() {
+        Span span = open.poll();
+        if (span == null) {
+            return;
+        }
+        span.endNanos = System.nanoTime();
+        spans.add(span);
+    }
+
+    void record(Category category, String name, long start, long end, int depth) {
+        Span span = new Span(category, name, start, depth);
+        span.endNanos = end;
+        spans.add(span);
+    }
+
+    public String getTestName() {
+        return testName;
+    }
+
+    /** @return from starting to finishing, or until now if not finished */
+    public Duration getTotal() {
+        return Duration.ofNanos((endNanos == 0 ? System.nanoTime() : endNanos) - startNanos);
+    }
+
+    /**
+     * @return the time in each category, attributing nested spans to the
+     *         outermost one, with the remainder as {@link Category#IDLE}
+     */
+    public Map<Category, Duration> getTotals() {
+        Map<Category, Duration> totals = new EnumMap<>(Category.class);
+        for (Category category : Category.values()) {
+            totals.put(category, Duration.ZERO);
+        }
+        Duration busy = Duration.ZERO;
+        for (Span span : spans) {
+            if (span.depth == 0) {
+                totals.merge(span.category, span.duration(), Duration::plus);
+                busy = busy.plus(span.duration());
+            }
+        }
+        totals.put(Category.IDLE, getTotal().minus(busy));
+        return totals;
+    }
+
+    /** @return the total time of each WebDriver command, including those within waits, by name */
+    public Map<String, Duration> getCommandTotals() {
+        Map<String, Duration> totals = new TreeMap<>();
+        for (Span span : spans) {
+            if (span.category == Category.COMMAND) {
+                totals.merge(span.name, span.duration(), Duration::plus);
+            }
+        }
+        return totals;
+    }
+
+    /** @return the timeline as Chrome trace-event JSON, with idle time as spans of its own */
+    public String toTraceJson() {
+        List<Map<String, Object>> events = new ArrayList<>();
+        events.add(Map.of(
+                "name", "thread_name", "ph", "M", "pid", 1, "tid", threadId,
+                "args", Map.of("name", testName)));
+        List<Span> sorted = new ArrayList<>(spans);
+        sorted.sort((a, b) -> a.startNanos != b.startNanos
+                ? Long.compare(a.startNanos, b.startNanos)
+                : Integer.compare(a.depth, b.depth));
+        long idleFrom = startNanos;
+        for (Span span : sorted) {
+            if (span.depth == 0) {
+                addIdle(events, idleFrom, span.startNanos);
+                idleFrom = span.endNanos;
+            }
+            events.add(traceEvent(span.category, span.name, span.startNanos, span.endNanos));
+        }
+        addIdle(events, idleFrom, endNanos == 0 ? System.nanoTime() : endNanos);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("test", testName);
+        summary.put("totalMillis", millis(getTotal()));
+        getTotals().forEach((category, total) -> summary.put(category.traceName() + "Millis", millis(total)));
+
+        Map<String, Object> trace = new LinkedHashMap<>();
+        trace.put("traceEvents", events);
+        trace.put("displayTimeUnit", "ms");
+        trace.put("otherData", summary);
+        try {
+            return new ObjectMapper().writeValueAsString(trace);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Writes the trace to a new file in the directory, creating it if required.
+     *
+     * @param directory the directory to write to
+     * @return the file written
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    public Path export(Path directory) {
+        String fileName = String.format("%03d-%s.trace.json",
+                EXPORTED.incrementAndGet(), testName.replaceAll("[^A-Za-z0-9._-]+", "_"));
+        try {
+            Files.createDirectories(directory);
+            Path file = directory.resolve(fileName);
+            Files.writeString(file, toTraceJson(), StandardCharsets.UTF_8);
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        Map<Category, Duration> totals = getTotals();
+        return String.format("%s: total=%dms, commands=%dms, waits=%dms, visibility=%dms, idle=%dms",
+                testName,
+                getTotal().toMillis(),
+                totals.get(Category.COMMAND).toMillis(),
+                totals.get(Category.WAIT).toMillis(),
+                totals.get(Category.VISIBILITY).toMillis(),
+                totals.get(Category.IDLE).toMillis());
+    }
+
+    private void addIdle(List<Map<String, Object>> events, long from, long to) {
+        if (to > from) {
+            events.add(traceEvent(Category.IDLE, "idle", from, to));
+        }
+    }
+
+    private Map<String, Object> traceEvent(Category category, String name, long start, long end) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("name", name);
+        event.put("cat", category.traceName());
+        event.put("ph", "X");
+        event.put("ts", (start - startNanos) / 1000);
+        event.put("dur", (end - start) / 1000);
+        event.put("pid", 1);
+        event.put("tid", threadId);
+        return event;
+    }
+
+    private static double millis(Duration duration) {
+        return duration.toNanos() / 1_000_000.0;
+    }
+
+    private static final class Span {
+
+        private final Category category;
+        private final String name;
+        private final long startNanos;
+        private final int depth;
+        private long endNanos;
+
+        Span(Category category, String name, long startNanos, int depth) {
+            this.category = category;
+            this.name = name;
+            this.startNanos = startNanos;
+            this.depth = depth;
+        }
+
+        Duration duration() {
+            return Duration.ofNanos(endNanos - startNanos);
+        }
+    }
+}
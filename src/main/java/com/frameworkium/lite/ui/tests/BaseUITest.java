@@ -4,6 +4,7 @@ import com.frameworkium.lite.common.listeners.*;
 import com.frameworkium.lite.ui.UITestLifecycle;
 import com.frameworkium.lite.ui.capture.ScreenshotCapture;
 import com.frameworkium.lite.ui.driver.Driver;
+import com.frameworkium.lite.ui.driver.DriverSetup.Browser;
 import com.frameworkium.lite.ui.listeners.CaptureListener;
 import com.frameworkium.lite.ui.listeners.ScreenshotListener;
 import org.apache.logging.log4j.LogManager;
@@ -13,6 +14,7 @@ import org.openqa.selenium.support.ui.Wait;
 import org.testng.annotations.*;
 
 import java.lang.reflect.Method;
+import java.util.Arrays;
 
 @Listeners({CaptureListener.class, ScreenshotListener.class, TestListener.class})
 @Test(groups = "base-ui")
@@ -29,6 +31,9 @@ public abstract class BaseUITest {
         UITestLifecycle.beforeSuite();
     }
 
+    /** The browser of the current thread's test, or null for the default browser. */
+    private final ThreadLocal<Browser> testBrowser = new ThreadLocal<>();
+
     /**
      * Runs before each test method, it initialises the following:
      * <ul>
@@ -37,10 +42,46 @@ public abstract class BaseUITest {
      * <li>{@link ScreenshotCapture}</li>
      * <li>userAgent</li>
      * </ul>
+     *
+     * <p>If one of the test's parameters is a {@link Browser}, e.g. from the
+     * {@link CrossBrowserDataProvider}, the test runs in that browser.
+     *
+     * <p>The browser is initialised by {@link #configureBrowserBeforeTest(Method)},
+     * which subclasses may still override. If the override is itself a
+     * {@link BeforeMethod}, TestNG calls it instead.
      */
     @BeforeMethod(alwaysRun = true)
+    protected void configureBrowserBeforeTest(Method testMethod, Object[] testParameters) {
+        testBrowser.set(Arrays.stream(testParameters)
+                .filter(Browser.class::isInstance)
+                .map(Browser.class::cast)
+                .findFirst()
+                .orElse(null));
+        if (!isOverriddenAsBeforeMethod()) {
+            configureBrowserBeforeTest(testMethod);
+        }
+    }
+
+    /**
+     * Initialises the browser for the test method, in the browser chosen by
+     * its parameters, if any.
+     *
+     * @see #configureBrowserBeforeTest(Method, Object[])
+     */
     protected void configureBrowserBeforeTest(Method testMethod) {
-        UITestLifecycle.get().beforeTestMethod(testMethod);
+        UITestLifecycle.get().beforeTestMethod(testMethod, testBrowser.get());
+    }
+
+    private boolean isOverriddenAsBeforeMethod() {
+        for (Class<?> type = getClass(); type != BaseUITest.class; type = type.getSuperclass()) {
+            try {
+                return type.getDeclaredMethod("configureBrowserBeforeTest", Method.class)
+                        .isAnnotationPresent(BeforeMethod.class);
+            } catch (NoSuchMethodException e) {
+                // not overridden by this class, try its superclass
+            }
+        }
+        return false;
     }
 
     /**
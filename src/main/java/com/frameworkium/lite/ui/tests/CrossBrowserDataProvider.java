@@ -0,0 +1,58 @@
+package com.frameworkium.lite.ui.tests;
+
+import com.frameworkium.lite.ui.driver.DriverSetup;
+import com.frameworkium.lite.ui.driver.DriverSetup.Browser;
+import org.testng.annotations.DataProvider;
+
+import java.util.List;
+
+/**
+ * Runs each test in every browser in the {@code browsers} property,
+ * concurrently, within the same JVM.
+ *
+ * <p>Usage:
+ * <pre>{@code
+ * @Test(dataProvider = CrossBrowserDataProvider.BROWSERS,
+ *       dataProviderClass = CrossBrowserDataProvider.class)
+ * public void search_works(Browser browser) { ... }
+ * }</pre>
+ *
+ * <p>{@link BaseUITest} finds the {@link Browser} parameter and runs the test
+ * using that browser's driver pool.
+ */
+public final class CrossBrowserDataProvider {
+
+    public static final String BROWSERS = "browsers";
+
+    private CrossBrowserDataProvider() {
+        // hidden
+    }
+
+    /** @return one row per browser, each containing only the {@link Browser} */
+    @DataProvider(name = BROWSERS, parallel = true)
+    public static Object[][] browsers() {
+        return acrossBrowsers(new Object[][] {{}});
+    }
+
+    /**
+     * @param data the rows of an existing data provider
+     * @return every row for every browser, with the {@link Browser} prepended
+     */
+    public static Object[][] acrossBrowsers(Object[][] data) {
+        return acrossBrowsers(DriverSetup.getBrowsers(), data);
+    }
+
+    static Object[][] acrossBrowsers(List<Browser> browsers, Object[][] data) {
+        var rows = new Object[browsers.size() * data.length][];
+        int i = 0;
+        for (Browser browser : browsers) {
+            for (Object[] row : data) {
+                var browserRow = new Object[row.length + 1];
+                browserRow[0] = browser;
+                System.arraycopy(row, 0, browserRow, 1, row.length);
+                rows[i++] = browserRow;
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,194 @@
+package com.frameworkium.lite.htmlelements.element
+
+import com.frameworkium.lite.htmlelements.loader.decorator.ProxyFactory
+import com.frameworkium.lite.htmlelements.loader.decorator.proxyhandlers.HtmlElementListNamedProxyHandler
+import com.frameworkium.lite.htmlelements.loader.decorator.proxyhandlers.NavigationEpoch
+import com.frameworkium.lite.htmlelements.loader.decorator.proxyhandlers.RetryPolicy
+import com.frameworkium.lite.htmlelements.loader.decorator.proxyhandlers.TypifiedElementListNamedProxyHandler
+import com.frameworkium.lite.htmlelements.loader.decorator.proxyhandlers.WebElementListNamedProxyHandler
+import org.openqa.selenium.StaleElementReferenceException
+import org.openqa.selenium.WebDriver
+import org.openqa.selenium.WebElement
+import org.openqa.selenium.WrapsDriver
+import org.openqa.selenium.support.pagefactory.ElementLocator
+import spock.lang.Specification
+
+class SnapshotListSpec extends Specification {
+
+    static class Block extends HtmlElement {
+    }
+
+    def locator = Mock(ElementLocator)
+    def driver = Mock(WebDriver)
+    def found = (1..3).collect { Mock(DriverElement) { getWrappedDriver() >> driver } }
+    def loader = getClass().classLoader
+
+    def links = ProxyFactory.createTypifiedElementListProxy(loader,
+            new TypifiedElementListNamedProxyHandler<>(Link, locator, "links")) as List<Link>
+    def blocks = ProxyFactory.createHtmlElementListProxy(loader,
+            new HtmlElementListNamedProxyHandler<>(Block, locator, "blocks")) as List<Block>
+    def elements = ProxyFactory.createWebElementListProxy(loader,
+            new WebElementListNamedProxyHandler(locator, "elements")) as List<WebElement>
+
+    def retryPolicy = RetryPolicy.fromProperties()
+    def cachedLists = [
+            links   : ProxyFactory.createTypifiedElementListProxy(loader,
+                    new TypifiedElementListNamedProxyHandler<>(Link, locator, "links", true, retryPolicy)),
+            blocks  : ProxyFactory.createHtmlElementListProxy(loader,
+                    new HtmlElementListNamedProxyHandler<>(Block, locator, "blocks", true, retryPolicy)),
+            elements: ProxyFactory.createWebElementListProxy(loader,
+                    new WebElementListNamedProxyHandler(locator, "elements", true, retryPolicy)),
+    ]
+
+    def "list proxies locate the elements on every call"() {
+        when:
+            (0..<links.size()).each { links.get(it) }
+        then:
+            4 * locator.findElements() >> found
+    }
+
+    def "a snapshot locates the elements once"() {
+        when:
+            def snapshot = SnapshotList.of(this."$field" as List)
+            def wrapped = (0..<snapshot.size()).collect { snapshot.get(it).wrappedElement }
+        then:
+            1 * locator.findElements() >> found
+            wrapped == found
+            snapshot instanceof RandomAccess
+        where:
+            field << ["links", "blocks"]
+    }
+
+    def "a snapshot of web elements locates them once"() {
+        when:
+            def snapshot = SnapshotList.of(elements)
+        then:
+            1 * locator.findElements() >> found
+            snapshot == found
+    }
+
+    def "elements in a snapshot are wrapped when first accessed and then reused"() {
+        given:
+            locator.findElements() >> found
+            def snapshot = SnapshotList.of(links)
+        expect:
+            snapshot.get(1).is(snapshot.get(1))
+            snapshot.get(1).wrappedElement.is(found[1])
+    }
+
+    def "snapshots are unmodifiable"() {
+        given:
+            locator.findElements() >> found
+        when:
+            SnapshotList.of(links).remove(0)
+        then:
+            thrown(UnsupportedOperationException)
+    }
+
+    def "a stale lookup is retried"() {
+        when:
+            def size = this."$field".size()
+        then:
+            2 * locator.findElements() >> { throw new StaleElementReferenceException("stale") } >> found
+            size == 3
+        where:
+            field << ["links", "blocks", "elements"]
+    }
+
+    def "a callback which fails is not run again for the elements it has already seen"() {
+        given:
+            def seen = []
+        when:
+            this."$field".forEach {
+                seen << it
+                if (seen.size() == 2) {
+                    throw new StaleElementReferenceException("stale")
+                }
+            }
+        then:
+            1 * locator.findElements() >> found
+            thrown(StaleElementReferenceException)
+            seen.size() == 2
+        where:
+            field << ["links", "blocks", "elements"]
+    }
+
+    def "with caching, a loop over the list locates the elements once"() {
+        given:
+            def list = cachedLists[field] as List
+        when:
+            def wrapped = (0..<list.size()).collect { list.get(it) }
+        then:
+            1 * locator.findElements() >> found
+            wrapped.size() == 3
+        where:
+            field << ["links", "blocks", "elements"]
+    }
+
+    def "with caching, navigating locates the elements again"() {
+        given:
+            def list = cachedLists[field] as List
+        when:
+            list.size()
+            NavigationEpoch.of(driver).advance()
+            list.size()
+        then:
+            2 * locator.findElements() >> found
+        where:
+            field << ["links", "blocks", "elements"]
+    }
+
+    def "with caching, a stale element discards the cached elements"() {
+        given:
+            def list = cachedLists[field] as List
+        when:
+            list.forEach { throw new StaleElementReferenceException("stale") }
+        then:
+            1 * locator.findElements() >> found
+            thrown(StaleElementReferenceException)
+        when:
+            list.size()
+        then:
+            1 * locator.findElements() >> found
+        where:
+            field << ["links", "blocks", "elements"]
+    }
+
+    def "with caching, a snapshot locates the elements again"() {
+        given:
+            def list = cachedLists[field] as List
+        when:
+            list.size()
+            SnapshotList.of(list)
+            list.size()
+        then:
+            2 * locator.findElements() >> found
+        where:
+            field << ["links", "blocks", "elements"]
+    }
+
+    def "with caching, an empty list is not cached"() {
+        given:
+            def list = cachedLists[field] as List
+        when:
+            list.size()
+            list.size()
+        then:
+            2 * locator.findElements() >> []
+        where:
+            field << ["links", "blocks", "elements"]
+    }
+
+    def "lists which are not proxies are copied"() {
+        given:
+            def list = [new Link(found[0])]
+        when:
+            def snapshot = SnapshotList.of(list)
+            list.clear()
+        then:
+            snapshot.size() == 1
+    }
+}
+
+interface DriverElement extends WebElement, WrapsDriver {
+}
@@ -0,0 +1,222 @@
+package com.frameworkium.lite.htmlelements.loader.binder
+
+import com.frameworkium.lite.htmlelements.element.TextInput
+import com.frameworkium.lite.htmlelements.loader.HtmlElementLoader
+import com.frameworkium.lite.htmlelements.loader.decorator.ElementField.Kind
+import org.openqa.selenium.By
+import org.openqa.selenium.SearchContext
+import org.openqa.selenium.WebDriver
+import org.openqa.selenium.WebElement
+import org.openqa.selenium.support.ui.Wait
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import javax.tools.Diagnostic
+import javax.tools.DiagnosticCollector
+import javax.tools.JavaFileObject
+import javax.tools.ToolProvider
+import java.nio.file.Files
+import java.nio.file.Path
+
+import static com.frameworkium.lite.htmlelements.loader.decorator.ElementField.Kind.*
+
+class PageBinderProcessorSpec extends Specification {
+
+    static final String HOME_PAGE = '''
+            package com.example;
+
+            import com.frameworkium.lite.htmlelements.annotations.Timeout;
+            import com.frameworkium.lite.htmlelements.element.HtmlElement;
+            import com.frameworkium.lite.htmlelements.element.TextInput;
+            import com.frameworkium.lite.ui.annotations.Invisible;
+            import com.frameworkium.lite.ui.annotations.Visible;
+            import com.frameworkium.lite.ui.pages.BasePage;
+            import org.openqa.selenium.WebDriver;
+            import org.openqa.selenium.WebElement;
+            import org.openqa.selenium.support.CacheLookup;
+            import org.openqa.selenium.support.FindBy;
+            import org.openqa.selenium.support.FindBys;
+            import org.openqa.selenium.support.ui.Wait;
+            import java.util.List;
+
+            public class HomePage extends BasePage<HomePage> {
+
+                @Visible
+                @FindBy(id = "search")
+                private TextInput search;
+
+                @Invisible(checkAtMost = 2)
+                @CacheLookup
+                @Timeout(3)
+                @FindBy(css = "li")
+                List<WebElement> items;
+
+                @FindBys({@FindBy(css = "ul"), @FindBy(css = "li")})
+                List<WebElement> nestedItems;
+
+                Form form;
+
+                private String title;
+
+                public HomePage(WebDriver driver, Wait<WebDriver> wait) {
+                    super(driver, wait);
+                }
+
+                @FindBy(css = "form")
+                public static class Form extends HtmlElement {
+
+                    @Visible
+                    @FindBy(id = "name")
+                    private WebElement name;
+                }
+            }
+            '''
+
+    /** Records the calls made by a binder, rather than creating proxies. */
+    static class RecordingDecorator implements PageBinder.Decorator {
+
+        def calls = []
+
+        @Override
+        Object decorate(
+                Kind kind, Class<?> elementClass, String fieldName, By by, boolean lookupCached, int timeOut) {
+            calls << [kind, elementClass.simpleName, fieldName, by, lookupCached, timeOut]
+            return null
+        }
+
+        @Override
+        Object decorate(Class<?> declaringClass, String fieldName) {
+            calls << [declaringClass.simpleName, fieldName]
+            return null
+        }
+    }
+
+    @TempDir
+    Path tempDir
+
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>()
+
+    /** @return a class loader for the compiled classes, or null if compilation failed */
+    ClassLoader compile(String className, String source) {
+        def compiler = ToolProvider.systemJavaCompiler
+        def fileManager = compiler.getStandardFileManager(diagnostics, null, null)
+        def sourceFile = tempDir.resolve("src/" + className.replace('.', '/') + ".java")
+        Files.createDirectories(sourceFile.parent)
+        Files.writeString(sourceFile, source)
+        def classes = Files.createDirectories(tempDir.resolve("classes"))
+        def options = ["-classpath", System.getProperty("java.class.path"), "-d", classes.toString()]
+        def task = compiler.getTask(
+                null, fileManager, diagnostics, options, null,
+                fileManager.getJavaFileObjects(sourceFile.toFile()))
+        task.processors = [new PageBinderProcessor()]
+        return task.call()
+                ? new URLClassLoader([classes.toUri().toURL()] as URL[], getClass().classLoader)
+                : null
+    }
+
+    def errors() {
+        diagnostics.diagnostics.findAll { it.kind == Diagnostic.Kind.ERROR }*.getMessage(Locale.ROOT)
+    }
+
+    def newHomePage(ClassLoader classLoader) {
+        classLoader.loadClass("com.example.HomePage")
+                .getConstructor(WebDriver, Wait)
+                .newInstance(Stub(WebDriver), Stub(Wait))
+    }
+
+    def "binders are generated for pages and their components"() {
+        when:
+            def classLoader = compile("com.example.HomePage", HOME_PAGE)
+        then:
+            errors() == []
+            PageBinder.forClass(classLoader.loadClass("com.example.HomePage")) != null
+            PageBinder.forClass(classLoader.loadClass("com.example.HomePage\$Form")) != null
+    }
+
+    def "plain @FindBy locators are generated, other fields are located from their annotations"() {
+        given:
+            def page = newHomePage(compile("com.example.HomePage", HOME_PAGE))
+            def decorator = new RecordingDecorator()
+        when:
+            PageBinder.forClass(page.getClass()).bindElements(page, decorator)
+        then:
+            decorator.calls == [
+                    [TYPIFIED_ELEMENT, "TextInput", "search", By.id("search"), false, -1],
+                    [WEB_ELEMENT_LIST, "WebElement", "items", By.cssSelector("li"), true, 3],
+                    ["HomePage", "nestedItems"],
+                    [HTML_ELEMENT, "Form", "form", By.cssSelector("form"), false, -1]]
+    }
+
+    def "the generated binder populates element fields, including private ones"() {
+        given:
+            def page = newHomePage(compile("com.example.HomePage", HOME_PAGE))
+            def searchContext = Mock(SearchContext)
+        when:
+            HtmlElementLoader.populatePageObject(page, searchContext)
+        then:
+            page.@search instanceof TextInput
+            page.@nestedItems instanceof List
+            page.@form.@name instanceof WebElement
+            page.@title == null
+
+        when: "the cached list is used twice"
+            page.@items.size()
+            page.@items.size()
+        then: "it is found once, by its generated locator"
+            1 * searchContext.findElements(By.cssSelector("li")) >> [Stub(WebElement)]
+    }
+
+    def "the generated binder checks visibility annotated fields"() {
+        given:
+            def page = newHomePage(compile("com.example.HomePage", HOME_PAGE))
+            HtmlElementLoader.populatePageObject(page, Stub(SearchContext))
+            def checked = []
+            def checks = [
+                    visible  : { Class<?> type, String name, Object value, int checkAtMost, kind ->
+                        checked << ["visible", name, checkAtMost, kind]
+                    },
+                    invisible: { Class<?> type, String name, Object value, int checkAtMost, kind ->
+                        checked << ["invisible", name, checkAtMost, kind]
+                    }
+            ] as PageBinder.VisibilityChecks
+        when:
+            PageBinder.forClass(page.getClass()).checkVisibility(page, checks)
+        then:
+            checked == [
+                    ["visible", "search", -1, TYPIFIED_ELEMENT],
+                    ["invisible", "items", 2, WEB_ELEMENT_LIST]]
+    }
+
+    def "a field with both @Visible and @Invisible fails compilation"() {
+        when:
+            def classLoader = compile("com.example.HomePage", HOME_PAGE.replace(
+                    "@Invisible(checkAtMost = 2)", "@Visible @Invisible(checkAtMost = 2)"))
+        then:
+            classLoader == null
+            errors() == ["Field items on com.example.HomePage has too many Visibility related Annotations"]
+    }
+
+    def "a visibility annotation on a field which is not an element fails compilation"() {
+        when:
+            def classLoader = compile("com.example.HomePage", HOME_PAGE.replace(
+                    "private String title;", "@Visible private String title;"))
+        then:
+            classLoader == null
+            errors().size() == 1
+            errors()[0].startsWith("Only elements of type HtmlElement")
+    }
+
+    def "classes the binder cannot access fall back to reflection"() {
+        given:
+            def classLoader = compile("com.example.HomePage", HOME_PAGE.replace(
+                    "public static class Form", "private static class Form"))
+            def decorator = new RecordingDecorator()
+            def page = newHomePage(classLoader)
+        when:
+            PageBinder.forClass(page.getClass()).bindElements(page, decorator)
+        then:
+            errors() == []
+            PageBinder.forClass(classLoader.loadClass("com.example.HomePage\$Form")) == null
+            decorator.calls.last() == ["HomePage", "form"]
+    }
+}
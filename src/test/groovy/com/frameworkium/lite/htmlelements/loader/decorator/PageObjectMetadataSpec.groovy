@@ -0,0 +1,123 @@
+package com.frameworkium.lite.htmlelements.loader.decorator
+
+import com.frameworkium.lite.htmlelements.annotations.Timeout
+import com.frameworkium.lite.htmlelements.element.HtmlElement
+import com.frameworkium.lite.htmlelements.element.TextInput
+import com.frameworkium.lite.htmlelements.loader.HtmlElementLoader
+import org.openqa.selenium.By
+import org.openqa.selenium.SearchContext
+import org.openqa.selenium.WebElement
+import org.openqa.selenium.support.FindBy
+import spock.lang.Specification
+
+import static com.frameworkium.lite.htmlelements.loader.decorator.ElementField.Kind.*
+
+class PageObjectMetadataSpec extends Specification {
+
+    @Timeout(3)
+    @FindBy(css = "form")
+    static class Form extends HtmlElement {
+
+        @FindBy(id = "name")
+        WebElement name
+    }
+
+    static class BasePageObject {
+
+        @FindBy(id = "header")
+        WebElement header
+    }
+
+    static class PageObject extends BasePageObject {
+
+        @FindBy(id = "input")
+        @Timeout(1)
+        TextInput input
+
+        Form form
+
+        @FindBy(css = "li")
+        List<WebElement> items
+
+        @FindBy(css = "form")
+        List<Form> forms
+
+        List<String> notElements
+
+        String notAnElement
+    }
+
+    def "element fields are resolved for the class and its superclasses"() {
+        when:
+            def fields = PageObjectMetadata.of(PageObject).elementFields
+        then:
+            fields.collectEntries { [it.field.name, it.kind] } == [
+                    input : TYPIFIED_ELEMENT,
+                    form  : HTML_ELEMENT,
+                    items : WEB_ELEMENT_LIST,
+                    forms : HTML_ELEMENT_LIST,
+                    header: WEB_ELEMENT]
+    }
+
+    def "the wrapped element of a block is not an element field"() {
+        expect:
+            PageObjectMetadata.of(Form).elementFields*.field*.name == ["name"]
+    }
+
+    def "metadata is computed once per class"() {
+        expect:
+            PageObjectMetadata.of(PageObject).is(PageObjectMetadata.of(PageObject))
+            PageObjectMetadata.elementField(PageObject.getDeclaredField("input"))
+                    .is(PageObjectMetadata.of(PageObject).elementFields[0])
+    }
+
+    def "timeouts are resolved from the field, then the element class, then the default"() {
+        given:
+            def elementField = PageObjectMetadata.elementField(PageObject.getDeclaredField(fieldName))
+        expect:
+            elementField.timeOutInSeconds == timeout
+        where:
+            fieldName | timeout
+            "input"   | 1
+            "form"    | 3
+            "forms"   | 3
+            "items"   | 6
+    }
+
+    def "locators are built once and reused"() {
+        given:
+            def elementField = PageObjectMetadata.elementField(PageObject.getDeclaredField("form"))
+        expect:
+            elementField.annotations.is(elementField.annotations)
+            elementField.annotations.buildBy() == By.cssSelector("form")
+    }
+
+    static class FinalFieldPageObject {
+
+        @FindBy(id = "final")
+        final WebElement finalElement = null
+    }
+
+    def "final fields are set reflectively"() {
+        given:
+            def page = new FinalFieldPageObject()
+        when:
+            HtmlElementLoader.populatePageObject(page, Stub(SearchContext))
+        then:
+            page.finalElement != null
+    }
+
+    def "populating a page object sets its element fields from the metadata"() {
+        given:
+            def page = new PageObject()
+        when:
+            HtmlElementLoader.populatePageObject(page, Stub(SearchContext))
+        then:
+            page.input != null
+            page.form.name != null
+            page.items != null
+            page.forms != null
+            page.header != null
+            page.notElements == null
+    }
+}
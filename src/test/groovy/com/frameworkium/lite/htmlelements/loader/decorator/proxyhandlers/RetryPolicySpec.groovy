@@ -0,0 +1,92 @@
+package com.frameworkium.lite.htmlelements.loader.decorator.proxyhandlers
+
+import org.openqa.selenium.StaleElementReferenceException
+import spock.lang.Specification
+
+import java.time.Duration
+
+class RetryPolicySpec extends Specification {
+
+    def policy = RetryPolicy.defaults()
+            .withInitialDelay(Duration.ofMillis(10))
+            .withMultiplier(2)
+            .withMaxDelay(Duration.ofMillis(50))
+            .withJitter(0)
+            .withDeadline(Duration.ofSeconds(2))
+
+    def setup() {
+        StaleRetryCounts.global().reset()
+    }
+
+    def "delays grow exponentially up to the maximum"() {
+        expect:
+            (0..4).collect { policy.delay(it).toMillis() } == [10L, 20L, 40L, 50L, 50L]
+    }
+
+    def "jitter only shortens delays"() {
+        given:
+            def jittered = policy.withJitter(0.5)
+        expect:
+            (1..100).every { jittered.delay(3).toMillis() in 25L..50L }
+    }
+
+    def "stale attempts are retried until they succeed, counting each retry"() {
+        given:
+            int attempts = 0
+        when:
+            def result = policy.call("Search box") {
+                if (++attempts < 3) {
+                    throw new StaleElementReferenceException("stale")
+                }
+                return "done"
+            }
+        then:
+            result == "done"
+            attempts == 3
+            StaleRetryCounts.global().getCount("Search box") == 2
+    }
+
+    def "the last stale failure is thrown once the deadline has passed"() {
+        given:
+            def shortPolicy = policy.withDeadline(Duration.ofMillis(100))
+            def start = System.nanoTime()
+        when:
+            shortPolicy.call("Search box") { throw new StaleElementReferenceException("stale") }
+        then:
+            thrown(StaleElementReferenceException)
+            Duration.ofNanos(System.nanoTime() - start) < Duration.ofSeconds(1)
+            StaleRetryCounts.global().getCount("Search box") > 1
+    }
+
+    def "other failures are not retried"() {
+        given:
+            int attempts = 0
+        when:
+            policy.call("Search box") {
+                attempts++
+                throw new IllegalStateException("boom")
+            }
+        then:
+            thrown(IllegalStateException)
+            attempts == 1
+    }
+
+    def "counts are reported most retried first"() {
+        given:
+            def counts = new StaleRetryCounts()
+        when:
+            counts.record("a")
+            3.times { counts.record("b") }
+            2.times { counts.record("c") }
+        then:
+            counts.getCounts() == [b: 3L, c: 2L, a: 1L]
+            counts.getCounts().keySet() as List == ["b", "c", "a"]
+    }
+
+    def "invalid policies are rejected"() {
+        when:
+            policy.withJitter(1.5)
+        then:
+            thrown(IllegalArgumentException)
+    }
+}
@@ -0,0 +1,96 @@
+package com.frameworkium.lite.htmlelements.loader.decorator.proxyhandlers
+
+import org.openqa.selenium.StaleElementReferenceException
+import org.openqa.selenium.WebDriver
+import org.openqa.selenium.WebElement
+import org.openqa.selenium.WrapsDriver
+import org.openqa.selenium.support.pagefactory.ElementLocator
+import spock.lang.Specification
+
+class WebElementNamedProxyHandlerSpec extends Specification {
+
+    def getText = WebElement.getMethod("getText")
+    def locator = Mock(ElementLocator)
+    def driver = Mock(WebDriver)
+    def element = Mock(DriverElement) { getWrappedDriver() >> driver }
+
+    def "without caching, the element is located on every call"() {
+        given:
+            def handler = new WebElementNamedProxyHandler(locator, "name", false)
+        when:
+            2.times { handler.invoke(null, getText, null) }
+        then:
+            2 * locator.findElement() >> element
+            2 * element.getText() >> "text"
+    }
+
+    def "with caching, the located element is reused"() {
+        given:
+            def handler = new WebElementNamedProxyHandler(locator, "name", true)
+        when:
+            def texts = (1..3).collect { handler.invoke(null, getText, null) }
+        then:
+            1 * locator.findElement() >> element
+            3 * element.getText() >> "text"
+            texts == ["text"] * 3
+    }
+
+    def "with caching, a stale element is located again without waiting"() {
+        given:
+            def handler = new WebElementNamedProxyHandler(locator, "name", true)
+            def freshElement = Mock(WebElement)
+        when:
+            handler.invoke(null, getText, null)
+            def start = System.nanoTime()
+            def text = handler.invoke(null, getText, null)
+            def elapsed = System.nanoTime() - start
+        then:
+            1 * locator.findElement() >> element
+            1 * element.getText() >> "text"
+        then:
+            1 * element.getText() >> { throw new StaleElementReferenceException("stale") }
+        then:
+            1 * locator.findElement() >> freshElement
+            1 * freshElement.getText() >> "fresh"
+        and:
+            text == "fresh"
+            elapsed < 500_000_000
+    }
+
+    def "with caching, navigating invalidates the cached element"() {
+        given:
+            def handler = new WebElementNamedProxyHandler(locator, "name", true)
+        when:
+            handler.invoke(null, getText, null)
+            NavigationEpoch.of(driver).advance()
+            handler.invoke(null, getText, null)
+        then:
+            2 * locator.findElement() >> element
+            2 * element.getText() >> "text"
+    }
+
+    def "with caching, navigating another driver keeps the cached element"() {
+        given:
+            def handler = new WebElementNamedProxyHandler(locator, "name", true)
+        when:
+            handler.invoke(null, getText, null)
+            NavigationEpoch.of(Mock(WebDriver)).advance()
+            handler.invoke(null, getText, null)
+        then:
+            1 * locator.findElement() >> element
+            2 * element.getText() >> "text"
+    }
+
+    def "toString returns the name without locating the element"() {
+        given:
+            def handler = new WebElementNamedProxyHandler(locator, "name", true)
+        when:
+            def string = handler.invoke(null, Object.getMethod("toString"), null)
+        then:
+            string == "name"
+            0 * locator.findElement()
+    }
+}
+
+interface DriverElement extends WebElement, WrapsDriver {
+}
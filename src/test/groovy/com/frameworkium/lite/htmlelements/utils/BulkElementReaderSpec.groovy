@@ -0,0 +1,93 @@
+package com.frameworkium.lite.htmlelements.utils
+
+import com.frameworkium.lite.htmlelements.element.ElementState
+import com.frameworkium.lite.htmlelements.element.HtmlElement
+import com.frameworkium.lite.htmlelements.element.Link
+import org.openqa.selenium.JavascriptExecutor
+import org.openqa.selenium.Rectangle
+import org.openqa.selenium.WebDriver
+import org.openqa.selenium.WebElement
+import org.openqa.selenium.WrapsDriver
+import org.openqa.selenium.WrapsElement
+import spock.lang.Specification
+
+class BulkElementReaderSpec extends Specification {
+
+    interface ScriptingDriver extends WebDriver, JavascriptExecutor {
+    }
+
+    interface LocatedElement extends WebElement, WrapsDriver {
+    }
+
+    interface ProxyElement extends WebElement, WrapsElement {
+    }
+
+    def driver = Mock(ScriptingDriver)
+    def elements = (1..3).collect { Mock(LocatedElement) }
+
+    def setup() {
+        elements.each { it.getWrappedDriver() >> driver }
+    }
+
+    static Map result(String text, boolean displayed = true, Map attributes = [:]) {
+        [text: text, displayed: displayed, x: 1L, y: 2.4d, width: 30L, height: 10.6d, attributes: attributes]
+    }
+
+    def "reads every element with a single script"() {
+        when:
+            def states = BulkElementReader.readAll(elements, "class")
+        then:
+            1 * driver.executeScript(BulkElementReader.SCRIPT, elements, ["class"]) >> [
+                    result("a", true, [class: "odd"]),
+                    result("b", false, [class: null]),
+                    result("c", true, [class: "odd"])]
+            0 * _.getText()
+        and:
+            states*.text == ["a", "b", "c"]
+            states*.displayed == [true, false, true]
+            states*.getAttribute("class") == ["odd", null, "odd"]
+            states[0].rect == new Rectangle(1, 2, 11, 30)
+    }
+
+    def "block and typified elements are unwrapped to find the driver"() {
+        given:
+            def block = new HtmlElement()
+            block.setWrappedElement(Mock(ProxyElement) {
+                getWrappedElement() >> elements[0]
+            })
+            def link = new Link(elements[1])
+        when:
+            def blockState = block.readState()
+            def linkState = link.readState("href")
+        then:
+            1 * driver.executeScript(BulkElementReader.SCRIPT, [elements[0]], []) >> [result("block")]
+            1 * driver.executeScript(BulkElementReader.SCRIPT, [elements[1]], ["href"]) >>
+                    [result("link", true, [href: "/home"])]
+            blockState == new ElementState("block", true, new Rectangle(1, 2, 11, 30), [:])
+            linkState.getAttribute("href") == "/home"
+    }
+
+    def "reading no elements does not run a script"() {
+        when:
+            def states = BulkElementReader.readAll([])
+        then:
+            states == []
+            0 * driver.executeScript(*_)
+    }
+
+    def "elements without a driver cannot be read"() {
+        when:
+            BulkElementReader.forElement(Mock(WebElement))
+        then:
+            thrown(IllegalArgumentException)
+    }
+
+    def "a result which does not match the elements is rejected"() {
+        given:
+            driver.executeScript(*_) >> [result("a")]
+        when:
+            BulkElementReader.forElement(elements[0]).read(elements)
+        then:
+            thrown(IllegalStateException)
+    }
+}
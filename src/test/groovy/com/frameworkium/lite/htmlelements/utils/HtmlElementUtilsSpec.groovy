@@ -0,0 +1,81 @@
+package com.frameworkium.lite.htmlelements.utils
+
+import com.frameworkium.lite.htmlelements.element.HtmlElement
+import com.frameworkium.lite.htmlelements.element.TextInput
+import org.openqa.selenium.WebElement
+import spock.lang.Specification
+
+import java.lang.reflect.InvocationTargetException
+
+class HtmlElementUtilsSpec extends Specification {
+
+    static class Block extends HtmlElement {
+    }
+
+    static class FailingBlock extends HtmlElement {
+        FailingBlock() {
+            throw new IllegalStateException("broken")
+        }
+    }
+
+    static class NoDefaultConstructor extends HtmlElement {
+        NoDefaultConstructor(String name) {
+        }
+    }
+
+    static class Outer {
+        static int instances
+
+        Outer() {
+            instances++
+        }
+
+        class InnerBlock extends HtmlElement {
+        }
+    }
+
+    def "blocks are created with their no-args constructor"() {
+        expect:
+            HtmlElementUtils.newInstance(Block) instanceof Block
+            HtmlElementUtils.newInstance(Block) !== HtmlElementUtils.newInstance(Block)
+    }
+
+    def "typified elements are created with the element they wrap"() {
+        given:
+            def element = Stub(WebElement)
+        when:
+            def textInput = HtmlElementUtils.newInstance(TextInput, element)
+        then:
+            textInput.wrappedElement == element
+    }
+
+    def "inner classes are created with a new instance of their outer class"() {
+        given:
+            def outerInstances = Outer.instances
+        when:
+            def blocks = (1..2).collect { HtmlElementUtils.newInstance(Outer.InnerBlock) }
+        then:
+            blocks.every { it instanceof Outer.InnerBlock }
+            Outer.instances == outerInstances + 2
+    }
+
+    def "exceptions thrown by constructors are wrapped"() {
+        when:
+            HtmlElementUtils.newInstance(FailingBlock)
+        then:
+            def e = thrown(InvocationTargetException)
+            e.cause instanceof IllegalStateException
+    }
+
+    def "a missing constructor is reported every time"() {
+        when:
+            HtmlElementUtils.newInstance(NoDefaultConstructor)
+        then:
+            thrown(NoSuchMethodException)
+
+        when:
+            HtmlElementUtils.newInstance(NoDefaultConstructor)
+        then:
+            thrown(NoSuchMethodException)
+    }
+}
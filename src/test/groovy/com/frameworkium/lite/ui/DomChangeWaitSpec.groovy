@@ -0,0 +1,161 @@
+package com.frameworkium.lite.ui
+
+import org.openqa.selenium.JavascriptException
+import org.openqa.selenium.JavascriptExecutor
+import org.openqa.selenium.NoSuchElementException
+import org.openqa.selenium.StaleElementReferenceException
+import org.openqa.selenium.TimeoutException
+import org.openqa.selenium.UnhandledAlertException
+import org.openqa.selenium.WebDriver
+import org.openqa.selenium.support.ui.Sleeper
+import spock.lang.Specification
+
+import java.time.Clock
+import java.time.Duration
+import java.time.Instant
+import java.time.ZoneId
+import java.time.ZoneOffset
+import java.util.function.Function
+
+class DomChangeWaitSpec extends Specification {
+
+    interface ScriptingDriver extends WebDriver, JavascriptExecutor {
+    }
+
+    static class FakeClock extends Clock {
+
+        Instant now = Instant.EPOCH
+
+        void advance(Duration duration) {
+            now = now.plus(duration)
+        }
+
+        @Override
+        ZoneId getZone() {
+            ZoneOffset.UTC
+        }
+
+        @Override
+        Clock withZone(ZoneId zone) {
+            this
+        }
+
+        @Override
+        Instant instant() {
+            now
+        }
+    }
+
+    def clock = new FakeClock()
+    def sleeper = Mock(Sleeper)
+    def driver = Mock(ScriptingDriver)
+
+    def newWait(WebDriver driver, Duration timeout = Duration.ofSeconds(1)) {
+        new DomChangeWait(driver, timeout, Duration.ofMillis(10), Duration.ofMillis(40), clock, sleeper)
+    }
+
+    def "returns as soon as the condition holds without waiting"() {
+        when:
+            def result = newWait(driver).until({ "done" } as Function)
+        then:
+            result == "done"
+            0 * driver.executeAsyncScript(*_)
+            0 * sleeper.sleep(_)
+    }
+
+    def "re-checks the condition when the page changes"() {
+        given:
+            def checks = [false, false, true]
+        when:
+            def result = newWait(driver).until({ checks.remove(0) } as Function)
+        then:
+            2 * driver.executeAsyncScript(DomChangeWait.SCRIPT, 10L) >> true
+            0 * sleeper.sleep(_)
+            result
+    }
+
+    def "doubles the interval up to the maximum while nothing changes, then resets it on a change"() {
+        given:
+            def checks = [false] * 5 + [true]
+            def pauses = []
+        when:
+            newWait(driver).until({ checks.remove(0) } as Function)
+        then:
+            5 * driver.executeAsyncScript(DomChangeWait.SCRIPT, _) >> { String script, Object[] args ->
+                long pause = args[0]
+                pauses << pause
+                clock.advance(Duration.ofMillis(pause))
+                pauses.size() == 4
+            }
+            pauses == [10L, 20L, 40L, 40L, 10L]
+    }
+
+    def "ignores missing and stale elements"() {
+        given:
+            def checks = [
+                    { throw new NoSuchElementException("missing") },
+                    { throw new StaleElementReferenceException("stale") },
+                    { "found" }]
+        when:
+            def result = newWait(driver).until({ checks.remove(0).call() } as Function)
+        then:
+            2 * driver.executeAsyncScript(*_) >> true
+            result == "found"
+    }
+
+    def "times out with the last exception as the cause"() {
+        when:
+            newWait(driver).until({ throw new NoSuchElementException("missing") } as Function)
+        then:
+            _ * driver.executeAsyncScript(DomChangeWait.SCRIPT, _) >> { String script, Object[] args ->
+                long pause = args[0]
+                clock.advance(Duration.ofMillis(pause))
+                false
+            }
+            def ex = thrown(TimeoutException)
+            ex.message.contains("tried for 1 second(s) with adaptive polling")
+            ex.cause instanceof NoSuchElementException
+    }
+
+    def "never waits for longer than the time remaining"() {
+        when:
+            newWait(driver, Duration.ofMillis(25)).until({ false } as Function)
+        then:
+            1 * driver.executeAsyncScript(DomChangeWait.SCRIPT, 10L) >> { clock.advance(Duration.ofMillis(10)); false }
+            1 * driver.executeAsyncScript(DomChangeWait.SCRIPT, 15L) >> { clock.advance(Duration.ofMillis(15)); false }
+            thrown(TimeoutException)
+    }
+
+    def "sleeps for the interval if the driver cannot execute scripts"() {
+        given:
+            def checks = [false, false, true]
+        when:
+            newWait(Mock(WebDriver)).until({ checks.remove(0) } as Function)
+        then:
+            1 * sleeper.sleep(Duration.ofMillis(10))
+            1 * sleeper.sleep(Duration.ofMillis(20))
+    }
+
+    def "stops using the script if it fails to run"() {
+        given:
+            def checks = [false, false, true]
+        when:
+            newWait(driver).until({ checks.remove(0) } as Function)
+        then:
+            1 * driver.executeAsyncScript(*_) >> { throw new JavascriptException("MutationObserver is not defined") }
+            1 * sleeper.sleep(Duration.ofMillis(10))
+        then:
+            0 * driver.executeAsyncScript(*_)
+            1 * sleeper.sleep(Duration.ofMillis(20))
+    }
+
+    def "sleeps instead if the script fails for another reason, e.g. an alert is open"() {
+        given:
+            def checks = [false, false, true]
+        when:
+            newWait(driver).until({ checks.remove(0) } as Function)
+        then:
+            2 * driver.executeAsyncScript(*_) >> { throw new UnhandledAlertException("alert") }
+            2 * sleeper.sleep(_)
+    }
+}
@@ -115,6 +115,25 @@ class ExtraExpectedConditionsSpec extends Specification {
 
     }
 
+    // networkIdle(Duration) and pageStable(Duration)
+
+    def "waiting for networkIdle only checks the network for the quiet period"() {
+        when: "Waiting for the network to be idle"
+            jsWait.until(ExtraExpectedConditions.networkIdle(Duration.ofMillis(250)))
+        then: "the stability script is run until it returns true"
+            2 * mockWDWrapper.executeScript(PageStability.CHECK_SCRIPT, 250L, true) >>> [false, true]
+            noExceptionThrown()
+    }
+
+    def "waiting for pageStable checks all activity and times out if false"() {
+        when: "Waiting for the page to be stable"
+            jsWait.until(ExtraExpectedConditions.pageStable(Duration.ofMillis(100)))
+        then: "Timeout is thrown if the page is not stable"
+            mockWDWrapper.executeScript(PageStability.CHECK_SCRIPT, 100L, false) >> false
+            def ex = thrown(TimeoutException)
+            ex.message.contains("the page to be stable for 100ms")
+    }
+
     def static listSize = 3
     def webElements = [mockElement] * listSize
 
@@ -0,0 +1,48 @@
+package com.frameworkium.lite.ui
+
+import org.openqa.selenium.WebDriver
+import org.openqa.selenium.WebDriverException
+import org.openqa.selenium.WrapsDriver
+import org.openqa.selenium.chromium.HasCdp
+import spock.lang.Specification
+
+class PageStabilitySpec extends Specification {
+
+    interface CdpDriver extends WebDriver, HasCdp {
+    }
+
+    interface WrappingDriver extends WebDriver, WrapsDriver {
+    }
+
+    def "injects the instrumentation into new documents using the DevTools protocol"() {
+        given:
+            def cdpDriver = Mock(CdpDriver)
+            def wrapper = Mock(WrappingDriver) { getWrappedDriver() >> cdpDriver }
+        when:
+            def injected = PageStability.injectOnNewDocument(wrapper)
+        then:
+            1 * cdpDriver.executeCdpCommand(
+                    "Page.addScriptToEvaluateOnNewDocument", [source: PageStability.INSTRUMENT_SCRIPT])
+            injected
+    }
+
+    def "does not inject into drivers without the DevTools protocol"() {
+        expect:
+            !PageStability.injectOnNewDocument(Mock(WebDriver))
+    }
+
+    def "does not fail if the injection fails"() {
+        given:
+            def cdpDriver = Mock(CdpDriver) {
+                executeCdpCommand(*_) >> { throw new WebDriverException("not supported") }
+            }
+        expect:
+            !PageStability.injectOnNewDocument(cdpDriver)
+    }
+
+    def "the check installs the instrumentation before reading it"() {
+        expect:
+            PageStability.CHECK_SCRIPT.startsWith(PageStability.INSTRUMENT_SCRIPT)
+            PageStability.INSTRUMENT_SCRIPT.contains("(delay || 0) > ${PageStability.MAX_TRACKED_TIMER_DELAY_MILLIS}")
+    }
+}
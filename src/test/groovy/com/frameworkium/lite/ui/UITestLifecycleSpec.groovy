@@ -0,0 +1,124 @@
+package com.frameworkium.lite.ui
+
+import com.frameworkium.lite.ui.driver.Driver
+import com.frameworkium.lite.ui.driver.lifecycle.DriverLifecycle
+import com.frameworkium.lite.ui.driver.lifecycle.ElasticDriverLifecycle
+import com.frameworkium.lite.ui.profiling.TestTimeline
+import org.openqa.selenium.JavascriptExecutor
+import org.openqa.selenium.WebDriver
+import org.openqa.selenium.support.events.EventFiringWebDriver
+import spock.lang.Specification
+import spock.lang.TempDir
+import spock.util.environment.RestoreSystemProperties
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.time.Duration
+
+import static com.frameworkium.lite.ui.driver.DriverSetup.Browser.*
+
+class UITestLifecycleSpec extends Specification {
+
+    interface ScriptingDriver extends WebDriver, JavascriptExecutor {
+    }
+
+    def chrome = Mock(DriverLifecycle) { getWebDriver() >> Stub(ScriptingDriver) }
+    def firefox = Mock(DriverLifecycle) { getWebDriver() >> Stub(ScriptingDriver) }
+
+    def cleanup() {
+        UITestLifecycle.useDriverLifecycles([:], null)
+    }
+
+    def "each browser has its own pool, and tests which do not choose use the default"() {
+        given:
+            UITestLifecycle.useDriverLifecycles([(CHROME): chrome, (FIREFOX): firefox], chrome)
+        expect:
+            UITestLifecycle.driverLifecycleFor(FIREFOX).is(firefox)
+            UITestLifecycle.driverLifecycleFor(CHROME).is(chrome)
+            UITestLifecycle.driverLifecycleFor(null).is(chrome)
+    }
+
+    def "a browser which is not in the browsers property is rejected"() {
+        given:
+            UITestLifecycle.useDriverLifecycles([(CHROME): chrome], chrome)
+        when:
+            UITestLifecycle.driverLifecycleFor(EDGE)
+        then:
+            def ex = thrown(IllegalArgumentException)
+            ex.message.contains("EDGE")
+    }
+
+    def "without the browsers property every test uses the only pool"() {
+        given:
+            UITestLifecycle.useDriverLifecycles([:], chrome)
+        expect:
+            UITestLifecycle.driverLifecycleFor(FIREFOX).is(chrome)
+    }
+
+    def "a test runs in, and is torn down by, the pool of its browser"() {
+        given:
+            UITestLifecycle.useDriverLifecycles([(CHROME): chrome, (FIREFOX): firefox], chrome)
+        when:
+            UITestLifecycle.get().beforeTestMethod("test", FIREFOX)
+            UITestLifecycle.get().afterTestMethod()
+        then:
+            1 * firefox.initBrowserBeforeTest()
+            1 * firefox.tearDownDriver()
+            0 * chrome.initBrowserBeforeTest()
+            0 * chrome.tearDownDriver()
+    }
+
+    @TempDir
+    Path tempDir
+
+    @RestoreSystemProperties
+    def "the driver is torn down even if the profile cannot be written"() {
+        given:
+            UITestLifecycle.useDriverLifecycles([:], chrome)
+            def notADirectory = Files.createFile(tempDir.resolve("file"))
+            System.setProperty("profileDir", notADirectory.resolve("profiles").toString())
+            UITestLifecycle.get().beforeTestMethod("test")
+            TestTimeline.start("test")
+        when:
+            UITestLifecycle.get().afterTestMethod()
+        then:
+            1 * chrome.tearDownDriver()
+            TestTimeline.current() == null
+    }
+
+    def elasticPool(WebDriver webDriver) {
+        def eventFiringDriver = Mock(constructorArgs: [webDriver], EventFiringWebDriver) {
+            getWrappedDriver() >> webDriver
+            manage() >> Stub(WebDriver.Options)
+        }
+        def driver = Mock(Driver) { getWebDriver() >> eventFiringDriver }
+        new ElasticDriverLifecycle({ driver }, 0, 1, Duration.ofMinutes(1), Duration.ofMillis(50))
+    }
+
+    def "a context leases a browser from the pool of its browser"() {
+        given:
+            def chromePool = elasticPool(Stub(WebDriver))
+            def firefoxDriver = Stub(WebDriver)
+            def firefoxPool = elasticPool(firefoxDriver)
+            UITestLifecycle.useDriverLifecycles([(CHROME): chromePool, (FIREFOX): firefoxPool], chromePool)
+        when:
+            def context = UITestLifecycle.openContext("test", FIREFOX)
+        then:
+            context.webDriver.wrappedDriver.is(firefoxDriver)
+            firefoxPool.idleCount() == 0
+            chromePool.size() == 0
+        cleanup:
+            context?.close()
+            [chromePool, firefoxPool]*.tearDownDriverPool()
+    }
+
+    def "a context requires the pool of its browser to be elastic"() {
+        given:
+            def chromePool = elasticPool(Stub(WebDriver))
+            UITestLifecycle.useDriverLifecycles([(CHROME): chromePool, (FIREFOX): firefox], chromePool)
+        when:
+            UITestLifecycle.openContext("test", FIREFOX)
+        then:
+            thrown(IllegalStateException)
+    }
+}
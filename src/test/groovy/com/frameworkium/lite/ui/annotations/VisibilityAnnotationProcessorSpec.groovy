@@ -0,0 +1,113 @@
+package com.frameworkium.lite.ui.annotations
+
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import javax.tools.Diagnostic
+import javax.tools.DiagnosticCollector
+import javax.tools.JavaFileObject
+import javax.tools.ToolProvider
+import java.nio.file.Files
+import java.nio.file.Path
+
+class VisibilityAnnotationProcessorSpec extends Specification {
+
+    static final String HOME_PAGE = '''
+            package com.example;
+
+            import com.frameworkium.lite.htmlelements.element.HtmlElement;
+            import com.frameworkium.lite.htmlelements.element.TextInput;
+            import com.frameworkium.lite.ui.annotations.Invisible;
+            import com.frameworkium.lite.ui.annotations.Visible;
+            import com.frameworkium.lite.ui.pages.BasePage;
+            import org.openqa.selenium.WebDriver;
+            import org.openqa.selenium.WebElement;
+            import org.openqa.selenium.support.FindBy;
+            import org.openqa.selenium.support.ui.Wait;
+            import java.util.List;
+
+            public class HomePage extends BasePage<HomePage> {
+
+                @Visible
+                @FindBy(id = "search")
+                private TextInput search;
+
+                @Invisible(checkAtMost = 2)
+                @FindBy(css = "li")
+                List<WebElement> items;
+
+                @Visible
+                @FindBy(css = "form")
+                Form form;
+
+                private String title;
+
+                public HomePage(WebDriver driver, Wait<WebDriver> wait) {
+                    super(driver, wait);
+                }
+
+                public static class Form extends HtmlElement {
+
+                    @Visible
+                    @FindBy(id = "name")
+                    private List<TextInput> names;
+                }
+            }
+            '''
+
+    @TempDir
+    Path tempDir
+
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>()
+
+    /** @return true if the source compiled */
+    boolean compile(String className, String source) {
+        def compiler = ToolProvider.systemJavaCompiler
+        def fileManager = compiler.getStandardFileManager(diagnostics, null, null)
+        def sourceFile = tempDir.resolve("src/" + className.replace('.', '/') + ".java")
+        Files.createDirectories(sourceFile.parent)
+        Files.writeString(sourceFile, source)
+        def classes = Files.createDirectories(tempDir.resolve("classes"))
+        def options = ["-classpath", System.getProperty("java.class.path"), "-d", classes.toString()]
+        def task = compiler.getTask(
+                null, fileManager, diagnostics, options, null,
+                fileManager.getJavaFileObjects(sourceFile.toFile()))
+        task.processors = [new VisibilityAnnotationProcessor()]
+        return task.call()
+    }
+
+    def errors() {
+        diagnostics.diagnostics.findAll { it.kind == Diagnostic.Kind.ERROR }*.getMessage(Locale.ROOT)
+    }
+
+    def "valid visibility annotations compile"() {
+        expect:
+            compile("com.example.HomePage", HOME_PAGE)
+            errors() == []
+    }
+
+    def "a field with both @Visible and @Invisible fails compilation"() {
+        expect:
+            !compile("com.example.HomePage", HOME_PAGE.replace(
+                    "@Invisible(checkAtMost = 2)", "@Visible @Invisible(checkAtMost = 2)"))
+            errors() == ["Field items on com.example.HomePage has too many Visibility related Annotations"]
+    }
+
+    def "a visibility annotation on a field which is not an element fails compilation"() {
+        expect:
+            !compile("com.example.HomePage", HOME_PAGE.replace(replaced, replacement))
+            errors().size() == 1
+            errors()[0].startsWith("Only elements of type HtmlElement")
+        where:
+            replaced                        | replacement
+            "private String title;"         | "@Visible private String title;"
+            "private List<TextInput> names" | "private List<String> names"
+    }
+
+    def "static fields are ignored, as at runtime"() {
+        expect:
+            compile("com.example.HomePage", HOME_PAGE.replace(
+                    "private String title;", "@Visible private static String title;"))
+            errors() == []
+    }
+}
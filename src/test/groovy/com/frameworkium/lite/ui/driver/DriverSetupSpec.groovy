@@ -0,0 +1,31 @@
+package com.frameworkium.lite.ui.driver
+
+import spock.lang.Specification
+
+import static com.frameworkium.lite.ui.driver.DriverSetup.Browser.*
+
+class DriverSetupSpec extends Specification {
+
+    def "the browsers property is parsed into distinct browsers, in order"() {
+        expect:
+            DriverSetup.parseBrowsers(browsers) == expected
+        where:
+            browsers                   | expected
+            "chrome"                   | [CHROME]
+            "chrome,firefox"           | [CHROME, FIREFOX]
+            " Firefox , EDGE ,"        | [FIREFOX, EDGE]
+            "chrome,firefox,chrome"    | [CHROME, FIREFOX]
+    }
+
+    def "an unknown browser is rejected"() {
+        when:
+            DriverSetup.parseBrowsers("chrome,netscape")
+        then:
+            thrown IllegalArgumentException
+    }
+
+    def "without the browsers property, the browser property is used"() {
+        expect:
+            DriverSetup.getBrowsers() == [DriverSetup.DEFAULT_BROWSER]
+    }
+}
@@ -0,0 +1,196 @@
+package com.frameworkium.lite.ui.driver.drivers
+
+import org.openqa.selenium.Capabilities
+import org.openqa.selenium.InvalidArgumentException
+import org.openqa.selenium.MutableCapabilities
+import org.openqa.selenium.SessionNotCreatedException
+import org.openqa.selenium.TimeoutException
+import org.openqa.selenium.WebDriver
+import org.openqa.selenium.WebDriverException
+import org.openqa.selenium.remote.UnreachableBrowserException
+import spock.lang.Specification
+
+import java.net.ConnectException
+import java.time.Duration
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class GridSessionBrokerSpec extends Specification {
+
+    def capabilities = new MutableCapabilities()
+    def session = Mock(WebDriver)
+
+    /** Stands in for a hub which fails the first {@code failures} requests. */
+    def stubHub(int failures) {
+        def requests = new AtomicInteger()
+        return { Capabilities caps ->
+            if (requests.incrementAndGet() <= failures) {
+                throw new SessionNotCreatedException("hub busy")
+            }
+            session
+        } as GridSessionBroker.SessionFactory
+    }
+
+    def newBroker(GridSessionBroker.SessionFactory hub, int maxInFlight = 2, int maxAttempts = 3,
+                  Duration creationTimeout = Duration.ofSeconds(5)) {
+        new GridSessionBroker(
+                hub, maxInFlight, maxAttempts, Duration.ofMillis(1), Duration.ofMillis(10), creationTimeout)
+    }
+
+    def "failed session requests are retried with backoff"() {
+        given:
+            def sut = newBroker(stubHub(2))
+        when:
+            def webDriver = sut.createSession(capabilities)
+        then:
+            webDriver == session
+            with(sut.metrics) {
+                requests == 1
+                created == 1
+                retries == 2
+                failed == 0
+            }
+    }
+
+    def "sessions the grid cannot create are not retried"() {
+        given:
+            def hub = Mock(GridSessionBroker.SessionFactory)
+            def sut = newBroker(hub)
+        when:
+            sut.createSession(capabilities)
+        then:
+            1 * hub.create(capabilities) >> {
+                throw new SessionNotCreatedException("No nodes support the capabilities in the request")
+            }
+            thrown SessionNotCreatedException
+            sut.metrics.retries == 0
+            sut.metrics.failed == 1
+    }
+
+    def "the last failure is thrown once all attempts have failed"() {
+        given:
+            def sut = newBroker(stubHub(5))
+        when:
+            sut.createSession(capabilities)
+        then:
+            thrown SessionNotCreatedException
+            with(sut.metrics) {
+                retries == 2
+                failed == 1
+                created == 0
+            }
+    }
+
+    def "permanent failures are not retried"() {
+        given:
+            def attempts = new AtomicInteger()
+            def hub = { Capabilities caps ->
+                attempts.incrementAndGet()
+                throw new InvalidArgumentException("unknown capability")
+            } as GridSessionBroker.SessionFactory
+            def sut = newBroker(hub)
+        when:
+            sut.createSession(capabilities)
+        then:
+            thrown InvalidArgumentException
+            attempts.get() == 1
+            sut.metrics.retries == 0
+            sut.metrics.failed == 1
+    }
+
+    def "only transient failures are retried"() {
+        expect:
+            GridSessionBroker.isTransient(failure) == isTransient
+        where:
+            failure                                                                            | isTransient
+            new SessionNotCreatedException("hub busy")                                         | true
+            new SessionNotCreatedException("Unable to add session request to the queue")       | true
+            new SessionNotCreatedException("New session request timed out")                    | true
+            new GridSessionBroker.CreationTimeoutException("No grid session created")          | true
+            new TimeoutException("timed out")                                                  | true
+            new UnreachableBrowserException("connection refused")                              | true
+            new WebDriverException("wrapped", new ConnectException("refused"))                 | true
+            new SessionNotCreatedException("No nodes support the capabilities in the request") | false
+            new SessionNotCreatedException("Interrupted waiting for a grid session")           | false
+            new InvalidArgumentException("unknown capability")                                 | false
+            new WebDriverException("unknown error")                                            | false
+    }
+
+    def "no more than maxInFlight session requests are made at once"() {
+        given:
+            def inFlight = new AtomicInteger()
+            def maxSeenInFlight = new AtomicInteger()
+            def hub = { Capabilities caps ->
+                maxSeenInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max)
+                sleep(20)
+                inFlight.decrementAndGet()
+                session
+            } as GridSessionBroker.SessionFactory
+            def sut = newBroker(hub, 2)
+        when:
+            (1..6).collect { Thread.start { sut.createSession(capabilities) } }*.join()
+        then:
+            maxSeenInFlight.get() == 2
+            sut.metrics.created == 6
+            sut.metrics.maxQueueWait > Duration.ZERO
+    }
+
+    def "sessions which take too long are abandoned and quit when they arrive"() {
+        given:
+            def release = new CountDownLatch(1)
+            def quit = new CountDownLatch(1)
+            session.quit() >> { quit.countDown() }
+            def hub = { Capabilities caps ->
+                release.await()
+                session
+            } as GridSessionBroker.SessionFactory
+            def sut = newBroker(hub, 1, 1, Duration.ofMillis(50))
+        when:
+            sut.createSession(capabilities)
+        then:
+            thrown SessionNotCreatedException
+
+        when:
+            release.countDown()
+        then:
+            quit.await(5, TimeUnit.SECONDS)
+    }
+
+    def "an abandoned request holds its slot until the grid responds"() {
+        given:
+            def release = new CountDownLatch(1)
+            def attempts = new AtomicInteger()
+            def hub = { Capabilities caps ->
+                if (attempts.incrementAndGet() == 1) {
+                    release.await()
+                }
+                session
+            } as GridSessionBroker.SessionFactory
+            def sut = newBroker(hub, 1, 2, Duration.ofMillis(50))
+        when:
+            def webDriver = null
+            def thread = Thread.start { webDriver = sut.createSession(capabilities) }
+            sleep(200)
+        then:
+            attempts.get() == 1
+
+        when:
+            release.countDown()
+            thread.join()
+        then:
+            attempts.get() == 2
+            webDriver == session
+    }
+
+    def "invalid limits are rejected"() {
+        when:
+            newBroker(stubHub(0), maxInFlight, maxAttempts)
+        then:
+            thrown IllegalArgumentException
+        where:
+            maxInFlight | maxAttempts
+            0           | 1
+            1           | 0
+    }
+}
@@ -0,0 +1,110 @@
+package com.frameworkium.lite.ui.driver.lifecycle
+
+import com.frameworkium.lite.ui.driver.Driver
+import org.openqa.selenium.WebDriver
+import org.openqa.selenium.WebDriverException
+import org.openqa.selenium.remote.service.DriverService
+import org.openqa.selenium.support.events.EventFiringWebDriver
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.atomic.AtomicInteger
+
+import static com.frameworkium.lite.ui.driver.lifecycle.DriverTeardown.Outcome.*
+
+class DriverTeardownSpec extends Specification {
+
+    def sut = new DriverTeardown(Duration.ofMillis(200))
+    def hung = new CountDownLatch(1)
+    def webDriverStub = Stub(WebDriver)
+
+    /*
+     * Spock mocks handle one call at a time, so the drivers are hand-rolled
+     * to allow quit() to block without blocking every other mock.
+     */
+    def newDriver(Closure onQuit, DriverService driverService = null) {
+        def eventFiringWebDriver = new EventFiringWebDriver(webDriverStub) {
+            @Override
+            void quit() {
+                onQuit()
+            }
+        }
+        return [
+                getWebDriver    : { eventFiringWebDriver },
+                getDriverService: { Optional.ofNullable(driverService) }
+        ] as Driver
+    }
+
+    def newDriverService(AtomicInteger stops) {
+        new DriverService(new File("driver"), 0, Duration.ofSeconds(1), [], [:]) {
+            @Override
+            void stop() {
+                stops.incrementAndGet()
+            }
+        }
+    }
+
+    def cleanup() {
+        hung.countDown()
+    }
+
+    def "drivers are quit in parallel"() {
+        given:
+            def quitting = new CountDownLatch(4)
+            def drivers = (1..4).collect {
+                newDriver {
+                    quitting.countDown()
+                    quitting.await()
+                }
+            }
+        when:
+            def report = sut.quitAll(drivers)
+        then:
+            report.results*.outcome == [QUIT] * 4
+    }
+
+    def "each driver reports when it quit, not when it was awaited"() {
+        given:
+            def drivers = [newDriver { sleep(150) }, newDriver {}]
+        when:
+            def report = sut.quitAll(drivers)
+        then:
+            report.results*.outcome == [QUIT, QUIT]
+            report.results[0].time >= Duration.ofMillis(150)
+            report.results[1].time < Duration.ofMillis(100)
+    }
+
+    def "a driver which does not quit in time has its driver service stopped"() {
+        given:
+            def stops = new AtomicInteger()
+            def drivers = [newDriver {}, newDriver({ hung.await() }, newDriverService(stops))]
+        when:
+            def report = sut.quitAll(drivers)
+        then:
+            stops.get() == 1
+            report.results*.outcome == [QUIT, KILLED]
+            report.totalTime < Duration.ofSeconds(2)
+    }
+
+    def "a remote driver which does not quit in time is abandoned"() {
+        when:
+            def report = sut.quitAll([newDriver { hung.await() }])
+        then:
+            report.results*.outcome == [ABANDONED]
+    }
+
+    def "a failure to quit is reported without affecting other drivers"() {
+        given:
+            def drivers = [newDriver { throw new WebDriverException("gone") }, newDriver {}]
+        when:
+            def report = sut.quitAll(drivers)
+        then:
+            report.results*.outcome == [FAILED, QUIT]
+    }
+
+    def "nothing to quit gives an empty report"() {
+        expect:
+            sut.quitAll([]).results.isEmpty()
+    }
+}
@@ -0,0 +1,388 @@
+package com.frameworkium.lite.ui.driver.lifecycle
+
+import com.frameworkium.lite.ui.driver.Driver
+import com.frameworkium.lite.ui.driver.metrics.DriverMetrics
+import com.frameworkium.lite.ui.driver.metrics.DriverPhase
+import org.openqa.selenium.WebDriver
+import org.openqa.selenium.support.events.EventFiringWebDriver
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.time.Duration
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class ElasticDriverLifecycleSpec extends Specification {
+
+    def webDriverStub = Mock(WebDriver)
+    def EFWebDriverMock =
+            Mock(constructorArgs: [webDriverStub], EventFiringWebDriver) {
+                getWrappedDriver() >> webDriverStub
+                manage() >> Stub(WebDriver.Options)
+            }
+    def driverMock = Mock(Driver) {
+        getWebDriver() >> EFWebDriverMock
+    }
+    def creations = new AtomicInteger()
+    def driverSupplier = { creations.incrementAndGet(); driverMock }
+
+    def newPool(int min, int max, Duration idle = Duration.ofMinutes(1)) {
+        new ElasticDriverLifecycle(driverSupplier, min, max, idle, Duration.ofMillis(50))
+    }
+
+    def "initDriverPool only creates the minimum number of drivers"() {
+        given:
+            def sut = newPool(minSize, 5)
+        when:
+            sut.initDriverPool()
+        then:
+            creations.get() == minSize
+            sut.size() == minSize
+        cleanup:
+            sut.tearDownDriverPool()
+        where:
+            minSize << [0, 2]
+    }
+
+    def "drivers are created lazily and reused once returned"() {
+        given:
+            def sut = newPool(0, 2)
+            sut.initDriverPool()
+        when:
+            sut.initBrowserBeforeTest()
+        then:
+            creations.get() == 1
+            sut.getWebDriver() == EFWebDriverMock
+
+        when:
+            sut.tearDownDriver()
+            sut.initBrowserBeforeTest()
+        then:
+            creations.get() == 1
+            sut.idleCount() == 0
+        cleanup:
+            sut.tearDownDriver()
+            sut.tearDownDriverPool()
+    }
+
+    def totalTime(DriverPhase phase) {
+        def histogram = DriverMetrics.global().getHistogram(phase)
+        histogram.mean.multipliedBy(histogram.count)
+    }
+
+    def "creating a driver on lease is timed as creation, not as waiting"() {
+        given:
+            def slowSupplier = { sleep(200); driverMock }
+            def sut = new ElasticDriverLifecycle(slowSupplier, 0, 1, Duration.ofMinutes(1), Duration.ofMillis(50))
+            sut.initDriverPool()
+            def leaseWaitBefore = totalTime(DriverPhase.LEASE_WAIT)
+            def createBefore = totalTime(DriverPhase.CREATE)
+        when:
+            sut.initBrowserBeforeTest()
+        then:
+            totalTime(DriverPhase.CREATE) - createBefore >= Duration.ofMillis(200)
+            totalTime(DriverPhase.LEASE_WAIT) - leaseWaitBefore < Duration.ofMillis(100)
+        cleanup:
+            sut.tearDownDriver()
+            sut.tearDownDriverPool()
+    }
+
+    def "leasing blocks for the lease timeout then fails when all drivers are in use"() {
+        given:
+            def sut = newPool(0, 1)
+            sut.initDriverPool()
+            sut.initBrowserBeforeTest()
+        when:
+            def thrownInOtherThread = null
+            Thread.start {
+                try {
+                    sut.initBrowserBeforeTest()
+                } catch (NoSuchElementException e) {
+                    thrownInOtherThread = e
+                }
+            }.join()
+        then:
+            thrownInOtherThread instanceof NoSuchElementException
+            creations.get() == 1
+        cleanup:
+            sut.tearDownDriver()
+            sut.tearDownDriverPool()
+    }
+
+    def "a waiting lease is satisfied when a driver is returned"() {
+        given:
+            def sut = new ElasticDriverLifecycle(
+                    driverSupplier, 0, 1, Duration.ofMinutes(1), Duration.ofSeconds(10))
+            sut.initDriverPool()
+            sut.initBrowserBeforeTest()
+            def leasedInOtherThread = null
+        when:
+            def waiter = Thread.start {
+                sut.initBrowserBeforeTest()
+                leasedInOtherThread = sut.getWebDriver()
+                sut.tearDownDriver()
+            }
+            sut.tearDownDriver()
+            waiter.join()
+        then:
+            leasedInOtherThread == EFWebDriverMock
+            creations.get() == 1
+        cleanup:
+            sut.tearDownDriverPool()
+    }
+
+    def "idle drivers above the minimum are retired"() {
+        given:
+            def sut = newPool(1, 3, Duration.ofMillis(1))
+            sut.initDriverPool()
+            sut.initBrowserBeforeTest()
+            def otherThread = Thread.start {
+                sut.initBrowserBeforeTest()
+                sut.tearDownDriver()
+            }
+            otherThread.join()
+            sut.tearDownDriver()
+        when:
+            sleep(5)
+            sut.retireIdleDrivers()
+        then:
+            sut.size() == 1
+        cleanup:
+            sut.tearDownDriverPool()
+    }
+
+    def "a driver which fails to tear down is evicted and replaced in the background"() {
+        given:
+            def quitLatch = new CountDownLatch(1)
+            def brokenEFWebDriver =
+                    Mock(constructorArgs: [webDriverStub], EventFiringWebDriver) {
+                        manage() >> { throw new Exception("") }
+                        quit() >> { quitLatch.countDown() }
+                    }
+            def brokenDriver = Mock(Driver) { getWebDriver() >> brokenEFWebDriver }
+            def drivers = [brokenDriver, driverMock].iterator()
+            def sut = new ElasticDriverLifecycle(
+                    { drivers.next() }, 0, 1, Duration.ofMinutes(1), Duration.ofSeconds(5))
+            sut.initDriverPool()
+            sut.initBrowserBeforeTest()
+        when:
+            sut.tearDownDriver()
+            sut.initBrowserBeforeTest()
+        then:
+            sut.getWebDriver() == EFWebDriverMock
+            quitLatch.await(5, TimeUnit.SECONDS)
+            sut.size() == 1
+        cleanup:
+            sut.tearDownDriver()
+            sut.tearDownDriverPool()
+    }
+
+    def "idle drivers which fail their health check are evicted and replaced"() {
+        given:
+            def unhealthyEFWebDriver =
+                    Mock(constructorArgs: [webDriverStub], EventFiringWebDriver) {
+                        getWindowHandles() >> { throw new Exception("session gone") }
+                    }
+            def unhealthyDriver = Mock(Driver) { getWebDriver() >> unhealthyEFWebDriver }
+            def drivers = [unhealthyDriver, driverMock].iterator()
+            def settings = DriverPoolSettings.defaults()
+                    .withSize(1, 1)
+                    .withValidation(Duration.ofHours(1), new DriverHealthCheck(5, 0))
+            def sut = new ElasticDriverLifecycle({ drivers.next() }, settings)
+            sut.initDriverPool()
+        when:
+            sut.validateIdleDrivers()
+        then:
+            new PollingConditions(timeout: 5).eventually {
+                assert sut.idleCount() == 1
+            }
+            sut.size() == 1
+        when:
+            sut.initBrowserBeforeTest()
+        then:
+            sut.getWebDriver() == EFWebDriverMock
+        cleanup:
+            sut.tearDownDriver()
+            sut.tearDownDriverPool()
+    }
+
+    def "healthy idle drivers are kept"() {
+        given:
+            def settings = DriverPoolSettings.defaults()
+                    .withSize(2, 2)
+                    .withValidation(Duration.ofHours(1), new DriverHealthCheck(5, 0))
+            def sut = new ElasticDriverLifecycle(driverSupplier, settings)
+            sut.initDriverPool()
+        when:
+            sut.validateIdleDrivers()
+        then:
+            2 * EFWebDriverMock.getWindowHandles() >> ["a"].toSet()
+            0 * EFWebDriverMock.quit()
+            sut.idleCount() == 2
+            creations.get() == 2
+        cleanup:
+            sut.tearDownDriverPool()
+    }
+
+    def "drivers with too many windows open fail the health check"() {
+        given:
+            def healthCheck = new DriverHealthCheck(2, 0)
+        when:
+            def healthy = healthCheck.isHealthy(driverMock)
+        then:
+            1 * EFWebDriverMock.getWindowHandles() >> ["a", "b", "c"].toSet()
+            !healthy
+    }
+
+    def "tearDownDriverPool quits idle drivers and allows re-initialisation"() {
+        given:
+            def sut = newPool(2, 2)
+            sut.initDriverPool()
+        when:
+            sut.tearDownDriverPool()
+            sut.initDriverPool()
+        then:
+            2 * EFWebDriverMock.quit()
+            noExceptionThrown()
+        cleanup:
+            sut.tearDownDriverPool()
+    }
+
+    def "drivers are recycled in the background after their maximum uses"() {
+        given:
+            def settings = DriverPoolSettings.defaults()
+                    .withSize(0, 1)
+                    .withRecycling(2, Duration.ZERO)
+            def sut = new ElasticDriverLifecycle(driverSupplier, settings)
+            sut.initDriverPool()
+            def quits = new AtomicInteger()
+            EFWebDriverMock.quit() >> { quits.incrementAndGet() }
+        when:
+            2.times {
+                sut.initBrowserBeforeTest()
+                sut.tearDownDriver()
+            }
+        then:
+            new PollingConditions(timeout: 5).eventually {
+                assert creations.get() == 2
+                assert sut.idleCount() == 1
+                assert quits.get() == 1
+            }
+            sut.getStats().recycled == 1
+            sut.getStats().drivers*.leaseCount == [0]
+        cleanup:
+            sut.tearDownDriverPool()
+    }
+
+    def "a driver which hangs when evicted does not stall maintenance"() {
+        given:
+            def hung = new CountDownLatch(1)
+            def settings = DriverPoolSettings.defaults()
+                    .withSize(0, 1)
+                    .withRecycling(1, Duration.ZERO)
+            def sut = new ElasticDriverLifecycle(driverSupplier, settings, new DriverTeardown(Duration.ofMillis(50)))
+            sut.initDriverPool()
+            EFWebDriverMock.quit() >> { hung.await() }
+        when:
+            3.times {
+                sut.initBrowserBeforeTest()
+                sut.tearDownDriver()
+            }
+        then:
+            new PollingConditions(timeout: 5).eventually {
+                assert sut.getStats().recycled == 3
+                assert creations.get() == 4
+                assert sut.idleCount() == 1
+            }
+        cleanup:
+            hung.countDown()
+            sut.tearDownDriverPool()
+    }
+
+    def "idle drivers older than their maximum age are recycled"() {
+        given:
+            def settings = DriverPoolSettings.defaults()
+                    .withSize(1, 1)
+                    .withRecycling(0, Duration.ofMillis(1))
+            def sut = new ElasticDriverLifecycle(driverSupplier, settings)
+            sut.initDriverPool()
+        when:
+            sleep(5)
+            sut.recycleExpiredDrivers()
+        then:
+            new PollingConditions(timeout: 5).eventually {
+                assert creations.get() > 1
+            }
+            sut.getStats().recycled >= 1
+        cleanup:
+            sut.tearDownDriverPool()
+    }
+
+    def "stats record the leases of each driver"() {
+        given:
+            def sut = newPool(1, 1)
+            sut.initDriverPool()
+        when:
+            sut.initBrowserBeforeTest()
+            def leasedStats = sut.getStats()
+            sut.tearDownDriver()
+            sut.initBrowserBeforeTest()
+            sut.tearDownDriver()
+            def stats = sut.getStats()
+        then:
+            leasedStats.drivers*.leased == [true]
+            stats.size == 1
+            stats.idle == 1
+            stats.created == 1
+            stats.drivers*.leaseCount == [2]
+            !stats.drivers[0].leased
+            stats.drivers[0].age >= stats.drivers[0].leasedTime
+        cleanup:
+            sut.tearDownDriverPool()
+    }
+
+    def "a lease can be acquired on one thread and returned on another"() {
+        given:
+            def sut = newPool(0, 1)
+            sut.initDriverPool()
+        when:
+            def lease = sut.acquire()
+            Thread.start { lease.close() }.join()
+            lease.close()
+        then:
+            sut.idleCount() == 1
+            creations.get() == 1
+
+        when:
+            lease.getWebDriver()
+        then:
+            thrown IllegalStateException
+        cleanup:
+            sut.tearDownDriverPool()
+    }
+
+    def "initDriverPool can only be called once"() {
+        given:
+            def sut = newPool(0, 1)
+            sut.initDriverPool()
+        when:
+            sut.initDriverPool()
+        then:
+            thrown IllegalStateException
+        cleanup:
+            sut.tearDownDriverPool()
+    }
+
+    def "invalid sizes are rejected"() {
+        when:
+            newPool(min, max)
+        then:
+            thrown IllegalArgumentException
+        where:
+            min | max
+            -1  | 1
+            0   | 0
+            3   | 2
+    }
+}
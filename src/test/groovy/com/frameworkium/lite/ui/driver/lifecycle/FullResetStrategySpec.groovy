@@ -0,0 +1,80 @@
+package com.frameworkium.lite.ui.driver.lifecycle
+
+import org.openqa.selenium.Alert
+import org.openqa.selenium.JavascriptExecutor
+import org.openqa.selenium.NoAlertPresentException
+import org.openqa.selenium.WebDriver
+import spock.lang.Specification
+
+class FullResetStrategySpec extends Specification {
+
+    def options = Mock(WebDriver.Options)
+    def targetLocator = Mock(WebDriver.TargetLocator)
+    def webDriver = Mock(JSWebDriver) {
+        manage() >> options
+        switchTo() >> targetLocator
+    }
+
+    def sut = new FullResetStrategy()
+
+    def "resetting a browser on a web page clears everything and leaves it blank"() {
+        when:
+            sut.reset(webDriver)
+        then:
+            1 * targetLocator.alert() >> Mock(Alert)
+        then:
+            webDriver.getWindowHandles() >> (["main", "popup"] as LinkedHashSet)
+            1 * targetLocator.window("popup") >> webDriver
+            1 * webDriver.close()
+        then:
+            1 * targetLocator.window("main")
+        then:
+            webDriver.getCurrentUrl() >> "https://example.com:8443/page"
+            1 * webDriver.executeAsyncScript({ it.contains("localStorage.clear()") })
+        then:
+            1 * options.deleteAllCookies()
+        then:
+            1 * webDriver.get("about:blank")
+    }
+
+    def "storage is not cleared when not on a web page"() {
+        given:
+            targetLocator.alert() >> { throw new NoAlertPresentException() }
+            webDriver.getWindowHandles() >> (["main"] as LinkedHashSet)
+            webDriver.getCurrentUrl() >> "about:blank"
+        when:
+            sut.reset(webDriver)
+        then:
+            0 * webDriver.executeAsyncScript(*_)
+            0 * webDriver.close()
+            1 * options.deleteAllCookies()
+            1 * webDriver.get("about:blank")
+    }
+
+    def "storage is not cleared for URLs which cannot be parsed, but the reset succeeds"() {
+        given:
+            targetLocator.alert() >> { throw new NoAlertPresentException() }
+            webDriver.getWindowHandles() >> (["main"] as LinkedHashSet)
+            webDriver.getCurrentUrl() >> url
+        when:
+            sut.reset(webDriver)
+        then:
+            0 * webDriver.executeAsyncScript(*_)
+            1 * options.deleteAllCookies()
+            1 * webDriver.get("about:blank")
+        where:
+            url << ["https://example.com/a|b", "https://example.com/a b", "https://example.com/{id}"]
+    }
+
+    def "reset failures are thrown so the pool can replace the browser"() {
+        given:
+            targetLocator.alert() >> { throw new NoAlertPresentException() }
+            webDriver.getWindowHandles() >> { throw new IllegalStateException("session gone") }
+        when:
+            sut.reset(webDriver)
+        then:
+            thrown IllegalStateException
+    }
+
+    interface JSWebDriver extends WebDriver, JavascriptExecutor {}
+}
@@ -0,0 +1,107 @@
+package com.frameworkium.lite.ui.driver.lifecycle
+
+import com.frameworkium.lite.ui.driver.Driver
+import org.openqa.selenium.SessionNotCreatedException
+import org.openqa.selenium.WebDriver
+import org.openqa.selenium.support.events.EventFiringWebDriver
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.atomic.AtomicInteger
+
+class PrefetchingSingleUseDriverLifecycleSpec extends Specification {
+
+    def webDriverStub = Stub(WebDriver)
+    def EFWebDriverMock =
+            Mock(constructorArgs: [webDriverStub], EventFiringWebDriver) {
+                getWrappedDriver() >> webDriverStub
+            }
+    def driverMock = Mock(Driver) {
+        getWebDriver() >> EFWebDriverMock
+    }
+    def creations = new AtomicInteger()
+    def driverSupplier = { creations.incrementAndGet(); driverMock }
+    def conditions = new PollingConditions(timeout: 5)
+
+    def sut = new PrefetchingSingleUseDriverLifecycle(driverSupplier, 2)
+
+    def "initDriverPool starts prefetching drivers"() {
+        when:
+            sut.initDriverPool()
+        then:
+            conditions.eventually {
+                assert creations.get() == 2
+            }
+        cleanup:
+            sut.tearDownDriverPool()
+    }
+
+    def "each test gets a prefetched driver, which is quit and replaced"() {
+        given:
+            sut.initDriverPool()
+        when:
+            sut.initBrowserBeforeTest()
+        then:
+            sut.getWebDriver() == EFWebDriverMock
+            conditions.eventually {
+                assert creations.get() == 3
+            }
+
+        when:
+            sut.tearDownDriver()
+        then:
+            1 * EFWebDriverMock.quit()
+        cleanup:
+            sut.tearDownDriverPool()
+    }
+
+    def "tearDownDriverPool quits the drivers which were never used"() {
+        given:
+            sut.initDriverPool()
+        when:
+            sut.tearDownDriverPool()
+        then:
+            2 * EFWebDriverMock.quit()
+    }
+
+    def "a driver which failed to start is rethrown when it is taken"() {
+        given:
+            def attempts = new AtomicInteger()
+            def sut = new PrefetchingSingleUseDriverLifecycle({
+                if (attempts.incrementAndGet() == 1) {
+                    throw new SessionNotCreatedException("no session")
+                }
+                driverMock
+            }, 1)
+            sut.initDriverPool()
+        when:
+            sut.initBrowserBeforeTest()
+        then:
+            thrown SessionNotCreatedException
+
+        when:
+            sut.initBrowserBeforeTest()
+        then:
+            sut.getWebDriver() == EFWebDriverMock
+        cleanup:
+            sut.tearDownDriver()
+            sut.tearDownDriverPool()
+    }
+
+    def "drivers are created inline if the pool has not been initialised"() {
+        when:
+            sut.initBrowserBeforeTest()
+        then:
+            sut.getWebDriver() == EFWebDriverMock
+            creations.get() == 1
+        cleanup:
+            sut.tearDownDriver()
+    }
+
+    def "invalid prefetch counts are rejected"() {
+        when:
+            new PrefetchingSingleUseDriverLifecycle(driverSupplier, 0)
+        then:
+            thrown IllegalArgumentException
+    }
+}
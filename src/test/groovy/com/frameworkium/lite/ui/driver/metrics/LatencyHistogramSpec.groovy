@@ -0,0 +1,61 @@
+package com.frameworkium.lite.ui.driver.metrics
+
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.time.Duration
+
+class LatencyHistogramSpec extends Specification {
+
+    def sut = new LatencyHistogram()
+
+    def "an empty histogram reports zero"() {
+        expect:
+            sut.count == 0
+            sut.mean == Duration.ZERO
+            sut.min == Duration.ZERO
+            sut.getPercentile(99) == Duration.ZERO
+    }
+
+    def "percentiles are accurate to within the bucket precision"() {
+        given:
+            (1..1000).each { sut.record(Duration.ofMillis(it)) }
+        expect:
+            sut.count == 1000
+            sut.min == Duration.ofMillis(1)
+            sut.max == Duration.ofMillis(1000)
+            sut.mean == Duration.ofNanos(500_500_000)
+            within(sut.getPercentile(50), 500)
+            within(sut.getPercentile(99), 990)
+            sut.getPercentile(100) == Duration.ofMillis(1000)
+    }
+
+    def "each bucket's upper bound falls within that bucket"() {
+        expect:
+            LatencyHistogram.bucketIndex(LatencyHistogram.bucketUpperBound(index)) == index
+            LatencyHistogram.bucketIndex(LatencyHistogram.bucketUpperBound(index) + 1) == index + 1
+        where:
+            index << [0, 31, 32, 47, 48, 500, 958]
+    }
+
+    def "metrics are exported as JSON and CSV"() {
+        given:
+            def metrics = new DriverMetrics()
+            def directory = Files.createTempDirectory("driver-metrics")
+            metrics.time(DriverPhase.CREATE, { sleep(2) } as Runnable)
+        when:
+            metrics.export(directory)
+        then:
+            Files.readString(directory.resolve("driver-metrics.json")).contains('"CREATE"')
+            def csv = Files.readAllLines(directory.resolve("driver-metrics.csv"))
+            csv[0] == "phase,count,mean_ms,min_ms,p50_ms,p90_ms,p99_ms,p999_ms,max_ms"
+            csv[1].startsWith("CREATE,1,")
+            csv.size() == DriverPhase.values().length + 1
+        cleanup:
+            directory.toFile().deleteDir()
+    }
+
+    private static boolean within(Duration actual, long expectedMillis) {
+        Math.abs(actual.toMillis() - expectedMillis) <= expectedMillis * 0.07
+    }
+}
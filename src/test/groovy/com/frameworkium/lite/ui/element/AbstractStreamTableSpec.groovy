@@ -0,0 +1,87 @@
+package com.frameworkium.lite.ui.element
+
+import com.frameworkium.lite.htmlelements.loader.decorator.proxyhandlers.NavigationEpoch
+import org.openqa.selenium.By
+import org.openqa.selenium.NoSuchElementException
+import org.openqa.selenium.WebDriver
+import org.openqa.selenium.WebElement
+import org.openqa.selenium.WrapsDriver
+import spock.lang.Specification
+
+import java.util.stream.Stream
+
+class AbstractStreamTableSpec extends Specification {
+
+    def driver = Mock(WebDriver)
+    List<WebElement> headers = ["Name ", "County", "Population"].collect { text ->
+        Mock(DriverElement) {
+            getText() >> text
+            getWrappedDriver() >> driver
+        }
+    }
+    List<WebElement> rowElements = []
+
+    def table = new AbstractStreamTable() {
+        protected Stream<WebElement> headerCells() { headers.stream() }
+
+        protected Stream<WebElement> rows() { rowElements.stream() }
+
+        protected By cellLocator() { By.tagName("td") }
+    }
+
+    def "headings are read once for repeated column lookups"() {
+        when:
+            def indexes = (1..5).collect { table.getHeaderIndex("Population") }
+        then:
+            indexes == [2L] * 5
+            1 * headers[2].getText() >> "Population"
+    }
+
+    def "heading text is trimmed"() {
+        expect:
+            table.getHeaderIndex("Name") == 0
+    }
+
+    def "the index is rebuilt when a heading is not found"() {
+        given:
+            table.getHeaderIndex("Name")
+            headers << Mock(WebElement) { getText() >> "Area" }
+        expect:
+            table.getHeaderIndex("Area") == 3
+    }
+
+    def "unknown headings are still reported"() {
+        when:
+            table.getHeaderIndex("Area")
+        then:
+            thrown(NoSuchElementException)
+    }
+
+    def "navigating or refreshing rebuilds the index"() {
+        given:
+            table.getHeaderIndex("County")
+        when:
+            NavigationEpoch.of(driver).advance()
+            table.getHeaderIndex("County")
+            table.refreshHeaderIndex()
+            table.getHeaderIndex("County")
+        then:
+            2 * headers[1].getText() >> "County"
+    }
+
+    def "lookups by heading use the index"() {
+        given:
+            rowElements = [["Bath", "Somerset", "94782"], ["Truro", "Cornwall", "18766"]].collect { texts ->
+                def cells = texts.collect { text -> Mock(WebElement) { getText() >> text } }
+                Mock(WebElement) { findElements(By.tagName("td")) >> cells }
+            }
+        when:
+            def cells = table.getCellsByLookup("County", "Cornwall", "Name")*.text
+        then:
+            cells == ["Truro"]
+            1 * headers[1].getText() >> "County"
+    }
+}
+
+interface DriverElement extends WebElement, WrapsDriver {
+}
@@ -0,0 +1,111 @@
+package com.frameworkium.lite.ui.element
+
+import org.openqa.selenium.By
+import org.openqa.selenium.NoSuchElementException
+import org.openqa.selenium.WebDriver
+import org.openqa.selenium.WebElement
+import org.openqa.selenium.support.ui.Wait
+import spock.lang.Specification
+
+import java.util.function.Function
+import java.util.stream.Collectors
+
+class PagedTableSpec extends Specification {
+
+    static TableSnapshot page(List<String> ids) {
+        new TableSnapshot([], ["ID", "Name"], [], ids.collect { [it, "name " + it] }, null, By.tagName("td"))
+    }
+
+    /** Pages through the given pages, recording how many were read. */
+    static class FakePager implements TablePager {
+
+        List<TableSnapshot> pages
+        int current = 0
+        int read = 1
+
+        TableSnapshot currentPage() { pages[current] }
+
+        boolean nextPage() {
+            if (current + 1 >= pages.size()) {
+                return false
+            }
+            current++
+            read++
+            return true
+        }
+    }
+
+    def "rows from every page are streamed, without the overlap between pages"() {
+        given:
+            def pager = new FakePager(pages: [page(["1", "2", "3"]), page(["3", "4"]), page(["4", "5"])])
+        when:
+            def ids = PagedTable.stream(pager, "ID").map { it.ID }.collect(Collectors.toList())
+        then:
+            ids == ["1", "2", "3", "4", "5"]
+    }
+
+    def "a missing key heading fails rather than streaming duplicate rows"() {
+        given:
+            def pager = new FakePager(pages: [page(["1", "2"]), page(["2", "3"])])
+        when:
+            PagedTable.stream(pager, "Id").count()
+        then:
+            thrown(NoSuchElementException)
+    }
+
+    def "pages are only read when needed"() {
+        given:
+            def pager = new FakePager(pages: [page(["1", "2"]), page(["3", "4"]), page(["5"])])
+        when:
+            def row = PagedTable.stream(pager, "ID").filter { it.ID == "3" }.findFirst()
+        then:
+            row.get() == [ID: "3", Name: "name 3"]
+            pager.read == 2
+    }
+
+    def "the stream ends when a page has no new rows"() {
+        given:
+            def pager = new FakePager(pages: [page(["1", "2"]), page(["1", "2"]), page(["3"])])
+        expect:
+            PagedTable.stream(pager, "ID").count() == 2
+    }
+
+    def "an empty table has no rows"() {
+        expect:
+            PagedTable.stream(new FakePager(pages: [page([])]), "ID").count() == 0
+    }
+
+    def "the clicking pager stops at a disabled button and waits for each new page"() {
+        given:
+            def table = Mock(AbstractStreamTable)
+            def nextButton = Mock(WebElement)
+            Wait<WebDriver> wait = { Function condition ->
+                def result = null
+                while (!result) {
+                    result = condition.apply(null)
+                }
+                result
+            } as Wait<WebDriver>
+            def pager = TablePager.clicking(table, nextButton, wait)
+        when:
+            def firstPage = pager.currentPage()
+            def moved = pager.nextPage()
+        then:
+            1 * table.snapshot() >> page(["1"])
+            1 * nextButton.isDisplayed() >> true
+            1 * nextButton.isEnabled() >> true
+            1 * nextButton.click()
+            // the first snapshot after clicking still shows the old page
+            2 * table.snapshot() >>> [page(["1"]), page(["2"])]
+            firstPage.getColumn("ID") == ["1"]
+            moved
+            pager.currentPage().getColumn("ID") == ["2"]
+        when:
+            moved = pager.nextPage()
+        then:
+            1 * nextButton.isDisplayed() >> true
+            1 * nextButton.isEnabled() >> false
+            0 * nextButton.click()
+            !moved
+    }
+}
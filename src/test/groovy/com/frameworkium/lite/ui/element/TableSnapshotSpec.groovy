@@ -0,0 +1,198 @@
+package com.frameworkium.lite.ui.element
+
+import org.openqa.selenium.By
+import org.openqa.selenium.JavascriptExecutor
+import org.openqa.selenium.NoSuchElementException
+import org.openqa.selenium.WebDriver
+import org.openqa.selenium.WebElement
+import org.openqa.selenium.WrapsDriver
+import spock.lang.Specification
+
+import java.util.stream.Stream
+
+class TableSnapshotSpec extends Specification {
+
+    interface ScriptingDriver extends WebDriver, JavascriptExecutor {
+    }
+
+    interface LocatedElement extends WebElement, WrapsDriver {
+    }
+
+    def driver = Mock(ScriptingDriver)
+    def tableElement = Mock(LocatedElement) { getWrappedDriver() >> driver }
+    def rowElements = (1..3).collect { Mock(WebElement) }
+    def table = new OptimisedStreamTable()
+
+    def setup() {
+        table.setWrappedElement(tableElement)
+    }
+
+    def result(Map extra = [:]) {
+        [
+                headerElements: [Mock(WebElement), Mock(WebElement), Mock(WebElement)],
+                headers       : ["Name", "County", "Population"],
+                rowElements   : rowElements,
+                cells         : [
+                        ["Bath", "Somerset", "94782"],
+                        ["Wells", "Somerset", "10536"],
+                        ["Truro", "Cornwall"]],
+                attributes    : null
+        ] + extra
+    }
+
+    def "the whole table is read with one script"() {
+        when:
+            def snapshot = table.snapshot()
+        then:
+            1 * driver.executeScript(TableSnapshot.SCRIPT,
+                    tableElement, "thead > tr > th", "tbody > tr", "td", false, []) >> result()
+            0 * tableElement.findElements(_)
+        and:
+            snapshot.headings == ["Name", "County", "Population"]
+            snapshot.rowCount == 3
+            snapshot.getRow(0) == ["Bath", "Somerset", "94782"]
+            snapshot.getCell(2, 2) == null
+    }
+
+    def "columns can be found by index or heading, omitting rows without the column"() {
+        given:
+            driver.executeScript(*_) >> result()
+            def snapshot = table.snapshot()
+        expect:
+            snapshot.getColumn(0) == ["Bath", "Wells", "Truro"]
+            snapshot.getColumn("Population") == ["94782", "10536"]
+            snapshot.getColumnIndex("County") == 1
+    }
+
+    def "cells can be looked up by the text of another column"() {
+        given:
+            driver.executeScript(*_) >> result()
+            def snapshot = table.snapshot()
+        expect:
+            snapshot.getRowIndexesByLookup("County", "Somerset") == [0, 1]
+            snapshot.getCellsByLookup("County", "Somerset", "Name") == ["Bath", "Wells"]
+            snapshot.getCellsByLookup("County", "Cornwall", "Population") == []
+            snapshot.toMaps()[2] == [Name: "Truro", County: "Cornwall"]
+    }
+
+    def "missing headings are reported as by the stream table"() {
+        given:
+            driver.executeScript(*_) >> result()
+        when:
+            table.snapshot().getColumn("Area")
+        then:
+            thrown(NoSuchElementException)
+    }
+
+    def "attributes are only read when requested"() {
+        given:
+            driver.executeScript(TableSnapshot.SCRIPT, tableElement, _, _, _, _, ["class"]) >> result(
+                    attributes: [[[class: "a"], [class: "b"], [class: null]], [], []])
+        when:
+            def snapshot = table.snapshot("class")
+        then:
+            snapshot.getCellAttribute(0, 1, "class") == "b"
+            snapshot.getCellAttribute(1, 1, "class") == null
+    }
+
+    def "rows and cells resolve back to live elements"() {
+        given:
+            driver.executeScript(*_) >> result()
+            def cell = Mock(WebElement)
+            def snapshot = table.snapshot()
+        when:
+            def liveCell = snapshot.getCellElement(1, 2)
+        then:
+            1 * rowElements[1].findElements(By.cssSelector("td")) >> [Mock(WebElement), Mock(WebElement), cell]
+            liveCell.is(cell)
+            snapshot.getRowElement(1).is(rowElements[1])
+    }
+
+    def "stream tables skip hidden headers and rows"() {
+        given:
+            def streamTable = new StreamTable()
+            streamTable.setWrappedElement(tableElement)
+        when:
+            streamTable.snapshot()
+        then:
+            1 * driver.executeScript(TableSnapshot.SCRIPT, tableElement, _, _, _, true, []) >> result()
+    }
+
+    def "subclasses of the stream tables are read from their streamed elements"() {
+        given:
+            def headers = [element()]
+            def cells = [[element()]]
+            def rows = cells.collect { element(it) }
+            def subclass = new OptimisedStreamTable() {
+                protected Stream<WebElement> headerCells() { headers.stream() }
+
+                protected Stream<WebElement> rows() { rows.stream() }
+            }
+            subclass.setWrappedElement(tableElement)
+        when:
+            def snapshot = subclass.snapshot()
+        then:
+            0 * driver.executeScript(TableSnapshot.SCRIPT, *_)
+            1 * driver.executeScript(_, headers + cells.flatten(), []) >> [state("Name"), state("Bath")]
+            snapshot.getColumn("Name") == ["Bath"]
+    }
+
+    AbstractStreamTable tableWithoutSelectors(List<WebElement> headers, List<WebElement> rows) {
+        new AbstractStreamTable() {
+            protected Stream<WebElement> headerCells() { headers.stream() }
+
+            protected Stream<WebElement> rows() { rows.stream() }
+
+            protected By cellLocator() { By.tagName("td") }
+        }
+    }
+
+    def element(List<WebElement> cells = []) {
+        Mock(LocatedElement) {
+            getWrappedDriver() >> driver
+            findElements(_) >> cells
+        }
+    }
+
+    static Map state(String text, Map attributes = [:]) {
+        [text: text, displayed: true, x: 0, y: 0, width: 0, height: 0, attributes: attributes]
+    }
+
+    def "tables without selectors are read from their streamed elements with one script"() {
+        given:
+            def headers = [element(), element()]
+            def cells = [[element(), element()], [element()]]
+            def rows = cells.collect { element(it) }
+        when:
+            def snapshot = tableWithoutSelectors(headers, rows).snapshot()
+        then:
+            1 * driver.executeScript(_, headers + cells.flatten(), []) >> [
+                    state(" Name "), state("County"),
+                    state("Bath"), state("Somerset"),
+                    state("Truro ")]
+        and:
+            snapshot.headings == ["Name", "County"]
+            snapshot.getRow(0) == ["Bath", "Somerset"]
+            snapshot.getRow(1) == ["Truro"]
+            snapshot.getCellsByLookup("County", "Somerset", "Name") == ["Bath"]
+            snapshot.getRowElement(1).is(rows[1])
+    }
+
+    def "tables without selectors read attributes when requested"() {
+        given:
+            def cells = [[element()]]
+            def table = tableWithoutSelectors([], cells.collect { element(it) })
+            driver.executeScript(_, cells.flatten(), ["class"]) >> [state("Bath", [class: "a"])]
+        expect:
+            table.snapshot("class").getCellAttribute(0, 0, "class") == "a"
+    }
+
+    def "empty tables without selectors are read without a script"() {
+        when:
+            def snapshot = tableWithoutSelectors([], []).snapshot()
+        then:
+            0 * driver.executeScript(*_)
+            snapshot.rowCount == 0
+            snapshot.headings == []
+    }
+}
@@ -0,0 +1,83 @@
+package com.frameworkium.lite.ui.listeners
+
+import com.frameworkium.lite.ui.UITestContext
+import com.frameworkium.lite.ui.capture.ScreenshotCapture
+import com.frameworkium.lite.ui.driver.Driver
+import com.frameworkium.lite.ui.driver.lifecycle.ElasticDriverLifecycle
+import com.frameworkium.lite.ui.pages.BasePage
+import com.frameworkium.lite.ui.pages.PageFactory
+import org.openqa.selenium.JavascriptExecutor
+import org.openqa.selenium.WebDriver
+import org.openqa.selenium.WrapsDriver
+import org.openqa.selenium.support.events.EventFiringWebDriver
+import org.openqa.selenium.support.ui.Wait
+import spock.lang.Specification
+
+import java.time.Duration
+
+class CaptureListenerSpec extends Specification {
+
+    interface ScriptingDriver extends WebDriver, JavascriptExecutor {
+    }
+
+    interface WrappingDriver extends WebDriver, WrapsDriver {
+    }
+
+    static class ContextPage extends BasePage<ContextPage> {
+
+        ContextPage(UITestContext context) {
+            super(context)
+        }
+    }
+
+    def sut = new CaptureListener()
+    def capture = Mock(ScreenshotCapture, constructorArgs: ["test", null, null])
+
+    def "events are sent to the capture bound to the driver which fired them"() {
+        given:
+            def driver = Stub(WebDriver)
+            def boundDriver = Stub(WrappingDriver) { getWrappedDriver() >> driver }
+            def firingDriver = Stub(WrappingDriver) { getWrappedDriver() >> driver }
+            def otherCapture = Mock(ScreenshotCapture, constructorArgs: ["test", null, null])
+            ScreenshotCapture.bind(boundDriver, capture)
+            ScreenshotCapture.bind(Stub(WebDriver), otherCapture)
+        when:
+            sut.beforeNavigateTo("https://example.com", firingDriver)
+        then:
+            1 * capture.takeAndSendScreenshot({ it.action == "nav" }, firingDriver)
+            0 * otherCapture._
+        cleanup:
+            ScreenshotCapture.unbind(boundDriver)
+    }
+
+    def "events of a driver without a capture, e.g. of a test without UITestLifecycle, are ignored"() {
+        when:
+            sut.beforeNavigateTo("https://example.com", Stub(WebDriver))
+            sut.beforeScript("return 1", Stub(WebDriver))
+        then:
+            noExceptionThrown()
+    }
+
+    def "a page of a leased context is captured by the context's capture"() {
+        given:
+            def eventFiringDriver = new EventFiringWebDriver(Stub(ScriptingDriver))
+            eventFiringDriver.register(sut)
+            def driver = Mock(Driver) { getWebDriver() >> eventFiringDriver }
+            def pool = new ElasticDriverLifecycle({ driver }, 0, 1, Duration.ofMinutes(1), Duration.ofMillis(50))
+            def context = new UITestContext(pool.acquire(), Stub(Wait), capture)
+        when:
+            PageFactory.newInstance(context, ContextPage, "https://example.com")
+        then:
+            1 * capture.takeAndSendScreenshot({ it.action == "nav" }, _)
+        then:
+            1 * capture.takeAndSendScreenshot({ it.action == "load" }, eventFiringDriver)
+
+        when:
+            context.close()
+            eventFiringDriver.get("https://example.com")
+        then:
+            0 * capture._
+        cleanup:
+            pool.tearDownDriverPool()
+    }
+}
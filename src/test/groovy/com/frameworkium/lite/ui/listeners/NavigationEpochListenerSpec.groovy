@@ -0,0 +1,68 @@
+package com.frameworkium.lite.ui.listeners
+
+import com.frameworkium.lite.htmlelements.loader.decorator.proxyhandlers.NavigationEpoch
+import org.openqa.selenium.By
+import org.openqa.selenium.WebDriver
+import org.openqa.selenium.WebElement
+import org.openqa.selenium.support.events.EventFiringDecorator
+import org.openqa.selenium.support.events.EventFiringWebDriver
+import spock.lang.Specification
+
+class NavigationEpochListenerSpec extends Specification {
+
+    def epoch = new NavigationEpoch()
+    def element = Mock(WebElement)
+    def driver = Mock(WebDriver) {
+        navigate() >> Mock(WebDriver.Navigation)
+        switchTo() >> Mock(WebDriver.TargetLocator)
+        findElement(_) >> element
+    }
+    WebDriver decorated = new EventFiringDecorator<>(new NavigationEpochListener(epoch)).decorate(driver)
+    def eventFiringDriver = new EventFiringWebDriver(decorated)
+
+    def "loading a page or switching window or frame advances the epoch"() {
+        when:
+            action(decorated)
+        then:
+            epoch.current() == 1
+        where:
+            action << [
+                    { WebDriver d -> d.get("https://example.com") },
+                    { WebDriver d -> d.navigate().to("https://example.com") },
+                    { WebDriver d -> d.navigate().back() },
+                    { WebDriver d -> d.navigate().forward() },
+                    { WebDriver d -> d.navigate().refresh() },
+                    { WebDriver d -> d.switchTo().window("other") },
+                    { WebDriver d -> d.switchTo().frame(0) },
+                    { WebDriver d -> d.switchTo().defaultContent() },
+            ]
+    }
+
+    def "other calls do not advance the epoch"() {
+        when:
+            decorated.getTitle()
+            decorated.findElement(By.id("id"))
+        then:
+            epoch.current() == 0
+    }
+
+    def "elements found through the event firing driver report the tracked epoch"() {
+        given:
+            epoch.track(decorated)
+        when:
+            def found = eventFiringDriver.findElement(By.id("id"))
+        then:
+            NavigationEpoch.of(found).is(epoch)
+    }
+
+    def "navigating from another thread advances the same epoch"() {
+        given:
+            epoch.track(decorated)
+            def found = eventFiringDriver.findElement(By.id("id"))
+        when:
+            def thread = Thread.start { eventFiringDriver.navigate().refresh() }
+            thread.join()
+        then:
+            NavigationEpoch.of(found).current() == 1
+    }
+}
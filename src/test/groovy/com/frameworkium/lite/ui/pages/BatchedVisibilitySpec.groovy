@@ -0,0 +1,178 @@
+package com.frameworkium.lite.ui.pages
+
+import com.frameworkium.lite.htmlelements.element.TextInput
+import com.frameworkium.lite.ui.pages.pageobjects.PageObjects
+import org.openqa.selenium.JavascriptExecutor
+import org.openqa.selenium.NoSuchElementException
+import org.openqa.selenium.TimeoutException
+import org.openqa.selenium.WebDriver
+import org.openqa.selenium.WebElement
+import org.openqa.selenium.WrapsDriver
+import org.openqa.selenium.WrapsElement
+import org.openqa.selenium.support.ui.FluentWait
+import org.openqa.selenium.support.ui.Sleeper
+import org.openqa.selenium.support.ui.Wait
+import spock.lang.Specification
+
+import java.time.Clock
+import java.time.Duration
+
+class BatchedVisibilitySpec extends Specification {
+
+    interface ScriptingDriver extends WebDriver, JavascriptExecutor {
+    }
+
+    interface LocatedElement extends WebElement, WrapsDriver {
+    }
+
+    interface ProxyElement extends WebElement, WrapsElement {
+    }
+
+    def driver = Mock(ScriptingDriver)
+
+    // -1 prevents polling (because FluentWait uses `isBefore`)
+    def wait = newWait(Duration.ofSeconds(-1))
+    def sut = new Visibility(wait, true)
+
+    Wait<WebDriver> newWait(Duration timeout) {
+        new FluentWait<>(Stub(WebDriver), Clock.systemUTC(), Mock(Sleeper))
+                .pollingEvery(Duration.ofMillis(1))
+                .withTimeout(timeout)
+    }
+
+    def located() {
+        Mock(LocatedElement) { getWrappedDriver() >> driver }
+    }
+
+    def notPresent() {
+        Mock(ProxyElement) { getWrappedElement() >> { throw new NoSuchElementException("not found") } }
+    }
+
+    def component(WebElement wrapped, WebElement visible) {
+        def component = new PageObjects.Component()
+        component.wrappedElement = wrapped
+        component.myVisibleWebElement = visible
+        return component
+    }
+
+    def "checks every field, including those of nested components, with one script"() {
+        given:
+            def elements = (1..4).collect { located() }
+            def page = new PageObjects.VisibleComponents(driver, wait)
+            page.visibleComponents = [component(elements[0], elements[2]), component(elements[1], elements[3])]
+        when:
+            sut.waitForAnnotatedElementVisibility(page)
+        then:
+            1 * driver.executeScript(BatchedVisibility.SCRIPT, elements) >> [true, true, true, true]
+            0 * _.isDisplayed()
+            notThrown(TimeoutException)
+    }
+
+    def "times out naming the first field which is not satisfied"() {
+        given:
+            def page = new PageObjects.ListOfElements(driver, wait)
+            page.visibles = [located(), located()]
+            page.invisibles = [located()]
+            page.emptyInvisible = []
+        when:
+            sut.waitForAnnotatedElementVisibility(page)
+        then:
+            1 * driver.executeScript(BatchedVisibility.SCRIPT, _) >> [true, true, true]
+            def ex = thrown(TimeoutException)
+            ex.message.startsWith("Timed out waiting for ${PageObjects.ListOfElements}.invisibles")
+    }
+
+    def "checks at most the given number of elements of each list"() {
+        given:
+            def visibles = (1..3).collect { located() }
+            def invisibles = (1..3).collect { located() }
+            def page = new PageObjects.ListOfElementsCheckAtMost(driver, wait)
+            page.visibles = visibles
+            page.invisibles = invisibles
+        when:
+            sut.waitForAnnotatedElementVisibility(page)
+        then:
+            1 * driver.executeScript(BatchedVisibility.SCRIPT, visibles.take(2) + invisibles.take(2)) >>
+                    [true, true, false, false]
+            notThrown(TimeoutException)
+    }
+
+    def "an @Invisible element which is not present is satisfied without a script"() {
+        given:
+            def page = new PageObjects.SingleInvisibleElement(driver, wait)
+            page.invisibleTextInput = new TextInput(notPresent())
+        when:
+            sut.waitForAnnotatedElementVisibility(page)
+        then:
+            0 * driver.executeScript(*_)
+            notThrown(TimeoutException)
+    }
+
+    def "an @Visible element which is not present times out"() {
+        given:
+            def page = new PageObjects.SingleVisibleElement(driver, wait)
+            page.visibleElement = notPresent()
+        when:
+            sut.waitForAnnotatedElementVisibility(page)
+        then:
+            def ex = thrown(TimeoutException)
+            ex.message.startsWith("Timed out waiting for ${PageObjects.SingleVisibleElement}.visibleElement")
+    }
+
+    def "an empty @Visible list times out"() {
+        given:
+            def page = new PageObjects.ListOfElements(driver, wait)
+            page.visibles = []
+            page.invisibles = []
+            page.emptyInvisible = []
+        when:
+            sut.waitForAnnotatedElementVisibility(page)
+        then:
+            def ex = thrown(TimeoutException)
+            ex.message.startsWith("Timed out waiting for ${PageObjects.ListOfElements}.visibles")
+    }
+
+    def "an element which could not be checked, e.g. because it went stale, is not satisfied"() {
+        given:
+            def page = new PageObjects.SingleVisibleElement(driver, wait)
+            page.visibleElement = located()
+        when:
+            sut.waitForAnnotatedElementVisibility(page)
+        then:
+            1 * driver.executeScript(BatchedVisibility.SCRIPT, _) >> [null]
+            thrown(TimeoutException)
+    }
+
+    def "polls with one script each time until every field is satisfied"() {
+        given:
+            def pollingWait = newWait(Duration.ofSeconds(10))
+            def page = new PageObjects.SingleVisibleElement(driver, pollingWait)
+            page.visibleElement = located()
+        when:
+            new Visibility(pollingWait, true).waitForAnnotatedElementVisibility(page)
+        then:
+            2 * driver.executeScript(BatchedVisibility.SCRIPT, _) >>> [[false], [true]]
+            notThrown(TimeoutException)
+    }
+
+    def "elements which cannot be unwrapped are checked with isDisplayed()"() {
+        given:
+            def page = new PageObjects.SingleVisibleElement(driver, wait)
+            page.visibleElement = Mock(WebElement) { 1 * isDisplayed() >> true }
+        when:
+            sut.waitForAnnotatedElementVisibility(page)
+        then:
+            0 * driver.executeScript(*_)
+            notThrown(TimeoutException)
+    }
+
+    def "unsupported field types are rejected"() {
+        given:
+            def page = new PageObjects.SingleVisibleElement(driver, wait)
+            page.visibleElement = null
+        when:
+            sut.waitForAnnotatedElementVisibility(page)
+        then:
+            thrown(IllegalArgumentException)
+    }
+}
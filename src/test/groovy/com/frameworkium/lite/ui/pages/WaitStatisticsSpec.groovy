@@ -0,0 +1,165 @@
+package com.frameworkium.lite.ui.pages
+
+import com.frameworkium.lite.ui.pages.pageobjects.PageObjects
+import org.openqa.selenium.TimeoutException
+import org.openqa.selenium.WebDriver
+import org.openqa.selenium.WebElement
+import org.openqa.selenium.support.ui.FluentWait
+import org.openqa.selenium.support.ui.Sleeper
+import org.openqa.selenium.support.ui.Wait
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.time.Clock
+import java.time.Duration
+import java.util.function.Function
+import java.util.stream.Collectors
+
+class WaitStatisticsSpec extends Specification {
+
+    @TempDir
+    Path tempDir
+
+    def statistics = new WaitStatistics(false)
+
+    Wait<WebDriver> wait = new FluentWait<>(Stub(WebDriver))
+            .pollingEvery(Duration.ofMillis(10))
+            .withTimeout(Duration.ofSeconds(10))
+
+    def recordMillis(WaitStatistics statistics, String key, List<Long> millis) {
+        millis.each { statistics.record(key, Duration.ofMillis(it)) }
+    }
+
+    def "summarises the recorded durations of each wait"() {
+        when:
+            recordMillis(statistics, "Page.field", (1L..100L).toList())
+            def summary = statistics.getSummary("Page.field").get()
+        then:
+            summary.count == 100
+            summary.getPercentile(50) == Duration.ofMillis(50)
+            summary.getPercentile(99) == Duration.ofMillis(99)
+            summary.toString() == "n=100, p50=50ms, p99=99ms, suggested timeout=1000ms"
+            !statistics.getSummary("Page.other").isPresent()
+    }
+
+    def "keeps only the most recent samples of each wait"() {
+        when:
+            recordMillis(statistics, "Page.field", [10_000L] + [5L] * WaitStatistics.MAX_SAMPLES)
+        then:
+            statistics.getSummary("Page.field").get().count == WaitStatistics.MAX_SAMPLES
+            statistics.getSummary("Page.field").get().getPercentile(100) == Duration.ofMillis(5)
+    }
+
+    def "suggests twice the 99th percentile, but at least a second, once there are enough samples"() {
+        when:
+            recordMillis(statistics, "Page.field", [2_000L] * samples)
+        then:
+            statistics.getSummary("Page.field").get().suggestedTimeout == expected
+        where:
+            samples                         | expected
+            WaitStatistics.MIN_SAMPLES - 1  | Optional.empty()
+            WaitStatistics.MIN_SAMPLES      | Optional.of(Duration.ofSeconds(4))
+    }
+
+    def "the suggested timeout is never less than a second"() {
+        when:
+            recordMillis(statistics, "Page.field", [10L] * WaitStatistics.MIN_SAMPLES)
+        then:
+            statistics.getSummary("Page.field").get().suggestedTimeout == Optional.of(Duration.ofSeconds(1))
+    }
+
+    def "samples are saved and loaded across runs"() {
+        given:
+            def file = tempDir.resolve("stats/waits.json")
+            recordMillis(statistics, "Page.a", [1L, 2L, 3L])
+            recordMillis(statistics, "Page.b", [40L])
+        when:
+            statistics.save(file)
+            def loaded = WaitStatistics.load(file, false)
+        then:
+            loaded.summaries.keySet() == ["Page.a", "Page.b"] as Set
+            loaded.getSummary("Page.a").get().getPercentile(100) == Duration.ofMillis(3)
+            loaded.getSummary("Page.b").get().count == 1
+    }
+
+    def "loading a file which does not exist gives empty statistics"() {
+        expect:
+            WaitStatistics.load(tempDir.resolve("missing.json"), false).summaries.isEmpty()
+    }
+
+    def "loading a file which cannot be read gives empty statistics"() {
+        given:
+            def file = tempDir.resolve("waits.json")
+            Files.writeString(file, contents)
+        expect:
+            WaitStatistics.load(file, false).summaries.isEmpty()
+        where:
+            contents << ['{"Page.a": [1, 2', 'null', '{"Page.a": [null]}']
+    }
+
+    def "saving replaces the previous file without leaving temporary files"() {
+        given:
+            def file = tempDir.resolve("waits.json")
+            Files.writeString(file, '{"Page.a": [1, 2')
+            recordMillis(statistics, "Page.b", [5L])
+        when:
+            statistics.save(file)
+        then:
+            WaitStatistics.load(file, false).summaries.keySet() == ["Page.b"] as Set
+            Files.list(tempDir).withCloseable { it.collect(Collectors.toList()) } == [file]
+    }
+
+    def "a learning wait records each successful wait"() {
+        when:
+            def result = statistics.learning("Page.field", wait).until({ "done" } as Function)
+        then:
+            result == "done"
+            statistics.getSummary("Page.field").get().count == 1
+    }
+
+    def "a learning wait does not record failed waits"() {
+        given:
+            def failingWait = new FluentWait<>(Stub(WebDriver), Clock.systemUTC(), Mock(Sleeper))
+                    .withTimeout(Duration.ofSeconds(-1))
+        when:
+            statistics.learning("Page.field", failingWait).until({ false } as Function)
+        then:
+            thrown(TimeoutException)
+            !statistics.getSummary("Page.field").isPresent()
+    }
+
+    def "a learning wait fails after the suggested timeout, if applied, rather than its own"() {
+        given:
+            def applying = new WaitStatistics(true)
+            recordMillis(applying, "Page.field", [0L] * WaitStatistics.MIN_SAMPLES)
+        when:
+            def start = System.nanoTime()
+            applying.learning("Page.field", wait).until({ false } as Function)
+        then:
+            def ex = thrown(TimeoutException)
+            ex.message.contains("learned timeout of 1000ms for Page.field")
+            Duration.ofNanos(System.nanoTime() - start) < Duration.ofSeconds(5)
+    }
+
+    def "visibility records how long each field took, named by its page and field"() {
+        given:
+            def page = new PageObjects.SingleVisibleElement(Stub(WebDriver), wait)
+            page.visibleElement = Mock(WebElement) { isDisplayed() >> true }
+        when:
+            new Visibility(wait, false, statistics).waitForAnnotatedElementVisibility(page)
+        then:
+            statistics.summaries.keySet() == [PageObjects.SingleVisibleElement.name + ".visibleElement"] as Set
+    }
+
+    def "batched visibility records how long each page took"() {
+        given:
+            def page = new PageObjects.SingleVisibleElement(Stub(WebDriver), wait)
+            page.visibleElement = Mock(WebElement) { isDisplayed() >> true }
+        when:
+            new Visibility(wait, true, statistics).waitForAnnotatedElementVisibility(page)
+        then:
+            statistics.summaries.keySet() == [PageObjects.SingleVisibleElement.name] as Set
+    }
+}
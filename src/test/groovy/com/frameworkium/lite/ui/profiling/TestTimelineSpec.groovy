@@ -0,0 +1,135 @@
+package com.frameworkium.lite.ui.profiling
+
+import com.frameworkium.lite.ui.listeners.ProfilingListener
+import groovy.json.JsonSlurper
+import org.openqa.selenium.WebDriver
+import org.openqa.selenium.WebElement
+import org.openqa.selenium.support.ui.Wait
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.lang.reflect.InvocationTargetException
+import java.nio.file.Files
+import java.nio.file.Path
+import java.time.Duration
+import java.util.function.Function
+
+import static com.frameworkium.lite.ui.profiling.TestTimeline.Category.*
+
+class TestTimelineSpec extends Specification {
+
+    static final long MS = 1_000_000L
+
+    @TempDir
+    Path tempDir
+
+    def cleanup() {
+        TestTimeline.finish()
+    }
+
+    /** 100ms test: a 20ms command, a 50ms wait containing a 10ms command, then 30ms idle in total */
+    def newTimeline() {
+        def timeline = new TestTimeline("my test", 0)
+        timeline.record(COMMAND, "WebDriver.get", 10 * MS, 30 * MS, 0)
+        timeline.record(COMMAND, "WebElement.isDisplayed", 40 * MS, 50 * MS, 1)
+        timeline.record(WAIT, "element to be visible", 30 * MS, 80 * MS, 0)
+        timeline.endNanos = 100 * MS
+        return timeline
+    }
+
+    def "attributes time to the outermost span, with the rest idle"() {
+        expect:
+            newTimeline().totals == [
+                    (COMMAND)   : Duration.ofMillis(20),
+                    (WAIT)      : Duration.ofMillis(50),
+                    (VISIBILITY): Duration.ZERO,
+                    (IDLE)      : Duration.ofMillis(30)]
+            newTimeline().toString() ==
+                    "my test: total=100ms, commands=20ms, waits=50ms, visibility=0ms, idle=30ms"
+    }
+
+    def "totals the time of each command, including those within waits"() {
+        expect:
+            newTimeline().commandTotals == [
+                    "WebDriver.get"         : Duration.ofMillis(20),
+                    "WebElement.isDisplayed": Duration.ofMillis(10)]
+    }
+
+    def "exports Chrome trace events, with idle time as spans"() {
+        when:
+            def trace = new JsonSlurper().parseText(newTimeline().toTraceJson())
+            def spans = trace.traceEvents.findAll { it.ph == "X" }
+        then:
+            trace.traceEvents[0].ph == "M"
+            trace.traceEvents[0].args.name == "my test"
+            spans.collect { [it.cat, it.name, it.ts, it.dur] } == [
+                    ["idle", "idle", 0, 10_000],
+                    ["command", "WebDriver.get", 10_000, 20_000],
+                    ["wait", "element to be visible", 30_000, 50_000],
+                    ["command", "WebElement.isDisplayed", 40_000, 10_000],
+                    ["idle", "idle", 80_000, 20_000]]
+            trace.otherData.idleMillis == 30.0
+    }
+
+    def "writes the trace to a file named after the test"() {
+        when:
+            def file = newTimeline().export(tempDir.resolve("profiles"))
+        then:
+            file.fileName.toString() ==~ /\d{3}-my_test\.trace\.json/
+            Files.readString(file).startsWith('{"traceEvents":')
+    }
+
+    def "records spans of the current thread's timeline"() {
+        given:
+            def timeline = TestTimeline.start("test")
+        when:
+            def result = TestTimeline.during(VISIBILITY, "HomePage") {
+                TestTimeline.during(WAIT, "condition") { "done" }
+            }
+        then:
+            result == "done"
+            TestTimeline.finish() == timeline
+            timeline.totals[VISIBILITY] > Duration.ZERO
+            timeline.totals[WAIT] == Duration.ZERO
+            TestTimeline.current() == null
+    }
+
+    def "runs the action without recording if there is no timeline"() {
+        expect:
+            TestTimeline.during(WAIT, "condition") { "done" } == "done"
+    }
+
+    def "a profiling wait records each wait, named by its condition"() {
+        given:
+            def timeline = TestTimeline.start("test")
+            def condition = new Function<WebDriver, Boolean>() {
+                Boolean apply(WebDriver driver) { true }
+
+                String toString() { "the page to be ready" }
+            }
+            def wait = Mock(Wait) { 1 * until(condition) >> true }
+        when:
+            new ProfilingWait(wait).until(condition)
+            def trace = new JsonSlurper().parseText(TestTimeline.finish().toTraceJson())
+        then:
+            trace.traceEvents.find { it.cat == "wait" }.name == "the page to be ready"
+    }
+
+    def "the profiling listener records each call on the driver and its elements"() {
+        given:
+            def timeline = TestTimeline.start("test")
+            def listener = new ProfilingListener()
+            def get = WebDriver.getMethod("get", String)
+            def click = WebElement.getMethod("click")
+            def toString = Object.getMethod("toString")
+        when:
+            listener.beforeAnyCall(Mock(WebDriver), get, ["url"] as Object[])
+            listener.afterAnyCall(Mock(WebDriver), get, ["url"] as Object[], null)
+            listener.beforeAnyCall(Mock(WebElement), toString, null)
+            listener.afterAnyCall(Mock(WebElement), toString, null, "")
+            listener.beforeAnyCall(Mock(WebElement), click, null)
+            listener.onError(Mock(WebElement), click, null, new InvocationTargetException(new RuntimeException()))
+        then:
+            TestTimeline.finish().commandTotals.keySet() == ["WebDriver.get", "WebElement.click"] as Set
+    }
+}
@@ -0,0 +1,94 @@
+package com.frameworkium.lite.ui.tests
+
+import com.frameworkium.lite.ui.UITestLifecycle
+import com.frameworkium.lite.ui.driver.lifecycle.DriverLifecycle
+import org.openqa.selenium.JavascriptExecutor
+import org.openqa.selenium.WebDriver
+import org.testng.annotations.BeforeMethod
+import spock.lang.Specification
+
+import java.lang.reflect.Method
+
+import static com.frameworkium.lite.ui.driver.DriverSetup.Browser.*
+
+class BaseUITestSpec extends Specification {
+
+    interface ScriptingDriver extends WebDriver, JavascriptExecutor {
+    }
+
+    static class PlainTest extends BaseUITest {
+    }
+
+    static class OverridingTest extends BaseUITest {
+
+        int configured
+
+        @Override
+        protected void configureBrowserBeforeTest(Method testMethod) {
+            configured++
+            super.configureBrowserBeforeTest(testMethod)
+        }
+    }
+
+    static class OverridingBeforeMethodTest extends OverridingTest {
+
+        @Override
+        @BeforeMethod(alwaysRun = true)
+        protected void configureBrowserBeforeTest(Method testMethod) {
+            super.configureBrowserBeforeTest(testMethod)
+        }
+    }
+
+    def chrome = Mock(DriverLifecycle) { getWebDriver() >> Stub(ScriptingDriver) }
+    def firefox = Mock(DriverLifecycle) { getWebDriver() >> Stub(ScriptingDriver) }
+    def testMethod = Object.getMethod("toString")
+
+    def setup() {
+        UITestLifecycle.useDriverLifecycles([(CHROME): chrome, (FIREFOX): firefox], chrome)
+    }
+
+    def cleanup() {
+        UITestLifecycle.useDriverLifecycles([:], null)
+    }
+
+    def "a test runs in the browser from its parameters"() {
+        when:
+            new PlainTest().configureBrowserBeforeTest(testMethod, ["data", FIREFOX] as Object[])
+        then:
+            1 * firefox.initBrowserBeforeTest()
+            0 * chrome.initBrowserBeforeTest()
+    }
+
+    def "a test without a browser parameter runs in the default browser"() {
+        when:
+            new PlainTest().configureBrowserBeforeTest(testMethod, ["data"] as Object[])
+        then:
+            1 * chrome.initBrowserBeforeTest()
+    }
+
+    def "an override of the single argument method is still called, in the test's browser"() {
+        given:
+            def test = new OverridingTest()
+        when:
+            test.configureBrowserBeforeTest(testMethod, [FIREFOX] as Object[])
+        then:
+            test.configured == 1
+            1 * firefox.initBrowserBeforeTest()
+    }
+
+    def "an override which is itself a before method is left for TestNG to call"() {
+        given:
+            def test = new OverridingBeforeMethodTest()
+        when:
+            test.configureBrowserBeforeTest(testMethod, [FIREFOX] as Object[])
+        then:
+            test.configured == 0
+            0 * _.initBrowserBeforeTest()
+
+        when: "TestNG calls the override"
+            test.configureBrowserBeforeTest(testMethod)
+        then:
+            test.configured == 1
+            1 * firefox.initBrowserBeforeTest()
+    }
+}
@@ -0,0 +1,29 @@
+package com.frameworkium.lite.ui.tests
+
+import spock.lang.Specification
+
+import static com.frameworkium.lite.ui.driver.DriverSetup.Browser.*
+
+class CrossBrowserDataProviderSpec extends Specification {
+
+    def "every row is run in every browser, with the browser first"() {
+        given:
+            Object[][] data = [["a", 1], ["b", 2]]
+        expect:
+            CrossBrowserDataProvider.acrossBrowsers([CHROME, FIREFOX], data) as List == [
+                    [CHROME, "a", 1],
+                    [CHROME, "b", 2],
+                    [FIREFOX, "a", 1],
+                    [FIREFOX, "b", 2]]
+    }
+
+    def "without other data each browser is a row of its own"() {
+        expect:
+            CrossBrowserDataProvider.acrossBrowsers([CHROME, EDGE], [[]] as Object[][]) as List == [[CHROME], [EDGE]]
+    }
+
+    def "without the browsers property tests run in the default browser"() {
+        expect:
+            CrossBrowserDataProvider.browsers() as List == [[CHROME]]
+    }
+}